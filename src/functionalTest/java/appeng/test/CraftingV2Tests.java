@@ -26,6 +26,8 @@ import appeng.api.storage.data.IAEItemStack;
 import appeng.crafting.v2.CraftingJobV2;
 import appeng.crafting.v2.CraftingRequest;
 import appeng.crafting.v2.CraftingRequest.UsedResolverEntry;
+import appeng.crafting.v2.CraftingTreePager;
+import appeng.crafting.v2.CraftingTreeSerializer;
 import appeng.crafting.v2.resolvers.CraftableItemResolver.CraftFromPatternTask;
 import appeng.test.mockme.MockAESystem;
 import appeng.util.item.AEItemStack;
@@ -712,4 +714,71 @@ public class CraftingV2Tests {
         assertEquals(1, goldDustRequests.get(0).stack.getStackSize());
         assertEquals(0, goldDustRequests.get(0).remainingToProcess);
     }
+
+    private static void collectRequests(CraftingRequest request, List<CraftingRequest> out) {
+        out.add(request);
+        for (UsedResolverEntry resolver : request.usedResolvers) {
+            if (resolver.task instanceof CraftFromPatternTask task) {
+                for (CraftingRequest childRequest : task.getChildRequests()) {
+                    collectRequests(childRequest, out);
+                }
+            }
+        }
+    }
+
+    @Test
+    void pagedTreeLoadsSameTreeAsFullTransfer() {
+        MockAESystem aeSystem = new MockAESystem(dummyWorld);
+        aeSystem.addStoredItem(withSize(ironDust, 8));
+        aeSystem.newProcessingPattern().addInput(withSize(ironDust, 2)) //
+                .addOutput(withSize(ironIngot, 1)) //
+                .buildAndAdd();
+        aeSystem.newProcessingPattern().addInput(withSize(ironIngot, 1)) //
+                .addOutput(withSize(ironPlate, 1)) //
+                .buildAndAdd();
+        aeSystem.newProcessingPattern().addInput(withSize(ironPlate, 1)) //
+                .addOutput(withSize(goldIngot, 1)) //
+                .buildAndAdd();
+
+        final CraftingJobV2 job = aeSystem.makeCraftingJob(withSize(goldIngot, 4));
+        simulateJobAndCheck(job, SIMPLE_SIMULATION_TIMEOUT_MS);
+
+        final CraftingTreePager pager = new CraftingTreePager(job, 1, Integer.MAX_VALUE);
+        final CraftingJobV2 paged = CraftingJobV2.deserialize(dummyWorld, pager.serializeRoot());
+        assertNotNull(paged);
+
+        int pages = 0;
+        List<CraftingRequest> pagedRequests = new ArrayList<>();
+        collectRequests(paged.originalRequest, pagedRequests);
+        boolean loadedAny = true;
+        while (loadedAny) {
+            loadedAny = false;
+            for (CraftingRequest request : pagedRequests) {
+                if (request.unloadedSubtreeId >= 0) {
+                    final int id = request.unloadedSubtreeId;
+                    CraftingTreePager.deserializeNode(
+                            request,
+                            new CraftingTreeSerializer(dummyWorld, pager.serializeNode(id)));
+                    assertEquals(-1, request.unloadedSubtreeId);
+                    assertFalse(request.usedResolvers.isEmpty());
+                    pages++;
+                    loadedAny = true;
+                }
+            }
+            pagedRequests = new ArrayList<>();
+            collectRequests(paged.originalRequest, pagedRequests);
+        }
+        assertTrue(pages > 0, "the tree should not fit into a single page");
+        assertNull(pager.serializeNode(pages));
+
+        final CraftingJobV2 full = CraftingJobV2.deserialize(dummyWorld, job.serialize());
+        final List<CraftingRequest> fullRequests = new ArrayList<>();
+        collectRequests(full.originalRequest, fullRequests);
+        assertEquals(fullRequests.size(), pagedRequests.size());
+        for (int i = 0; i < fullRequests.size(); i++) {
+            assertTrue(fullRequests.get(i).stack.isSameType(pagedRequests.get(i).stack));
+            assertEquals(fullRequests.get(i).stack.getStackSize(), pagedRequests.get(i).stack.getStackSize());
+            assertEquals(fullRequests.get(i).usedResolvers.size(), pagedRequests.get(i).usedResolvers.size());
+        }
+    }
 }
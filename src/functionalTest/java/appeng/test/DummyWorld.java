@@ -0,0 +1,40 @@
+package appeng.test;
+
+import java.io.File;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProviderSurface;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldSettings.GameType;
+import net.minecraft.world.WorldType;
+import net.minecraftforge.common.DimensionManager;
+
+public final class DummyWorld {
+
+    private DummyWorld() {}
+
+    /**
+     * Creates a fresh server world in dimension 256 that never saves anything.
+     */
+    public static World create() {
+        if (!DimensionManager.isDimensionRegistered(256)) {
+            DimensionManager.registerProviderType(256, WorldProviderSurface.class, false);
+            DimensionManager.registerDimension(256, 256);
+        }
+        return new WorldServer(
+                MinecraftServer.getServer(),
+                new DummySaveHandler(),
+                "DummyTestWorld",
+                256,
+                new WorldSettings(256, GameType.SURVIVAL, false, false, WorldType.DEFAULT),
+                MinecraftServer.getServer().theProfiler) {
+
+            @Override
+            public File getChunkSaveLocation() {
+                return new File("dummy-ignoreme");
+            }
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package appeng.test.me;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import appeng.api.config.AccessRestriction;
+import appeng.api.config.Actionable;
+import appeng.api.config.PowerMultiplier;
+import appeng.api.networking.IGridHost;
+import appeng.api.networking.energy.IAEPowerStorage;
+import appeng.api.networking.energy.IEnergyGrid;
+import appeng.api.util.DimensionalCoord;
+import appeng.me.Grid;
+import appeng.me.GridNode;
+import appeng.me.GridTickScheduler;
+import appeng.test.mockme.MockGridBlock;
+import appeng.test.mockme.MockGridMachine;
+
+public class GridTickSchedulerFunctionalTest {
+
+    private static final int GRIDS = 16;
+    private static final int TICKS = 40;
+
+    private static class PowerStorage extends MockGridMachine implements IAEPowerStorage {
+
+        private double power;
+        private boolean extractedOffThread = false;
+
+        private PowerStorage(final double power) {
+            this.power = power;
+        }
+
+        @Override
+        public double injectAEPower(final double amt, final Actionable mode) {
+            return amt;
+        }
+
+        @Override
+        public double getAEMaxPower() {
+            return 1_000_000;
+        }
+
+        @Override
+        public double getAECurrentPower() {
+            return this.power;
+        }
+
+        @Override
+        public boolean isAEPublicPowerStorage() {
+            return true;
+        }
+
+        @Override
+        public AccessRestriction getPowerFlow() {
+            return AccessRestriction.READ;
+        }
+
+        @Override
+        public double extractAEPower(final double amt, final Actionable mode, final PowerMultiplier multiplier) {
+            final double extracted = Math.min(this.power, amt);
+            if (mode == Actionable.MODULATE) {
+                this.power -= extracted;
+                this.extractedOffThread |= GridTickScheduler.isTickingComponent();
+            }
+            return extracted;
+        }
+    }
+
+    /**
+     * One grid per dimension, each a single power storage with its own idle draw, some of them running dry.
+     */
+    private static List<Grid> createGrids(final List<PowerStorage> storages) {
+        final List<Grid> grids = new ArrayList<>();
+        for (int i = 0; i < GRIDS; i++) {
+            final int dimension = 1000 + i;
+            final double drain = 1 + i;
+            final PowerStorage storage = new PowerStorage(20 * i);
+            storages.add(storage);
+
+            grids.add(new Grid(new GridNode(new MockGridBlock() {
+
+                @Override
+                public double getIdlePowerUsage() {
+                    return drain;
+                }
+
+                @Override
+                public DimensionalCoord getLocation() {
+                    return new DimensionalCoord(0, 0, 0, dimension);
+                }
+
+                @Override
+                public IGridHost getMachine() {
+                    return storage;
+                }
+            })));
+        }
+        return grids;
+    }
+
+    private static double[][] run(final GridTickScheduler.Mode mode, final List<PowerStorage> storages) {
+        final List<Grid> grids = createGrids(storages);
+        final GridTickScheduler scheduler = new GridTickScheduler();
+        try {
+            for (int t = 0; t < TICKS; t++) {
+                scheduler.tick(grids, mode, 4);
+            }
+        } finally {
+            scheduler.shutdown();
+        }
+
+        final double[][] result = new double[GRIDS][];
+        for (int i = 0; i < GRIDS; i++) {
+            final IEnergyGrid energy = grids.get(i).getCache(IEnergyGrid.class);
+            result[i] = new double[] { energy.getStoredPower(), energy.isNetworkPowered() ? 1 : 0,
+                    storages.get(i).power };
+        }
+        return result;
+    }
+
+    @Test
+    public void testParallelTickingMatchesSequential() {
+        final List<PowerStorage> parallelStorages = new ArrayList<>();
+        final double[][] sequential = run(GridTickScheduler.Mode.SEQUENTIAL, new ArrayList<>());
+        final double[][] deterministic = run(GridTickScheduler.Mode.DETERMINISTIC, new ArrayList<>());
+        final double[][] parallel = run(GridTickScheduler.Mode.PARALLEL, parallelStorages);
+
+        for (int i = 0; i < GRIDS; i++) {
+            assertArrayEquals(sequential[i], deterministic[i], "Grid " + i + " differs in deterministic mode");
+            assertArrayEquals(sequential[i], parallel[i], "Grid " + i + " differs when ticked in parallel");
+        }
+        assertTrue(
+                parallelStorages.stream().anyMatch(s -> s.extractedOffThread),
+                "The energy grids should have been ticked by the workers");
+    }
+}
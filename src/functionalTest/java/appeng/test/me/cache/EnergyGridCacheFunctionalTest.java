@@ -0,0 +1,201 @@
+package appeng.test.me.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import appeng.api.config.AccessRestriction;
+import appeng.api.config.Actionable;
+import appeng.api.config.PowerMultiplier;
+import appeng.api.networking.IGridHost;
+import appeng.api.networking.energy.IAEPowerStorage;
+import appeng.api.networking.energy.IEnergyGrid;
+import appeng.api.networking.energy.IEnergyGridProvider;
+import appeng.me.Grid;
+import appeng.me.GridNode;
+import appeng.me.cache.EnergyGridCache;
+import appeng.test.mockme.MockGridBlock;
+import appeng.test.mockme.MockGridMachine;
+
+public class EnergyGridCacheFunctionalTest {
+
+    private static final int SUBNETS = 64;
+    private static final double POWER_PER_SUBNET = 1000;
+
+    private static class PowerStorage extends MockGridMachine implements IAEPowerStorage {
+
+        private double power;
+
+        private PowerStorage(final double power) {
+            this.power = power;
+        }
+
+        @Override
+        public double injectAEPower(final double amt, final Actionable mode) {
+            return amt;
+        }
+
+        @Override
+        public double getAEMaxPower() {
+            return POWER_PER_SUBNET;
+        }
+
+        @Override
+        public double getAECurrentPower() {
+            return this.power;
+        }
+
+        @Override
+        public boolean isAEPublicPowerStorage() {
+            return true;
+        }
+
+        @Override
+        public AccessRestriction getPowerFlow() {
+            return AccessRestriction.READ;
+        }
+
+        @Override
+        public double extractAEPower(final double amt, final Actionable mode, final PowerMultiplier multiplier) {
+            final double extracted = Math.min(this.power, amt);
+            if (mode == Actionable.MODULATE) {
+                this.power -= extracted;
+            }
+            return extracted;
+        }
+    }
+
+    /**
+     * Joins two grids like a quartz fiber does.
+     */
+    private static class Fiber extends MockGridMachine implements IEnergyGridProvider {
+
+        private final IEnergyGrid a;
+        private final IEnergyGrid b;
+
+        private Fiber(final IEnergyGrid a, final IEnergyGrid b) {
+            this.a = a;
+            this.b = b;
+        }
+
+        @Override
+        public double extractAEPower(final double amt, final Actionable mode, final Set<IEnergyGrid> seen) {
+            double extracted = 0;
+            for (final IEnergyGrid grid : this.getConnectedEnergyGrids()) {
+                if (!seen.contains(grid) && extracted < amt) {
+                    extracted += grid.extractAEPower(amt - extracted, mode, seen);
+                }
+            }
+            return extracted;
+        }
+
+        @Override
+        public double injectAEPower(final double amt, final Actionable mode, final Set<IEnergyGrid> seen) {
+            return amt;
+        }
+
+        @Override
+        public double getEnergyDemand(final double d, final Set<IEnergyGrid> seen) {
+            return 0;
+        }
+
+        @Override
+        public boolean calculateInfiniteStore(final boolean currentInfinite, final Set<IEnergyGrid> seen) {
+            return currentInfinite;
+        }
+
+        @Override
+        public Collection<IEnergyGrid> getConnectedEnergyGrids() {
+            return Arrays.asList(this.a, this.b);
+        }
+    }
+
+    private static Grid subnet(final IGridHost machine) {
+        return new Grid(new GridNode(new MockGridBlock() {
+
+            @Override
+            public IGridHost getMachine() {
+                return machine;
+            }
+        }));
+    }
+
+    /**
+     * A chain of subnets joined by fibers, the first one without any power of its own.
+     */
+    private static EnergyGridCache[] createChain() {
+        final EnergyGridCache[] chain = new EnergyGridCache[SUBNETS];
+        for (int i = 0; i < SUBNETS; i++) {
+            chain[i] = subnet(new PowerStorage(i == 0 ? 0 : POWER_PER_SUBNET)).getCache(IEnergyGrid.class);
+        }
+
+        for (int i = 0; i + 1 < SUBNETS; i++) {
+            final Fiber fiber = new Fiber(chain[i], chain[i + 1]);
+            chain[i].addNode(new GridNode(new MockGridBlock()), fiber);
+            chain[i + 1].addNode(new GridNode(new MockGridBlock()), fiber);
+        }
+        return chain;
+    }
+
+    @Test
+    public void testExtractsAlongTheWholeChain() {
+        final EnergyGridCache[] chain = createChain();
+        final double total = (SUBNETS - 1) * POWER_PER_SUBNET;
+
+        assertEquals(total, chain[0].extractAEPower(total * 2, Actionable.SIMULATE, PowerMultiplier.ONE), 1e-6);
+        assertEquals(10, chain[0].extractAEPower(10, Actionable.MODULATE, PowerMultiplier.ONE), 1e-6);
+        assertEquals(total - 10, chain[0].extractAEPower(total, Actionable.MODULATE, PowerMultiplier.ONE), 1e-6);
+        assertEquals(0, chain[0].extractAEPower(1, Actionable.MODULATE, PowerMultiplier.ONE), 1e-6);
+        assertEquals(1, chain[0].getProviderGraphRebuilds(), "The chain should only be walked once");
+    }
+
+    @Test
+    public void testTopologyChangeRebuildsTheGraph() {
+        final EnergyGridCache[] chain = createChain();
+        final double total = (SUBNETS - 1) * POWER_PER_SUBNET;
+        assertEquals(total, chain[0].extractAEPower(total * 2, Actionable.SIMULATE, PowerMultiplier.ONE), 1e-6);
+
+        // hang one more subnet off the far end
+        final EnergyGridCache extra = subnet(new PowerStorage(POWER_PER_SUBNET)).getCache(IEnergyGrid.class);
+        final Fiber fiber = new Fiber(chain[SUBNETS - 1], extra);
+        chain[SUBNETS - 1].addNode(new GridNode(new MockGridBlock()), fiber);
+        extra.addNode(new GridNode(new MockGridBlock()), fiber);
+
+        assertEquals(
+                total + POWER_PER_SUBNET,
+                chain[0].extractAEPower(total * 2, Actionable.SIMULATE, PowerMultiplier.ONE),
+                1e-6);
+        assertEquals(2, chain[0].getProviderGraphRebuilds());
+    }
+
+    @Test
+    public void testExtractionDoesNotAllocate() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        final EnergyGridCache[] chain = createChain();
+        final int calls = 10_000;
+        for (int i = 0; i < calls; i++) {
+            chain[0].extractAEPower(1, Actionable.SIMULATE, PowerMultiplier.ONE);
+        }
+
+        final long thread = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(thread);
+        double extracted = 0;
+        for (int i = 0; i < calls; i++) {
+            extracted += chain[0].extractAEPower(0.001, Actionable.MODULATE, PowerMultiplier.ONE);
+        }
+        final long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertEquals(calls * 0.001, extracted, 1e-6);
+        assertTrue(allocated / calls < 16, "Extracting through the chain allocated " + allocated / calls + " B/call");
+    }
+}
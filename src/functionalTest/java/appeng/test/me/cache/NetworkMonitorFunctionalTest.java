@@ -0,0 +1,111 @@
+package appeng.test.me.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+
+import org.junit.jupiter.api.Test;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.security.BaseActionSource;
+import appeng.api.networking.storage.IStackWatcher;
+import appeng.api.networking.storage.IStackWatcherHost;
+import appeng.api.storage.IMEMonitor;
+import appeng.api.storage.StorageChannel;
+import appeng.api.storage.data.IAEItemStack;
+import appeng.api.storage.data.IAEStack;
+import appeng.api.storage.data.IItemList;
+import appeng.test.DummyWorld;
+import appeng.test.mockme.MockAESystem;
+import appeng.test.mockme.MockGridMachine;
+import appeng.util.item.AEItemStack;
+
+public class NetworkMonitorFunctionalTest {
+
+    private static class WatcherHost extends MockGridMachine implements IStackWatcherHost {
+
+        private final List<long[]> changes = new ArrayList<>();
+        private IStackWatcher watcher;
+
+        @Override
+        public void updateWatcher(final IStackWatcher newWatcher) {
+            this.watcher = newWatcher;
+        }
+
+        @Override
+        public void onStackChange(final IItemList o, final IAEStack fullStack, final IAEStack diffStack,
+                final BaseActionSource src, final StorageChannel chan) {
+            this.changes.add(new long[] { fullStack.getStackSize(), diffStack.getStackSize() });
+        }
+    }
+
+    @Test
+    public void testChangesAreCoalescedPerTick() {
+        final MockAESystem system = new MockAESystem(DummyWorld.create());
+        final IAEItemStack stick = AEItemStack.create(new ItemStack(Items.stick));
+        system.addStoredItem(stick.copy().setStackSize(10).getItemStack());
+
+        final WatcherHost host = new WatcherHost();
+        system.sgCache.addNode(system.grid.rootNode, host);
+        host.watcher.add(stick);
+
+        final IMEMonitor<IAEItemStack> inventory = system.sgCache.getItemInventory();
+        for (int i = 0; i < 3; i++) {
+            inventory.injectItems(stick.copy().setStackSize(4), Actionable.MODULATE, system.dummyActionSource);
+        }
+        inventory.extractItems(stick.copy().setStackSize(2), Actionable.MODULATE, system.dummyActionSource);
+        assertTrue(host.changes.isEmpty(), "Watchers should only hear about changes on the tick");
+
+        system.sgCache.onUpdateTick();
+        assertEquals(1, host.changes.size());
+        assertArrayEquals(new long[] { 20, 10 }, host.changes.get(0));
+
+        system.sgCache.onUpdateTick();
+        assertEquals(1, host.changes.size(), "A tick without changes should not notify");
+
+        inventory.extractItems(stick.copy().setStackSize(5), Actionable.MODULATE, system.dummyActionSource);
+        inventory.injectItems(stick.copy().setStackSize(5), Actionable.MODULATE, system.dummyActionSource);
+        system.sgCache.onUpdateTick();
+        assertEquals(1, host.changes.size(), "Changes that cancel out should not notify");
+
+        inventory.extractItems(stick.copy().setStackSize(7), Actionable.MODULATE, system.dummyActionSource);
+        system.sgCache.onUpdateTick();
+        assertEquals(2, host.changes.size());
+        assertArrayEquals(new long[] { 13, -7 }, host.changes.get(1), "The running total should follow the change");
+    }
+
+    @Test
+    public void testRewatchedStackIsCountedAgain() {
+        final MockAESystem system = new MockAESystem(DummyWorld.create());
+        final IAEItemStack stick = AEItemStack.create(new ItemStack(Items.stick));
+        system.addStoredItem(stick.copy().setStackSize(10).getItemStack());
+
+        final WatcherHost host = new WatcherHost();
+        system.sgCache.addNode(system.grid.rootNode, host);
+        host.watcher.add(stick);
+
+        final IMEMonitor<IAEItemStack> inventory = system.sgCache.getItemInventory();
+        inventory.injectItems(stick.copy().setStackSize(4), Actionable.MODULATE, system.dummyActionSource);
+        system.sgCache.onUpdateTick();
+        assertEquals(1, host.changes.size());
+        assertArrayEquals(new long[] { 14, 4 }, host.changes.get(0));
+
+        host.watcher.remove(stick);
+        inventory.injectItems(stick.copy().setStackSize(5), Actionable.MODULATE, system.dummyActionSource);
+        system.sgCache.onUpdateTick();
+        assertEquals(1, host.changes.size(), "Unwatched stacks should not notify");
+
+        host.watcher.add(stick);
+        inventory.injectItems(stick.copy().setStackSize(1), Actionable.MODULATE, system.dummyActionSource);
+        system.sgCache.onUpdateTick();
+        assertEquals(2, host.changes.size());
+        assertArrayEquals(
+                new long[] { 20, 1 },
+                host.changes.get(1),
+                "Changes made while the stack was not watched should be in the total");
+    }
+}
@@ -0,0 +1,263 @@
+package appeng.test.me.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
+import net.minecraft.inventory.IInventory;
+import net.minecraft.inventory.InventoryBasic;
+import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.World;
+import net.minecraftforge.common.util.ForgeDirection;
+
+import org.junit.jupiter.api.Test;
+
+import appeng.api.AEApi;
+import appeng.api.parts.IPartHost;
+import appeng.me.cache.P2PCache;
+import appeng.me.cache.helpers.TunnelRoutes;
+import appeng.me.helpers.AENetworkProxy;
+import appeng.parts.p2p.PartP2PItems;
+import appeng.parts.p2p.PartP2PRedstone;
+import appeng.test.DummyWorld;
+import appeng.test.mockme.MockGrid;
+import appeng.util.inv.WrapperChainedInventory;
+
+public class P2PCacheFunctionalTest {
+
+    private static final long FREQUENCY = 42;
+    private static final int OUTPUTS = 1000;
+    private static final int HOPPER_SLOTS = 5;
+    private static final IPartHost HOST = (IPartHost) Proxy.newProxyInstance(
+            IPartHost.class.getClassLoader(),
+            new Class<?>[] { IPartHost.class },
+            (proxy, method, args) -> null);
+
+    private static PartP2PItems tunnel(final boolean output) {
+        final ItemStack is = AEApi.instance().definitions().parts().p2PTunnelItems().maybeStack(1).get();
+        final PartP2PItems tunnel = new PartP2PItems(is);
+        tunnel.output = output;
+        tunnel.freq = FREQUENCY;
+        return tunnel;
+    }
+
+    /**
+     * Puts an item tunnel next to a hopper in the world, on the grid of the cache.
+     */
+    private static ItemTunnel place(final World world, final P2PCache cache, final boolean output, final int i) {
+        final TileEntity tile = new TileEntity();
+        tile.setWorldObj(world);
+        tile.xCoord = (i % 32) * 2;
+        tile.yCoord = 64;
+        tile.zCoord = i / 32;
+        world.setBlock(tile.xCoord + 1, tile.yCoord, tile.zCoord, Blocks.hopper);
+
+        final ItemTunnel tunnel = new ItemTunnel(cache, output);
+        tunnel.setPartHostInfo(ForgeDirection.EAST, HOST, tile);
+        return tunnel;
+    }
+
+    /**
+     * An item tunnel that is always active on the cache's grid, and counts how often it is resolved.
+     */
+    private static class ItemTunnel extends PartP2PItems {
+
+        private final AENetworkProxy gridProxy;
+        private int lookups;
+        private int networkChanges;
+
+        private ItemTunnel(final P2PCache cache, final boolean output) {
+            super(AEApi.instance().definitions().parts().p2PTunnelItems().maybeStack(1).get());
+            this.output = output;
+            this.freq = FREQUENCY;
+            this.gridProxy = new AENetworkProxy(this, "part", null, false) {
+
+                @Override
+                public P2PCache getP2P() {
+                    return cache;
+                }
+
+                @Override
+                public boolean isActive() {
+                    // an output checks this first when it resolves its target
+                    ItemTunnel.this.lookups++;
+                    return true;
+                }
+            };
+        }
+
+        @Override
+        public AENetworkProxy getProxy() {
+            return this.gridProxy;
+        }
+
+        @Override
+        public void onTunnelNetworkChange() {
+            this.networkChanges++;
+            super.onTunnelNetworkChange();
+        }
+    }
+
+    private static class RedstoneTunnel extends PartP2PRedstone {
+
+        private int networkChanges;
+
+        private RedstoneTunnel() {
+            super(AEApi.instance().definitions().parts().p2PTunnelRedstone().maybeStack(1).get());
+            this.output = true;
+            this.freq = FREQUENCY;
+        }
+
+        @Override
+        public void onTunnelNetworkChange() {
+            this.networkChanges++;
+        }
+    }
+
+    /**
+     * Resolves every target of the table once, like an input building its destination.
+     */
+    private static void resolveAll(final TunnelRoutes<PartP2PItems> routes, final int[] resolves) {
+        for (int x = 0; x < routes.size(); x++) {
+            routes.getTarget(x, t -> {
+                resolves[0]++;
+                return t;
+            });
+        }
+    }
+
+    @Test
+    public void testNeighbourUpdateOnlyResolvesThatOutput() {
+        final World world = DummyWorld.create();
+        final MockGrid grid = new MockGrid();
+        final P2PCache cache = grid.getCache(P2PCache.class);
+
+        final ItemTunnel input = place(world, cache, false, OUTPUTS);
+        cache.addNode(grid.rootNode, input);
+        final ItemTunnel[] outputs = new ItemTunnel[OUTPUTS];
+        for (int i = 0; i < OUTPUTS; i++) {
+            outputs[i] = place(world, cache, true, i);
+            cache.addNode(grid.rootNode, outputs[i]);
+        }
+
+        assertEquals(HOPPER_SLOTS * OUTPUTS, input.getSizeInventory());
+        final TunnelRoutes<ItemTunnel> routes = cache.getRoutes(FREQUENCY, ItemTunnel.class);
+        final int rebuilds = routes.getRebuilds();
+        final int version = routes.getVersion();
+
+        // a new hopper replaces the one next to the middle output
+        final ItemTunnel changed = outputs[OUTPUTS / 2];
+        final TileEntity tile = changed.getTile();
+        world.setBlockToAir(tile.xCoord + 1, tile.yCoord, tile.zCoord);
+        world.setBlock(tile.xCoord + 1, tile.yCoord, tile.zCoord, Blocks.hopper);
+        ((IInventory) world.getTileEntity(tile.xCoord + 1, tile.yCoord, tile.zCoord))
+                .setInventorySlotContents(0, new ItemStack(Items.stick));
+        changed.onNeighborChanged();
+
+        // a block update that left the hopper in place
+        outputs[0].onNeighborChanged();
+
+        assertNotEquals(version, routes.getVersion(), "The input should see that a target changed");
+        assertSame(routes, cache.getRoutes(FREQUENCY, ItemTunnel.class));
+        assertEquals(rebuilds, routes.getRebuilds(), "A neighbour change should not rebuild the table");
+        for (int i = 0; i < OUTPUTS; i++) {
+            final int expected = outputs[i] == changed ? 2 : 1;
+            assertEquals(expected, outputs[i].lookups, "Only the changed output should be resolved again, not " + i);
+        }
+
+        final ItemStack moved = input.getStackInSlot(HOPPER_SLOTS * (OUTPUTS / 2));
+        assertNotNull(moved, "The input should insert into the new hopper");
+        assertSame(Items.stick, moved.getItem());
+    }
+
+    @Test
+    public void testNewInputOnlyNotifiesOutputsOfItsType() {
+        final World world = DummyWorld.create();
+        final MockGrid grid = new MockGrid();
+        final P2PCache cache = grid.getCache(P2PCache.class);
+
+        final ItemTunnel[] items = new ItemTunnel[3];
+        final RedstoneTunnel[] redstone = new RedstoneTunnel[3];
+        for (int i = 0; i < 3; i++) {
+            items[i] = place(world, cache, true, i);
+            cache.addNode(grid.rootNode, items[i]);
+            redstone[i] = new RedstoneTunnel();
+            cache.addNode(grid.rootNode, redstone[i]);
+        }
+
+        final ItemTunnel input = place(world, cache, false, 3);
+        cache.addNode(grid.rootNode, input);
+        cache.removeNode(grid.rootNode, input);
+
+        for (int i = 0; i < 3; i++) {
+            // one change from joining the frequency, then one each for the input arriving and leaving
+            assertEquals(3, items[i].networkChanges, "Item outputs lose and gain their input");
+            assertEquals(1, redstone[i].networkChanges, "Redstone outputs never connect to an item input");
+        }
+    }
+
+    @Test
+    public void testMembershipChangeRebuildsOnce() {
+        final MockGrid grid = new MockGrid();
+        final P2PCache cache = grid.getCache(P2PCache.class);
+
+        cache.addNode(grid.rootNode, tunnel(false));
+        for (int i = 0; i < OUTPUTS; i++) {
+            cache.addNode(grid.rootNode, tunnel(true));
+        }
+
+        final TunnelRoutes<PartP2PItems> routes = cache.getRoutes(FREQUENCY, PartP2PItems.class);
+        final int[] resolves = { 0 };
+        resolveAll(routes, resolves);
+
+        final PartP2PItems removed = routes.get(0);
+        cache.removeNode(grid.rootNode, removed);
+        resolveAll(routes, resolves);
+        resolveAll(routes, resolves);
+
+        assertEquals(OUTPUTS - 1, routes.size());
+        assertEquals(2, routes.getRebuilds());
+        assertEquals(2 * OUTPUTS - 1, resolves[0]);
+    }
+
+    @Test
+    public void testRoundRobinVisitsEveryOutput() {
+        final MockGrid grid = new MockGrid();
+        final P2PCache cache = grid.getCache(P2PCache.class);
+        for (int i = 0; i < 3; i++) {
+            cache.addNode(grid.rootNode, tunnel(true));
+        }
+
+        final TunnelRoutes<PartP2PItems> routes = cache.getRoutes(FREQUENCY, PartP2PItems.class);
+        assertEquals(0, routes.nextStart());
+        assertEquals(1, routes.nextStart());
+        assertEquals(2, routes.nextStart());
+        assertEquals(0, routes.nextStart());
+    }
+
+    @Test
+    public void testChainedInventoryCycle() {
+        final IInventory a = new InventoryBasic("a", false, 2);
+        final IInventory empty = new InventoryBasic("empty", false, 0);
+        final IInventory b = new InventoryBasic("b", false, 3);
+        final WrapperChainedInventory chain = new WrapperChainedInventory(a, empty, b);
+
+        assertEquals(5, chain.getSizeInventory());
+        assertSame(a, chain.getInv(0));
+        assertSame(b, chain.getInv(2));
+        assertEquals(0, chain.getInvSlot(2));
+
+        chain.cycleOrder();
+        assertSame(b, chain.getInv(0));
+        assertEquals(2, chain.getInvSlot(2));
+        assertSame(a, chain.getInv(3));
+
+        chain.cycleOrder();
+        assertSame(b, chain.getInv(0));
+        assertSame(a, chain.getInv(3));
+        assertNull(chain.getInv(5));
+    }
+}
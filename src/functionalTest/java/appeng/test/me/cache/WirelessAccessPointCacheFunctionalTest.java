@@ -0,0 +1,138 @@
+package appeng.test.me.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import appeng.api.implementations.tiles.IWirelessAccessPoint;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridNode;
+import appeng.api.util.DimensionalCoord;
+import appeng.me.GridNode;
+import appeng.me.cache.WirelessAccessPointCache;
+import appeng.test.mockme.MockGrid;
+import appeng.test.mockme.MockGridBlock;
+import appeng.test.mockme.MockGridMachine;
+
+public class WirelessAccessPointCacheFunctionalTest {
+
+    private static final int ACCESS_POINTS = 500;
+    private static final int LOOKUPS = 5000;
+
+    private static class AccessPoint extends MockGridMachine implements IWirelessAccessPoint {
+
+        private final DimensionalCoord location;
+        private final boolean active;
+        private double range;
+
+        private AccessPoint(final int x, final int y, final int z, final int dim, final double range,
+                final boolean active) {
+            this.location = new DimensionalCoord(x, y, z, dim);
+            this.range = range;
+            this.active = active;
+        }
+
+        @Override
+        public DimensionalCoord getLocation() {
+            return this.location;
+        }
+
+        @Override
+        public double getRange() {
+            return this.range;
+        }
+
+        @Override
+        public boolean isActive() {
+            return this.active;
+        }
+
+        @Override
+        public IGrid getGrid() {
+            return null;
+        }
+
+        @Override
+        public IGridNode getActionableNode() {
+            return null;
+        }
+    }
+
+    /**
+     * What a wireless terminal used to do, measure the distance to every access point.
+     */
+    private static IWirelessAccessPoint scan(final List<AccessPoint> waps, final int dim, final double x,
+            final double y, final double z) {
+        AccessPoint found = null;
+        double best = Double.MAX_VALUE;
+        for (final AccessPoint wap : waps) {
+            final double offX = wap.location.x - x;
+            final double offY = wap.location.y - y;
+            final double offZ = wap.location.z - z;
+            final double r = offX * offX + offY * offY + offZ * offZ;
+            if (wap.location.getDimension() == dim && wap.active && r < wap.range * wap.range && r < best) {
+                found = wap;
+                best = r;
+            }
+        }
+        return found;
+    }
+
+    @Test
+    public void testFindsTheSameAccessPointAsAFullScan() {
+        final WirelessAccessPointCache cache = new MockGrid().getCache(WirelessAccessPointCache.class);
+        final Random random = new Random(48);
+        final List<AccessPoint> waps = new ArrayList<>();
+        for (int i = 0; i < ACCESS_POINTS; i++) {
+            final AccessPoint wap = new AccessPoint(
+                    random.nextInt(4000) - 2000,
+                    random.nextInt(256),
+                    random.nextInt(4000) - 2000,
+                    random.nextInt(2),
+                    16 + random.nextInt(200),
+                    random.nextInt(10) != 0);
+            waps.add(wap);
+            cache.addNode(new GridNode(new MockGridBlock()), wap);
+        }
+
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            final int dim = random.nextInt(3);
+            final double x = random.nextDouble() * 4400 - 2200;
+            final double y = random.nextDouble() * 256;
+            final double z = random.nextDouble() * 4400 - 2200;
+            final IWirelessAccessPoint expected = scan(waps, dim, x, y, z);
+            assertSame(expected, cache.findAccessPoint(dim, x, y, z), "Lookup " + i + " differs from a full scan");
+            found += expected == null ? 0 : 1;
+        }
+        assertTrue(found > 0, "Some lookups should be in range of an access point");
+    }
+
+    @Test
+    public void testFollowsRangeChangesAndRemovals() {
+        final WirelessAccessPointCache cache = new MockGrid().getCache(WirelessAccessPointCache.class);
+        final AccessPoint near = new AccessPoint(0, 64, 0, 0, 16, true);
+        final AccessPoint far = new AccessPoint(200, 64, 0, 0, 16, true);
+        final IGridNode nearNode = new GridNode(new MockGridBlock());
+        final IGridNode farNode = new GridNode(new MockGridBlock());
+        cache.addNode(nearNode, near);
+        cache.addNode(farNode, far);
+
+        assertSame(near, cache.findAccessPoint(0, 5, 64, 5));
+        assertNull(cache.findAccessPoint(0, 100, 64, 0));
+
+        far.range = 150;
+        cache.updateRange(farNode);
+        assertSame(far, cache.findAccessPoint(0, 100, 64, 0), "Boosters should extend the range");
+        assertSame(near, cache.findAccessPoint(0, 5, 64, 5), "The closer access point should win");
+
+        cache.removeNode(nearNode, near);
+        assertSame(far, cache.findAccessPoint(0, 5, 64, 5));
+        cache.removeNode(farNode, far);
+        assertNull(cache.findAccessPoint(0, 5, 64, 5));
+    }
+}
@@ -0,0 +1,277 @@
+package appeng.test.me.cluster;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.world.World;
+import net.minecraftforge.common.util.Constants.NBT;
+
+import org.junit.jupiter.api.Test;
+
+import appeng.api.AEApi;
+import appeng.api.networking.crafting.CraftingItemList;
+import appeng.api.networking.crafting.ICraftingPatternDetails;
+import appeng.api.storage.data.IAEStack;
+import appeng.api.storage.data.IItemList;
+import appeng.api.util.WorldCoord;
+import appeng.me.cluster.implementations.CraftingCPUCluster;
+import appeng.me.cluster.implementations.CraftingCPUSaveMetrics;
+import appeng.test.DummyWorld;
+import appeng.test.mockme.MockAESystem;
+import appeng.util.item.AEItemStack;
+
+public class CraftingCPUClusterFunctionalTest {
+
+    /**
+     * Opens up the task bookkeeping the crafting loop uses.
+     */
+    private static class Cluster extends CraftingCPUCluster {
+
+        private final Map<ICraftingPatternDetails, Long> remainingCrafts = new HashMap<>();
+        private final World world;
+
+        private Cluster(final World world) {
+            super(new WorldCoord(0, 0, 0), new WorldCoord(0, 0, 0));
+            this.world = world;
+        }
+
+        @Override
+        protected World getWorld() {
+            return this.world;
+        }
+
+        @Override
+        public void addCrafting(final ICraftingPatternDetails details, final long crafts) {
+            this.remainingCrafts.merge(details, crafts, Long::sum);
+            super.addCrafting(details, crafts);
+        }
+
+        private void finishCrafts(final ICraftingPatternDetails details, final long crafts) {
+            final TaskProgress progress = this.tasks.get(details);
+            if (progress != null) {
+                final long finished = Math.min(crafts, this.remainingCrafts.get(details));
+                this.remainingCrafts.merge(details, -finished, Long::sum);
+                this.addTaskProgress(details, progress, -finished);
+            }
+        }
+
+        private void dropFinishedTasks() {
+            this.hasRemainingTasks();
+            this.remainingCrafts.values().removeIf(crafts -> crafts <= 0);
+        }
+
+        private void cancelTask(final ICraftingPatternDetails details) {
+            this.removeTask(details);
+            this.remainingCrafts.remove(details);
+        }
+
+        private void cancelAllTasks() {
+            this.clearTasks();
+            this.remainingCrafts.clear();
+        }
+
+        private int getPendingOutputCount() {
+            return this.pendingOutputs.size();
+        }
+
+        private NBTTagCompound saveTasks() {
+            final NBTTagCompound data = new NBTTagCompound();
+            this.writeTasksToNBT(data);
+            return data;
+        }
+
+        private void loadTasks(final NBTTagCompound data) {
+            this.readTasksFromNBT(data);
+        }
+
+        /**
+         * Saves the tasks the way they were saved before the pattern table, each with its full pattern.
+         */
+        private NBTTagCompound saveTasksWithFullPatterns() {
+            final NBTTagList list = new NBTTagList();
+            for (final Map.Entry<ICraftingPatternDetails, Long> e : this.remainingCrafts.entrySet()) {
+                final NBTTagCompound item = new NBTTagCompound();
+                AEItemStack.create(e.getKey().getPattern()).writeToNBT(item);
+                item.setLong("craftingProgress", e.getValue());
+                list.appendTag(item);
+            }
+            final NBTTagCompound data = new NBTTagCompound();
+            data.setTag("tasks", list);
+            return data;
+        }
+    }
+
+    private static List<ICraftingPatternDetails> createPatterns(final MockAESystem system) {
+        final List<ICraftingPatternDetails> patterns = new ArrayList<>();
+        patterns.add(
+                system.newProcessingPattern().addInput(new ItemStack(Blocks.log))
+                        .addOutput(new ItemStack(Blocks.planks, 4)).buildAndAdd());
+        patterns.add(
+                system.newProcessingPattern().addInput(new ItemStack(Blocks.planks, 2))
+                        .addOutput(new ItemStack(Items.stick, 4)).buildAndAdd());
+        // shares both outputs with the patterns above
+        patterns.add(
+                system.newProcessingPattern().addInput(new ItemStack(Blocks.sapling))
+                        .addOutput(new ItemStack(Items.stick, 2)).addOutput(new ItemStack(Blocks.planks, 3))
+                        .setPriority(1).buildAndAdd());
+        patterns.add(
+                system.newProcessingPattern().addInput(new ItemStack(Items.coal))
+                        .addInput(new ItemStack(Items.stick)).addOutput(new ItemStack(Blocks.torch, 4))
+                        .setPriority(2).buildAndAdd());
+        return patterns;
+    }
+
+    /**
+     * The pending amounts the cluster keeps up to date have to match adding up the outputs of every task.
+     */
+    private static void assertPendingConsistent(final Cluster cluster) {
+        final IItemList<IAEStack<?>> list = AEApi.instance().storage().createAEStackList();
+        cluster.getModernListOfItem(list, CraftingItemList.PENDING);
+
+        int nonEmpty = 0;
+        for (final IAEStack<?> stack : list) {
+            if (stack.getStackSize() != 0) {
+                nonEmpty++;
+            }
+            assertEquals(
+                    stack.getStackSize(),
+                    cluster.getStackAmount(stack, CraftingItemList.PENDING),
+                    "Pending amount of " + stack);
+        }
+        assertEquals(nonEmpty, cluster.getPendingOutputCount(), "Outputs without pending crafts should be dropped");
+    }
+
+    @Test
+    public void testPendingAmountsAddUpOutputs() {
+        final MockAESystem system = new MockAESystem(DummyWorld.create());
+        final List<ICraftingPatternDetails> patterns = createPatterns(system);
+        final Cluster cluster = new Cluster(system.world);
+
+        cluster.addCrafting(patterns.get(0), 5);
+        cluster.addCrafting(patterns.get(1), 3);
+        cluster.addCrafting(patterns.get(2), 2);
+        cluster.addCrafting(patterns.get(0), 1);
+
+        final AEItemStack planks = AEItemStack.create(new ItemStack(Blocks.planks));
+        final AEItemStack sticks = AEItemStack.create(new ItemStack(Items.stick));
+        assertEquals(6 * 4 + 2 * 3, cluster.getStackAmount(planks, CraftingItemList.PENDING));
+        assertEquals(3 * 4 + 2 * 2, cluster.getStackAmount(sticks, CraftingItemList.PENDING));
+        assertEquals(
+                0,
+                cluster.getStackAmount(
+                        AEItemStack.create(new ItemStack(Blocks.torch)),
+                        CraftingItemList.PENDING));
+        assertPendingConsistent(cluster);
+
+        cluster.finishCrafts(patterns.get(2), 2);
+        assertEquals(6 * 4, cluster.getStackAmount(planks, CraftingItemList.PENDING));
+        assertEquals(3 * 4, cluster.getStackAmount(sticks, CraftingItemList.PENDING));
+        assertPendingConsistent(cluster);
+    }
+
+    @Test
+    public void testPendingAmountsFollowTaskChanges() {
+        final MockAESystem system = new MockAESystem(DummyWorld.create());
+        final List<ICraftingPatternDetails> patterns = createPatterns(system);
+        final Cluster cluster = new Cluster(system.world);
+        final Random random = new Random(50);
+
+        for (int step = 0; step < 2000; step++) {
+            final ICraftingPatternDetails details = patterns.get(random.nextInt(patterns.size()));
+            final int op = random.nextInt(20);
+            if (op < 8) {
+                cluster.addCrafting(details, 1 + random.nextInt(64));
+            } else if (op < 16) {
+                cluster.finishCrafts(details, 1 + random.nextInt(16));
+            } else if (op < 18) {
+                cluster.dropFinishedTasks();
+            } else if (op < 19) {
+                cluster.cancelTask(details);
+            } else if (random.nextInt(10) == 0) {
+                cluster.cancelAllTasks();
+            }
+            assertPendingConsistent(cluster);
+        }
+    }
+
+    @Test
+    public void testSavedTasksAreSmallerThanFullPatterns() {
+        final MockAESystem system = new MockAESystem(DummyWorld.create());
+        final Cluster cluster = new Cluster(system.world);
+        for (final ICraftingPatternDetails details : createPatterns(system)) {
+            cluster.addCrafting(details, 10);
+        }
+
+        final int saved = CraftingCPUSaveMetrics.measure(cluster.saveTasks());
+        final int legacy = CraftingCPUSaveMetrics.measure(cluster.saveTasksWithFullPatterns());
+        assertTrue(saved < legacy, "Saved tasks take " + saved + " bytes, with full patterns " + legacy);
+    }
+
+    private static int countPatterns(final NBTTagCompound data) {
+        final NBTTagList table = data.getTagList("patterns", NBT.TAG_COMPOUND);
+        int count = 0;
+        for (int x = 0; x < table.tagCount(); x++) {
+            if (!table.getCompoundTagAt(x).hasNoTags()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testPatternTableOnlyHoldsRunningTasks() {
+        final MockAESystem system = new MockAESystem(DummyWorld.create());
+        final List<ICraftingPatternDetails> patterns = createPatterns(system);
+        final Cluster cluster = new Cluster(system.world);
+        for (final ICraftingPatternDetails details : patterns) {
+            cluster.addCrafting(details, 10);
+        }
+        final NBTTagCompound first = cluster.saveTasks();
+        assertEquals(patterns.size(), countPatterns(first));
+        final Map<Integer, NBTTagCompound> firstTasks = new HashMap<>();
+        final NBTTagList firstList = first.getTagList("tasks", NBT.TAG_COMPOUND);
+        for (int x = 0; x < firstList.tagCount(); x++) {
+            firstTasks.put(firstList.getCompoundTagAt(x).getInteger("pattern"), firstList.getCompoundTagAt(x));
+        }
+
+        cluster.finishCrafts(patterns.get(0), 10);
+        cluster.dropFinishedTasks();
+        cluster.cancelTask(patterns.get(2));
+        final NBTTagCompound data = cluster.saveTasks();
+        assertEquals(patterns.size() - 2, countPatterns(data));
+
+        // the running tasks keep their pattern index, so their entries are not written again
+        final NBTTagList list = data.getTagList("tasks", NBT.TAG_COMPOUND);
+        assertEquals(patterns.size() - 2, list.tagCount());
+        for (int x = 0; x < list.tagCount(); x++) {
+            final NBTTagCompound task = list.getCompoundTagAt(x);
+            assertSame(firstTasks.get(task.getInteger("pattern")), task, "Task entry " + x);
+        }
+
+        final Cluster loaded = new Cluster(system.world);
+        loaded.loadTasks(data);
+        for (final ICraftingPatternDetails details : patterns) {
+            final IAEStack<?> out = details.getCondensedAEOutputs()[0];
+            assertEquals(
+                    cluster.getStackAmount(out, CraftingItemList.PENDING),
+                    loaded.getStackAmount(out, CraftingItemList.PENDING),
+                    "Pending amount of " + out);
+        }
+
+        // once blank entries outnumber the running tasks the table is numbered again
+        cluster.cancelTask(patterns.get(1));
+        final NBTTagCompound compacted = cluster.saveTasks();
+        assertEquals(1, compacted.getTagList("patterns", NBT.TAG_COMPOUND).tagCount());
+        assertEquals(0, compacted.getTagList("tasks", NBT.TAG_COMPOUND).getCompoundTagAt(0).getInteger("pattern"));
+    }
+}
@@ -123,7 +123,7 @@ public class MockAESystem implements ICellProvider {
             return this;
         }
 
-        public void buildAndAdd() {
+        public PatternHelper buildAndAdd() {
             final ItemStack encodedPattern = AEApi.instance().definitions().items().encodedPattern().maybeStack(1)
                     .get();
             final NBTTagCompound patternTags = new NBTTagCompound();
@@ -153,6 +153,7 @@ public class MockAESystem implements ICellProvider {
             PatternHelper helper = new PatternHelper(encodedPattern, world);
             helper.setPriority(priority);
             cgCache.addCraftingOption(new MockCraftingMedium(), helper);
+            return helper;
         }
     }
 
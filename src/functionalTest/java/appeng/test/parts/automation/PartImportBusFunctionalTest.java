@@ -0,0 +1,107 @@
+package appeng.test.parts.automation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+
+import net.minecraft.init.Blocks;
+import net.minecraft.inventory.InventoryBasic;
+import net.minecraft.item.ItemStack;
+
+import org.junit.jupiter.api.Test;
+
+import appeng.api.AEApi;
+import appeng.api.config.FuzzyMode;
+import appeng.api.networking.energy.IEnergySource;
+import appeng.api.storage.IMEMonitor;
+import appeng.api.storage.data.IAEItemStack;
+import appeng.parts.automation.PartImportBus;
+import appeng.test.DummyWorld;
+import appeng.test.mockme.MockAESystem;
+import appeng.util.InventoryAdaptor;
+import appeng.util.inv.AdaptorIInventory;
+import appeng.util.item.AEItemStack;
+
+public class PartImportBusFunctionalTest {
+
+    /**
+     * An import bus that pulls from the given adaptor instead of a neighbouring tile.
+     */
+    private static class ImportBus extends PartImportBus {
+
+        private final InventoryAdaptor adaptor;
+
+        private ImportBus(final InventoryAdaptor adaptor) {
+            super(AEApi.instance().definitions().parts().importBus().maybeStack(1).get());
+            this.adaptor = adaptor;
+        }
+
+        @Override
+        protected Object getTarget() {
+            return this.adaptor;
+        }
+
+        /**
+         * One tick worth of work, the way the bus loops over an unconfigured target.
+         */
+        private void importAll(final int amount, final IMEMonitor<IAEItemStack> inv, final IEnergySource energy) {
+            this.itemToSend = amount;
+            while (this.itemToSend > 0) {
+                if (this.importStuff(this.adaptor, null, inv, energy, FuzzyMode.IGNORE_ALL)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Imports a stack of the given size and returns how many calls reached the network and the energy grid.
+     */
+    private static int[] importStack(final int size) {
+        final MockAESystem system = new MockAESystem(DummyWorld.create());
+        final IMEMonitor<IAEItemStack> network = system.sgCache.getItemInventory();
+        final int[] calls = new int[2];
+
+        @SuppressWarnings("unchecked")
+        final IMEMonitor<IAEItemStack> counted = (IMEMonitor<IAEItemStack>) Proxy.newProxyInstance(
+                IMEMonitor.class.getClassLoader(),
+                new Class<?>[] { IMEMonitor.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("injectItems")) {
+                        calls[0]++;
+                    }
+                    return method.invoke(network, args);
+                });
+        final IEnergySource energy = (amt, mode, multiplier) -> {
+            calls[1]++;
+            return amt;
+        };
+
+        // a deep storage unit, the whole amount sits in one slot
+        final InventoryBasic chest = new InventoryBasic("chest", false, 1) {
+
+            @Override
+            public int getInventoryStackLimit() {
+                return Integer.MAX_VALUE;
+            }
+        };
+        chest.setInventorySlotContents(0, new ItemStack(Blocks.cobblestone, size));
+        new ImportBus(new AdaptorIInventory(chest)).importAll(size, counted, energy);
+
+        final IAEItemStack stored = network.getStorageList()
+                .findPrecise(AEItemStack.create(new ItemStack(Blocks.cobblestone)));
+        assertNotNull(stored);
+        assertEquals(size, stored.getStackSize(), "Everything should have been imported");
+        assertNull(chest.getStackInSlot(0));
+        return calls;
+    }
+
+    @Test
+    public void testCallCountIsIndependentOfTheAmount() {
+        final int[] small = importStack(64);
+        final int[] large = importStack(1_000_000);
+
+        assertArrayEquals(small, large, "Importing more items should not take more calls");
+        assertTrue(large[0] <= 4, "The network saw " + large[0] + " inserts");
+    }
+}
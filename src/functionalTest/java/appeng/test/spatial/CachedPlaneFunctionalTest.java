@@ -0,0 +1,67 @@
+package appeng.test.spatial;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import net.minecraft.block.Block;
+import net.minecraft.init.Blocks;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+import org.junit.jupiter.api.Test;
+
+import appeng.api.AEApi;
+import appeng.spatial.StorageHelper;
+import appeng.test.DummyWorld;
+import appeng.util.Platform;
+
+public class CachedPlaneFunctionalTest {
+
+    /**
+     * Fills one chunk section with a block, the way a fresh storage cell chunk is generated.
+     */
+    private static void fillSection(final World world, final int cx, final int cy, final int cz, final Block block) {
+        final Chunk chunk = world.getChunkFromChunkCoords(cx, cz);
+        ExtendedBlockStorage storage = chunk.getBlockStorageArray()[cy];
+        if (storage == null) {
+            storage = chunk.getBlockStorageArray()[cy] = new ExtendedBlockStorage(cy << 4, true);
+        }
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    storage.func_150818_a(x, y, z, block);
+                    storage.setExtBlockMetadata(x, y, z, 0);
+                }
+            }
+        }
+    }
+
+    private static void assertSection(final World world, final int cx, final int cy, final int cz,
+            final Block expected) {
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    final int wx = (cx << 4) + x;
+                    final int wy = (cy << 4) + y;
+                    final int wz = (cz << 4) + z;
+                    assertSame(expected, world.getBlock(wx, wy, wz), "Block at " + wx + ", " + wy + ", " + wz);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testChunkAlignedSwapLeavesMatrixFramesBehind() {
+        final World world = DummyWorld.create();
+        final Block matrixFrame = AEApi.instance().definitions().blocks().matrixFrame().maybeBlock().get();
+
+        // the region in the world, and the fresh storage cell region it is swapped with
+        fillSection(world, 2, 4, 2, Blocks.stone);
+        fillSection(world, 4, 4, 4, matrixFrame);
+
+        StorageHelper.getInstance().swapRegions(world, world, 32, 64, 32, 64, 64, 64, 15, 15, 15);
+
+        assertSection(world, 2, 4, 2, Platform.AIR_BLOCK);
+        assertSection(world, 4, 4, 4, Blocks.stone);
+    }
+}
@@ -0,0 +1,47 @@
+package appeng.test.tile.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.init.Blocks;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+
+import org.junit.jupiter.api.Test;
+
+import appeng.tile.storage.TileIOPort;
+import appeng.util.Platform;
+import appeng.util.item.AEItemStack;
+
+public class TileIOPortFunctionalTest {
+
+    @Test
+    public void testBreakingDropsStacksNobodyTookBack() {
+        final NBTTagList buffer = new NBTTagList();
+        buffer.appendTag(
+                Platform.writeStackNBT(
+                        AEItemStack.create(new ItemStack(Blocks.cobblestone)).setStackSize(100),
+                        new NBTTagCompound()));
+        final NBTTagCompound data = new NBTTagCompound();
+        data.setTag("returnBuffer", buffer);
+
+        final TileIOPort port = new TileIOPort();
+        port.readFromNBT_TileIOPort(data);
+
+        final List<ItemStack> drops = new ArrayList<>();
+        port.getDrops(null, 0, 0, 0, drops);
+
+        int cobblestone = 0;
+        for (final ItemStack drop : drops) {
+            if (drop.getItem() == Item.getItemFromBlock(Blocks.cobblestone)) {
+                assertTrue(drop.stackSize <= drop.getMaxStackSize(), "Dropped stack of " + drop.stackSize);
+                cobblestone += drop.stackSize;
+            }
+        }
+        assertEquals(100, cobblestone);
+    }
+}
@@ -0,0 +1,218 @@
+package appeng.test.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
+import net.minecraft.inventory.InventoryCrafting;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.CraftingManager;
+import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.item.crafting.ShapedRecipes;
+import net.minecraft.item.crafting.ShapelessRecipes;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.World;
+
+import org.junit.jupiter.api.Test;
+
+import appeng.container.ContainerNull;
+import appeng.util.Platform;
+import appeng.util.RecipeIndex;
+
+public class RecipeIndexFunctionalTest {
+
+    private static final int MAX_GRIDS = 2000;
+
+    private static World world() {
+        return MinecraftServer.getServer().getEntityWorld();
+    }
+
+    private static InventoryCrafting grid(final ItemStack... stacks) {
+        final InventoryCrafting ic = new InventoryCrafting(new ContainerNull(), 3, 3);
+        for (int i = 0; i < stacks.length; i++) {
+            ic.setInventorySlotContents(i, stacks[i]);
+        }
+        return ic;
+    }
+
+    /**
+     * Builds a grid that satisfies a plain vanilla recipe, or null if the recipe has no simple grid.
+     */
+    private static InventoryCrafting gridFor(final IRecipe recipe) {
+        if (recipe.getClass() == ShapedRecipes.class) {
+            final ShapedRecipes shaped = (ShapedRecipes) recipe;
+            if (shaped.recipeWidth > 3 || shaped.recipeHeight > 3) {
+                return null;
+            }
+            final InventoryCrafting ic = grid();
+            for (int y = 0; y < shaped.recipeHeight; y++) {
+                for (int x = 0; x < shaped.recipeWidth; x++) {
+                    final ItemStack is = shaped.recipeItems[x + y * shaped.recipeWidth];
+                    ic.setInventorySlotContents(x + y * 3, is == null ? null : fixWildcard(is));
+                }
+            }
+            return ic;
+        } else if (recipe.getClass() == ShapelessRecipes.class) {
+            final List<?> items = ((ShapelessRecipes) recipe).recipeItems;
+            if (items.size() > 9) {
+                return null;
+            }
+            final InventoryCrafting ic = grid();
+            for (int i = 0; i < items.size(); i++) {
+                ic.setInventorySlotContents(i, fixWildcard((ItemStack) items.get(i)));
+            }
+            return ic;
+        }
+        return null;
+    }
+
+    private static ItemStack fixWildcard(final ItemStack is) {
+        final ItemStack copy = is.copy();
+        if (copy.getItemDamage() == Short.MAX_VALUE) {
+            copy.setItemDamage(0);
+        }
+        copy.stackSize = 1;
+        return copy;
+    }
+
+    private static IRecipe linearScan(final InventoryCrafting ic, final World w) {
+        for (final Object o : CraftingManager.getInstance().getRecipeList()) {
+            final IRecipe r = (IRecipe) o;
+            if (r.matches(ic, w)) {
+                return r;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    void findsVanillaRecipes() {
+        final ItemStack plank = new ItemStack(Blocks.planks, 1, 0);
+        final ItemStack stick = new ItemStack(Items.stick);
+
+        final InventoryCrafting sticks = grid(plank, null, null, plank);
+        assertSame(linearScan(sticks, world()), RecipeIndex.findMatchingRecipe(sticks, world()));
+        assertNotNull(RecipeIndex.findMatchingRecipeOutput(sticks, world()));
+
+        final InventoryCrafting pickaxe = grid(plank, plank, plank, null, stick, null, null, stick, null);
+        final ItemStack output = Platform.findMatchingRecipeOutput(pickaxe, world());
+        assertNotNull(output);
+        assertSame(Items.wooden_pickaxe, output.getItem());
+
+        final ItemStack egg = new ItemStack(Items.egg);
+        final InventoryCrafting nothing = grid(stick, null, null, null, null, null, null, null, egg);
+        assertNull(RecipeIndex.findMatchingRecipe(nothing, world()));
+    }
+
+    @Test
+    void repairsTools() {
+        final ItemStack a = new ItemStack(Items.iron_pickaxe, 1, 100);
+        final ItemStack b = new ItemStack(Items.iron_pickaxe, 1, 150);
+        final InventoryCrafting ic = grid(a, b);
+
+        final ItemStack expected = CraftingManager.getInstance().findMatchingRecipe(ic, world());
+        final ItemStack actual = RecipeIndex.findMatchingRecipeOutput(ic, world());
+        assertNotNull(actual);
+        assertTrue(ItemStack.areItemStacksEqual(expected, actual));
+    }
+
+    /**
+     * Looks up the grids of the registered vanilla-typed recipes through the index and with a full scan of the recipe
+     * list, the results have to agree.
+     */
+    @Test
+    void matchesLinearScan() {
+        final List<?> recipes = CraftingManager.getInstance().getRecipeList();
+        int count = 0;
+        for (int i = 0; i < recipes.size() && count < MAX_GRIDS; i++) {
+            final InventoryCrafting ic = gridFor((IRecipe) recipes.get(i));
+            if (ic != null) {
+                assertSame(linearScan(ic, world()), RecipeIndex.findMatchingRecipe(ic, world()), "recipe " + i);
+                count++;
+            }
+        }
+        assertTrue(count > 0, "no vanilla-typed recipes are registered");
+    }
+
+    @Test
+    void testsRecipesThatOverrideMatches() {
+        assertTrue(RecipeIndex.isIndexable(ShapedRecipes.class));
+        assertTrue(RecipeIndex.isIndexable(PlainRecipe.class));
+        assertFalse(RecipeIndex.isIndexable(EggRecipe.class));
+
+        @SuppressWarnings("unchecked")
+        final List<IRecipe> recipes = CraftingManager.getInstance().getRecipeList();
+        final IRecipe egg = new EggRecipe();
+        recipes.add(0, egg);
+        try {
+            final InventoryCrafting ic = grid(new ItemStack(Items.egg));
+            assertSame(linearScan(ic, world()), RecipeIndex.findMatchingRecipe(ic, world()));
+            assertSame(egg, RecipeIndex.findMatchingRecipe(ic, world()));
+        } finally {
+            recipes.remove(egg);
+        }
+    }
+
+    @Test
+    void seesRecipesReplacedInPlace() {
+        @SuppressWarnings("unchecked")
+        final List<IRecipe> recipes = CraftingManager.getInstance().getRecipeList();
+        final ItemStack egg = new ItemStack(Items.egg);
+        final ItemStack stick = new ItemStack(Items.stick);
+        final InventoryCrafting ic = grid(egg, stick, egg);
+        assertSame(linearScan(ic, world()), RecipeIndex.findMatchingRecipe(ic, world()));
+
+        // same list size, and neither the first nor the last entry changes
+        final IRecipe cake = new ShapelessRecipes(
+                new ItemStack(Items.cake),
+                new ArrayList<>(Arrays.asList(egg, stick, egg)));
+        final int middle = recipes.size() / 2;
+        final IRecipe replaced = recipes.set(middle, cake);
+        try {
+            assertSame(cake, RecipeIndex.findMatchingRecipe(ic, world()));
+        } finally {
+            recipes.set(middle, replaced);
+        }
+        assertSame(linearScan(ic, world()), RecipeIndex.findMatchingRecipe(ic, world()));
+    }
+
+    /**
+     * Keeps the matching logic of the recipe type it extends.
+     */
+    private static class PlainRecipe extends ShapelessRecipes {
+
+        private PlainRecipe() {
+            super(new ItemStack(Items.cake), new ArrayList<>(Collections.singletonList(new ItemStack(Items.stick))));
+        }
+    }
+
+    /**
+     * Matches a single egg, which is not among its inputs.
+     */
+    private static class EggRecipe extends ShapelessRecipes {
+
+        private EggRecipe() {
+            super(new ItemStack(Items.cake), new ArrayList<>(Collections.singletonList(new ItemStack(Items.stick))));
+        }
+
+        @Override
+        public boolean matches(final InventoryCrafting ic, final World w) {
+            int eggs = 0;
+            for (int slot = 0; slot < ic.getSizeInventory(); slot++) {
+                final ItemStack stack = ic.getStackInSlot(slot);
+                if (stack != null) {
+                    if (stack.getItem() != Items.egg) {
+                        return false;
+                    }
+                    eggs++;
+                }
+            }
+            return eggs == 1;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package appeng.test.util.item;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+
+import org.junit.jupiter.api.Test;
+
+import appeng.api.storage.data.IAEItemStack;
+import appeng.util.item.AEItemStack;
+
+public class AESharedNBTFunctionalTest {
+
+    private static final int THREADS = 8;
+    private static final int TAGS = 512;
+
+    /**
+     * A fresh stack every time, so the tag has to be looked up instead of being shared already.
+     */
+    private static ItemStack taggedStack(final int n) {
+        final NBTTagCompound display = new NBTTagCompound();
+        display.setString("Name", "Shared " + n);
+        final NBTTagCompound tag = new NBTTagCompound();
+        tag.setInteger("n", n);
+        tag.setTag("display", display);
+
+        final ItemStack stack = new ItemStack(Items.paper);
+        stack.setTagCompound(tag);
+        return stack;
+    }
+
+    @Test
+    public void testEqualTagsAreSharedAcrossThreads() throws Exception {
+        final CyclicBarrier start = new CyclicBarrier(THREADS);
+        final ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        final List<Future<IAEItemStack[]>> running = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                final int offset = t * 37;
+                running.add(pool.submit(() -> {
+                    final IAEItemStack[] created = new IAEItemStack[TAGS];
+                    start.await();
+                    // every thread walks the tags in a different order to race on different entries
+                    for (int i = 0; i < TAGS; i++) {
+                        final int n = (i + offset) % TAGS;
+                        created[n] = AEItemStack.create(taggedStack(n));
+                    }
+                    return created;
+                }));
+            }
+
+            final List<IAEItemStack[]> results = new ArrayList<>();
+            for (final Future<IAEItemStack[]> f : running) {
+                results.add(f.get());
+            }
+
+            for (int n = 0; n < TAGS; n++) {
+                final IAEItemStack first = results.get(0)[n];
+                assertNotNull(first.getTagCompound());
+                for (final IAEItemStack[] created : results) {
+                    assertSame(first.getTagCompound(), created[n].getTagCompound(), "Tag " + n + " was not shared");
+                    assertEquals(first, created[n]);
+                }
+                assertNotSame(first.getTagCompound(), results.get(0)[(n + 1) % TAGS].getTagCompound());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSharedTagIsIsolatedFromTheOriginal() {
+        final ItemStack stack = taggedStack(TAGS);
+        final IAEItemStack shared = AEItemStack.create(stack);
+        stack.getTagCompound().setInteger("n", -1);
+
+        final IAEItemStack again = AEItemStack.create(taggedStack(TAGS));
+        assertSame(shared.getTagCompound(), again.getTagCompound());
+        assertEquals(TAGS, again.getItemStack().getTagCompound().getInteger("n"));
+    }
+
+    @Test
+    public void testModifiedTagIsLookedUpAgain() {
+        final ItemStack stack = taggedStack(TAGS + 1);
+        final IAEItemStack shared = AEItemStack.create(stack);
+        assertSame(shared.getTagCompound(), AEItemStack.create(stack).getTagCompound());
+
+        // the same tag object, changed in place
+        stack.getTagCompound().setInteger("n", -1);
+        final IAEItemStack changed = AEItemStack.create(stack);
+        assertNotSame(shared.getTagCompound(), changed.getTagCompound());
+        assertEquals(-1, changed.getItemStack().getTagCompound().getInteger("n"));
+
+        stack.getTagCompound().setInteger("n", TAGS + 1);
+        assertSame(shared.getTagCompound(), AEItemStack.create(stack).getTagCompound());
+    }
+}
@@ -0,0 +1,62 @@
+package appeng.benchmark;
+
+import java.io.File;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.ChatComponentText;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import appeng.core.AEConfig;
+import cpw.mods.fml.common.FMLCommonHandler;
+import cpw.mods.fml.common.Mod;
+import cpw.mods.fml.common.Mod.EventHandler;
+import cpw.mods.fml.common.event.FMLServerStartedEvent;
+
+/**
+ * Runs the JMH benchmarks once the dev server has started.
+ * <p>
+ * The benchmarks need the registries and the server world of a running game, so they are not forked into their own
+ * JVM but run inside the server. Results are written as JSON to {@code jmh-out/results-<version>.json}, which can be
+ * compared between releases, e.g. with a JMH result visualizer.
+ */
+@Mod(
+        modid = "appeng-benchmarks",
+        name = "AE2 Dev Benchmarks",
+        version = "1.0",
+        dependencies = "required-after:appliedenergistics2;required-after:appeng-tests")
+public class AppengBenchmarkMod {
+
+    @EventHandler
+    public void onServerStarted(FMLServerStartedEvent startedEv) {
+        MinecraftServer.getServer().addChatMessage(new ChatComponentText("Running AE2 benchmarks..."));
+        runBenchmarks();
+        MinecraftServer.getServer().addChatMessage(new ChatComponentText("Running AE2 benchmarks finished"));
+    }
+
+    public void runBenchmarks() {
+        final File outDir = new File("jmh-out").getAbsoluteFile();
+        outDir.mkdirs();
+        final File results = new File(outDir, "results-" + AEConfig.VERSION + ".json");
+
+        final Options options = new OptionsBuilder()
+                .include(System.getProperty("appeng.benchmarks.include", "appeng\\.benchmark\\..*"))
+                .forks(0)
+                .resultFormat(ResultFormatType.JSON)
+                .result(results.getPath())
+                .build();
+
+        try {
+            new Runner(options).run();
+        } catch (final RunnerException e) {
+            // Throw an exception if running via `runServer`
+            if (FMLCommonHandler.instance().getSide().isServer()) {
+                throw new RuntimeException("The benchmarks failed to run, check the log for details", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package appeng.benchmark;
+
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.World;
+
+import appeng.test.DummyWorld;
+
+/**
+ * Shared setup of the benchmarks: the dummy world the mock systems live in, and generated item types.
+ */
+public final class BenchmarkWorld {
+
+    private static World world;
+
+    private BenchmarkWorld() {}
+
+    public static synchronized World get() {
+        if (world == null) {
+            world = DummyWorld.create();
+        }
+        return world;
+    }
+
+    /**
+     * @return The n-th of as many distinct item types as needed, they differ by damage value and, past the damage
+     *         range, by an NBT tag.
+     */
+    public static ItemStack itemType(final int n) {
+        final ItemStack stack = new ItemStack(Items.paper, 1, n & Short.MAX_VALUE);
+        if (n > Short.MAX_VALUE) {
+            final NBTTagCompound tag = new NBTTagCompound();
+            tag.setInteger("benchmark", n >> 15);
+            stack.setTagCompound(tag);
+        }
+        return stack;
+    }
+}
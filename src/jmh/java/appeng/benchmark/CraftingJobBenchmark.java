@@ -0,0 +1,84 @@
+package appeng.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.item.ItemStack;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import appeng.crafting.v2.CraftingJobV2;
+import appeng.test.mockme.MockAESystem;
+
+/**
+ * Calculates crafting jobs over a synthetic recipe tree.
+ * <p>
+ * Every item of a level is made by a processing pattern from one of each item of the level below, the items of the
+ * lowest level are stored in the network. The job for the root item visits {@code width^depth} requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CraftingJobBenchmark {
+
+    private static final int SIMULATION_SLICE_MS = 1000;
+
+    @Param({ "4", "6" })
+    public int depth;
+
+    @Param({ "3" })
+    public int width;
+
+    @Param({ "1", "64" })
+    public int amount;
+
+    private MockAESystem system;
+    private ItemStack root;
+
+    @Setup
+    public void setup() {
+        this.system = new MockAESystem(BenchmarkWorld.get());
+        this.root = this.level(0, 0);
+
+        for (int l = 0; l < this.depth; l++) {
+            final int items = l == 0 ? 1 : this.width;
+            for (int w = 0; w < items; w++) {
+                final MockAESystem.PatternBuilder pattern = this.system.newProcessingPattern();
+                for (int input = 0; input < this.width; input++) {
+                    pattern.addInput(this.level(l + 1, input));
+                }
+                pattern.addOutput(this.level(l, w)).buildAndAdd();
+            }
+        }
+        for (int w = 0; w < this.width; w++) {
+            final ItemStack leaf = this.level(this.depth, w);
+            leaf.stackSize = Integer.MAX_VALUE;
+            this.system.addStoredItem(leaf);
+        }
+    }
+
+    private ItemStack level(final int level, final int index) {
+        return BenchmarkWorld.itemType(level * this.width + index);
+    }
+
+    @Benchmark
+    public CraftingJobV2 calculate() {
+        final ItemStack request = this.root.copy();
+        request.stackSize = this.amount;
+        final CraftingJobV2 job = this.system.makeCraftingJob(request);
+        while (!job.isDone()) {
+            job.simulateFor(SIMULATION_SLICE_MS);
+        }
+        return job;
+    }
+}
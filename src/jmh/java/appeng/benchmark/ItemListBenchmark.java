@@ -0,0 +1,82 @@
+package appeng.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import appeng.api.storage.data.IAEItemStack;
+import appeng.util.item.AEItemStack;
+import appeng.util.item.ItemList;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ItemListBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int types;
+
+    private IAEItemStack[] stacks;
+    private ItemList list;
+    private int next;
+
+    @Setup
+    public void setup() {
+        this.stacks = new IAEItemStack[this.types];
+        this.list = new ItemList();
+        for (int i = 0; i < this.types; i++) {
+            this.stacks[i] = AEItemStack.create(BenchmarkWorld.itemType(i));
+            this.list.add(this.stacks[i]);
+        }
+    }
+
+    private IAEItemStack nextStack() {
+        final IAEItemStack stack = this.stacks[this.next];
+        this.next = (this.next + 1) % this.stacks.length;
+        return stack;
+    }
+
+    /**
+     * Merges a stack into a list that already holds its type.
+     */
+    @Benchmark
+    public void addExisting() {
+        this.list.add(this.nextStack());
+    }
+
+    @Benchmark
+    public IAEItemStack findPrecise() {
+        return this.list.findPrecise(this.nextStack());
+    }
+
+    @Benchmark
+    public void iterate(final Blackhole bh) {
+        for (final IAEItemStack stack : this.list) {
+            bh.consume(stack);
+        }
+    }
+
+    /**
+     * Fills an empty list with every type, like building a storage list from scratch.
+     */
+    @Benchmark
+    public ItemList buildList() {
+        final ItemList fresh = new ItemList();
+        for (final IAEItemStack stack : this.stacks) {
+            fresh.add(stack);
+        }
+        return fresh;
+    }
+}
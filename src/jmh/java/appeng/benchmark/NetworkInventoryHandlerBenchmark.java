@@ -0,0 +1,84 @@
+package appeng.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import appeng.api.config.Actionable;
+import appeng.api.storage.IMEMonitor;
+import appeng.api.storage.data.IAEItemStack;
+import appeng.test.mockme.MockAESystem;
+import appeng.util.item.AEItemStack;
+
+/**
+ * Injects and extracts single items through the network inventory of a grid whose items are spread over many cells.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class NetworkInventoryHandlerBenchmark {
+
+    @Param({ "1", "64", "512" })
+    public int cells;
+
+    @Param({ "1000" })
+    public int types;
+
+    private MockAESystem system;
+    private IMEMonitor<IAEItemStack> inventory;
+    private IAEItemStack[] stacks;
+    private int next;
+
+    @Setup
+    public void setup() {
+        this.system = new MockAESystem(BenchmarkWorld.get());
+        this.system.sgCache.registerCellProvider(new PartitionedCellProvider(this.cells));
+        this.inventory = this.system.sgCache.getItemInventory();
+
+        this.stacks = new IAEItemStack[this.types];
+        for (int i = 0; i < this.types; i++) {
+            this.stacks[i] = AEItemStack.create(BenchmarkWorld.itemType(i));
+            this.inventory.injectItems(
+                    this.stacks[i].copy().setStackSize(64),
+                    Actionable.MODULATE,
+                    this.system.dummyActionSource);
+        }
+    }
+
+    private IAEItemStack nextStack() {
+        final IAEItemStack stack = this.stacks[this.next];
+        this.next = (this.next + 1) % this.stacks.length;
+        return stack.copy();
+    }
+
+    @Benchmark
+    public IAEItemStack injectSimulate() {
+        return this.inventory.injectItems(this.nextStack(), Actionable.SIMULATE, this.system.dummyActionSource);
+    }
+
+    @Benchmark
+    public IAEItemStack extractSimulate() {
+        return this.inventory.extractItems(this.nextStack(), Actionable.SIMULATE, this.system.dummyActionSource);
+    }
+
+    /**
+     * Moves one item in and back out again, so the stored amounts stay the same over the run.
+     */
+    @Benchmark
+    public IAEItemStack injectExtract() {
+        final IAEItemStack stack = this.nextStack();
+        this.inventory.injectItems(stack.copy(), Actionable.MODULATE, this.system.dummyActionSource);
+        return this.inventory.extractItems(stack, Actionable.MODULATE, this.system.dummyActionSource);
+    }
+}
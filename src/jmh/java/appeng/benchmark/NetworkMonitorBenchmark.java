@@ -0,0 +1,74 @@
+package appeng.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import appeng.api.config.Actionable;
+import appeng.api.storage.IMEMonitor;
+import appeng.api.storage.data.IAEItemStack;
+import appeng.api.storage.data.IItemList;
+import appeng.test.mockme.MockAESystem;
+import appeng.util.item.AEItemStack;
+
+/**
+ * Measures {@link appeng.me.cache.NetworkMonitor#getStorageList()}, both when it can hand out the cached list and when
+ * a change since the last call makes it collect the list from the cells again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class NetworkMonitorBenchmark {
+
+    @Param({ "16" })
+    public int cells;
+
+    @Param({ "1000", "50000" })
+    public int types;
+
+    private MockAESystem system;
+    private IMEMonitor<IAEItemStack> monitor;
+    private IAEItemStack changed;
+
+    @Setup
+    public void setup() {
+        this.system = new MockAESystem(BenchmarkWorld.get());
+        this.system.sgCache.registerCellProvider(new PartitionedCellProvider(this.cells));
+        this.monitor = this.system.sgCache.getItemInventory();
+
+        for (int i = 0; i < this.types; i++) {
+            this.monitor.injectItems(
+                    AEItemStack.create(BenchmarkWorld.itemType(i)).setStackSize(64),
+                    Actionable.MODULATE,
+                    this.system.dummyActionSource);
+        }
+        this.changed = AEItemStack.create(BenchmarkWorld.itemType(0));
+        this.monitor.getStorageList();
+    }
+
+    @Benchmark
+    public IItemList<IAEItemStack> cached() {
+        return this.monitor.getStorageList();
+    }
+
+    /**
+     * Moves one item in and out of the network before asking for the list, which marks it as changed.
+     */
+    @Benchmark
+    public IItemList<IAEItemStack> afterChange() {
+        this.monitor.injectItems(this.changed.copy(), Actionable.MODULATE, this.system.dummyActionSource);
+        this.monitor.extractItems(this.changed.copy(), Actionable.MODULATE, this.system.dummyActionSource);
+        return this.monitor.getStorageList();
+    }
+}
@@ -0,0 +1,48 @@
+package appeng.benchmark;
+
+import static appeng.util.item.AEItemStackType.ITEM_STACK_TYPE;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import appeng.api.storage.ICellProvider;
+import appeng.api.storage.IMEInventory;
+import appeng.api.storage.IMEInventoryHandler;
+import appeng.api.storage.StorageChannel;
+import appeng.api.storage.data.IAEItemStack;
+import appeng.crafting.MECraftingInventory;
+import appeng.me.storage.MEPassThrough;
+
+/**
+ * A number of item cells that each only accept their share of the item types, like partitioned cells, so the items of
+ * a network are spread over all of them.
+ */
+final class PartitionedCellProvider implements ICellProvider {
+
+    private final List<IMEInventoryHandler> cells = new ArrayList<>();
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    PartitionedCellProvider(final int count) {
+        for (int i = 0; i < count; i++) {
+            final int index = i;
+            this.cells.add(new MEPassThrough<IAEItemStack>((IMEInventory) new MECraftingInventory(), ITEM_STACK_TYPE) {
+
+                @Override
+                public boolean canAccept(final IAEItemStack input) {
+                    return Math.floorMod(input.hashCode(), count) == index;
+                }
+            });
+        }
+    }
+
+    @Override
+    public List<IMEInventoryHandler> getCellArray(final StorageChannel channel) {
+        return channel == StorageChannel.ITEMS ? this.cells : new ArrayList<>();
+    }
+
+    @Override
+    public int getPriority() {
+        // ahead of the catch-all storage of the mock system
+        return 1;
+    }
+}
@@ -0,0 +1,99 @@
+package appeng.benchmark;
+
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import appeng.api.exceptions.FailedConnection;
+import appeng.api.networking.GridFlags;
+import appeng.api.networking.IGridHost;
+import appeng.me.GridConnection;
+import appeng.me.GridNode;
+import appeng.me.pathfinding.PathingCalculation;
+import appeng.test.mockme.MockGridBlock;
+import appeng.test.mockme.MockGridMachine;
+import appeng.tile.networking.TileController;
+
+/**
+ * Runs the channel calculation on generated networks: a controller with dense cable trunks, each feeding a line of
+ * normal cables with one device per cable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PathingCalculationBenchmark {
+
+    private static final int CABLES_PER_TRUNK = 32;
+
+    @Param({ "256", "4096" })
+    public int devices;
+
+    private GridNode controller;
+
+    @Setup
+    public void setup() throws FailedConnection {
+        this.controller = node(new TileController(), GridFlags.CANNOT_CARRY, GridFlags.DENSE_CAPACITY);
+
+        int placed = 0;
+        while (placed < this.devices) {
+            final GridNode trunk = node(new MockGridMachine(), GridFlags.DENSE_CAPACITY);
+            connect(this.controller, trunk);
+
+            GridNode previous = trunk;
+            for (int i = 0; i < CABLES_PER_TRUNK && placed < this.devices; i++, placed++) {
+                final GridNode cable = node(new MockGridMachine(), GridFlags.PREFERRED);
+                connect(previous, cable);
+                connect(cable, node(new MockGridMachine(), GridFlags.REQUIRE_CHANNEL));
+                previous = cable;
+            }
+        }
+    }
+
+    private static GridNode node(final IGridHost machine, final GridFlags... flags) {
+        final EnumSet<GridFlags> flagSet = EnumSet.noneOf(GridFlags.class);
+        for (final GridFlags flag : flags) {
+            flagSet.add(flag);
+        }
+
+        return new GridNode(new MockGridBlock() {
+
+            @Override
+            public EnumSet<GridFlags> getFlags() {
+                return flagSet;
+            }
+
+            @Override
+            public boolean hasFlag(final GridFlags flag) {
+                return flagSet.contains(flag);
+            }
+
+            @Override
+            public IGridHost getMachine() {
+                return machine;
+            }
+        });
+    }
+
+    private static void connect(final GridNode a, final GridNode b) throws FailedConnection {
+        new GridConnection(a, b, null);
+    }
+
+    @Benchmark
+    public int compute() {
+        final PathingCalculation calculation = new PathingCalculation(this.controller.getGrid());
+        calculation.compute();
+        return calculation.getChannelsInUse();
+    }
+}
@@ -0,0 +1,126 @@
+package appeng.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.inventory.InventoryCrafting;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.CraftingManager;
+import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.item.crafting.ShapedRecipes;
+import net.minecraft.item.crafting.ShapelessRecipes;
+import net.minecraft.world.World;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import appeng.container.ContainerNull;
+import appeng.util.RecipeIndex;
+
+/**
+ * Looks up the crafting grids of the registered vanilla recipes, through the recipe index and by scanning the recipe
+ * list like {@link CraftingManager#findMatchingRecipe} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RecipeIndexBenchmark {
+
+    private static final int MAX_GRIDS = 2000;
+
+    private World world;
+    private InventoryCrafting[] grids;
+
+    @Setup
+    public void setup() {
+        this.world = BenchmarkWorld.get();
+
+        final List<InventoryCrafting> found = new ArrayList<>();
+        final List<?> recipes = CraftingManager.getInstance().getRecipeList();
+        for (int i = 0; i < recipes.size() && found.size() < MAX_GRIDS; i++) {
+            final InventoryCrafting ic = gridFor((IRecipe) recipes.get(i));
+            if (ic != null) {
+                found.add(ic);
+            }
+        }
+        if (found.isEmpty()) {
+            throw new IllegalStateException("No vanilla-typed recipes are registered.");
+        }
+        this.grids = found.toArray(new InventoryCrafting[0]);
+
+        // build the index outside of the measurement
+        RecipeIndex.findMatchingRecipe(this.grids[0], this.world);
+    }
+
+    /**
+     * Builds a grid that satisfies a plain vanilla recipe, or null if the recipe has no simple grid.
+     */
+    private static InventoryCrafting gridFor(final IRecipe recipe) {
+        final InventoryCrafting ic = new InventoryCrafting(new ContainerNull(), 3, 3);
+        if (recipe.getClass() == ShapedRecipes.class) {
+            final ShapedRecipes shaped = (ShapedRecipes) recipe;
+            if (shaped.recipeWidth > 3 || shaped.recipeHeight > 3) {
+                return null;
+            }
+            for (int y = 0; y < shaped.recipeHeight; y++) {
+                for (int x = 0; x < shaped.recipeWidth; x++) {
+                    final ItemStack is = shaped.recipeItems[x + y * shaped.recipeWidth];
+                    ic.setInventorySlotContents(x + y * 3, is == null ? null : fixWildcard(is));
+                }
+            }
+            return ic;
+        } else if (recipe.getClass() == ShapelessRecipes.class) {
+            final List<?> items = ((ShapelessRecipes) recipe).recipeItems;
+            if (items.size() > 9) {
+                return null;
+            }
+            for (int i = 0; i < items.size(); i++) {
+                ic.setInventorySlotContents(i, fixWildcard((ItemStack) items.get(i)));
+            }
+            return ic;
+        }
+        return null;
+    }
+
+    private static ItemStack fixWildcard(final ItemStack is) {
+        final ItemStack copy = is.copy();
+        if (copy.getItemDamage() == Short.MAX_VALUE) {
+            copy.setItemDamage(0);
+        }
+        copy.stackSize = 1;
+        return copy;
+    }
+
+    @Benchmark
+    public void index(final Blackhole bh) {
+        for (final InventoryCrafting ic : this.grids) {
+            bh.consume(RecipeIndex.findMatchingRecipe(ic, this.world));
+        }
+    }
+
+    @Benchmark
+    public void linearScan(final Blackhole bh) {
+        final List<?> recipes = CraftingManager.getInstance().getRecipeList();
+        for (final InventoryCrafting ic : this.grids) {
+            IRecipe match = null;
+            for (final Object o : recipes) {
+                if (((IRecipe) o).matches(ic, this.world)) {
+                    match = (IRecipe) o;
+                    break;
+                }
+            }
+            bh.consume(match);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package appeng.benchmark;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.util.FakePlayerFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mojang.authlib.GameProfile;
+
+import appeng.api.config.Actionable;
+import appeng.api.config.SecurityPermissions;
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.security.BaseActionSource;
+import appeng.api.networking.security.IActionHost;
+import appeng.api.networking.security.ISecurityGrid;
+import appeng.api.networking.security.ISecurityProvider;
+import appeng.api.networking.security.MachineSource;
+import appeng.api.networking.security.PlayerSource;
+import appeng.api.storage.IMEMonitor;
+import appeng.api.storage.data.IAEItemStack;
+import appeng.core.worlddata.WorldData;
+import appeng.me.cache.SecurityCache;
+import appeng.test.mockme.MockAESystem;
+import appeng.test.mockme.MockGrid;
+import appeng.test.mockme.MockGridMachine;
+import appeng.util.item.AEItemStack;
+
+/**
+ * Simulates a million extractions from a secured network, by a player and by a machine on another grid, to measure
+ * the permission checks that guard every one of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SecurityPermissionBenchmark {
+
+    private static final int EXTRACTIONS = 1_000_000;
+    private static final int STARTUP_TICKS = 20;
+
+    private MockAESystem system;
+    private IMEMonitor<IAEItemStack> inventory;
+    private IAEItemStack stack;
+    private BaseActionSource player;
+    private BaseActionSource machine;
+
+    @Setup
+    public void setup() {
+        final WorldServer world = (WorldServer) BenchmarkWorld.get();
+        this.system = new MockAESystem(world);
+        this.stack = AEItemStack.create(BenchmarkWorld.itemType(0));
+        this.system.addStoredItem(this.stack.getItemStack());
+
+        final GameProfile profile = new GameProfile(UUID.randomUUID(), "SecurityBenchmark");
+        final int playerID = WorldData.instance().playerData().getPlayerID(profile);
+        // the other grid has no security of its own, so its machines act as the player that placed them
+        final MockGrid otherGrid = new MockGrid();
+        otherGrid.rootNode.setPlayerID(playerID);
+        final ISecurityGrid otherSecurity = otherGrid.getCache(ISecurityGrid.class);
+        for (int i = 0; i < STARTUP_TICKS; i++) {
+            otherSecurity.onUpdateTick();
+        }
+
+        final SecurityCache security = this.system.grid.getCache(ISecurityGrid.class);
+        security.addNode(this.system.grid.rootNode, new SecurityProvider(playerID));
+        while (!security.isAvailable()) {
+            security.onUpdateTick();
+        }
+        security.updatePermissions(null);
+
+        this.inventory = this.system.sgCache.getItemInventory();
+        this.player = new PlayerSource(FakePlayerFactory.get(world, profile), null);
+        this.machine = new MachineSource(new OtherGridMachine(otherGrid.rootNode));
+    }
+
+    private IAEItemStack extract(final BaseActionSource src) {
+        IAEItemStack last = null;
+        for (int i = 0; i < EXTRACTIONS; i++) {
+            last = this.inventory.extractItems(this.stack, Actionable.SIMULATE, src);
+        }
+        return last;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EXTRACTIONS)
+    public IAEItemStack playerExtract() {
+        return this.extract(this.player);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EXTRACTIONS)
+    public IAEItemStack crossGridMachineExtract() {
+        return this.extract(this.machine);
+    }
+
+    private static class SecurityProvider extends MockGridMachine implements ISecurityProvider {
+
+        private final int player;
+
+        private SecurityProvider(final int player) {
+            this.player = player;
+        }
+
+        @Override
+        public long getSecurityKey() {
+            return 1;
+        }
+
+        @Override
+        public void readPermissions(final HashMap<Integer, EnumSet<SecurityPermissions>> playerPerms) {
+            playerPerms.put(this.player, EnumSet.of(SecurityPermissions.EXTRACT));
+            playerPerms.put(-1, EnumSet.noneOf(SecurityPermissions.class));
+        }
+
+        @Override
+        public boolean isSecurityEnabled() {
+            return true;
+        }
+
+        @Override
+        public int getOwner() {
+            return this.player;
+        }
+    }
+
+    private static class OtherGridMachine extends MockGridMachine implements IActionHost {
+
+        private final IGridNode node;
+
+        private OtherGridMachine(final IGridNode node) {
+            this.node = node;
+        }
+
+        @Override
+        public IGridNode getActionableNode() {
+            return this.node;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package appeng.benchmark;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.init.Items;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import appeng.api.AEApi;
+import appeng.api.features.IItemComparison;
+import appeng.api.storage.data.IAEItemStack;
+import appeng.util.Platform;
+import appeng.util.item.AEItemStack;
+
+/**
+ * Creates stacks with NBT from several threads at once, like crafting calculations and packet decoding do. The
+ * {@link #createBaseline} variant creates the stack without its tag and interns the tag in {@link BaselineTable}, a
+ * copy of the shared tag table as it was before: one global lock, and a miss hashes the tag twice. With few tags every
+ * lookup is for a tag object seen just before, with many most lookups miss the recent lookups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class SharedNBTBenchmark {
+
+    @Param({ "256", "4096" })
+    private int tags;
+
+    private ItemStack[] stacks;
+    private ItemStack[] untagged;
+    // keeps the shared tags alive, otherwise the benchmark measures the tables being refilled
+    private IAEItemStack[] interned;
+    private NBTTagCompound[] baselineInterned;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+    }
+
+    /**
+     * The shared tag table before it was made lock free.
+     */
+    private static final class BaselineTable {
+
+        private static final Map<Key, WeakReference<Key>> TABLE = new WeakHashMap<>();
+
+        private static synchronized NBTTagCompound intern(final NBTTagCompound tag, final ItemStack s) {
+            final Item item = s.getItem();
+            int meta = -1;
+            if (s.getItem() != null && s.isItemStackDamageable() && s.getHasSubtypes()) {
+                meta = s.getItemDamage();
+            }
+
+            final Key key = new Key(item, meta, tag);
+            final WeakReference<Key> found = TABLE.get(key);
+            if (found != null) {
+                final Key k = found.get();
+                if (k != null) {
+                    return k.shared;
+                }
+            }
+
+            final NBTTagCompound shared = new NBTTagCompound();
+            for (final Object o : tag.func_150296_c()) {
+                final String name = (String) o;
+                shared.setTag(name, tag.getTag(name).copy());
+            }
+            key.hashAgain = Platform.NBTOrderlessHash(tag);
+            final ItemStack isc = new ItemStack(item, 1, meta);
+            isc.setTagCompound(tag);
+            key.comp = AEApi.instance().registries().specialComparison().getSpecialComparison(isc);
+
+            key.compound = (NBTTagCompound) tag.copy();
+            key.shared = shared;
+            TABLE.put(key, new WeakReference<>(key));
+            return shared;
+        }
+
+        private static final class Key {
+
+            private final int def;
+            private final int hash;
+            private NBTTagCompound compound;
+            private NBTTagCompound shared;
+            private int hashAgain;
+            private IItemComparison comp;
+
+            private Key(final Item item, final int meta, final NBTTagCompound tag) {
+                this.def = (meta << Platform.DEF_OFFSET) | Item.itemRegistry.getIDForObject(item);
+                this.hash = Platform.NBTOrderlessHash(tag);
+                this.compound = tag;
+            }
+
+            @Override
+            public int hashCode() {
+                return this.def ^ this.hash;
+            }
+
+            @Override
+            public boolean equals(final Object obj) {
+                if (!(obj instanceof Key other)) {
+                    return false;
+                }
+                return this.def == other.def && this.hash == other.hash
+                        && Platform.NBTEqualityTest(this.compound, other.compound);
+            }
+        }
+    }
+
+    @Setup
+    public void setup() {
+        this.stacks = new ItemStack[this.tags];
+        this.untagged = new ItemStack[this.tags];
+        this.interned = new IAEItemStack[this.tags];
+        this.baselineInterned = new NBTTagCompound[this.tags];
+        for (int i = 0; i < this.tags; i++) {
+            final NBTTagCompound display = new NBTTagCompound();
+            display.setString("Name", "Benchmark " + i);
+            final NBTTagCompound tag = new NBTTagCompound();
+            tag.setInteger("benchmark", i);
+            tag.setTag("display", display);
+
+            this.stacks[i] = new ItemStack(Items.paper);
+            this.stacks[i].setTagCompound(tag);
+            this.untagged[i] = new ItemStack(Items.paper);
+            this.interned[i] = AEItemStack.create(this.stacks[i]);
+            this.baselineInterned[i] = BaselineTable.intern(tag, this.stacks[i]);
+        }
+    }
+
+    private int next(final Cursor cursor) {
+        final int i = cursor.next;
+        cursor.next = (cursor.next + 1) % this.tags;
+        return i;
+    }
+
+    @Benchmark
+    public IAEItemStack create(final Cursor cursor) {
+        return AEItemStack.create(this.stacks[this.next(cursor)]);
+    }
+
+    @Benchmark
+    public Object createBaseline(final Cursor cursor) {
+        final int i = this.next(cursor);
+        final IAEItemStack created = AEItemStack.create(this.untagged[i]);
+        final ItemStack stack = this.stacks[i];
+        return BaselineTable.intern(stack.getTagCompound(), stack) == null ? null : created;
+    }
+}
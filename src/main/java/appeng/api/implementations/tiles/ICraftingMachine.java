@@ -31,6 +31,28 @@ public interface ICraftingMachine {
     boolean pushPattern(ICraftingPatternDetails patternDetails, InventoryCrafting table,
             ForgeDirection ejectionDirection);
 
+    /**
+     * @param patternDetails details of pattern
+     * @return how many copies of the pattern {@link #pushPatterns} can currently accept, 0 if none.
+     */
+    default int getMaxBatchSize(ICraftingPatternDetails patternDetails) {
+        return this.acceptsPlans() ? 1 : 0;
+    }
+
+    /**
+     * inserts a crafting plan and the items for several copies of it into the crafting machine.
+     *
+     * @param patternDetails    details of pattern
+     * @param table             crafting table containing the inputs of one copy
+     * @param copies            number of copies
+     * @param ejectionDirection ejection direction
+     * @return how many copies were accepted, between 0 and copies.
+     */
+    default int pushPatterns(ICraftingPatternDetails patternDetails, InventoryCrafting table, int copies,
+            ForgeDirection ejectionDirection) {
+        return copies > 0 && this.pushPattern(patternDetails, table, ejectionDirection) ? 1 : 0;
+    }
+
     /**
      * check if the crafting machine is accepting pushes via pushPattern, if this is false, all calls to push will fail,
      * you can try inserting into the inventory instead.
@@ -33,6 +33,28 @@ public interface ICraftingMedium {
      */
     boolean pushPattern(ICraftingPatternDetails patternDetails, InventoryCrafting table);
 
+    /**
+     * @param patternDetails details
+     * @return an upper bound for how many copies of the pattern a single {@link #pushPatterns} call may accept right
+     *         now, mediums that do not support batch pushing return 1.
+     */
+    default int getMaxBatchSize(ICraftingPatternDetails patternDetails) {
+        return 1;
+    }
+
+    /**
+     * instruct a medium to create several copies of the pattern at once. The table holds the inputs of a single copy,
+     * the medium receives {@code copies} times those inputs.
+     *
+     * @param patternDetails details
+     * @param table          crafting table containing the inputs of one copy
+     * @param copies         number of copies to push
+     * @return how many copies were accepted, between 0 and copies.
+     */
+    default int pushPatterns(ICraftingPatternDetails patternDetails, InventoryCrafting table, int copies) {
+        return copies > 0 && this.pushPattern(patternDetails, table) ? 1 : 0;
+    }
+
     /**
      * @return if this is false, the crafting engine will refuse to send new jobs to this medium.
      */
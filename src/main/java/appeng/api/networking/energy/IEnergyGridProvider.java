@@ -13,6 +13,7 @@
 
 package appeng.api.networking.energy;
 
+import java.util.Collection;
 import java.util.Set;
 
 import appeng.api.config.Actionable;
@@ -41,4 +42,14 @@ public interface IEnergyGridProvider {
      * internal use only
      */
     boolean calculateInfiniteStore(boolean currentInfinite, Set<IEnergyGrid> seen);
+
+    /**
+     * internal use only
+     *
+     * @return the energy grids this provider connects, or null if they are not known and power has to be extracted
+     *         through {@link #extractAEPower}
+     */
+    default Collection<IEnergyGrid> getConnectedEnergyGrids() {
+        return null;
+    }
 }
@@ -25,6 +25,7 @@ import net.minecraft.client.gui.GuiButton;
 import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.StatCollector;
+import net.minecraft.world.World;
 
 import org.lwjgl.input.Keyboard;
 import org.lwjgl.input.Mouse;
@@ -68,6 +69,7 @@ import appeng.util.Platform;
 import appeng.util.ReadableNumberConverter;
 import appeng.util.RoundHelper;
 import appeng.util.item.IAEStackList;
+import io.netty.buffer.ByteBuf;
 
 public class GuiCraftConfirm extends GuiSub implements ICraftingCPUTableHolder, IGuiTooltipHandler {
 
@@ -814,6 +816,12 @@ public class GuiCraftConfirm extends GuiSub implements ICraftingCPUTableHolder,
         this.jobTree = jobTree;
     }
 
+    public void loadJobTreePage(int nodeId, World world, ByteBuf data) {
+        if (this.jobTree != null) {
+            this.craftingTree.loadPage(nodeId, world, data);
+        }
+    }
+
     Comparator<IAEStack<?>> comparator = (i1, i2) -> {
         // missing items always first
 
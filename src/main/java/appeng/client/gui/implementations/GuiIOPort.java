@@ -29,6 +29,7 @@ import appeng.core.localization.GuiText;
 import appeng.core.sync.network.NetworkHandler;
 import appeng.core.sync.packets.PacketConfigButton;
 import appeng.tile.storage.TileIOPort;
+import appeng.util.ReadableNumberConverter;
 
 public class GuiIOPort extends GuiUpgradeable {
 
@@ -77,6 +78,15 @@ public class GuiIOPort extends GuiUpgradeable {
                 this.ySize - 96 + 3,
                 ColorUtils.guiTextColorGray.getColor());
 
+        final long itemsPerTick = ((ContainerIOPort) this.cvb).getItemsPerTick();
+        final String throughput = GuiText.IOPortItemsPerTick
+                .getLocal(ReadableNumberConverter.INSTANCE.toWideReadableForm(itemsPerTick));
+        this.fontRendererObj.drawString(
+                throughput,
+                83 - this.fontRendererObj.getStringWidth(throughput) / 2,
+                60,
+                ColorUtils.guiTextColorGray.getColor());
+
         if (this.redstoneMode != null) {
             this.redstoneMode.set(this.cvb.getRedStoneMode());
         }
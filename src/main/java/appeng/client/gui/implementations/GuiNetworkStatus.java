@@ -21,8 +21,6 @@ import java.util.Map;
 
 import net.minecraft.client.gui.GuiButton;
 import net.minecraft.entity.player.InventoryPlayer;
-import net.minecraft.item.ItemStack;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraftforge.common.util.ForgeDirection;
 
 import org.lwjgl.input.Mouse;
@@ -55,6 +53,7 @@ import appeng.core.localization.GuiText;
 import appeng.core.localization.PlayerMessages;
 import appeng.core.sync.network.NetworkHandler;
 import appeng.core.sync.packets.PacketClick;
+import appeng.core.sync.packets.PacketNetworkStatusLocations;
 import appeng.core.sync.packets.PacketNetworkStatusSelected;
 import appeng.core.sync.packets.PacketValueConfig;
 import appeng.util.Platform;
@@ -80,6 +79,8 @@ public class GuiNetworkStatus extends AEBaseGui implements ISortSource {
     private static final int BAR_WIDTH = 131;
     private static final int BAR_HEIGHT = 7;
     private GuiContextMenu menu;
+    private int menuX;
+    private int menuY;
 
     public GuiNetworkStatus(final InventoryPlayer inventoryPlayer, final INetworkTool te) {
         super(new ContainerNetworkStatus(inventoryPlayer, te));
@@ -134,45 +135,17 @@ public class GuiNetworkStatus extends AEBaseGui implements ISortSource {
             return;
         }
 
-        ItemStack is = null;
-        if (tooltip > -1) {
+        if (this.isConsume && tooltip > -1 && (btn == 0 && isShiftKeyDown() || btn == 1)) {
             final IAEStack<?> aeStack = repo.getReferenceStack(tooltip);
-
             if (aeStack instanceof IAEItemStack ais) {
-                is = ais.getItemStack();
-            }
-
-        }
-
-        if (is == null || !is.hasTagCompound()) {
-            super.mouseClicked(xCoord, yCoord, btn);
-            return;
-        }
-
-        NBTTagCompound tag = is.getTagCompound();
-        switch (btn) {
-            case 0 -> {
-                if (!isShiftKeyDown()) break;
-                // show all blocks in the world
-                List<NamedDimensionalCoord> dcl = NamedDimensionalCoord.readAsListFromNBTNamed(tag);
-                Map<NamedDimensionalCoord, String[]> namedCoordsMessage = new HashMap<>(dcl.size());
-                for (NamedDimensionalCoord dc : dcl) {
-                    namedCoordsMessage.put(
-                            dc,
-                            dc.getCustomName().isEmpty()
-                                    ? new String[] { PlayerMessages.MachineHighlighted.getUnlocalized(),
-                                            PlayerMessages.MachineInOtherDim.getUnlocalized() }
-                                    : new String[] { PlayerMessages.MachineHighlightedNamed.getUnlocalized(),
-                                            PlayerMessages.MachineInOtherDimNamed.getUnlocalized() });
+                // the locations are only sent on request, the answer opens the menu or highlights the machines
+                this.menuX = xCoord;
+                this.menuY = yCoord;
+                try {
+                    NetworkHandler.instance.sendToServer(new PacketNetworkStatusLocations(ais, btn == 0));
+                } catch (final IOException e) {
+                    AELog.debug(e);
                 }
-                BlockPosHighlighter.highlightNamedBlocks(mc.thePlayer, namedCoordsMessage, is.getDisplayName());
-                this.closeGui();
-            }
-
-            case 1 -> {
-                // open context menu
-                List<NamedDimensionalCoord> dcl = NamedDimensionalCoord.readAsListFromNBTNamed(tag);
-                menu.init(dcl, xCoord, yCoord);
             }
         }
         super.mouseClicked(xCoord, yCoord, btn);
@@ -325,8 +298,40 @@ public class GuiNetworkStatus extends AEBaseGui implements ISortSource {
         this.drawTexturedModalRect(offsetX, offsetY, 0, 0, this.xSize, this.ySize);
     }
 
-    public void postUpdate(final List<IAEStack<?>> list) {
-        this.repo.clear();
+    public void showLocations(final IAEItemStack machine, final boolean highlight,
+            final List<NamedDimensionalCoord> dcl) {
+        if (dcl.isEmpty()) {
+            return;
+        }
+
+        if (highlight) {
+            // show all blocks in the world
+            Map<NamedDimensionalCoord, String[]> namedCoordsMessage = new HashMap<>(dcl.size());
+            for (NamedDimensionalCoord dc : dcl) {
+                namedCoordsMessage.put(
+                        dc,
+                        dc.getCustomName().isEmpty()
+                                ? new String[] { PlayerMessages.MachineHighlighted.getUnlocalized(),
+                                        PlayerMessages.MachineInOtherDim.getUnlocalized() }
+                                : new String[] { PlayerMessages.MachineHighlightedNamed.getUnlocalized(),
+                                        PlayerMessages.MachineInOtherDimNamed.getUnlocalized() });
+            }
+            BlockPosHighlighter
+                    .highlightNamedBlocks(mc.thePlayer, namedCoordsMessage, machine.getItemStack().getDisplayName());
+            this.closeGui();
+        } else {
+            // open context menu
+            menu.init(dcl, this.menuX, this.menuY);
+        }
+    }
+
+    /**
+     * @param ref {@link ContainerNetworkStatus#DELTA_UPDATE} if the list only holds the rows that changed
+     */
+    public void postUpdate(final List<IAEStack<?>> list, final byte ref) {
+        if (ref != ContainerNetworkStatus.DELTA_UPDATE) {
+            this.repo.clear();
+        }
 
         for (final IAEStack<?> is : list) {
             this.repo.postUpdate(is);
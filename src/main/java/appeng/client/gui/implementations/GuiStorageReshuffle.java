@@ -848,6 +848,31 @@ public class GuiStorageReshuffle extends AEBaseGui {
         lines.add("");
         lines.add(POSITIVE + GuiText.ReshuffleReportExtracted.getLocal() + " " + VALUES + fmt(r.extractedItems));
         lines.add(POSITIVE + GuiText.ReshuffleReportInjected.getLocal() + " " + VALUES + fmt(r.injectedItems));
+        lines.add(
+                MAIN + GuiText.ReshuffleReportThroughput.getLocal()
+                        + " "
+                        + VALUES
+                        + GuiText.ReshuffleReportStacksPerSecond.getLocal(fmt(r.getStacksPerSecond()))
+                        + "  "
+                        + MAIN
+                        + GuiText.ReshuffleReportBytesMoved.getLocal()
+                        + " "
+                        + VALUES
+                        + fmt(r.movedBytes));
+        if (r.isRunning()) {
+            final long eta = r.getEtaMillis();
+            lines.add(
+                    MAIN + GuiText.ReshuffleReportEta.getLocal()
+                            + " "
+                            + VALUES
+                            + (eta < 0 ? "-" : String.format("%.0fs", eta / 1000.0))
+                            + "  "
+                            + MAIN
+                            + GuiText.ReshuffleReportTickBudget.getLocal()
+                            + " "
+                            + VALUES
+                            + String.format("%.2fms", r.tickBudgetNanos / 1_000_000.0));
+        }
 
         long typeDelta = r.afterTypes - r.beforeTypes;
         double stackDelta = r.afterItems - r.beforeItems;
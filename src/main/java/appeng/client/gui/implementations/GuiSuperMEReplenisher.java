@@ -87,6 +87,13 @@ public class GuiSuperMEReplenisher extends AEBaseGui {
 
         // Status
 
+        this.fontRendererObj.drawString(
+                GuiText.SuperMEReplenisherWakeUps.getLocal(
+                        fmt(this.containerSuperMEReplenisher.getWakeUps()),
+                        fmt(this.containerSuperMEReplenisher.getUsefulWakeUps())),
+                29,
+                94,
+                color);
         final long totalBytes = this.containerSuperMEReplenisher.getTotalBytes();
         final boolean unlimited = totalBytes >= Long.MAX_VALUE / 16;
         this.fontRendererObj.drawString(
@@ -8,10 +8,12 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
@@ -26,6 +28,7 @@ import net.minecraft.event.ClickEvent;
 import net.minecraft.util.ChatComponentText;
 import net.minecraft.util.ChatComponentTranslation;
 import net.minecraft.util.MathHelper;
+import net.minecraft.world.World;
 
 import org.apache.commons.io.FileUtils;
 import org.lwjgl.BufferUtils;
@@ -41,8 +44,12 @@ import appeng.client.gui.AEBaseGui;
 import appeng.core.AELog;
 import appeng.core.localization.ColorUtils;
 import appeng.core.localization.GuiText;
+import appeng.core.sync.network.NetworkHandler;
+import appeng.core.sync.packets.PacketCraftingTreeRequest;
 import appeng.crafting.v2.CraftingRequest;
 import appeng.crafting.v2.CraftingRequest.UsedResolverEntry;
+import appeng.crafting.v2.CraftingTreePager;
+import appeng.crafting.v2.CraftingTreeSerializer;
 import appeng.crafting.v2.resolvers.CraftableItemResolver.CraftFromPatternTask;
 import appeng.crafting.v2.resolvers.EmitableItemResolver.EmitItemTask;
 import appeng.crafting.v2.resolvers.ExtractItemResolver.ExtractItemTask;
@@ -50,6 +57,9 @@ import appeng.crafting.v2.resolvers.IgnoreMissingItemResolver.IgnoreMissingItemT
 import appeng.crafting.v2.resolvers.SimulateMissingItemResolver;
 import appeng.util.Platform;
 import appeng.util.ReadableNumberConverter;
+import io.netty.buffer.ByteBuf;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 
 public class GuiCraftingTree {
 
@@ -72,6 +82,21 @@ public class GuiCraftingTree {
     private ArrayList<Node> goToData = new ArrayList<Node>();
     private int searchGotoIndex = -1;
     private Node needHighlight;
+    // pages asked from the server and not received yet, by node id
+    private final Int2ObjectMap<PageRequest> requestedPages = new Int2ObjectOpenHashMap<>();
+    // a page that did not arrive in time may be asked for again
+    private static final long PAGE_REQUEST_TIMEOUT_MS = 5000;
+
+    private static final class PageRequest {
+
+        private final CraftingRequest request;
+        private final long sentAt;
+
+        private PageRequest(final CraftingRequest request, final long sentAt) {
+            this.request = request;
+            this.sentAt = sentAt;
+        }
+    }
 
     private abstract class Node {
 
@@ -136,7 +161,13 @@ public class GuiCraftingTree {
             drawSlotOutline(x, y, color, false);
             drawStack(x, y, getDisplayItemForRequest(request), true);
 
-            if (hasMultipleRequestNodesInChildren()) {
+            if (request.unloadedSubtreeId >= 0) {
+                // children are still on the server, shown as collapsed until they arrive
+                parent.bindTexture("guis/states.png");
+                GL11.glScalef(0.25f, 0.25f, 1.0f);
+                drawIcon(4 * (x + 3), 4 * (y + 19), 14 * 16 + 14);
+                GL11.glScalef(4.0f, 4.0f, 1.0f);
+            } else if (hasMultipleRequestNodesInChildren()) {
                 parent.bindTexture("guis/states.png");
                 GL11.glScalef(0.25f, 0.25f, 1.0f);
                 drawIcon(4 * (x + 3), 4 * (y + 19), 14 * 16 + (childrenCollapsed ? 14 : 13));
@@ -384,23 +415,81 @@ public class GuiCraftingTree {
         final boolean isDifferent = (request != this.request);
         this.request = request;
         if (isDifferent) {
-            this.treeNodes.clear();
-            this.treeWidth = 0;
-            this.treeHeight = 0;
-            final ArrayList<NodeBuilderTask> tasks = new ArrayList<>();
-            tasks.add(new NodeBuilderRequestWalker(0, 0, null, request));
-            while (!tasks.isEmpty()) {
-                tasks.get(tasks.size() - 1).step(tasks);
+            this.requestedPages.clear();
+            buildNodes();
+        }
+    }
+
+    private void buildNodes() {
+        this.treeNodes.clear();
+        this.treeWidth = 0;
+        this.treeHeight = 0;
+        final ArrayList<NodeBuilderTask> tasks = new ArrayList<>();
+        tasks.add(new NodeBuilderRequestWalker(0, 0, null, request));
+        while (!tasks.isEmpty()) {
+            tasks.get(tasks.size() - 1).step(tasks);
+        }
+        for (ArrayList<Node> row : treeNodes.values()) {
+            for (Node node : row) {
+                if (node.parentNode != null) {
+                    node.parentNode.childNodes.add(node);
+                }
+                treeWidth = Math.max(treeWidth, node.x + node.width);
+                treeHeight = Math.max(treeHeight, node.y + node.height);
             }
+        }
+    }
+
+    /**
+     * Attaches a page of the tree sent by the server to the request it was asked for, keeping the nodes the player
+     * collapsed so far collapsed.
+     */
+    public void loadPage(final int nodeId, final World world, final ByteBuf data) {
+        final PageRequest pending = requestedPages.remove(nodeId);
+        if (pending == null || pending.request.unloadedSubtreeId != nodeId) {
+            return;
+        }
+        if (!data.isReadable()) {
+            // the server had no page for this node, it may be asked for again
+            return;
+        }
+        final CraftingRequest target = pending.request;
+        try {
+            CraftingTreePager.deserializeNode(target, new CraftingTreeSerializer(world, data));
+        } catch (Exception e) {
+            AELog.error(e, "Could not deserialize crafting tree page sent by the server.");
+            return;
+        }
+
+        final Set<CraftingRequest> collapsed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (ArrayList<Node> row : treeNodes.values()) {
+            for (Node node : row) {
+                if (node instanceof RequestNode rNode && rNode.childrenCollapsed) {
+                    collapsed.add(rNode.request);
+                }
+            }
+        }
+
+        buildNodes();
+        if (!collapsed.isEmpty()) {
+            final List<RequestNode> toCollapse = new ArrayList<>();
             for (ArrayList<Node> row : treeNodes.values()) {
                 for (Node node : row) {
-                    if (node.parentNode != null) {
-                        node.parentNode.childNodes.add(node);
+                    if (node instanceof RequestNode rNode && collapsed.contains(rNode.request)) {
+                        toCollapse.add(rNode);
                     }
-                    treeWidth = Math.max(treeWidth, node.x + node.width);
-                    treeHeight = Math.max(treeHeight, node.y + node.height);
                 }
             }
+            for (RequestNode rNode : toCollapse) {
+                rNode.childrenCollapsed = true;
+                for (Node child : rNode.childNodes) {
+                    changeNodeVisibilityWithChildren(child, false);
+                }
+            }
+            updateCoordinates();
+        }
+        if (!search.isEmpty()) {
+            updateSearchGoToList(search);
         }
     }
 
@@ -777,11 +866,26 @@ public class GuiCraftingTree {
             return;
         }
 
+        final int unloadedId = clickedNode.request.unloadedSubtreeId;
+        if (unloadedId >= 0) {
+            final long now = System.currentTimeMillis();
+            final PageRequest pending = requestedPages.get(unloadedId);
+            if (pending == null || now - pending.sentAt > PAGE_REQUEST_TIMEOUT_MS) {
+                requestedPages.put(unloadedId, new PageRequest(clickedNode.request, now));
+                NetworkHandler.instance.sendToServer(new PacketCraftingTreeRequest(unloadedId));
+            }
+            return;
+        }
+
         clickedNode.childrenCollapsed = !clickedNode.childrenCollapsed;
         for (Node child : clickedNode.childNodes) {
             changeNodeVisibilityWithChildren(child, !clickedNode.childrenCollapsed);
         }
 
+        updateCoordinates();
+    }
+
+    private void updateCoordinates() {
         Pair<Integer, Integer> maxXYCoordinate = recalculateCoordinate(treeNodes.firstEntry().getValue().get(0), 0, 0);
         treeWidth = maxXYCoordinate.first();
         treeHeight = maxXYCoordinate.second();
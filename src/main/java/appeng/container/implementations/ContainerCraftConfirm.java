@@ -51,6 +51,7 @@ import appeng.core.sync.packets.PacketCraftingTreeData;
 import appeng.core.sync.packets.PacketMEInventoryUpdate;
 import appeng.crafting.MECraftingInventory;
 import appeng.crafting.v2.CraftingJobV2;
+import appeng.crafting.v2.CraftingTreePager;
 import appeng.tile.misc.TilePatternOptimizationMatrix;
 import appeng.util.Platform;
 import io.netty.buffer.ByteBuf;
@@ -60,6 +61,7 @@ public class ContainerCraftConfirm extends ContainerSubGui implements ICraftingC
 
     private Future<ICraftingJob> job;
     protected ICraftingJob result;
+    private CraftingTreePager treePager;
 
     @GuiSync(0)
     public long bytesUsed;
@@ -226,9 +228,11 @@ public class ContainerCraftConfirm extends ContainerSubGui implements ICraftingC
                     }
 
                     final List<PacketCraftingTreeData> treeUpdates;
-                    if (this.result instanceof CraftingJobV2) {
-                        treeUpdates = PacketCraftingTreeData.createChunks((CraftingJobV2) this.result);
+                    if (this.result instanceof CraftingJobV2 jobV2) {
+                        this.treePager = new CraftingTreePager(jobV2);
+                        treeUpdates = PacketCraftingTreeData.createChunks(this.treePager.serializeRoot(), -1);
                     } else {
+                        this.treePager = null;
                         treeUpdates = null;
                     }
                     for (final Object player : this.crafters) {
@@ -253,6 +257,7 @@ public class ContainerCraftConfirm extends ContainerSubGui implements ICraftingC
                 AELog.debug(e);
                 this.setValidContainer(false);
                 this.result = null;
+                this.treePager = null;
             }
 
             this.setJob(null);
@@ -371,6 +376,24 @@ public class ContainerCraftConfirm extends ContainerSubGui implements ICraftingC
             this.getJob().cancel(true);
             this.setJob(null);
         }
+        this.treePager = null;
+    }
+
+    /**
+     * Sends the children of a crafting tree request the client got without them.
+     */
+    public void sendCraftingTreePage(final EntityPlayerMP player, final int nodeId) {
+        if (this.treePager == null) {
+            return;
+        }
+        ByteBuf page = this.treePager.serializeNode(nodeId);
+        if (page == null) {
+            // an empty page tells the client the request failed, so it can ask again
+            page = Unpooled.EMPTY_BUFFER;
+        }
+        for (PacketCraftingTreeData pkt : PacketCraftingTreeData.createChunks(page, nodeId)) {
+            NetworkHandler.instance.sendTo(pkt, player);
+        }
     }
 
     public World getWorld() {
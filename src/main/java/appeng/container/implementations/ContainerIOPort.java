@@ -32,6 +32,9 @@ public class ContainerIOPort extends ContainerUpgradeable {
     @GuiSync(3)
     public OperationMode opMode = OperationMode.EMPTY;
 
+    @GuiSync(7)
+    public long itemsPerTick = 0;
+
     public ContainerIOPort(final InventoryPlayer ip, final TileIOPort te) {
         super(ip, te);
     }
@@ -123,6 +126,7 @@ public class ContainerIOPort extends ContainerUpgradeable {
                     (FullnessMode) this.getUpgradeable().getConfigManager().getSetting(Settings.FULLNESS_MODE));
             this.setRedStoneMode(
                     (RedstoneMode) this.getUpgradeable().getConfigManager().getSetting(Settings.REDSTONE_CONTROLLED));
+            this.itemsPerTick = ((TileIOPort) this.getUpgradeable()).getItemsPerTick();
         }
 
         this.standardDetectAndSendChanges();
@@ -143,4 +147,8 @@ public class ContainerIOPort extends ContainerUpgradeable {
     private void setOperationMode(final OperationMode opMode) {
         this.opMode = opMode;
     }
+
+    public long getItemsPerTick() {
+        return this.itemsPerTick;
+    }
 }
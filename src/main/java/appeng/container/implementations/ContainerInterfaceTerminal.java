@@ -12,6 +12,7 @@
 package appeng.container.implementations;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -21,6 +22,7 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.inventory.IInventory;
@@ -31,7 +33,6 @@ import net.minecraftforge.common.util.ForgeDirection;
 
 import com.google.common.primitives.Ints;
 
-import appeng.api.AEApi;
 import appeng.api.config.Settings;
 import appeng.api.config.YesNo;
 import appeng.api.networking.IGrid;
@@ -48,6 +49,8 @@ import appeng.core.sync.packets.PacketInterfaceTerminalUpdate;
 import appeng.helpers.IInterfaceHost;
 import appeng.helpers.InventoryAction;
 import appeng.items.misc.ItemEncodedPattern;
+import appeng.me.cache.InterfaceTerminalCache;
+import appeng.me.cache.InterfaceTerminalCache.IInterfaceTerminalListener;
 import appeng.parts.AEBasePart;
 import appeng.parts.misc.PartPatternRepeater;
 import appeng.parts.p2p.PartP2PTunnel;
@@ -66,9 +69,13 @@ public final class ContainerInterfaceTerminal extends AEBaseContainer implements
 
     private int nextId = 0;
     private boolean forceNextUpdate = false;
+    private boolean gridsChanged = false;
 
     private final Map<IInterfaceViewable, InvTracker> tracked = new HashMap<>();
     private final Map<Long, InvTracker> trackedById = new HashMap<>();
+    private final Map<IGrid, InterfaceTerminalCache> subscribed = new HashMap<>();
+    private final Set<IInterfaceViewable> changedMachines = new HashSet<>();
+    private final IInterfaceTerminalListener listener = this.changedMachines::add;
     private PacketInterfaceTerminalUpdate dirty;
     private boolean isDirty;
     private IGrid grid;
@@ -81,6 +88,7 @@ public final class ContainerInterfaceTerminal extends AEBaseContainer implements
         this.anchor = anchor;
         if (Platform.isServer()) {
             this.grid = anchor.getActionableNode().getGrid();
+            this.refreshGrids();
             dirty = this.updateList();
             if (dirty != null) {
                 this.isDirty = true;
@@ -104,6 +112,10 @@ public final class ContainerInterfaceTerminal extends AEBaseContainer implements
         }
 
         final IGridNode agn = this.anchor.getActionableNode();
+        if (agn.getGrid() != null && agn.getGrid() != this.grid) {
+            this.grid = agn.getGrid();
+            this.gridsChanged = true;
+        }
 
         if (!agn.isActive()) {
             /*
@@ -128,8 +140,21 @@ public final class ContainerInterfaceTerminal extends AEBaseContainer implements
             NetworkHandler.instance.sendTo(this.dirty, (EntityPlayerMP) this.getPlayerInv().player);
             this.dirty = new PacketInterfaceTerminalUpdate();
             this.isDirty = false;
-        } else if (anchor.needsUpdate() || forceNextUpdate) {
-            forceNextUpdate = false;
+        } else {
+            if (anchor.needsUpdate() || this.gridsChanged) {
+                // pattern repeaters may have been added or removed
+                this.gridsChanged = false;
+                this.refreshGrids();
+
+                // machines of other mods can't report their changes, so they are compared on every requested update
+                for (final InterfaceTerminalCache cache : this.subscribed.values()) {
+                    this.changedMachines.addAll(cache.getForeignMachines());
+                }
+            }
+            if (forceNextUpdate) {
+                forceNextUpdate = false;
+                this.changedMachines.addAll(this.tracked.keySet());
+            }
             PacketInterfaceTerminalUpdate update = this.updateList();
             if (update != null) {
                 update.encode();
@@ -142,6 +167,16 @@ public final class ContainerInterfaceTerminal extends AEBaseContainer implements
         this.forceNextUpdate = true;
     }
 
+    @Override
+    public void onContainerClosed(final EntityPlayer player) {
+        super.onContainerClosed(player);
+        for (final InterfaceTerminalCache cache : this.subscribed.values()) {
+            cache.removeListener(this.listener);
+        }
+        this.subscribed.clear();
+        this.changedMachines.clear();
+    }
+
     @Override
     public void doAction(final EntityPlayerMP player, final InventoryAction action, final int slot, final long id) {
         final InvTracker inv = this.trackedById.get(id);
@@ -326,113 +361,148 @@ public final class ContainerInterfaceTerminal extends AEBaseContainer implements
     }
 
     /**
-     * Finds out whether any updates are needed, and if so, incrementally updates the list.
+     * Subscribes to the interface registries of all grids reachable from the terminal and drops the ones that aren't
+     * anymore. Machines of newly subscribed or dropped grids are queued to be compared.
      */
-    private PacketInterfaceTerminalUpdate updateList() {
-        PacketInterfaceTerminalUpdate update = null;
-        var supported = AEApi.instance().registries().interfaceTerminal().getSupportedClasses();
-        Set<IInterfaceViewable> visited = new HashSet<>();
-
-        for (final IGrid currentGrid : this.collectReachableGrids()) {
-            for (Class<? extends IInterfaceViewable> c : supported) {
-                for (IGridNode node : currentGrid.getMachines(c)) {
-                    IInterfaceViewable machine = (IInterfaceViewable) node.getMachine();
-                    /* First check if we are already tracking this node */
-                    if (tracked.containsKey(machine)) {
-                        /* Check for updates */
-                        InvTracker known = tracked.get(machine);
-
-                        /* Name changed? */
-                        String rawName = machine.getRawName();
-                        String suffix = machine.getNameSuffix();
-
-                        if (!Objects.equals(known.name, rawName) || !Objects.equals(known.suffix, suffix)) {
-                            if (update == null) update = new PacketInterfaceTerminalUpdate();
-                            update.addRenamedEntry(known.id, rawName, suffix);
-                            known.name = rawName;
-                            known.suffix = suffix;
-                        }
+    private void refreshGrids() {
+        final Set<IGrid> reachable = this.grid == null ? Collections.emptySet() : this.collectReachableGrids();
 
-                        /* Status changed? */
-                        boolean isActive = node.isActive();
-
-                        if (!known.online && isActive) {
-                            /* Node offline -> online */
-                            known.online = true;
-                            if (update == null) update = new PacketInterfaceTerminalUpdate();
-                            known.updateNBT();
-                            update.addOverwriteEntry(known.id).setOnline(true).setItems(new int[0], known.invNbt);
-                        } else if (known.online && !isActive) {
-                            /* Node online -> offline */
-                            known.online = false;
-                            if (update == null) update = new PacketInterfaceTerminalUpdate();
-                            update.addOverwriteEntry(known.id).setOnline(false);
-                        }
+        final Iterator<Entry<IGrid, InterfaceTerminalCache>> it = this.subscribed.entrySet().iterator();
+        while (it.hasNext()) {
+            final Entry<IGrid, InterfaceTerminalCache> entry = it.next();
+            if (!reachable.contains(entry.getKey())) {
+                entry.getValue().removeListener(this.listener);
+                it.remove();
+            }
+        }
 
-                        // visibility changed?
-                        final boolean machineShouldDisplay = getTerminalVisibility(machine);
-                        if (known.shouldDisplay != machineShouldDisplay) {
-                            known.shouldDisplay = machineShouldDisplay;
-                            if (update == null) update = new PacketInterfaceTerminalUpdate();
-                            update.addOverwriteEntry(known.id).setTerminalVisible(machineShouldDisplay);
-                        }
+        for (final IGrid currentGrid : reachable) {
+            if (!this.subscribed.containsKey(currentGrid)) {
+                final InterfaceTerminalCache cache = currentGrid.getCache(InterfaceTerminalCache.class);
+                this.subscribed.put(currentGrid, cache);
+                cache.addListener(this.listener);
+            }
+        }
+    }
 
-                        // If the size changed, we need to do a full update of inventory
-                        if (known.rows != machine.rows() || known.rowSize != machine.rowSize()
-                                || known.numSlots != machine.numSlots()) {
-                            known.rows = machine.rows();
-                            known.rowSize = machine.rowSize();
-                            known.numSlots = machine.numSlots();
-                            known.updateNBT();
-                            if (update == null) update = new PacketInterfaceTerminalUpdate();
-                            update.addOverwriteEntry(known.id).setItems(new int[0], known.invNbt)
-                                    .setSize(known.rows, known.rowSize, known.numSlots);
-                        }
+    private IGridNode findNode(final IInterfaceViewable machine) {
+        for (final InterfaceTerminalCache cache : this.subscribed.values()) {
+            final IGridNode node = cache.getNode(machine);
+            if (node != null) {
+                return node;
+            }
+        }
+        return null;
+    }
 
-                        int priority = machine.getPriority();
-                        if (known.priority != priority) {
-                            known.priority = priority;
-                            if (update == null) update = new PacketInterfaceTerminalUpdate();
-                            update.addOverwriteEntry(known.id).setPriority(priority);
-                        }
+    /**
+     * Compares the machines reported as changed since the last update with what the client knows, and incrementally
+     * updates the list.
+     */
+    private PacketInterfaceTerminalUpdate updateList() {
+        if (this.changedMachines.isEmpty()) {
+            return null;
+        }
 
-                        visited.add(machine);
-                    } else {
-                        /* Add a new entry (always, including hidden ones) */
-                        if (update == null) update = new PacketInterfaceTerminalUpdate();
-                        InvTracker entry = new InvTracker(nextId++, machine, node.isActive());
-                        update.addNewEntry(entry.id, entry.name, entry.online).setSuffix(entry.suffix)
-                                .setLoc(entry.x, entry.y, entry.z, entry.dim, entry.side.ordinal())
-                                .setItems(entry.rows, entry.rowSize, entry.numSlots, entry.invNbt)
-                                .setReps(machine.getSelfRep(), machine.getDisplayRep())
-                                .setP2POutput(machine instanceof PartP2PTunnel<?>p2pTunnel && p2pTunnel.isOutput())
-                                .setSupportedStackTypes(entry.supportedStackTypes).setPriority(entry.priority)
-                                .setTerminalVisible(entry.shouldDisplay);
-                        // Ensure the client applies the correct visibility even if PacketAdd state gets corrupted
-                        // client-side. PacketOverwrite handling is known to work reliably.
-                        update.addOverwriteEntry(entry.id).setTerminalVisible(entry.shouldDisplay);
-                        tracked.put(machine, entry);
-                        trackedById.put(entry.id, entry);
-                        visited.add(machine);
-                    }
+        PacketInterfaceTerminalUpdate update = null;
+        final List<IInterfaceViewable> changed = new ArrayList<>(this.changedMachines);
+        this.changedMachines.clear();
+
+        for (final IInterfaceViewable machine : changed) {
+            final IGridNode node = this.findNode(machine);
+            final InvTracker known = tracked.get(machine);
+
+            if (node == null) {
+                /* No longer on a reachable grid */
+                if (known != null) {
+                    if (update == null) update = new PacketInterfaceTerminalUpdate();
+                    trackedById.remove(known.id);
+                    tracked.remove(machine);
+                    update.addRemovalEntry(known.id);
                 }
+            } else if (known != null) {
+                update = this.updateEntry(update, known, machine, node);
+            } else {
+                /* Add a new entry (always, including hidden ones) */
+                if (update == null) update = new PacketInterfaceTerminalUpdate();
+                InvTracker entry = new InvTracker(nextId++, machine, node.isActive());
+                update.addNewEntry(entry.id, entry.name, entry.online).setSuffix(entry.suffix)
+                        .setLoc(entry.x, entry.y, entry.z, entry.dim, entry.side.ordinal())
+                        .setItems(entry.rows, entry.rowSize, entry.numSlots, entry.invNbt)
+                        .setReps(machine.getSelfRep(), machine.getDisplayRep())
+                        .setP2POutput(machine instanceof PartP2PTunnel<?>p2pTunnel && p2pTunnel.isOutput())
+                        .setSupportedStackTypes(entry.supportedStackTypes).setPriority(entry.priority)
+                        .setTerminalVisible(entry.shouldDisplay);
+                // Ensure the client applies the correct visibility even if PacketAdd state gets corrupted
+                // client-side. PacketOverwrite handling is known to work reliably.
+                update.addOverwriteEntry(entry.id).setTerminalVisible(entry.shouldDisplay);
+                tracked.put(machine, entry);
+                trackedById.put(entry.id, entry);
             }
         }
+        return update;
+    }
 
-        /* Now find any entries that we need to remove */
-        Iterator<Entry<IInterfaceViewable, InvTracker>> it = tracked.entrySet().iterator();
-        while (it.hasNext()) {
-            var entry = it.next();
-            if (visited.contains(entry.getKey())) {
-                continue;
-            }
+    private PacketInterfaceTerminalUpdate updateEntry(PacketInterfaceTerminalUpdate update, final InvTracker known,
+            final IInterfaceViewable machine, final IGridNode node) {
+        /* Name changed? */
+        String rawName = machine.getRawName();
+        String suffix = machine.getNameSuffix();
+
+        if (!Objects.equals(known.name, rawName) || !Objects.equals(known.suffix, suffix)) {
+            if (update == null) update = new PacketInterfaceTerminalUpdate();
+            update.addRenamedEntry(known.id, rawName, suffix);
+            known.name = rawName;
+            known.suffix = suffix;
+        }
+
+        /* Status changed? */
+        boolean isActive = node.isActive();
+
+        if (!known.online && isActive) {
+            /* Node offline -> online */
+            known.online = true;
+            if (update == null) update = new PacketInterfaceTerminalUpdate();
+            known.updateNBT();
+            update.addOverwriteEntry(known.id).setOnline(true).setItems(new int[0], known.invNbt);
+        } else if (known.online && !isActive) {
+            /* Node online -> offline */
+            known.online = false;
+            if (update == null) update = new PacketInterfaceTerminalUpdate();
+            update.addOverwriteEntry(known.id).setOnline(false);
+        }
 
+        // visibility changed?
+        final boolean machineShouldDisplay = getTerminalVisibility(machine);
+        if (known.shouldDisplay != machineShouldDisplay) {
+            known.shouldDisplay = machineShouldDisplay;
             if (update == null) update = new PacketInterfaceTerminalUpdate();
+            update.addOverwriteEntry(known.id).setTerminalVisible(machineShouldDisplay);
+        }
+
+        // If the size changed, we need to do a full update of inventory
+        if (known.rows != machine.rows() || known.rowSize != machine.rowSize()
+                || known.numSlots != machine.numSlots()) {
+            known.rows = machine.rows();
+            known.rowSize = machine.rowSize();
+            known.numSlots = machine.numSlots();
+            known.updateNBT();
+            if (update == null) update = new PacketInterfaceTerminalUpdate();
+            update.addOverwriteEntry(known.id).setItems(new int[0], known.invNbt)
+                    .setSize(known.rows, known.rowSize, known.numSlots);
+        } else if (known.online && known.refreshNBT()) {
+            // patterns were changed somewhere else than in this terminal
+            if (update == null) update = new PacketInterfaceTerminalUpdate();
+            update.addOverwriteEntry(known.id).setItems(new int[0], known.invNbt);
+        }
 
-            trackedById.remove(entry.getValue().id);
-            it.remove();
-            update.addRemovalEntry(entry.getValue().id);
+        int priority = machine.getPriority();
+        if (known.priority != priority) {
+            known.priority = priority;
+            if (update == null) update = new PacketInterfaceTerminalUpdate();
+            update.addOverwriteEntry(known.id).setPriority(priority);
         }
+
         return update;
     }
 
@@ -514,6 +584,17 @@ public final class ContainerInterfaceTerminal extends AEBaseContainer implements
             }
         }
 
+        /**
+         * Refreshes all nbt tags.
+         *
+         * @return true if any of them changed
+         */
+        private boolean refreshNBT() {
+            final NBTTagList old = this.invNbt;
+            this.updateNBT();
+            return !this.invNbt.equals(old);
+        }
+
         /**
          * Refreshes all nbt tags.
          */
@@ -11,42 +11,45 @@
 package appeng.container.implementations;
 
 import java.io.IOException;
+import java.nio.BufferOverflowException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.item.ItemStack;
-import net.minecraft.nbt.NBTTagCompound;
 import net.minecraftforge.common.util.ForgeDirection;
 
 import com.gtnewhorizon.gtnhlib.util.map.ItemStackMap;
 
-import appeng.api.AEApi;
 import appeng.api.config.CellType;
 import appeng.api.config.PowerMultiplier;
 import appeng.api.implementations.guiobjects.INetworkTool;
 import appeng.api.networking.IGrid;
-import appeng.api.networking.IGridBlock;
 import appeng.api.networking.IGridHost;
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.crafting.ICraftingGrid;
 import appeng.api.networking.energy.IEnergyGrid;
 import appeng.api.networking.storage.IStorageGrid;
 import appeng.api.storage.data.IAEItemStack;
-import appeng.api.storage.data.IItemList;
-import appeng.api.util.NamedDimensionalCoord;
 import appeng.container.AEBaseContainer;
 import appeng.container.guisync.GuiSync;
 import appeng.core.AEConfig;
+import appeng.core.AELog;
+import appeng.core.sync.AppEngPacket;
 import appeng.core.sync.GuiBridge;
 import appeng.core.sync.network.NetworkHandler;
 import appeng.core.sync.packets.PacketMEInventoryUpdate;
-import appeng.helpers.ICustomNameObject;
+import appeng.core.sync.packets.PacketNetworkStatusLocations;
 import appeng.me.cache.CraftingGridCache;
 import appeng.me.cache.GridStorageCache;
+import appeng.me.cache.MachineCensusCache;
 import appeng.tile.misc.TileStorageReshuffle;
 import appeng.util.Platform;
 import appeng.util.item.AEItemStack;
@@ -158,9 +161,15 @@ public class ContainerNetworkStatus extends AEBaseContainer {
     @GuiSync(34)
     public boolean diagnosticsGloballyEnabled;
 
+    public static final byte FULL_UPDATE = 0;
+    public static final byte DELTA_UPDATE = 1;
+
     private IGrid network;
     private int delay = 40;
     private boolean isConsume = true;
+    private final Map<IAEItemStack, IAEItemStack> sentMachines = new HashMap<>();
+    private long sentCensusVersion;
+    private boolean machinesOutdated = true;
 
     public ContainerNetworkStatus(final InventoryPlayer ip, final INetworkTool te) {
         super(ip, te);
@@ -231,72 +240,10 @@ public class ContainerNetworkStatus extends AEBaseContainer {
             }
 
             try {
-                final PacketMEInventoryUpdate piu = new PacketMEInventoryUpdate();
-                final IItemList<IAEItemStack> list = AEApi.instance().storage().createPrimitiveItemList();
-                final HashMap<IAEItemStack, ArrayList<NamedDimensionalCoord>> dcMap = new HashMap<>();
-
-                // Network machine
                 if (this.isConsume) {
-                    for (final Class<? extends IGridHost> machineClass : this.network.getMachinesClasses()) {
-                        for (final IGridNode machine : this.network.getMachines(machineClass)) {
-                            final IGridBlock blk = machine.getGridBlock();
-                            final ItemStack is = blk.getMachineRepresentation();
-                            if (is == null || is.getItem() == null) continue;
-
-                            final IAEItemStack ais = AEItemStack.create(is);
-                            ais.setStackSize(1);
-                            ais.setCountRequestable(
-                                    (long) PowerMultiplier.CONFIG.multiply(blk.getIdlePowerUsage() * 100.0));
-                            list.add(ais);
-                            String customName = "";
-                            if (blk.getMachine() instanceof ICustomNameObject ico && ico.hasCustomName())
-                                customName = ico.getCustomName();
-                            if (dcMap.containsKey(ais)) {
-                                ArrayList<NamedDimensionalCoord> dcList = dcMap.get(ais);
-                                dcList.add(new NamedDimensionalCoord(blk.getLocation(), customName));
-                            } else {
-                                ArrayList<NamedDimensionalCoord> dcList = new ArrayList<>();
-                                dcList.add(new NamedDimensionalCoord(blk.getLocation(), customName));
-                                dcMap.put(ais, dcList);
-                            }
-                        }
-                    }
-
+                    this.sendMachines();
                 } else {
-                    // Networ Cells
-                    final GridStorageCache sg = this.network.getCache(IStorageGrid.class);
-                    CellType selectedCellType = AEConfig.instance.selectedCellType();
-                    ItemStackMap<Integer> cells = switch (selectedCellType) {
-                        case ITEM -> sg.getItemCells();
-                        case FLUID -> sg.getFluidCells();
-                        case ESSENTIA -> sg.getEssentiaCells();
-                    };
-
-                    for (Entry<ItemStack, Integer> set : cells.entrySet()) {
-                        final IAEItemStack ais = AEItemStack.create(set.getKey());
-                        ais.setStackSize(set.getValue());
-                        list.add(ais);
-                    }
-                }
-
-                for (final IAEItemStack ais : list) {
-                    ArrayList<NamedDimensionalCoord> dcl = dcMap.get(ais);
-                    if (dcl != null) {
-                        ItemStack is = ais.getItemStack();
-                        NBTTagCompound tag = new NBTTagCompound();
-                        NamedDimensionalCoord.writeListToNBTNamed(tag, dcl);
-                        is.setTagCompound(tag);
-                        piu.appendItem(AEItemStack.create(is).setCountRequestable(ais.getCountRequestable()));
-                    } else {
-                        piu.appendItem(ais);
-                    }
-                }
-
-                // Send packet
-                for (final Object c : this.crafters) {
-                    if (c instanceof EntityPlayer) {
-                        NetworkHandler.instance.sendTo(piu, (EntityPlayerMP) c);
-                    }
+                    this.sendCells();
                 }
             } catch (final IOException e) {
                 // :P
@@ -340,6 +287,113 @@ public class ContainerNetworkStatus extends AEBaseContainer {
         super.detectAndSendChanges();
     }
 
+    /**
+     * Sends the rows of the machine census that changed since the last update, or all of them after the screen
+     * switched to the machine list.
+     */
+    private void sendMachines() throws IOException {
+        final MachineCensusCache census = this.network.getCache(MachineCensusCache.class);
+        if (census == null || !this.machinesOutdated && census.getVersion() == this.sentCensusVersion) {
+            return;
+        }
+
+        final boolean full = this.machinesOutdated;
+        if (full) {
+            this.sentMachines.clear();
+        }
+
+        final List<IAEItemStack> changes = new ArrayList<>();
+        final Set<IAEItemStack> removed = new HashSet<>(this.sentMachines.keySet());
+        for (final MachineCensusCache.Row row : census.getRows()) {
+            final IAEItemStack ais = row.getRepresentation().copy();
+            ais.setStackSize(row.getCount());
+            ais.setCountRequestable((long) PowerMultiplier.CONFIG.multiply(row.getIdlePowerUsage() * 100.0));
+            removed.remove(ais);
+
+            final IAEItemStack sent = this.sentMachines.get(ais);
+            if (sent == null || sent.getStackSize() != ais.getStackSize()
+                    || sent.getCountRequestable() != ais.getCountRequestable()) {
+                this.sentMachines.put(ais, ais);
+                changes.add(ais);
+            }
+        }
+        for (final IAEItemStack ais : removed) {
+            this.sentMachines.remove(ais);
+            // an empty stack removes the row on the client
+            changes.add(ais.copy().setStackSize(0).setCountRequestable(0));
+        }
+
+        this.sentCensusVersion = census.getVersion();
+        this.machinesOutdated = false;
+
+        if (full || !changes.isEmpty()) {
+            final List<PacketMEInventoryUpdate> packets = new ArrayList<>();
+            PacketMEInventoryUpdate piu = new PacketMEInventoryUpdate(full ? FULL_UPDATE : DELTA_UPDATE);
+            packets.add(piu);
+            for (final IAEItemStack ais : changes) {
+                try {
+                    piu.appendItem(ais);
+                } catch (final BufferOverflowException boe) {
+                    piu = new PacketMEInventoryUpdate(DELTA_UPDATE);
+                    packets.add(piu);
+                    piu.appendItem(ais);
+                }
+            }
+            for (final PacketMEInventoryUpdate packet : packets) {
+                this.sendToPlayers(packet);
+            }
+        }
+    }
+
+    private void sendCells() throws IOException {
+        final PacketMEInventoryUpdate piu = new PacketMEInventoryUpdate(FULL_UPDATE);
+        final GridStorageCache sg = this.network.getCache(IStorageGrid.class);
+        CellType selectedCellType = AEConfig.instance.selectedCellType();
+        ItemStackMap<Integer> cells = switch (selectedCellType) {
+            case ITEM -> sg.getItemCells();
+            case FLUID -> sg.getFluidCells();
+            case ESSENTIA -> sg.getEssentiaCells();
+        };
+
+        for (Entry<ItemStack, Integer> set : cells.entrySet()) {
+            final IAEItemStack ais = AEItemStack.create(set.getKey());
+            ais.setStackSize(set.getValue());
+            piu.appendItem(ais);
+        }
+
+        this.sendToPlayers(piu);
+    }
+
+    private void sendToPlayers(final AppEngPacket packet) {
+        for (final Object c : this.crafters) {
+            if (c instanceof EntityPlayer) {
+                NetworkHandler.instance.sendTo(packet, (EntityPlayerMP) c);
+            }
+        }
+    }
+
+    /**
+     * Sends the locations of the machines of a census row to the player, who asked for them to highlight the machines
+     * or to list them.
+     */
+    public void sendLocations(final EntityPlayerMP player, final IAEItemStack machine, final boolean highlight) {
+        if (this.network == null || machine == null) {
+            return;
+        }
+
+        final MachineCensusCache census = this.network.getCache(MachineCensusCache.class);
+        if (census == null) {
+            return;
+        }
+
+        try {
+            NetworkHandler.instance
+                    .sendTo(new PacketNetworkStatusLocations(machine, highlight, census.getLocations(machine)), player);
+        } catch (final IOException e) {
+            AELog.debug(e);
+        }
+    }
+
     public void openReshuffle(final EntityPlayer player) {
         if (this.network == null) return;
         for (final IGridNode node : this.network.getMachines(TileStorageReshuffle.class)) {
@@ -352,6 +406,9 @@ public class ContainerNetworkStatus extends AEBaseContainer {
     }
 
     public void setConsume(boolean isConsume) {
+        if (isConsume && !this.isConsume) {
+            this.machinesOutdated = true;
+        }
         this.isConsume = isConsume;
     }
 
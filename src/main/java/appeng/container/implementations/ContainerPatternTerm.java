@@ -26,7 +26,6 @@ import net.minecraft.inventory.InventoryCrafting;
 import net.minecraft.inventory.Slot;
 import net.minecraft.inventory.SlotCrafting;
 import net.minecraft.item.ItemStack;
-import net.minecraft.item.crafting.CraftingManager;
 import net.minecraft.item.crafting.IRecipe;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
@@ -261,7 +260,7 @@ public class ContainerPatternTerm extends ContainerMEMonitorable
             ic.setInventorySlotContents(x, this.craftingMatrix.getStackInSlot(x));
         }
 
-        final ItemStack is = CraftingManager.getInstance().findMatchingRecipe(ic, this.getPlayerInv().player.worldObj);
+        final ItemStack is = Platform.findMatchingRecipeOutput(ic, this.getPlayerInv().player.worldObj);
         this.cOut.setInventorySlotContents(0, is);
         super.detectAndSendChanges();
 
@@ -3,9 +3,11 @@ package appeng.container.implementations;
 import net.minecraft.entity.player.InventoryPlayer;
 
 import appeng.api.config.SecurityPermissions;
+import appeng.api.util.IInterfaceViewable;
 import appeng.client.gui.widgets.MEGuiTextField;
 import appeng.container.ContainerSubGui;
 import appeng.helpers.ICustomNameObject;
+import appeng.me.cache.InterfaceTerminalCache;
 import appeng.util.Platform;
 import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
@@ -30,6 +32,9 @@ public class ContainerRenamer extends ContainerSubGui {
 
     public void setNewName(String newValue) {
         this.namedObject.setCustomName(newValue);
+        if (this.namedObject instanceof IInterfaceViewable viewable) {
+            InterfaceTerminalCache.postChange(viewable);
+        }
     }
 
     @Override
@@ -74,6 +74,8 @@ public class ContainerSuperMEReplenisher extends AEBaseContainer implements IVir
 
     private final LongSyncHandler totalBytes;
     private final LongSyncHandler usedBytes;
+    private final LongSyncHandler wakeUps;
+    private final LongSyncHandler usefulWakeUps;
 
     public final IntSyncHandler tickRate;
     public final IntSyncHandler threshold;
@@ -92,6 +94,8 @@ public class ContainerSuperMEReplenisher extends AEBaseContainer implements IVir
         final SyncRegistrar sync = this.syncRegistrar();
         this.totalBytes = sync.longS2C("totalBytes");
         this.usedBytes = sync.longS2C("usedBytes");
+        this.wakeUps = sync.longS2C("wakeUps");
+        this.usefulWakeUps = sync.longS2C("usefulWakeUps");
 
         this.tickRate = sync.intSync("tickRate").onClientChange((oldValue, newValue) -> this.needUpdate = true)
                 .onServerChange((oldValue, newValue) -> this.tile.setTickRate(newValue));
@@ -164,6 +168,8 @@ public class ContainerSuperMEReplenisher extends AEBaseContainer implements IVir
         if (isServer()) {
             this.totalBytes.set(this.tile.getTotalBytes());
             this.usedBytes.set(this.tile.getUsedBytes());
+            this.wakeUps.set(this.tile.getWakeUps());
+            this.usefulWakeUps.set(this.tile.getUsefulWakeUps());
             this.tickRate.set(this.tile.getTickRate());
             this.threshold.set((int) (this.tile.getThreshold() * 100));
             this.storedData.set(this.tile.getStorage());
@@ -189,4 +195,12 @@ public class ContainerSuperMEReplenisher extends AEBaseContainer implements IVir
     public long getUsedBytes() {
         return this.usedBytes.get();
     }
+
+    public long getWakeUps() {
+        return this.wakeUps.get();
+    }
+
+    public long getUsefulWakeUps() {
+        return this.usefulWakeUps.get();
+    }
 }
@@ -122,6 +122,7 @@ public final class AEConfig extends Configuration implements IConfigurableObject
     public String[] meteoriteValidBlocks = { "examplemod:example_block" };
     public String[] meteoriteInvalidBlocks = { "examplemod:example_block" };
     public int craftingCalculationTimePerTick = 5;
+    public int craftingCalculationInteractiveShare = 75;
     PowerUnits selectedPowerUnit = PowerUnits.AE;
     CellType selectedCellType = CellType.ITEM;
     private double WirelessBaseCost = 8;
@@ -135,6 +136,9 @@ public final class AEConfig extends Configuration implements IConfigurableObject
     public float visualiserWidthDense;
     public float visualiserWidthNormal;
     public int levelEmitterDelay = 40;
+    public int reshuffleTimePerTick = 2;
+    public int gridTickThreads = 0;
+    public boolean deterministicGridTicking = false;
     public int craftingCalculatorVersion = 2;
     public int maxCraftingSteps = 2_000_000;
     public int maxCraftingTreeVisualizationSize = 32 * 1024 * 1024; // 32 MiB
@@ -276,6 +280,26 @@ public final class AEConfig extends Configuration implements IConfigurableObject
 
         this.levelEmitterDelay = this.get("tickrates", "LevelEmitterDelay", this.levelEmitterDelay)
                 .getInt(this.levelEmitterDelay);
+        this.reshuffleTimePerTick = this.get(
+                "tickrates",
+                "ReshuffleTimePerTick",
+                this.reshuffleTimePerTick,
+                "Milliseconds a storage reshuffle may use per tick, less while the server is running behind")
+                .getInt(this.reshuffleTimePerTick);
+        this.gridTickThreads = Math.max(
+                0,
+                this.get(
+                        "tickrates",
+                        "GridTickThreads",
+                        this.gridTickThreads,
+                        "Threads to tick networks of separate dimensions on, 0 ticks them all on the server thread")
+                        .getInt(this.gridTickThreads));
+        this.deterministicGridTicking = this.get(
+                "debug",
+                "DeterministicGridTicking",
+                this.deterministicGridTicking,
+                "Tick networks in the order GridTickThreads uses, but all on the server thread")
+                .getBoolean(this.deterministicGridTicking);
         this.debugLogTiming = this.get("debug", "LogTiming", this.debugLogTiming).getBoolean(this.debugLogTiming);
         this.debugPathFinding = this.get("debug", "LogPathFinding", this.debugPathFinding)
                 .getBoolean(this.debugPathFinding);
@@ -364,6 +388,12 @@ public final class AEConfig extends Configuration implements IConfigurableObject
             this.craftingCalculationTimePerTick = this
                     .get("craftingCPU", "craftingCalculationTimePerTick", this.craftingCalculationTimePerTick)
                     .getInt(this.craftingCalculationTimePerTick);
+            this.craftingCalculationInteractiveShare = this.get(
+                    "craftingCPU",
+                    "craftingCalculationInteractiveShare",
+                    this.craftingCalculationInteractiveShare,
+                    "Percent of the calculation time given to player requests while automated ones are waiting")
+                    .getInt(this.craftingCalculationInteractiveShare);
         }
 
         this.updatable = true;
@@ -42,6 +42,7 @@ import appeng.services.export.ForgeExportConfig;
 import appeng.util.InvTweakSortingModule;
 import appeng.util.InventoryAdaptor;
 import appeng.util.Platform;
+import appeng.util.RecipeIndex;
 import appeng.util.ThEConvertor;
 import appeng.util.ae2fcConvertor;
 import appeng.util.ae2stuffConvertor;
@@ -240,6 +241,7 @@ public final class AppEng {
     @EventHandler
     private void serverAboutToStart(final FMLServerAboutToStartEvent evt) {
         WorldData.onServerAboutToStart();
+        RecipeIndex.invalidate();
     }
 
     @EventHandler
@@ -256,6 +258,7 @@ public final class AppEng {
         CraftingNotificationManager.clear();
         MinecraftForge.EVENT_BUS.post(new LocatableEventAnnounce(null, LocatableEvent.RemoveAll));
         InventoryAdaptor.clearCache();
+        RecipeIndex.invalidate();
     }
 
     @EventHandler
@@ -73,11 +73,14 @@ import appeng.items.materials.ItemMultiMaterial;
 import appeng.me.cache.CraftingGridCache;
 import appeng.me.cache.EnergyGridCache;
 import appeng.me.cache.GridStorageCache;
+import appeng.me.cache.InterfaceTerminalCache;
+import appeng.me.cache.MachineCensusCache;
 import appeng.me.cache.P2PCache;
 import appeng.me.cache.PathGridCache;
 import appeng.me.cache.SecurityCache;
 import appeng.me.cache.SpatialPylonCache;
 import appeng.me.cache.TickManagerCache;
+import appeng.me.cache.WirelessAccessPointCache;
 import appeng.me.storage.AEExternalHandler;
 import appeng.parts.PartPlacement;
 import appeng.recipes.AEItemResolver;
@@ -548,6 +551,9 @@ public final class Registration {
         gcr.registerGridCache(ISpatialCache.class, SpatialPylonCache.class);
         gcr.registerGridCache(ISecurityGrid.class, SecurityCache.class);
         gcr.registerGridCache(ICraftingGrid.class, CraftingGridCache.class);
+        gcr.registerGridCache(InterfaceTerminalCache.class, InterfaceTerminalCache.class);
+        gcr.registerGridCache(MachineCensusCache.class, MachineCensusCache.class);
+        gcr.registerGridCache(WirelessAccessPointCache.class, WirelessAccessPointCache.class);
 
         registries.externalStorage().addExternalStorageInterface(new AEExternalHandler());
 
@@ -26,11 +26,10 @@ import appeng.api.implementations.tiles.IWirelessAccessPoint;
 import appeng.api.networking.IGrid;
 import appeng.api.networking.IGridHost;
 import appeng.api.networking.IGridNode;
-import appeng.api.networking.IMachineSet;
-import appeng.api.util.DimensionalCoord;
 import appeng.core.localization.PlayerMessages;
 import appeng.core.sync.GuiBridge;
 import appeng.items.tools.powered.ToolWirelessTerminal;
+import appeng.me.cache.WirelessAccessPointCache;
 import appeng.tile.networking.TileWireless;
 import appeng.util.Platform;
 
@@ -69,23 +68,6 @@ public final class WirelessRegistry implements IWirelessTermRegistry {
         return null;
     }
 
-    private static boolean testWap(final IWirelessAccessPoint wap, final EntityPlayer player) {
-        double rangeLimit = wap.getRange();
-        rangeLimit *= rangeLimit;
-
-        final DimensionalCoord dc = wap.getLocation();
-
-        if (dc.getWorld() == player.worldObj) {
-            final double offX = dc.x - player.posX;
-            final double offY = dc.y - player.posY;
-            final double offZ = dc.z - player.posZ;
-
-            final double r = offX * offX + offY * offY + offZ * offZ;
-            return r < rangeLimit;
-        }
-        return false;
-    }
-
     private static boolean checkRange(final EntityPlayer player, final ILocatable locatable,
             final boolean infiniteRange) {
         if (locatable instanceof IGridHost gridHost) {
@@ -95,13 +77,18 @@ public final class WirelessRegistry implements IWirelessTermRegistry {
             IGrid grid = node.getGrid();
             if (grid == null) return false;
 
-            final IMachineSet tw = grid.getMachines(TileWireless.class);
-            for (final IGridNode n : tw) {
-                final IWirelessAccessPoint wap = (IWirelessAccessPoint) n.getMachine();
-                if (wap.isActive() && (infiniteRange || testWap(wap, player))) {
-                    return true;
+            if (infiniteRange) {
+                for (final IGridNode n : grid.getMachines(TileWireless.class)) {
+                    if (((IWirelessAccessPoint) n.getMachine()).isActive()) {
+                        return true;
+                    }
                 }
+                return false;
             }
+
+            final WirelessAccessPointCache waps = grid.getCache(WirelessAccessPointCache.class);
+            return waps.findAccessPoint(player.worldObj.provider.dimensionId, player.posX, player.posY, player.posZ)
+                    != null;
         }
 
         return false;
@@ -45,6 +45,7 @@ public enum GuiText implements Localization {
     IOBuses,
 
     IOPort,
+    IOPortItemsPerTick,
     BytesUsed,
     TimeUsed,
     Types,
@@ -357,6 +358,11 @@ public enum GuiText implements Localization {
     ReshuffleTotalTypes,
     ReshuffleReportExtracted,
     ReshuffleReportInjected,
+    ReshuffleReportThroughput,
+    ReshuffleReportStacksPerSecond,
+    ReshuffleReportBytesMoved,
+    ReshuffleReportEta,
+    ReshuffleReportTickBudget,
     ReshuffleReportLabelTypes,
     ReshuffleReportLabelStacks,
     ReshuffleReportSectionCantExtract,
@@ -413,6 +419,7 @@ public enum GuiText implements Localization {
     SuperMEReplenisherThreshold,
     SuperMEReplenisherTarget,
     SuperMEReplenisherStored,
+    SuperMEReplenisherWakeUps,
 
     itemMEStackPacketDesc1,
     itemMEStackPacketDesc2,
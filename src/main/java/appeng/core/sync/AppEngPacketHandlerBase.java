@@ -32,6 +32,7 @@ import appeng.core.sync.packets.PacketCraftingDiagnosticReset;
 import appeng.core.sync.packets.PacketCraftingDiagnosticsUpdate;
 import appeng.core.sync.packets.PacketCraftingItemInterface;
 import appeng.core.sync.packets.PacketCraftingTreeData;
+import appeng.core.sync.packets.PacketCraftingTreeRequest;
 import appeng.core.sync.packets.PacketGuiDataSync;
 import appeng.core.sync.packets.PacketHighlightBlockStorage;
 import appeng.core.sync.packets.PacketInterfaceTerminalUpdate;
@@ -45,6 +46,7 @@ import appeng.core.sync.packets.PacketMonitorableTypeFilter;
 import appeng.core.sync.packets.PacketMultiPart;
 import appeng.core.sync.packets.PacketNEIBookmark;
 import appeng.core.sync.packets.PacketNEIRecipe;
+import appeng.core.sync.packets.PacketNetworkStatusLocations;
 import appeng.core.sync.packets.PacketNetworkStatusSelected;
 import appeng.core.sync.packets.PacketNetworkVisualiserData;
 import appeng.core.sync.packets.PacketNewStorageDimension;
@@ -154,7 +156,9 @@ public class AppEngPacketHandlerBase {
         PACKET_NETWORK_VISUALISER_DATA(PacketNetworkVisualiserData.class),
         PACKET_SUPER_WIRELESS_TOOL_DATA(PacketWirelessToolData.class),
         PACKET_SUPER_WIRELESS_TOOL_COMMAND(PacketWirelessToolCommand.class),
-        PACKET_CRAFTING_DIAGNOSTIC_RESET(PacketCraftingDiagnosticReset.class);
+        PACKET_CRAFTING_DIAGNOSTIC_RESET(PacketCraftingDiagnosticReset.class),
+        PACKET_CRAFTING_TREE_REQUEST(PacketCraftingTreeRequest.class),
+        PACKET_NETWORK_STATUS_LOCATIONS(PacketNetworkStatusLocations.class);
 
         private final Class<? extends AppEngPacket> packetClass;
         private final Constructor<? extends AppEngPacket> packetConstructor;
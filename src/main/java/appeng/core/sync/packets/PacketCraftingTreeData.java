@@ -23,6 +23,7 @@ import appeng.core.features.AEFeature;
 import appeng.core.sync.AppEngPacket;
 import appeng.core.sync.network.INetworkInfo;
 import appeng.crafting.v2.CraftingJobV2;
+import appeng.crafting.v2.CraftingTreePager;
 import appeng.util.Platform;
 import cpw.mods.fml.common.FMLCommonHandler;
 import cpw.mods.fml.relauncher.Side;
@@ -47,17 +48,21 @@ public class PacketCraftingTreeData extends AppEngPacket {
         receivedData = stream.slice();
     }
 
-    private PacketCraftingTreeData(final ByteBuf chunkData, int chunkId, int totalChunks) {
-        final ByteBuf output = Unpooled.buffer(12 + chunkData.readableBytes());
+    private PacketCraftingTreeData(final ByteBuf chunkData, int chunkId, int totalChunks, int nodeId) {
+        final ByteBuf output = Unpooled.buffer(16 + chunkData.readableBytes());
         output.writeInt(this.getPacketID());
         output.writeInt(chunkId);
         output.writeInt(totalChunks);
+        output.writeInt(nodeId);
         output.writeBytes(chunkData);
         this.configureWrite(output);
     }
 
-    public static List<PacketCraftingTreeData> createChunks(final CraftingJobV2 job) {
-        final ByteBuf jobData = job.serialize();
+    /**
+     * @param jobData A page written by {@link CraftingTreePager}
+     * @param nodeId  The id of the request the page holds the children of, -1 for the root page
+     */
+    public static List<PacketCraftingTreeData> createChunks(final ByteBuf jobData, final int nodeId) {
         // Compress with GZIP
         final ByteBuf output = Unpooled.buffer(jobData.readableBytes() + 4);
         try (final ByteBufOutputStream bbos = new ByteBufOutputStream(output);
@@ -75,11 +80,12 @@ public class PacketCraftingTreeData extends AppEngPacket {
             final int start = CHUNK_SIZE * chunk;
             final int end = Math.min(start + CHUNK_SIZE, output.readableBytes());
             final int len = end - start;
-            chunks.add(new PacketCraftingTreeData(output.slice(start, len), chunk, chunkCount));
+            chunks.add(new PacketCraftingTreeData(output.slice(start, len), chunk, chunkCount, nodeId));
         }
         if (AEConfig.instance.isFeatureEnabled(AEFeature.DebugLogging)) {
             AELog.info(
-                    "Crafting tree packet raw size %d, compressed %d, chunk count %d",
+                    "Crafting tree packet for node %d raw size %d, compressed %d, chunk count %d",
+                    nodeId,
                     jobData.writerIndex(),
                     output.readableBytes(),
                     chunks.size());
@@ -88,7 +94,18 @@ public class PacketCraftingTreeData extends AppEngPacket {
     }
 
     // Store partially received packets client-side
-    private static final WeakHashMap<EntityPlayer, ByteBuf[]> chunkStorage = new WeakHashMap<>();
+    private static final WeakHashMap<EntityPlayer, PendingPage> chunkStorage = new WeakHashMap<>();
+
+    private static final class PendingPage {
+
+        private final int nodeId;
+        private final ByteBuf[] chunks;
+
+        private PendingPage(final int nodeId, final int totalChunks) {
+            this.nodeId = nodeId;
+            this.chunks = new ByteBuf[totalChunks];
+        }
+    }
 
     @Override
     @SideOnly(Side.CLIENT)
@@ -98,35 +115,36 @@ public class PacketCraftingTreeData extends AppEngPacket {
         }
         final int chunkId = receivedData.readInt();
         final int totalChunks = receivedData.readInt();
+        final int nodeId = receivedData.readInt();
         if (totalChunks <= 0 || chunkId < 0 || chunkId >= totalChunks) {
             AELog.warn("Invalid chunked crafting tree packet received from server: Chunk %d/%d", chunkId, totalChunks);
             return;
         }
         if (totalChunks == 1) {
-            onFullClientData(receivedData.slice().order(ByteOrder.LITTLE_ENDIAN), player);
+            onFullClientData(receivedData.slice().order(ByteOrder.LITTLE_ENDIAN), player, nodeId);
         } else {
             boolean packetComplete = false;
-            ByteBuf[] storage;
+            PendingPage storage;
             synchronized (chunkStorage) {
                 storage = chunkStorage.get(player);
-                if (storage == null || storage.length != totalChunks) {
-                    storage = new ByteBuf[totalChunks];
+                if (storage == null || storage.chunks.length != totalChunks || storage.nodeId != nodeId) {
+                    storage = new PendingPage(nodeId, totalChunks);
                     chunkStorage.put(player, storage);
                 }
-                storage[chunkId] = receivedData.slice().order(ByteOrder.LITTLE_ENDIAN);
-                if (Arrays.stream(storage).noneMatch(Objects::isNull)) {
+                storage.chunks[chunkId] = receivedData.slice().order(ByteOrder.LITTLE_ENDIAN);
+                if (Arrays.stream(storage.chunks).noneMatch(Objects::isNull)) {
                     chunkStorage.remove(player);
                     packetComplete = true;
                 }
             }
             if (packetComplete) {
-                ByteBuf combined = Unpooled.wrappedBuffer(storage).order(ByteOrder.LITTLE_ENDIAN);
-                onFullClientData(combined, player);
+                ByteBuf combined = Unpooled.wrappedBuffer(storage.chunks).order(ByteOrder.LITTLE_ENDIAN);
+                onFullClientData(combined, player, nodeId);
             }
         }
     }
 
-    private static void onFullClientData(ByteBuf data, EntityPlayer player) {
+    private static void onFullClientData(ByteBuf data, EntityPlayer player, int nodeId) {
         final ByteBuf decompressedData = Unpooled.buffer().order(ByteOrder.LITTLE_ENDIAN);
         try (final ByteBufOutputStream bbos = new ByteBufOutputStream(decompressedData);
                 final ByteBufInputStream bbis = new ByteBufInputStream(data);
@@ -137,6 +155,13 @@ public class PacketCraftingTreeData extends AppEngPacket {
             AELog.error(e, "Could not decompress the serialized crafting tree.");
             return;
         }
+        final GuiScreen gs = Minecraft.getMinecraft().currentScreen;
+        if (nodeId >= 0) {
+            if (gs instanceof GuiCraftConfirm) {
+                ((GuiCraftConfirm) gs).loadJobTreePage(nodeId, player.worldObj, decompressedData);
+            }
+            return;
+        }
         final CraftingJobV2 deserialized;
         try {
             deserialized = CraftingJobV2.deserialize(player.worldObj, decompressedData);
@@ -144,7 +169,6 @@ public class PacketCraftingTreeData extends AppEngPacket {
             AELog.error(e, "Could not deserialize crafting tree sent by the server.");
             return;
         }
-        final GuiScreen gs = Minecraft.getMinecraft().currentScreen;
         if (gs instanceof GuiCraftConfirm) {
             ((GuiCraftConfirm) gs).setJobTree(deserialized);
         }
@@ -0,0 +1,43 @@
+package appeng.core.sync.packets;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+
+import appeng.container.implementations.ContainerCraftConfirm;
+import appeng.core.sync.AppEngPacket;
+import appeng.core.sync.network.INetworkInfo;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Asks the server for the children of a crafting tree request that were left out of an earlier
+ * {@link PacketCraftingTreeData} page.
+ */
+public class PacketCraftingTreeRequest extends AppEngPacket {
+
+    private final int nodeId;
+
+    // automatic
+    public PacketCraftingTreeRequest(final ByteBuf stream) {
+        this.nodeId = stream.readInt();
+    }
+
+    // api
+    public PacketCraftingTreeRequest(final int nodeId) {
+        this.nodeId = nodeId;
+
+        final ByteBuf data = Unpooled.buffer();
+
+        data.writeInt(this.getPacketID());
+        data.writeInt(nodeId);
+
+        this.configureWrite(data);
+    }
+
+    @Override
+    public void serverPacketData(final INetworkInfo manager, final AppEngPacket packet, final EntityPlayer player) {
+        if (player.openContainer instanceof ContainerCraftConfirm ccc && player instanceof EntityPlayerMP playerMP) {
+            ccc.sendCraftingTreePage(playerMP, this.nodeId);
+        }
+    }
+}
@@ -139,7 +139,7 @@ public class PacketMEInventoryUpdate extends AppEngPacket {
         }
 
         if (gs instanceof GuiNetworkStatus) {
-            ((GuiNetworkStatus) gs).postUpdate(this.list);
+            ((GuiNetworkStatus) gs).postUpdate(this.list, this.ref);
         }
 
         if (gs instanceof GuiOptimizePatterns) {
@@ -0,0 +1,90 @@
+package appeng.core.sync.packets;
+
+import java.io.IOException;
+import java.util.List;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiScreen;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.nbt.NBTTagCompound;
+
+import appeng.api.storage.data.IAEItemStack;
+import appeng.api.util.NamedDimensionalCoord;
+import appeng.client.gui.implementations.GuiNetworkStatus;
+import appeng.container.implementations.ContainerNetworkStatus;
+import appeng.core.sync.AppEngPacket;
+import appeng.core.sync.network.INetworkInfo;
+import appeng.util.item.AEItemStack;
+import cpw.mods.fml.common.network.ByteBufUtils;
+import cpw.mods.fml.relauncher.Side;
+import cpw.mods.fml.relauncher.SideOnly;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Asks the server where the machines of a network status row are, and carries the answer back. The locations are
+ * only sent for the row the player clicked instead of with every status update.
+ */
+public class PacketNetworkStatusLocations extends AppEngPacket {
+
+    private final IAEItemStack machine;
+    private final boolean highlight;
+    private final NBTTagCompound locations;
+
+    // automatic
+    public PacketNetworkStatusLocations(final ByteBuf stream) throws IOException {
+        this.machine = AEItemStack.loadItemStackFromPacket(stream);
+        this.highlight = stream.readBoolean();
+        this.locations = stream.readBoolean() ? ByteBufUtils.readTag(stream) : null;
+    }
+
+    // api, request
+    public PacketNetworkStatusLocations(final IAEItemStack machine, final boolean highlight) throws IOException {
+        this(machine, highlight, null);
+    }
+
+    // api, answer
+    public PacketNetworkStatusLocations(final IAEItemStack machine, final boolean highlight,
+            final List<NamedDimensionalCoord> locations) throws IOException {
+        this.machine = machine;
+        this.highlight = highlight;
+        if (locations != null) {
+            this.locations = new NBTTagCompound();
+            NamedDimensionalCoord.writeListToNBTNamed(this.locations, locations);
+        } else {
+            this.locations = null;
+        }
+
+        final ByteBuf data = Unpooled.buffer();
+
+        data.writeInt(this.getPacketID());
+        machine.writeToPacket(data);
+        data.writeBoolean(highlight);
+        data.writeBoolean(this.locations != null);
+        if (this.locations != null) {
+            ByteBufUtils.writeTag(data, this.locations);
+        }
+
+        this.configureWrite(data);
+    }
+
+    @Override
+    public void serverPacketData(final INetworkInfo manager, final AppEngPacket packet, final EntityPlayer player) {
+        if (player.openContainer instanceof ContainerNetworkStatus cns && player instanceof EntityPlayerMP playerMP) {
+            cns.sendLocations(playerMP, this.machine, this.highlight);
+        }
+    }
+
+    @Override
+    @SideOnly(Side.CLIENT)
+    public void clientPacketData(final INetworkInfo network, final AppEngPacket packet, final EntityPlayer player) {
+        final GuiScreen gs = Minecraft.getMinecraft().currentScreen;
+        if (gs instanceof GuiNetworkStatus gns && this.locations != null) {
+            gns.showLocations(
+                    this.machine,
+                    this.highlight,
+                    NamedDimensionalCoord.readAsListFromNBTNamed(this.locations));
+        }
+    }
+}
@@ -42,6 +42,14 @@ public class MeteorDataNameEncoder {
         this(DATA_SEPARATOR, BASE_EXTENSION_SEPARATOR, FILE_EXTENSION, bitScale);
     }
 
+    /**
+     * @param bitScale      how often the coordinates will be shifted right (will scale coordinates down)
+     * @param fileExtension extension used instead of <tt>dat</tt>
+     */
+    public MeteorDataNameEncoder(final int bitScale, @Nonnull final String fileExtension) {
+        this(DATA_SEPARATOR, BASE_EXTENSION_SEPARATOR, fileExtension, bitScale);
+    }
+
     private MeteorDataNameEncoder(final char dataSeparator, final char baseExtSeparator,
             @Nonnull final String fileExtension, final int bitScale) {
         Preconditions.checkNotNull(fileExtension);
@@ -382,6 +382,13 @@ public final class CraftingContext {
         return Collections.unmodifiableList(resolvedTasks);
     }
 
+    /**
+     * @return how many tasks are still queued for calculation, a rough measure of the work left.
+     */
+    public int getPendingTaskCount() {
+        return tasksToProcess.size();
+    }
+
     /**
      * Gets all requests that have been added to the context.
      *
@@ -21,6 +21,7 @@ import appeng.core.AELog;
 import appeng.core.localization.GuiText;
 import appeng.crafting.v2.CraftingContext.RequestInProcessing;
 import appeng.crafting.v2.resolvers.CraftingTask;
+import cpw.mods.fml.common.network.ByteBufUtils;
 import io.netty.buffer.ByteBuf;
 
 /**
@@ -107,6 +108,11 @@ public class CraftingRequest implements ITreeSerializable {
      */
     public volatile boolean wasSimulated = false;
     public boolean incomplete = false;
+    /**
+     * Client side only: the id to request the children of this request from the server with, -1 if they were sent
+     * already.
+     */
+    public int unloadedSubtreeId = -1;
 
     /**
      * A set of all patterns used to resolve this request and its parents, used for avoiding infinite recursion.
@@ -126,7 +132,9 @@ public class CraftingRequest implements ITreeSerializable {
         buffer.writeBoolean(incomplete);
         buffer.writeInt(craftingMode.ordinal());
         buffer.writeLong(substitutionGroupSize);
-        return usedResolvers;
+        final int subtreeId = serializer.getUnloadedSubtreeId(this);
+        ByteBufUtils.writeVarInt(buffer, subtreeId + 1, 5);
+        return subtreeId < 0 ? usedResolvers : Collections.emptyList();
     }
 
     @Override
@@ -154,6 +162,7 @@ public class CraftingRequest implements ITreeSerializable {
             craftingMode = CraftingMode.STANDARD;
         else craftingMode = CraftingMode.IGNORE_MISSING;
         substitutionGroupSize = buffer.readLong();
+        unloadedSubtreeId = ByteBufUtils.readVarInt(buffer, 5) - 1;
         acceptableSubstituteFn = x -> true;
     }
 
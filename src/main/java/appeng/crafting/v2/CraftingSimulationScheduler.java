@@ -0,0 +1,247 @@
+package appeng.crafting.v2;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.world.World;
+
+import appeng.api.networking.crafting.ICraftingJob;
+import appeng.api.networking.security.ISecurityGrid;
+import appeng.api.networking.security.PlayerSource;
+import appeng.core.AEConfig;
+
+/**
+ * Hands out the per tick crafting calculation time of a world to the running simulations.
+ * <p>
+ * Requests made by a player from a terminal are kept apart from automated requests (export buses, interfaces, ...) and
+ * get the larger part of the budget while both kinds are waiting. Inside each queue the time is split evenly between
+ * owners, so one player queueing many or huge requests can't starve the others, and each owner's time goes to the job
+ * with the least work left first, so small requests finish quickly next to a long running one.
+ */
+public final class CraftingSimulationScheduler {
+
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Map<World, WorldQueues> worlds = new HashMap<>();
+
+    public synchronized void schedule(final World world, final ICraftingJob<?> job) {
+        this.worlds.computeIfAbsent(world, w -> new WorldQueues()).add(new ScheduledJob(job));
+    }
+
+    /**
+     * Runs the simulations of a world for at most the configured calculation time.
+     */
+    public synchronized void tick(final World world) {
+        final WorldQueues queues = this.worlds.get(world);
+        if (queues == null) {
+            return;
+        }
+
+        final int budget = Math.max(1, AEConfig.instance.craftingCalculationTimePerTick);
+        final boolean hasInteractive = !queues.interactive.isEmpty();
+        final boolean hasAutomated = !queues.automated.isEmpty();
+
+        int interactiveBudget = budget;
+        if (hasInteractive && hasAutomated) {
+            final int share = Math.max(0, Math.min(100, AEConfig.instance.craftingCalculationInteractiveShare));
+            interactiveBudget = Math.max(1, Math.min(budget - 1, budget * share / 100));
+        }
+
+        if (hasInteractive) {
+            queues.interactive.run(hasAutomated ? interactiveBudget : budget);
+        }
+        if (hasAutomated) {
+            queues.automated.run(hasInteractive ? Math.max(1, budget - interactiveBudget) : budget);
+        }
+
+        if (queues.interactive.isEmpty() && queues.automated.isEmpty()) {
+            this.worlds.remove(world);
+        }
+    }
+
+    public synchronized void clear() {
+        this.worlds.clear();
+    }
+
+    public synchronized void clear(final World world) {
+        this.worlds.remove(world);
+    }
+
+    /**
+     * @return one line per queued simulation, for the status command.
+     */
+    public synchronized List<String> describe() {
+        final List<String> out = new ArrayList<>();
+        for (final Map.Entry<World, WorldQueues> entry : this.worlds.entrySet()) {
+            final WorldQueues queues = entry.getValue();
+            out.add(
+                    "Dimension " + entry.getKey().provider.dimensionId
+                            + ": "
+                            + queues.interactive.size()
+                            + " interactive, "
+                            + queues.automated.size()
+                            + " automated");
+            queues.interactive.describe("interactive", out);
+            queues.automated.describe("automated", out);
+        }
+        if (out.isEmpty()) {
+            out.add("No crafting simulations are queued.");
+        }
+        return out;
+    }
+
+    private static final class WorldQueues {
+
+        private final JobQueue interactive = new JobQueue();
+        private final JobQueue automated = new JobQueue();
+
+        private void add(final ScheduledJob job) {
+            (job.interactive ? this.interactive : this.automated).add(job);
+        }
+    }
+
+    /**
+     * Jobs of one kind, grouped by owner. Owners are served round-robin starting one further each tick, so owners
+     * that didn't fit into a small budget are first in line the next tick.
+     */
+    private static final class JobQueue {
+
+        private static final Comparator<ScheduledJob> SHORTEST_FIRST = Comparator
+                .comparingLong(ScheduledJob::getRemainingWork).thenComparingLong(j -> j.spentNanos);
+
+        private final Map<String, List<ScheduledJob>> byOwner = new LinkedHashMap<>();
+        private int cursor;
+
+        private void add(final ScheduledJob job) {
+            this.byOwner.computeIfAbsent(job.owner, o -> new ArrayList<>()).add(job);
+        }
+
+        private boolean isEmpty() {
+            return this.byOwner.isEmpty();
+        }
+
+        private int size() {
+            int size = 0;
+            for (final List<ScheduledJob> jobs : this.byOwner.values()) {
+                size += jobs.size();
+            }
+            return size;
+        }
+
+        private void run(final int budgetMillis) {
+            final List<List<ScheduledJob>> owners = new ArrayList<>(this.byOwner.values());
+            final int ownerCount = owners.size();
+            final long deadline = System.nanoTime() + budgetMillis * NANOS_PER_MILLI;
+            final long perOwner = Math.max(NANOS_PER_MILLI, budgetMillis * NANOS_PER_MILLI / ownerCount);
+
+            final int start = this.cursor % ownerCount;
+            this.cursor = start + 1;
+
+            for (int i = 0; i < ownerCount; i++) {
+                final long now = System.nanoTime();
+                if (now >= deadline) {
+                    break;
+                }
+
+                final List<ScheduledJob> jobs = owners.get((start + i) % ownerCount);
+                this.runOwner(jobs, Math.min(deadline, now + perOwner));
+            }
+
+            this.byOwner.values().removeIf(List::isEmpty);
+        }
+
+        private void runOwner(final List<ScheduledJob> jobs, final long ownerDeadline) {
+            jobs.sort(SHORTEST_FIRST);
+
+            final Iterator<ScheduledJob> it = jobs.iterator();
+            while (it.hasNext()) {
+                final long left = ownerDeadline - System.nanoTime();
+                if (left <= 0) {
+                    return;
+                }
+
+                final ScheduledJob job = it.next();
+                final int millis = (int) Math.max(1, left / NANOS_PER_MILLI);
+                if (!job.simulateFor(millis)) {
+                    it.remove();
+                }
+            }
+        }
+
+        private void describe(final String kind, final List<String> out) {
+            for (final List<ScheduledJob> jobs : this.byOwner.values()) {
+                for (final ScheduledJob job : jobs) {
+                    out.add("  " + kind + " " + job.describe());
+                }
+            }
+        }
+    }
+
+    private static final class ScheduledJob {
+
+        private final ICraftingJob<?> job;
+        private final boolean interactive;
+        private final String owner;
+        private long spentNanos;
+        private boolean started;
+
+        private ScheduledJob(final ICraftingJob<?> job) {
+            this.job = job;
+
+            if (job instanceof CraftingJobV2 v2 && v2.getContext().actionSource instanceof PlayerSource ps
+                    && ps.player != null) {
+                this.interactive = true;
+                this.owner = ps.player.getCommandSenderName();
+            } else if (job instanceof CraftingJobV2 v2) {
+                this.interactive = false;
+                final ISecurityGrid security = v2.getContext().meGrid.getCache(ISecurityGrid.class);
+                this.owner = security != null && security.getOwner() >= 0 ? "#" + security.getOwner() : "unowned";
+            } else {
+                this.interactive = false;
+                this.owner = "unowned";
+            }
+        }
+
+        /**
+         * Tasks still waiting in the calculation, jobs that report nothing about their progress come last.
+         */
+        private long getRemainingWork() {
+            if (this.job instanceof CraftingJobV2 v2) {
+                return v2.getContext().getPendingTaskCount();
+            }
+            return Long.MAX_VALUE;
+        }
+
+        private boolean simulateFor(final int millis) {
+            final long start = System.nanoTime();
+            this.started = true;
+            try {
+                return this.job.simulateFor(millis);
+            } finally {
+                this.spentNanos += System.nanoTime() - start;
+            }
+        }
+
+        private String describe() {
+            final StringBuilder sb = new StringBuilder();
+            sb.append(this.owner).append(": ").append(this.job.getOutput());
+            if (this.job instanceof CraftingJobV2 v2) {
+                final CraftingContext context = v2.getContext();
+                sb.append(", steps done ").append(context.getResolvedTasks().size());
+                sb.append(", pending ").append(context.getPendingTaskCount());
+            }
+            if (this.started) {
+                sb.append(", simulated for ").append(TimeUnit.NANOSECONDS.toMillis(this.spentNanos)).append(" ms");
+            } else {
+                sb.append(", waiting");
+            }
+            return sb.toString();
+        }
+    }
+}
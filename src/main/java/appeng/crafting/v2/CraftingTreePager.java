@@ -0,0 +1,131 @@
+package appeng.crafting.v2;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import appeng.core.AELog;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Serializes a finished crafting job for the client one page at a time.
+ * <p>
+ * A page holds a few levels of requests below its root, the requests at the bottom of the page are sent without their
+ * children and an id instead. The client asks for the children of such a request by that id once the player expands
+ * it, so only the parts of the tree that are looked at are ever sent. Ids are only valid for the pager that handed them
+ * out, which lives as long as the confirm screen showing the job.
+ */
+public final class CraftingTreePager {
+
+    public static final int DEFAULT_PAGE_DEPTH = 4;
+    public static final int DEFAULT_PAGE_BYTES = 64 * 1024;
+
+    private final CraftingJobV2 job;
+    private final int pageDepth;
+    private final int pageBytes;
+    private final List<CraftingRequest> nodes = new ArrayList<>();
+    private final Map<CraftingRequest, Integer> nodeIds = new IdentityHashMap<>();
+
+    public CraftingTreePager(final CraftingJobV2 job) {
+        this(job, DEFAULT_PAGE_DEPTH, DEFAULT_PAGE_BYTES);
+    }
+
+    /**
+     * @param pageDepth The number of request levels below the root of a page that are sent with it
+     * @param pageBytes Soft size limit of a page, requests written after it was reached are sent without children
+     */
+    public CraftingTreePager(final CraftingJobV2 job, final int pageDepth, final int pageBytes) {
+        this.job = job;
+        this.pageDepth = Math.max(1, pageDepth);
+        this.pageBytes = Math.max(1, pageBytes);
+    }
+
+    public CraftingJobV2 getJob() {
+        return job;
+    }
+
+    public int getPageDepth() {
+        return pageDepth;
+    }
+
+    public int getPageBytes() {
+        return pageBytes;
+    }
+
+    int getNodeId(final CraftingRequest request) {
+        return nodeIds.computeIfAbsent(request, r -> {
+            nodes.add(r);
+            return nodes.size() - 1;
+        });
+    }
+
+    /**
+     * @return The first page, starting at the job itself
+     */
+    public ByteBuf serializeRoot() {
+        return serialize(null);
+    }
+
+    /**
+     * @param nodeId An id sent to the client in an earlier page
+     * @return The page holding the children of the request, or null if the id is unknown
+     */
+    public ByteBuf serializeNode(final int nodeId) {
+        if (nodeId < 0 || nodeId >= nodes.size()) {
+            return null;
+        }
+        return serialize(nodes.get(nodeId));
+    }
+
+    private ByteBuf serialize(final CraftingRequest pageRoot) {
+        try {
+            final CraftingTreeSerializer serializer = new CraftingTreeSerializer(job.getContext().world, this);
+            try {
+                if (pageRoot == null) {
+                    serializer.writeSerializableAndQueueChildren(job);
+                } else {
+                    serializer.writeChildrenAndQueue(pageRoot);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            while (serializer.hasWork()) {
+                try {
+                    serializer.doWork();
+                } catch (IndexOutOfBoundsException e) {
+                    // can not serialize any more items, cut off the page
+                    AELog.warn(e, "Ran out of assigned space for crafting tree serialization");
+                    break;
+                }
+            }
+            return serializer.getBuffer().slice();
+        } catch (Exception e) {
+            AELog.error(e, "Could not serialize the crafting job");
+            return Unpooled.buffer(0);
+        }
+    }
+
+    /**
+     * Client side counterpart of {@link #serializeNode(int)}, attaches the received children to the request they were
+     * left out of.
+     */
+    public static void deserializeNode(final CraftingRequest request, final CraftingTreeSerializer serializer) {
+        if (!serializer.getBuffer().isReadable()) {
+            return;
+        }
+        serializer.readChildrenAndQueue(request);
+        while (serializer.hasWork()) {
+            try {
+                serializer.doWork();
+            } catch (IndexOutOfBoundsException e) {
+                AELog.warn(e, "Ran out of assigned space for crafting tree serialization");
+                serializer.doBestEffortWork();
+                break;
+            }
+        }
+        request.unloadedSubtreeId = -1;
+    }
+}
@@ -44,6 +44,15 @@ public final class CraftingTreeSerializer {
     private final World world;
     private final boolean reading;
     private final ByteBuf buffer;
+    /**
+     * Decides which requests get their children sent later, null when the whole tree is written at once.
+     */
+    private final CraftingTreePager pager;
+    /**
+     * The number of requests above the object currently being written, counted from the root of the page.
+     */
+    private int requestDepth;
+    private boolean wroteRequest;
 
     private ArrayList<JobFn> workStack = new ArrayList<>(32);
 
@@ -94,10 +103,21 @@ public final class CraftingTreeSerializer {
      * @param world The world of the AE system in which the tree is serialized
      */
     public CraftingTreeSerializer(final World world) {
+        this(world, (CraftingTreePager) null);
+    }
+
+    /**
+     * Creates a serializing instance that writes a single page of the tree
+     *
+     * @param world The world of the AE system in which the tree is serialized
+     * @param pager Assigns ids to the requests whose children are left out of the page, null to write everything
+     */
+    public CraftingTreeSerializer(final World world, final CraftingTreePager pager) {
         this.buffer = Unpooled.buffer(4096, AEConfig.instance.maxCraftingTreeVisualizationSize)
                 .order(ByteOrder.LITTLE_ENDIAN);
         this.reading = false;
         this.world = world;
+        this.pager = pager;
     }
 
     /**
@@ -111,6 +131,7 @@ public final class CraftingTreeSerializer {
         this.buffer = toDeserialize;
         this.reading = true;
         this.world = world;
+        this.pager = null;
     }
 
     public ByteBuf getBuffer() {
@@ -118,17 +139,50 @@ public final class CraftingTreeSerializer {
     }
 
     public void writeSerializableAndQueueChildren(ITreeSerializable obj) throws IOException {
+        writeSerializableAndQueueChildren(obj, 0);
+    }
+
+    private void writeSerializableAndQueueChildren(ITreeSerializable obj, int depth) throws IOException {
         final String key = serializableKeys.get(obj.getClass());
         if (key == null || key.isEmpty()) {
             throw new IllegalArgumentException("Unregistered ITreeSerializable: " + obj.getClass());
         }
         ByteBufUtils.writeUTF8String(buffer, key);
+        requestDepth = depth;
+        wroteRequest = false;
         List<? extends ITreeSerializable> children = obj.serializeTree(this);
+        queueChildren(children, wroteRequest ? depth + 1 : depth);
+    }
+
+    /**
+     * Writes the children of a request that was sent without them as the root of a new page.
+     */
+    public void writeChildrenAndQueue(CraftingRequest request) throws IOException {
+        queueChildren(request.usedResolvers, 1);
+    }
+
+    private void queueChildren(List<? extends ITreeSerializable> children, int depth) {
         ByteBufUtils.writeVarInt(buffer, children.size(), 5);
         for (int i = children.size() - 1; i >= 0; i--) {
             final ITreeSerializable child = children.get(i);
-            workStack.add(() -> writeSerializableAndQueueChildren(child));
+            workStack.add(() -> writeSerializableAndQueueChildren(child, depth));
+        }
+    }
+
+    /**
+     * Called by requests while they are written, to find out whether their children fit into the current page.
+     *
+     * @return The id the children can be requested with later, or -1 if they are written into this page
+     */
+    public int getUnloadedSubtreeId(CraftingRequest request) {
+        wroteRequest = true;
+        if (pager == null || request.usedResolvers.isEmpty()) {
+            return -1;
+        }
+        if (requestDepth < pager.getPageDepth() && buffer.writerIndex() < pager.getPageBytes()) {
+            return -1;
         }
+        return pager.getNodeId(request);
     }
 
     // Special-case this class to run the task even if we fail at deserialization, to partially fill children where
@@ -164,6 +218,18 @@ public final class CraftingTreeSerializer {
         } catch (Throwable e) {
             throw Throwables.propagate(e);
         }
+        readAndQueueChildren(value);
+        return value;
+    }
+
+    /**
+     * Reads a page written by {@link #writeChildrenAndQueue(CraftingRequest)} into the request it belongs to.
+     */
+    public void readChildrenAndQueue(CraftingRequest request) {
+        readAndQueueChildren(request);
+    }
+
+    private void readAndQueueChildren(ITreeSerializable value) {
         int childCount = ByteBufUtils.readVarInt(buffer, 5);
         final ArrayList<ITreeSerializable> childList = new ArrayList<>(childCount);
         workStack.add(new ChildListPopulatorJob(value, childList));
@@ -171,7 +237,6 @@ public final class CraftingTreeSerializer {
         for (int i = 0; i < childCount; i++) {
             workStack.add(() -> childList.add(readSerializableAndQueueChildren(childParent)));
         }
-        return value;
     }
 
     public void writeEnum(Enum<?> value) throws IOException {
@@ -104,6 +104,7 @@ import appeng.core.AEConfig;
 import appeng.core.AELog;
 import appeng.core.settings.TickRates;
 import appeng.me.GridAccessException;
+import appeng.me.cache.InterfaceTerminalCache;
 import appeng.me.cache.NetworkMonitor;
 import appeng.me.helpers.AENetworkProxy;
 import appeng.me.helpers.IGridProxyable;
@@ -229,6 +230,7 @@ public class DualityInterface implements IGridTickable, IStorageMonitorable, IIn
         } else if (inv == this.patterns) {
             if (removed != null || added != null) {
                 this.updateCraftingList();
+                this.notifyInterfaceTerminals();
             }
         } else if (inv == this.storage) {
             if (slot >= 0) {
@@ -255,9 +257,18 @@ public class DualityInterface implements IGridTickable, IStorageMonitorable, IIn
                 cm.putSetting(Settings.LOCK_CRAFTING_MODE, LockCraftingMode.NONE);
                 resetCraftingLock();
             }
+            // pattern capacity cards change the number of rows
+            this.notifyInterfaceTerminals();
         }
     }
 
+    /**
+     * Lets open interface terminals know that something they show about this interface may have changed.
+     */
+    public void notifyInterfaceTerminals() {
+        InterfaceTerminalCache.postChange(this.iHost);
+    }
+
     public void writeToNBT(final NBTTagCompound data) {
         this.config.writeToNBT(data, "config");
         this.patterns.writeToNBT(data, "patterns");
@@ -514,6 +525,9 @@ public class DualityInterface implements IGridTickable, IStorageMonitorable, IIn
         if (te != null && te.getWorldObj() != null) {
             Platform.notifyBlocksOfNeighbors(te.getWorldObj(), te.xCoord, te.yCoord, te.zCoord);
         }
+
+        // called on channel and power changes, the terminal shows whether the interface is online
+        this.notifyInterfaceTerminals();
     }
 
     protected void addToCraftingList(final int slot) {
@@ -990,6 +1004,10 @@ public class DualityInterface implements IGridTickable, IStorageMonitorable, IIn
             }
         }
 
+        if (settingName == Settings.INTERFACE_TERMINAL) {
+            this.notifyInterfaceTerminals();
+        }
+
         this.markDirty();
     }
 
@@ -1350,6 +1368,81 @@ public class DualityInterface implements IGridTickable, IStorageMonitorable, IIn
         return false;
     }
 
+    private boolean canPushBatch(final ICraftingPatternDetails patternDetails) {
+        return !this.isBlocking() && !this.isFakeCraftingMode()
+                && !this.hasItemsToSend()
+                && this.gridProxy.isActive()
+                && this.craftingList != null
+                && this.craftingList.contains(patternDetails)
+                && getCraftingLockedReason() == LockCraftingMode.NONE;
+    }
+
+    @Override
+    public int getMaxBatchSize(final ICraftingPatternDetails patternDetails) {
+        if (!this.canPushBatch(patternDetails)) {
+            return 1;
+        }
+
+        return Math.max(1, this.getMachineBatchSize(patternDetails));
+    }
+
+    /**
+     * Only crafting machines tell how many copies they can take at once. Any other target gets one copy per push, as
+     * blocking mode and setups that handle one craft at a time expect.
+     *
+     * @return how many copies the adjacent crafting machines accept together, 0 if any target is not one
+     */
+    private int getMachineBatchSize(final ICraftingPatternDetails patternDetails) {
+        final TileEntity tile = this.iHost.getTileEntity();
+        final World w = tile.getWorldObj();
+        int machines = 0;
+        for (final ForgeDirection s : this.iHost.getTargets()) {
+            final TileEntity te = w
+                    .getTileEntity(tile.xCoord + s.offsetX, tile.yCoord + s.offsetY, tile.zCoord + s.offsetZ);
+            if (te == null) {
+                continue;
+            }
+            if (!(te instanceof ICraftingMachine cm) || !cm.acceptsPlans()) {
+                return 0;
+            }
+            machines += cm.getMaxBatchSize(patternDetails);
+        }
+        return machines;
+    }
+
+    @Override
+    public int pushPatterns(final ICraftingPatternDetails patternDetails, final InventoryCrafting table,
+            final int copies) {
+        if (copies <= 1 || !this.canPushBatch(patternDetails) || this.getMachineBatchSize(patternDetails) <= 1) {
+            return copies > 0 && this.pushPattern(patternDetails, table) ? 1 : 0;
+        }
+
+        // hand the copies out to every adjacent crafting machine, each one gets its own table.
+        final TileEntity tile = this.iHost.getTileEntity();
+        final World w = tile.getWorldObj();
+        int pushed = 0;
+        for (final ForgeDirection s : this.iHost.getTargets()) {
+            if (pushed >= copies) {
+                break;
+            }
+
+            final TileEntity te = w
+                    .getTileEntity(tile.xCoord + s.offsetX, tile.yCoord + s.offsetY, tile.zCoord + s.offsetZ);
+            if (te instanceof ICraftingMachine cm && cm.acceptsPlans()) {
+                final int accepted = cm.pushPatterns(
+                        patternDetails,
+                        ((MEInventoryCrafting) table).copy(),
+                        copies - pushed,
+                        s.getOpposite());
+                if (accepted > 0) {
+                    onPushPatternSuccess(te, s.getOpposite(), patternDetails);
+                    pushed += accepted;
+                }
+            }
+        }
+        return pushed;
+    }
+
     @Override
     public ScheduledReason getScheduledReason() {
         return scheduledReason;
@@ -1730,6 +1823,8 @@ public class DualityInterface implements IGridTickable, IStorageMonitorable, IIn
         } catch (final GridAccessException e) {
             // :P
         }
+
+        this.notifyInterfaceTerminals();
     }
 
     public void resetCraftingLock() {
@@ -1825,6 +1920,8 @@ public class DualityInterface implements IGridTickable, IStorageMonitorable, IIn
 
     public void updateRedstoneState() {
         if (this.gridProxy.isActive() && !duringPushOut) this.pushItemsOut(this.iHost.getTargets());
+        // the terminal name follows the machine the interface faces
+        this.notifyInterfaceTerminals();
         // reset cache to undecided
         redstoneState = YesNo.UNDECIDED;
 
@@ -11,15 +11,13 @@
 package appeng.helpers;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import net.minecraft.inventory.InventoryCrafting;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
-import net.minecraft.item.crafting.CraftingManager;
 import net.minecraft.item.crafting.IRecipe;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
@@ -34,12 +32,26 @@ import appeng.container.ContainerNull;
 import appeng.util.ItemSorters;
 import appeng.util.Platform;
 import appeng.util.item.AEItemStack;
+import it.unimi.dsi.fastutil.longs.Long2BooleanMap;
+import it.unimi.dsi.fastutil.longs.Long2BooleanMaps;
+import it.unimi.dsi.fastutil.longs.Long2BooleanOpenHashMap;
 
 public class PatternHelper implements ICraftingPatternDetails, Comparable<PatternHelper> {
 
+    /**
+     * Upper bound of remembered substitution results per pattern, further results are tested every time.
+     */
+    private static final int MAX_CACHED_RESULTS = 512;
+    private static final int MAX_CACHED_DAMAGE = (1 << 28) - 1;
+
+    /**
+     * Scratch grid for substitution tests, one per thread so patterns can be validated from any thread.
+     */
+    private static final ThreadLocal<InventoryCrafting> TEST_FRAME = ThreadLocal
+            .withInitial(() -> new InventoryCrafting(new ContainerNull(), 3, 3));
+
     private final ItemStack patternItem;
     private final InventoryCrafting crafting = new InventoryCrafting(new ContainerNull(), 3, 3);
-    private final InventoryCrafting testFrame = new InventoryCrafting(new ContainerNull(), 3, 3);
     private final ItemStack correctOutput;
     private final IRecipe standardRecipe;
     private final IAEItemStack[] condensedInputs;
@@ -49,8 +61,11 @@ public class PatternHelper implements ICraftingPatternDetails, Comparable<Patter
     private final boolean isCrafting;
     private final boolean canSubstitute;
     private final boolean canBeSubstitute;
-    private final Set<TestLookup> failCache = new HashSet<>();
-    private final Set<TestLookup> passCache = new HashSet<>();
+    /**
+     * Substitution results keyed by {@link #testKey}, true for accepted items. The published map is never modified,
+     * new results replace it with a copy, so readers need no locking.
+     */
+    private final AtomicReference<Long2BooleanMap> testResults = new AtomicReference<>(Long2BooleanMaps.EMPTY_MAP);
     private final IAEItemStack pattern;
     private int priority = 0;
 
@@ -78,6 +93,7 @@ public class PatternHelper implements ICraftingPatternDetails, Comparable<Patter
 
         final List<IAEItemStack> in = new ArrayList<>();
         final List<IAEItemStack> out = new ArrayList<>();
+        final Long2BooleanOpenHashMap knownInputs = new Long2BooleanOpenHashMap();
 
         for (int x = 0; x < inTag.tagCount(); x++) {
             final NBTTagCompound tag = inTag.getCompoundTagAt(x);
@@ -95,15 +111,18 @@ public class PatternHelper implements ICraftingPatternDetails, Comparable<Patter
                 this.crafting.setInventorySlotContents(x, gs);
             }
 
-            if (gs != null && (!this.isCrafting || !gs.hasTagCompound())) {
-                this.markItemAs(x, gs, TestStatus.ACCEPT);
+            if (gs != null && !gs.hasTagCompound()) {
+                final long key = testKey(x, gs);
+                if (key >= 0) {
+                    knownInputs.put(key, true);
+                }
             }
 
             in.add(AEApi.instance().storage().createItemStack(gs));
-            if (this.isCrafting) // processing recipes are not tested anyway
-            {
-                this.testFrame.setInventorySlotContents(x, gs);
-            }
+        }
+
+        if (!knownInputs.isEmpty()) {
+            this.testResults.set(knownInputs);
         }
 
         if (this.isCrafting) {
@@ -151,7 +170,33 @@ public class PatternHelper implements ICraftingPatternDetails, Comparable<Patter
             return;
         }
 
-        (b == TestStatus.ACCEPT ? this.passCache : this.failCache).add(new TestLookup(slotIndex, i));
+        final long key = testKey(slotIndex, i);
+        if (key < 0) {
+            return;
+        }
+
+        final boolean accepted = b == TestStatus.ACCEPT;
+        Long2BooleanMap current;
+        Long2BooleanOpenHashMap next;
+        do {
+            current = this.testResults.get();
+            if (current.containsKey(key) || current.size() >= MAX_CACHED_RESULTS) {
+                return;
+            }
+            next = new Long2BooleanOpenHashMap(current);
+            next.put(key, accepted);
+        } while (!this.testResults.compareAndSet(current, next));
+    }
+
+    /**
+     * @return slot, item and damage packed into one key, or -1 if the damage value does not fit.
+     */
+    private static long testKey(final int slotIndex, final ItemStack i) {
+        final int damage = i.getItemDamage();
+        if (damage < 0 || damage > MAX_CACHED_DAMAGE) {
+            return -1;
+        }
+        return ((long) Item.getIdFromItem(i.getItem()) << 32) | ((long) damage << 4) | slotIndex;
     }
 
     @Override
@@ -160,13 +205,13 @@ public class PatternHelper implements ICraftingPatternDetails, Comparable<Patter
     }
 
     @Override
-    public synchronized boolean isValidItemForSlot(final int slotIndex, final IAEStack<?> i, final World w) {
+    public boolean isValidItemForSlot(final int slotIndex, final IAEStack<?> i, final World w) {
         if (isCrafting) return isValidItemForSlot(slotIndex, ((IAEItemStack) i).getItemStack(), w);
         else throw new IllegalStateException("Only crafting recipes supported.");
     }
 
     @Override
-    public synchronized boolean isValidItemForSlot(final int slotIndex, final ItemStack i, final World w) {
+    public boolean isValidItemForSlot(final int slotIndex, final ItemStack i, final World w) {
         if (!this.isCrafting) {
             throw new IllegalStateException("Only crafting recipes supported.");
         }
@@ -183,32 +228,31 @@ public class PatternHelper implements ICraftingPatternDetails, Comparable<Patter
             default -> {}
         }
 
-        for (int x = 0; x < this.crafting.getSizeInventory(); x++) {
-            this.testFrame.setInventorySlotContents(x, this.crafting.getStackInSlot(x));
-        }
-
-        this.testFrame.setInventorySlotContents(slotIndex, i);
+        final InventoryCrafting testFrame = TEST_FRAME.get();
+        final boolean accepted;
+        try {
+            for (int x = 0; x < this.crafting.getSizeInventory(); x++) {
+                testFrame.setInventorySlotContents(x, this.crafting.getStackInSlot(x));
+            }
 
-        if (this.standardRecipe.matches(this.testFrame, w)) {
-            final ItemStack testOutput = this.standardRecipe.getCraftingResult(this.testFrame);
+            testFrame.setInventorySlotContents(slotIndex, i);
 
-            if (Platform.isItemStackIdentical(this.correctOutput, testOutput)) {
-                this.testFrame.setInventorySlotContents(slotIndex, this.crafting.getStackInSlot(slotIndex));
-                this.markItemAs(slotIndex, i, TestStatus.ACCEPT);
-                return true;
+            final ItemStack testOutput;
+            if (this.standardRecipe.matches(testFrame, w)) {
+                testOutput = this.standardRecipe.getCraftingResult(testFrame);
+            } else {
+                testOutput = Platform.findMatchingRecipeOutput(testFrame, w);
             }
-        } else {
-            final ItemStack testOutput = CraftingManager.getInstance().findMatchingRecipe(this.testFrame, w);
-
-            if (Platform.isItemStackIdentical(this.correctOutput, testOutput)) {
-                this.testFrame.setInventorySlotContents(slotIndex, this.crafting.getStackInSlot(slotIndex));
-                this.markItemAs(slotIndex, i, TestStatus.ACCEPT);
-                return true;
+            accepted = Platform.isItemStackIdentical(this.correctOutput, testOutput);
+        } finally {
+            // don't keep stacks of other patterns alive through the thread local
+            for (int x = 0; x < testFrame.getSizeInventory(); x++) {
+                testFrame.setInventorySlotContents(x, null);
             }
         }
 
-        this.markItemAs(slotIndex, i, TestStatus.DECLINE);
-        return false;
+        this.markItemAs(slotIndex, i, accepted ? TestStatus.ACCEPT : TestStatus.DECLINE);
+        return accepted;
     }
 
     @Override
@@ -278,15 +322,13 @@ public class PatternHelper implements ICraftingPatternDetails, Comparable<Patter
             return TestStatus.TEST;
         }
 
-        if (this.passCache.contains(new TestLookup(slotIndex, i))) {
-            return TestStatus.ACCEPT;
-        }
-
-        if (this.failCache.contains(new TestLookup(slotIndex, i))) {
-            return TestStatus.DECLINE;
+        final long key = testKey(slotIndex, i);
+        final Long2BooleanMap results = this.testResults.get();
+        if (key < 0 || !results.containsKey(key)) {
+            return TestStatus.TEST;
         }
 
-        return TestStatus.TEST;
+        return results.get(key) ? TestStatus.ACCEPT : TestStatus.DECLINE;
     }
 
     @Override
@@ -332,43 +374,6 @@ public class PatternHelper implements ICraftingPatternDetails, Comparable<Patter
         TEST
     }
 
-    private static final class TestLookup {
-
-        private final int slot;
-        private final int ref;
-        private final int hash;
-
-        public TestLookup(final int slot, final ItemStack i) {
-            this(slot, i.getItem(), i.getItemDamage());
-        }
-
-        public TestLookup(final int slot, final Item item, final int dmg) {
-            this.slot = slot;
-            this.ref = (dmg << Platform.DEF_OFFSET) | (Item.getIdFromItem(item) & 0xffff);
-            final int offset = 3 * slot;
-            this.hash = (this.ref << offset) | (this.ref >> (offset + 32));
-        }
-
-        @Override
-        public int hashCode() {
-            return this.hash;
-        }
-
-        @Override
-        public boolean equals(final Object obj) {
-            final boolean equality;
-
-            if (obj instanceof TestLookup b) {
-
-                equality = b.slot == this.slot && b.ref == this.ref;
-            } else {
-                equality = false;
-            }
-
-            return equality;
-        }
-    }
-
     public static IAEItemStack[] loadIAEItemStackFromNBT(final NBTTagList tags, boolean saveOrder,
             final ItemStack unknownItem) {
         final List<IAEItemStack> items = new ArrayList<>();
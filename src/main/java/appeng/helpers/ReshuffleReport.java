@@ -22,6 +22,12 @@ public class ReshuffleReport implements IGuiPacketWritable {
     public final int extractedTypes, injectedTypes, beforeTypes, afterTypes;
     public final long startTime, endTime;
     public final double extractedItems, injectedItems;
+    /**
+     * Progress of the extraction and injection, each stack counts once for each of them.
+     */
+    public final long movedStacks, totalStacks;
+    public final double movedBytes;
+    public final long elapsedMillis, tickBudgetNanos;
     public double beforeItems, afterItems = 0;
 
     public final IItemList<IAEStack<?>> cantExtract, cantInject, beforeSnapshot, afterSnapshot, stackLookup;
@@ -65,7 +71,8 @@ public class ReshuffleReport implements IGuiPacketWritable {
 
     public ReshuffleReport(final AEStackTypeFilter typeFilters, final boolean includeSubnets,
             final ReshufflePhase phase, final int extractedTypes, final int injectedTypes, final long startTime,
-            final long endTime, final double extractedItems, final double injectedItems,
+            final long endTime, final double extractedItems, final double injectedItems, final long movedStacks,
+            final long totalStacks, final double movedBytes, final long tickBudgetNanos,
             final IItemList<IAEStack<?>> cantExtract, final IItemList<IAEStack<?>> cantInject,
             final IItemList<IAEStack<?>> beforeSnapshot, IItemList<IAEStack<?>> afterSnapshot,
             IItemList<IAEStack<?>> stackLockup) {
@@ -78,6 +85,11 @@ public class ReshuffleReport implements IGuiPacketWritable {
         this.endTime = endTime;
         this.extractedItems = extractedItems;
         this.injectedItems = injectedItems;
+        this.movedStacks = movedStacks;
+        this.totalStacks = totalStacks;
+        this.movedBytes = movedBytes;
+        this.tickBudgetNanos = tickBudgetNanos;
+        this.elapsedMillis = (endTime != 0 ? endTime : System.currentTimeMillis()) - startTime;
         this.cantExtract = cantExtract;
         this.cantInject = cantInject;
         this.beforeSnapshot = beforeSnapshot;
@@ -104,6 +116,12 @@ public class ReshuffleReport implements IGuiPacketWritable {
         this.extractedItems = buf.readDouble();
         this.injectedItems = buf.readDouble();
 
+        this.movedStacks = buf.readLong();
+        this.totalStacks = buf.readLong();
+        this.movedBytes = buf.readDouble();
+        this.elapsedMillis = buf.readLong();
+        this.tickBudgetNanos = buf.readLong();
+
         this.cantExtract = new IAEStackList();
         final int sizeCantExtract = buf.readInt();
         for (int i = 0; i < sizeCantExtract; i++) {
@@ -150,6 +168,12 @@ public class ReshuffleReport implements IGuiPacketWritable {
         buf.writeDouble(this.extractedItems);
         buf.writeDouble(this.injectedItems);
 
+        buf.writeLong(this.movedStacks);
+        buf.writeLong(this.totalStacks);
+        buf.writeDouble(this.movedBytes);
+        buf.writeLong(this.elapsedMillis);
+        buf.writeLong(this.tickBudgetNanos);
+
         buf.writeInt(this.cantExtract.size());
         this.cantExtract.forEach(stack -> Platform.writeStackByte(stack, buf));
 
@@ -206,6 +230,25 @@ public class ReshuffleReport implements IGuiPacketWritable {
         };
     }
 
+    public double getStacksPerSecond() {
+        return this.elapsedMillis <= 0 ? 0 : this.movedStacks * 1000.0 / this.elapsedMillis;
+    }
+
+    /**
+     * @return The estimated time left in milliseconds, or -1 while it can't be told yet.
+     */
+    public long getEtaMillis() {
+        if (!this.isRunning() || this.totalStacks <= 0 || this.movedStacks <= 0) {
+            return -1;
+        }
+        final double rate = this.getStacksPerSecond();
+        if (rate <= 0) {
+            return -1;
+        }
+        final long left = Math.max(0, this.totalStacks - this.movedStacks);
+        return (long) (left * 1000.0 / rate);
+    }
+
     public boolean isRunning() {
         return this.phase == ReshufflePhase.EXTRACTION || this.phase == ReshufflePhase.INJECTION
                 || this.phase == ReshufflePhase.AFTER_SNAPSHOT
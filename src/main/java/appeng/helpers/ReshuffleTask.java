@@ -4,9 +4,11 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
+import net.minecraft.server.MinecraftServer;
 import net.minecraftforge.common.util.Constants.NBT;
 
 import appeng.api.config.Actionable;
@@ -19,6 +21,7 @@ import appeng.api.storage.IMENetworkInventory;
 import appeng.api.storage.data.IAEStack;
 import appeng.api.storage.data.IAEStackType;
 import appeng.api.storage.data.IItemList;
+import appeng.core.AEConfig;
 import appeng.me.cache.NetworkMonitor;
 import appeng.me.storage.NetworkInventoryHandler;
 import appeng.util.AEStackTypeFilter;
@@ -26,10 +29,16 @@ import appeng.util.IterationCounter;
 import appeng.util.Platform;
 import appeng.util.item.IAEStackList;
 
+/**
+ * Moves every stack of a network out of its cells and back in, so it ends up in the cells that fit it best.
+ * <p>
+ * The work is done in slices of a time budget per tick. The budget starts at the configured time and is halved while
+ * the server is running behind, then grows back once the ticks have room for it again.
+ */
 public class ReshuffleTask {
 
-    // slowdown because working too fast, nobody gonna believe that real working
-    public static final long stacks_per_tick = 8;
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long MIN_BUDGET_NANOS = TimeUnit.MICROSECONDS.toNanos(250);
 
     private final BaseActionSource src;
     private final IStorageGrid sg;
@@ -44,6 +53,10 @@ public class ReshuffleTask {
     private long startTime, endTime;
     private double extractedItems, injectedItems = 0;
 
+    private long budgetNanos = -1;
+    private long movedStacks, totalStacks = 0;
+    private double movedBytes = 0;
+
     private final IItemList<IAEStack<?>> extracted = new IAEStackList();
     private final IItemList<IAEStack<?>> cantExtract = new IAEStackList();
     private final IItemList<IAEStack<?>> cantInject;
@@ -171,6 +184,7 @@ public class ReshuffleTask {
                             this.extractedItems += extracted.getStackSize();
                             target.add(extracted);
                         }
+                        this.movedStacks++;
 
                         this.extractedTypes = this.extracted.size();
                     } else {
@@ -199,11 +213,60 @@ public class ReshuffleTask {
                 .sort(Comparator.comparingLong(aes -> this.insertOrder ? -aes.getStackSize() : aes.getStackSize()));
     }
 
+    /**
+     * Works on the reshuffle until the time budget of this tick is used up, cells are processed as a whole, so a
+     * single large cell can take longer than that.
+     */
     public void processNextBatch() {
+        final long deadline = System.nanoTime() + this.nextBudget();
+        do {
+            this.processStep(deadline);
+        } while (this.isRunning() && System.nanoTime() < deadline);
+    }
+
+    private long nextBudget() {
+        final long maxBudget = Math
+                .max(MIN_BUDGET_NANOS, TimeUnit.MILLISECONDS.toNanos(AEConfig.instance.reshuffleTimePerTick));
+        if (this.budgetNanos < 0) {
+            this.budgetNanos = maxBudget;
+        }
+
+        final MinecraftServer server = MinecraftServer.getServer();
+        if (server != null) {
+            final long tickNanos = averageTickNanos(server);
+            if (tickNanos > TICK_NANOS) {
+                this.budgetNanos = Math.max(MIN_BUDGET_NANOS, this.budgetNanos / 2);
+            } else if (tickNanos + maxBudget < TICK_NANOS) {
+                this.budgetNanos = Math.min(maxBudget, this.budgetNanos + maxBudget / 8);
+            }
+        }
+        this.budgetNanos = Math.min(this.budgetNanos, maxBudget);
+        return this.budgetNanos;
+    }
+
+    private static long averageTickNanos(final MinecraftServer server) {
+        final long[] ticks = server.tickTimeArray;
+        long sum = 0;
+        for (final long tick : ticks) {
+            sum += tick;
+        }
+        return sum / ticks.length;
+    }
+
+    /**
+     * Cells store eight units per byte, type overhead is left out.
+     */
+    private static double bytesOf(final IAEStack<?> aes) {
+        return aes.getStackSize() / (8.0 * aes.getStackType().getAmountPerUnit());
+    }
+
+    private void processStep(final long deadline) {
         switch (this.phase) {
             case BEFORE_SNAPSHOT -> {
                 if (this.snapshotBefore()) {
                     this.setupIterator();
+                    // every type is extracted and injected once
+                    this.totalStacks = 2L * this.beforeSnapshot.size();
                     this.phase = ReshufflePhase.EXTRACTION;
                 }
             }
@@ -212,12 +275,12 @@ public class ReshuffleTask {
                 if (this.handlerProcessor(this.extracted, true)) {
                     this.setupIterator();
                     this.toQueueList();
+                    this.totalStacks = this.movedStacks + this.injectQueue.size();
                     this.phase = ReshufflePhase.INJECTION;
                 }
             }
 
             case INJECTION -> {
-                int operations = 0;
                 if (this.injectIterator == null) this.injectIterator = this.injectQueue.iterator();
 
                 while (this.injectIterator.hasNext()) {
@@ -235,16 +298,17 @@ public class ReshuffleTask {
                     if (res != null) {
                         this.cantInject.add(res);
                         this.injectedItems -= res.getStackSize();
+                        this.movedBytes -= bytesOf(res);
                         if (res.getStackSize() == aes.getStackSize()) this.injectedTypes -= 1;
                     }
 
                     this.injectedTypes += 1;
                     this.injectedItems += aes.getStackSize();
+                    this.movedBytes += bytesOf(aes);
+                    this.movedStacks++;
                     this.injectIterator.remove();
 
-                    operations++;
-
-                    if (operations == stacks_per_tick) return;
+                    if (System.nanoTime() >= deadline) return;
                 }
 
                 this.injectIterator = null;
@@ -318,6 +382,10 @@ public class ReshuffleTask {
                 this.endTime,
                 this.extractedItems,
                 this.injectedItems,
+                this.movedStacks,
+                this.totalStacks,
+                this.movedBytes,
+                Math.max(0, this.budgetNanos),
                 this.cantExtract,
                 this.cantInject,
                 this.beforeSnapshot,
@@ -33,7 +33,6 @@ import appeng.api.implementations.tiles.IWirelessAccessPoint;
 import appeng.api.networking.IGrid;
 import appeng.api.networking.IGridHost;
 import appeng.api.networking.IGridNode;
-import appeng.api.networking.IMachineSet;
 import appeng.api.networking.security.IActionHost;
 import appeng.api.networking.storage.IStorageGrid;
 import appeng.api.storage.IMEMonitor;
@@ -50,6 +49,7 @@ import appeng.core.localization.GuiText;
 import appeng.items.contents.PinsHandler;
 import appeng.items.contents.PinsHolder;
 import appeng.items.contents.WirelessTerminalViewCells;
+import appeng.me.cache.WirelessAccessPointCache;
 import appeng.tile.networking.TileWireless;
 import appeng.util.TerminalSettings;
 import cpw.mods.fml.relauncher.Side;
@@ -190,22 +190,29 @@ public class WirelessTerminalGuiObject implements IPortableCell, IActionHost, II
 
         this.sqRange = this.myRange = Double.MAX_VALUE;
 
-        if (this.myWap != null) {
-            if (this.myWap.getGrid() == this.targetGrid) {
-                return infinityRange || this.testWap(this.myWap);
-            }
+        // the last access point is kept until the player leaves its range
+        if (this.myWap != null && this.myWap.getGrid() == this.targetGrid
+                && (infinityRange || this.testWap(this.myWap))) {
+            return true;
         }
 
-        final IMachineSet tw = this.targetGrid.getMachines(TileWireless.class);
-
         this.myWap = null;
 
-        for (final IGridNode n : tw) {
-            final IWirelessAccessPoint wap = (IWirelessAccessPoint) n.getMachine();
-            if (infinityRange || this.testWap(wap)) {
-                this.myWap = wap;
+        if (infinityRange) {
+            for (final IGridNode n : this.targetGrid.getMachines(TileWireless.class)) {
+                this.myWap = (IWirelessAccessPoint) n.getMachine();
                 break;
             }
+        } else {
+            final WirelessAccessPointCache waps = this.targetGrid.getCache(WirelessAccessPointCache.class);
+            final IWirelessAccessPoint wap = waps.findAccessPoint(
+                    this.myPlayer.worldObj.provider.dimensionId,
+                    this.myPlayer.posX,
+                    this.myPlayer.posY,
+                    this.myPlayer.posZ);
+            if (wap != null && this.testWap(wap)) {
+                this.myWap = wap;
+            }
         }
 
         return this.myWap != null;
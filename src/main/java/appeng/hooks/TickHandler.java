@@ -21,12 +21,11 @@ import java.util.concurrent.TimeUnit;
 
 import net.minecraft.client.renderer.GLAllocation;
 import net.minecraft.world.World;
+import net.minecraftforge.event.world.ChunkDataEvent;
 import net.minecraftforge.event.world.ChunkEvent;
 import net.minecraftforge.event.world.WorldEvent;
 
 import com.google.common.base.Stopwatch;
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.Multimap;
 
 import appeng.api.AEApi;
 import appeng.api.networking.IGridNode;
@@ -38,8 +37,10 @@ import appeng.core.AELog;
 import appeng.core.CommonHelper;
 import appeng.core.sync.packets.PacketPaintedEntity;
 import appeng.core.worlddata.WorldData;
+import appeng.crafting.v2.CraftingSimulationScheduler;
 import appeng.entity.EntityFloatingItem;
 import appeng.me.Grid;
+import appeng.me.GridTickScheduler;
 import appeng.me.NetworkList;
 import appeng.tile.AEBaseTile;
 import appeng.util.IWorldCallable;
@@ -56,8 +57,11 @@ public class TickHandler {
     public static final TickHandler INSTANCE = new TickHandler();
 
     private final Queue<IWorldCallable<?>> serverQueue = new LinkedList<>();
-    private final Multimap<World, ICraftingJob> craftingJobs = LinkedListMultimap.create();
+    private final CraftingSimulationScheduler craftingScheduler = new CraftingSimulationScheduler();
+    private final GridTickScheduler gridTickScheduler = new GridTickScheduler();
     private final WeakHashMap<World, Queue<IWorldCallable<?>>> callQueue = new WeakHashMap<>();
+    private final Queue<IWorldCallable<?>> deferredServerQueue = new LinkedList<>();
+    private final WeakHashMap<World, Queue<IWorldCallable<?>>> deferredCallQueue = new WeakHashMap<>();
     private final HandlerRep server = new HandlerRep();
     private final HandlerRep client = new HandlerRep();
     private final Int2ObjectOpenHashMap<PlayerColor> cliPlayerColors = new Int2ObjectOpenHashMap<>();
@@ -85,6 +89,18 @@ public class TickHandler {
         }
     }
 
+    /**
+     * Like {@link #addCallable}, but the callable is not run before the next tick, even when it is added while the
+     * queue is being processed. Used by work that is spread over several ticks and re-queues itself.
+     */
+    public void addDeferredCallable(final World w, final IWorldCallable<?> c) {
+        if (w == null) {
+            this.deferredServerQueue.add(c);
+        } else {
+            this.deferredCallQueue.computeIfAbsent(w, k -> new LinkedList<>()).add(c);
+        }
+    }
+
     public void addInit(final AEBaseTile tile) {
         if (Platform.isServer()) // for no there is no reason to care about this on the client...
         {
@@ -120,7 +136,9 @@ public class TickHandler {
     public void shutdown() {
         this.getRepo().clear();
         serverQueue.clear();
-        craftingJobs.clear();
+        deferredServerQueue.clear();
+        craftingScheduler.clear();
+        gridTickScheduler.shutdown();
     }
 
     @SubscribeEvent
@@ -142,6 +160,8 @@ public class TickHandler {
             }
 
             callQueue.remove(ev.world);
+            craftingScheduler.clear(ev.world);
+            deferredCallQueue.remove(ev.world);
         }
     }
 
@@ -152,6 +172,20 @@ public class TickHandler {
         }
     }
 
+    @SubscribeEvent
+    public void onChunkDataLoad(final ChunkDataEvent.Load event) {
+        if (Platform.isServer()) {
+            WorldData.instance().compassData().service().readChunkData(event.getChunk(), event.getData());
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkDataSave(final ChunkDataEvent.Save event) {
+        if (Platform.isServer()) {
+            WorldData.instance().compassData().service().writeChunkData(event.getChunk(), event.getData());
+        }
+    }
+
     @SubscribeEvent
     public void onChunkLoad(final ChunkEvent.Load load) {
         for (final Object te : load.getChunk().chunkTileEntityMap.values()) {
@@ -177,13 +211,7 @@ public class TickHandler {
 
         if (ev.type == Type.WORLD && ev.phase == Phase.END) {
             final WorldTickEvent wte = (WorldTickEvent) ev;
-            synchronized (this.craftingJobs) {
-                final Collection<ICraftingJob> jobSet = this.craftingJobs.get(wte.world);
-                if (!jobSet.isEmpty()) {
-                    final int simTime = Math.max(1, AEConfig.instance.craftingCalculationTimePerTick / jobSet.size());
-                    jobSet.removeIf(cj -> !cj.simulateFor(simTime));
-                }
-            }
+            this.craftingScheduler.tick(wte.world);
         }
 
         // for no there is no reason to care about this on the client...
@@ -199,12 +227,12 @@ public class TickHandler {
             }
 
             // tick networks.
-            for (final Grid g : this.getRepo().networks) {
-                g.update();
-            }
+            this.gridTickScheduler.tick(this.getRepo().networks, getGridTickMode(), AEConfig.instance.gridTickThreads);
 
             // cross world queue.
             this.processQueue(this.serverQueue, null);
+            this.serverQueue.addAll(this.deferredServerQueue);
+            this.deferredServerQueue.clear();
         }
 
         // world synced queue(s)
@@ -212,9 +240,22 @@ public class TickHandler {
             final World world = ((WorldTickEvent) ev).world;
             final Queue<IWorldCallable<?>> queue = this.callQueue.get(world);
             this.processQueue(queue, world);
+
+            final Queue<IWorldCallable<?>> deferred = this.deferredCallQueue.remove(world);
+            if (deferred != null) {
+                this.callQueue.computeIfAbsent(world, k -> new LinkedList<>()).addAll(deferred);
+            }
         }
     }
 
+    private static GridTickScheduler.Mode getGridTickMode() {
+        if (AEConfig.instance.deterministicGridTicking) {
+            return GridTickScheduler.Mode.DETERMINISTIC;
+        }
+        return AEConfig.instance.gridTickThreads > 0 ? GridTickScheduler.Mode.PARALLEL
+                : GridTickScheduler.Mode.SEQUENTIAL;
+    }
+
     private void deleteCallLists() {
         // we have only one consumer, so this is safe
         // even if we missed some, we will delete them next tick.
@@ -258,9 +299,11 @@ public class TickHandler {
     }
 
     public void registerCraftingSimulation(final World world, final ICraftingJob craftingJob) {
-        synchronized (this.craftingJobs) {
-            this.craftingJobs.put(world, craftingJob);
-        }
+        this.craftingScheduler.schedule(world, craftingJob);
+    }
+
+    public CraftingSimulationScheduler getCraftingScheduler() {
+        return this.craftingScheduler;
     }
 
     private static class HandlerRep {
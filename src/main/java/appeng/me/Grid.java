@@ -29,6 +29,7 @@ import appeng.api.networking.IGridStorage;
 import appeng.api.networking.IMachineSet;
 import appeng.api.networking.events.MENetworkEvent;
 import appeng.api.networking.events.MENetworkPostCacheConstruction;
+import appeng.api.util.DimensionalCoord;
 import appeng.api.util.IReadOnlyCollection;
 import appeng.core.AEConfig;
 import appeng.core.worlddata.WorldData;
@@ -36,6 +37,8 @@ import appeng.hooks.TickHandler;
 import appeng.me.cache.CraftingGridCache;
 import appeng.parts.misc.PartStorageBus;
 import appeng.util.ReadOnlyCollection;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
 
 public class Grid implements IGrid {
 
@@ -51,6 +54,8 @@ public class Grid implements IGrid {
     private static final int PROFILING_SAMPLE_COUNT = 200;
     private int timeStatisticsIndex = 0;
     private boolean profilingPassedFullCycle = false;
+    private long offThreadTime = 0;
+    private int[] dimensions = null;
 
     public Grid(final GridNode center) {
         this.pivot = center;
@@ -98,6 +103,7 @@ public class Grid implements IGrid {
     }
 
     void remove(final GridNode gridNode) {
+        this.dimensions = null;
         for (final IGridCache c : this.caches.values()) {
             final IGridHost machine = gridNode.getMachine();
             c.removeNode(gridNode, machine);
@@ -124,6 +130,7 @@ public class Grid implements IGrid {
     }
 
     void add(final GridNode gridNode) {
+        this.dimensions = null;
         final Class<? extends IGridHost> mClass = gridNode.getMachineClass();
 
         MachineSet nodes = this.machines.get(mClass);
@@ -192,6 +199,11 @@ public class Grid implements IGrid {
 
     @Override
     public MENetworkEvent postEvent(final MENetworkEvent ev) {
+        if (GridTickScheduler.isTickingComponent()) {
+            GridTickScheduler.runOnMainThread(() -> this.postEvent(ev));
+            return ev;
+        }
+
         CraftingGridCache.pauseRebuilds();
         final MENetworkEvent ret = this.eventBus.postEvent(this, ev);
         CraftingGridCache.unpauseRebuilds();
@@ -200,6 +212,11 @@ public class Grid implements IGrid {
 
     @Override
     public MENetworkEvent postEventTo(final IGridNode node, final MENetworkEvent ev) {
+        if (GridTickScheduler.isTickingComponent()) {
+            GridTickScheduler.runOnMainThread(() -> this.postEventTo(node, ev));
+            return ev;
+        }
+
         return this.eventBus.postEventTo(this, (GridNode) node, ev);
     }
 
@@ -262,15 +279,26 @@ public class Grid implements IGrid {
     }
 
     public void update() {
+        this.update(true, true);
+    }
+
+    /**
+     * Ticks the caches on either side of the split made by {@link GridTickScheduler}, or both.
+     */
+    void update(final boolean offThread, final boolean mainThread) {
         long time = 0;
         if (isProfiling()) time = System.nanoTime();
         for (final IGridCache gc : this.caches.values()) {
             // are there any nodes left?
-            if (this.pivot != null) {
+            if (this.pivot != null && (GridTickScheduler.canTickOffThread(gc) ? offThread : mainThread)) {
                 gc.onUpdateTick();
             }
         }
-        if (isProfiling()) {
+        if (isProfiling() && !mainThread) {
+            this.offThreadTime = System.nanoTime() - time;
+        } else if (isProfiling()) {
+            time -= this.offThreadTime;
+            this.offThreadTime = 0;
             ++timeStatisticsIndex;
             if (timeStatisticsIndex == PROFILING_SAMPLE_COUNT) {
                 profilingPassedFullCycle = true;
@@ -286,6 +314,23 @@ public class Grid implements IGrid {
         }
     }
 
+    /**
+     * @return the dimensions this grid has nodes in
+     */
+    int[] getDimensions() {
+        if (this.dimensions == null) {
+            final IntSet found = new IntOpenHashSet();
+            for (final IGridNode n : this.getNodes()) {
+                final DimensionalCoord location = n.getGridBlock().getLocation();
+                if (location != null) {
+                    found.add(location.getDimension());
+                }
+            }
+            this.dimensions = found.toIntArray();
+        }
+        return this.dimensions;
+    }
+
     public void setImportantFlag(final int i, final boolean publicHasPower) {
         final int flag = 1 << i;
         this.priority = (this.priority & ~flag) | (publicHasPower ? flag : 0);
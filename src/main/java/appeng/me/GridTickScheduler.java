@@ -0,0 +1,235 @@
+/*
+ * This file is part of Applied Energistics 2. Copyright (c) 2013 - 2014, AlgorithmX2, All rights reserved. Applied
+ * Energistics 2 is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. Applied Energistics 2 is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details. You should have received a copy of the GNU Lesser General Public License along with
+ * Applied Energistics 2. If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import appeng.api.networking.IGridCache;
+import appeng.core.AELog;
+import appeng.me.cache.EnergyGridCache;
+import appeng.me.cache.PathGridCache;
+import appeng.me.cache.SecurityCache;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
+/**
+ * Ticks the grids of the server.
+ * <p>
+ * In parallel mode the grids are split into components that cannot reach each other: grids only share state with
+ * grids in the same dimension (cross grid energy through quartz fibers), or with grids they span dimensions with
+ * (quantum bridges join the grids on both sides). The caches that only work on their own grid are then ticked per
+ * component on a bounded pool, everything that may touch the world, events to machines included, is queued and run on
+ * the server thread once all components are done. Device ticks, crafting and storage notifications stay on the server
+ * thread.
+ */
+public final class GridTickScheduler {
+
+    public enum Mode {
+        /**
+         * Every grid is ticked in turn on the server thread.
+         */
+        SEQUENTIAL,
+        /**
+         * Components are ticked on the worker pool.
+         */
+        PARALLEL,
+        /**
+         * Like {@link #PARALLEL}, but the components are ticked one after another on the server thread, to compare
+         * against it.
+         */
+        DETERMINISTIC
+    }
+
+    private static final ThreadLocal<List<Runnable>> DEFERRED = new ThreadLocal<>();
+
+    private final AtomicInteger threadIds = new AtomicInteger();
+    private ExecutorService workers;
+    private int workerCount;
+
+    /**
+     * @return true if the caller is ticking a component and has to leave the world alone
+     */
+    public static boolean isTickingComponent() {
+        return DEFERRED.get() != null;
+    }
+
+    /**
+     * Runs the action right away on the server thread, or after all components are done if called while ticking one.
+     */
+    public static void runOnMainThread(final Runnable action) {
+        final List<Runnable> deferred = DEFERRED.get();
+        if (deferred == null) {
+            action.run();
+        } else {
+            deferred.add(action);
+        }
+    }
+
+    /**
+     * @return true for the caches that only work on their own grid and may be ticked off the server thread
+     */
+    static boolean canTickOffThread(final IGridCache cache) {
+        return cache instanceof EnergyGridCache || cache instanceof PathGridCache || cache instanceof SecurityCache;
+    }
+
+    public void tick(final Iterable<Grid> grids, final Mode mode, final int threads) {
+        if (mode == Mode.SEQUENTIAL) {
+            for (final Grid g : grids) {
+                g.update();
+            }
+            return;
+        }
+
+        final List<Component> components = findComponents(grids);
+        if (mode == Mode.PARALLEL && threads > 0 && components.size() > 1) {
+            this.tickOnWorkers(components, threads);
+        } else {
+            for (final Component c : components) {
+                c.call();
+            }
+        }
+
+        // the actions run in component order, whichever worker finished first
+        for (final Component c : components) {
+            for (final Runnable action : c.deferred) {
+                try {
+                    action.run();
+                } catch (final Exception e) {
+                    AELog.debug(e);
+                }
+            }
+        }
+
+        for (final Component c : components) {
+            for (final Grid g : c.grids) {
+                g.update(false, true);
+            }
+        }
+    }
+
+    private void tickOnWorkers(final List<Component> components, final int threads) {
+        if (this.workers == null || this.workerCount != threads) {
+            this.shutdown();
+            this.workerCount = threads;
+            this.workers = Executors.newFixedThreadPool(threads, r -> {
+                final Thread t = new Thread(r, "AE2 Grid Ticker #" + this.threadIds.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        final List<Future<Void>> running = new ArrayList<>(components.size());
+        for (final Component c : components) {
+            running.add(this.workers.submit(c));
+        }
+
+        for (final Future<Void> f : running) {
+            try {
+                f.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final ExecutionException e) {
+                throw new IllegalStateException("Failed to tick a grid component.", e.getCause());
+            }
+        }
+    }
+
+    public void shutdown() {
+        if (this.workers != null) {
+            this.workers.shutdownNow();
+            this.workers = null;
+        }
+    }
+
+    /**
+     * Groups the grids by the dimensions they have nodes in, grids without nodes in any dimension are on their own.
+     * Components are ordered by their first grid, and keep the order of the grids inside.
+     */
+    static List<Component> findComponents(final Iterable<Grid> grids) {
+        final Int2IntOpenHashMap parent = new Int2IntOpenHashMap();
+        for (final Grid g : grids) {
+            final int[] dims = g.getDimensions();
+            for (final int d : dims) {
+                if (!parent.containsKey(d)) {
+                    parent.put(d, d);
+                }
+                union(parent, dims[0], d);
+            }
+        }
+
+        final List<Component> components = new ArrayList<>();
+        final Int2ObjectOpenHashMap<Component> byRoot = new Int2ObjectOpenHashMap<>();
+        for (final Grid g : grids) {
+            final int[] dims = g.getDimensions();
+            Component c;
+            if (dims.length == 0) {
+                c = null;
+            } else {
+                c = byRoot.get(find(parent, dims[0]));
+            }
+
+            if (c == null) {
+                c = new Component();
+                components.add(c);
+                if (dims.length > 0) {
+                    byRoot.put(find(parent, dims[0]), c);
+                }
+            }
+            c.grids.add(g);
+        }
+
+        return components;
+    }
+
+    private static int find(final Int2IntOpenHashMap parent, int d) {
+        while (parent.get(d) != d) {
+            final int up = parent.get(parent.get(d));
+            parent.put(d, up);
+            d = up;
+        }
+        return d;
+    }
+
+    private static void union(final Int2IntOpenHashMap parent, final int a, final int b) {
+        final int ra = find(parent, a);
+        final int rb = find(parent, b);
+        if (ra != rb) {
+            parent.put(rb, ra);
+        }
+    }
+
+    static class Component implements Callable<Void> {
+
+        final List<Grid> grids = new ArrayList<>();
+        final List<Runnable> deferred = new ArrayList<>();
+
+        @Override
+        public Void call() {
+            DEFERRED.set(this.deferred);
+            try {
+                for (final Grid g : this.grids) {
+                    g.update(true, false);
+                }
+            } finally {
+                DEFERRED.remove();
+            }
+            return null;
+        }
+    }
+}
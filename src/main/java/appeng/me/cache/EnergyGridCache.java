@@ -10,11 +10,16 @@
 
 package appeng.me.cache;
 
-import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -53,10 +58,19 @@ public class EnergyGridCache implements IEnergyGrid {
     private final Set<IAEPowerStorage> providers = new LinkedHashSet<>();
     private final Set<IAEPowerStorage> requesters = new LinkedHashSet<>();
     private final Multiset<IEnergyGridProvider> energyGridProviders = HashMultiset.create();
-    /*
-     * We only keep track of one extractable provider, since player usually only place energy cells in one place
+
+    // bumped whenever a provider joins or leaves any grid, so every cached provider graph gets rebuilt
+    private static int providerGraphEpoch = 0;
+
+    /**
+     * The other grids reachable through energy providers, most available energy first, and the providers that do not
+     * say which grids they connect.
      */
-    private WeakReference<IEnergyGridProvider> lastGridProvider = new WeakReference<>(null);
+    private final List<IEnergyGrid> providerGrids = new ArrayList<>();
+    private final List<IEnergyGridProvider> opaqueProviders = new ArrayList<>();
+    private int providerGridsEpoch = -1;
+    private boolean sortProviderGrids = false;
+    private int providerGraphRebuilds = 0;
     private final IGrid myGrid;
     private final HashMap<IGridNode, IEnergyWatcher> watchers = new HashMap<>();
     private final Set<IEnergyGrid> localSeen = new HashSet<>();
@@ -140,6 +154,8 @@ public class EnergyGridCache implements IEnergyGrid {
 
     @Override
     public void onUpdateTick() {
+        this.sortProviderGrids = true;
+
         if (!this.getInterests().isEmpty()) {
             final double oldPower = this.lastStoredPower;
             this.lastStoredPower = this.getStoredPower();
@@ -199,8 +215,7 @@ public class EnergyGridCache implements IEnergyGrid {
 
     @Override
     public double extractAEPower(final double amt, final Actionable mode, final PowerMultiplier pm) {
-        this.localSeen.clear();
-        return pm.divide(this.extractAEPower(pm.multiply(amt), mode, this.localSeen));
+        return pm.divide(this.extract(pm.multiply(amt), mode, null, true));
     }
 
     @Override
@@ -235,6 +250,15 @@ public class EnergyGridCache implements IEnergyGrid {
             return 0;
         }
 
+        return this.extract(amt, mode, seen, true);
+    }
+
+    /**
+     * @param seen       the grids that were already asked, null if the extraction started at this grid
+     * @param otherGrids whether to make up for missing power from the grids reachable through energy providers
+     */
+    private double extract(final double amt, final Actionable mode, final Set<IEnergyGrid> seen,
+            final boolean otherGrids) {
         if (infinite) {
             if (mode == Actionable.MODULATE) {
                 this.tickDrainPerTick += amt;
@@ -247,7 +271,7 @@ public class EnergyGridCache implements IEnergyGrid {
         if (mode == Actionable.SIMULATE) {
             extractedPower += this.simulateExtract(extractedPower, amt);
 
-            if (extractedPower < amt) {
+            if (extractedPower < amt && otherGrids) {
                 extractedPower = extractFromOtherGrids(amt, mode, seen, extractedPower);
             }
 
@@ -267,7 +291,7 @@ public class EnergyGridCache implements IEnergyGrid {
         }
 
         // call only if we don't have enough power
-        if (extractedPower < amt) {
+        if (extractedPower < amt && otherGrids) {
             extractedPower = extractFromOtherGrids(amt, mode, seen, extractedPower);
         }
 
@@ -277,29 +301,96 @@ public class EnergyGridCache implements IEnergyGrid {
         return extractedPower;
     }
 
+    /**
+     * Walks the cached provider graph instead of recursing through the providers, only providers that do not say which
+     * grids they connect are still asked recursively.
+     */
     private double extractFromOtherGrids(double amt, Actionable mode, Set<IEnergyGrid> seen, double extractedPower) {
-        IEnergyGridProvider energyGridProvider = lastGridProvider.get();
-        if (energyGridProvider != null) {
-            double extracted = energyGridProvider.extractAEPower(amt - extractedPower, mode, seen);
-            if (extracted < 1e-8) {
-                lastGridProvider = new WeakReference<>(null);
+        this.updateProviderGrids();
+
+        Set<IEnergyGrid> recursionSeen = seen;
+        for (int i = 0; i < this.providerGrids.size() && extractedPower < amt; i++) {
+            final IEnergyGrid grid = this.providerGrids.get(i);
+            if (grid instanceof EnergyGridCache other) {
+                if (seen == null || seen.add(grid)) {
+                    extractedPower += other.extract(amt - extractedPower, mode, seen, false);
+                }
             } else {
-                extractedPower += extracted;
+                recursionSeen = recursionSeen == null ? this.getLocalSeen() : recursionSeen;
+                extractedPower += grid.extractAEPower(amt - extractedPower, mode, recursionSeen);
             }
         }
 
-        if (extractedPower < amt) {
-            final Iterator<IEnergyGridProvider> i = this.energyGridProviders.iterator();
-            while (extractedPower < amt && i.hasNext()) {
-                IEnergyGridProvider provider = i.next();
-                double extracted = provider.extractAEPower(amt - extractedPower, mode, seen);
-                if (extracted > 1e-8) {
-                    this.lastGridProvider = new WeakReference<>(provider);
-                    extractedPower += extracted;
+        for (int i = 0; i < this.opaqueProviders.size() && extractedPower < amt; i++) {
+            recursionSeen = recursionSeen == null ? this.getLocalSeen() : recursionSeen;
+            extractedPower += this.opaqueProviders.get(i).extractAEPower(amt - extractedPower, mode, recursionSeen);
+        }
+
+        return extractedPower;
+    }
+
+    /**
+     * @return the grids of the provider graph as already asked, for recursing into grids that are not part of it
+     */
+    private Set<IEnergyGrid> getLocalSeen() {
+        this.localSeen.clear();
+        this.localSeen.add(this);
+        for (final IEnergyGrid grid : this.providerGrids) {
+            if (grid instanceof EnergyGridCache) {
+                this.localSeen.add(grid);
+            }
+        }
+        return this.localSeen;
+    }
+
+    private void updateProviderGrids() {
+        if (this.providerGridsEpoch == providerGraphEpoch) {
+            if (this.sortProviderGrids) {
+                this.sortProviderGrids = false;
+                this.providerGrids.sort(Comparator.comparingDouble(IEnergyGrid::getStoredPower).reversed());
+            }
+            return;
+        }
+
+        this.providerGrids.clear();
+        this.opaqueProviders.clear();
+
+        final Set<IEnergyGrid> visited = new HashSet<>();
+        final Set<IEnergyGridProvider> opaque = new LinkedHashSet<>();
+        final Deque<EnergyGridCache> queue = new ArrayDeque<>();
+        visited.add(this);
+        queue.add(this);
+        while (!queue.isEmpty()) {
+            for (final IEnergyGridProvider provider : queue.poll().energyGridProviders.elementSet()) {
+                final Collection<IEnergyGrid> connected = provider.getConnectedEnergyGrids();
+                if (connected == null) {
+                    opaque.add(provider);
+                    continue;
+                }
+
+                for (final IEnergyGrid grid : connected) {
+                    if (visited.add(grid)) {
+                        this.providerGrids.add(grid);
+                        if (grid instanceof EnergyGridCache other) {
+                            queue.add(other);
+                        }
+                    }
                 }
             }
         }
-        return extractedPower;
+        this.opaqueProviders.addAll(opaque);
+
+        this.providerGrids.sort(Comparator.comparingDouble(IEnergyGrid::getStoredPower).reversed());
+        this.sortProviderGrids = false;
+        this.providerGridsEpoch = providerGraphEpoch;
+        this.providerGraphRebuilds++;
+    }
+
+    /**
+     * @return how often the provider graph of this grid was built
+     */
+    public int getProviderGraphRebuilds() {
+        return this.providerGraphRebuilds;
     }
 
     @Override
@@ -511,9 +602,7 @@ public class EnergyGridCache implements IEnergyGrid {
     public void removeNode(final IGridNode node, final IGridHost machine) {
         if (machine instanceof IEnergyGridProvider) {
             this.energyGridProviders.remove(machine);
-            if (lastGridProvider.get() == machine) {
-                lastGridProvider = new WeakReference<>(null);
-            }
+            providerGraphEpoch++;
             // removing a quartz fiber will not cause a net to go from finite to infinite
             this.updateInfinite = true;
         }
@@ -560,6 +649,7 @@ public class EnergyGridCache implements IEnergyGrid {
     public void addNode(final IGridNode node, final IGridHost machine) {
         if (machine instanceof IEnergyGridProvider) {
             this.energyGridProviders.add((IEnergyGridProvider) machine);
+            providerGraphEpoch++;
             // adding a quartz fiber will not cause a net to go from with infinite to finite
             this.updateInfinite |= !infinite;
         }
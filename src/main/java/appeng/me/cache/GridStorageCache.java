@@ -280,7 +280,9 @@ public class GridStorageCache implements IStorageGrid {
 
     private void postChangesToNetwork(final IAEStackType<?> type, final int upOrDown, final IItemList availableItems,
             final BaseActionSource src) {
-        this.monitors.get(type).postChange(upOrDown > 0, availableItems, src);
+        final NetworkMonitor<?> monitor = this.monitors.get(type);
+        monitor.invalidateWatchedTotals();
+        monitor.postChange(upOrDown > 0, availableItems, src);
     }
 
     private void buildNetworkStorage(final IAEStackType<?> type) {
@@ -350,6 +352,16 @@ public class GridStorageCache implements IStorageGrid {
         return this.interestManager;
     }
 
+    /**
+     * Called when a watcher starts or stops watching a stack. The monitors only keep the total of a stack up to date
+     * while it is watched, so it has to be counted again.
+     */
+    public void onInterestChanged(final IAEStack<?> stack) {
+        for (final NetworkMonitor<?> monitor : this.monitors.values()) {
+            monitor.forgetWatchedTotal(stack);
+        }
+    }
+
     IGrid getGrid() {
         return this.myGrid;
     }
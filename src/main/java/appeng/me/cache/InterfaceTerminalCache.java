@@ -0,0 +1,186 @@
+/*
+ * This file is part of Applied Energistics 2. Copyright (c) 2013 - 2014, AlgorithmX2, All rights reserved. Applied
+ * Energistics 2 is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. Applied Energistics 2 is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details. You should have received a copy of the GNU Lesser General Public License along with
+ * Applied Energistics 2. If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import net.minecraftforge.common.util.ForgeDirection;
+
+import appeng.api.AEApi;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridCache;
+import appeng.api.networking.IGridHost;
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.IGridStorage;
+import appeng.api.networking.events.MENetworkBootingStatusChange;
+import appeng.api.networking.events.MENetworkEventSubscribe;
+import appeng.api.networking.events.MENetworkPowerStatusChange;
+import appeng.api.util.IInterfaceViewable;
+import appeng.helpers.IInterfaceHost;
+
+/**
+ * Keeps the machines of a grid that are shown in the interface terminal, and tells the open terminals which of them
+ * were added, removed or changed, so the terminals only have to look at those.
+ * <p>
+ * AE interfaces report their own changes through {@link #postChange(IInterfaceViewable)}. Machines of other mods
+ * registered with the interface terminal registry don't know about this cache. They are reported as changed whenever
+ * the grid finishes booting or its power changes, and terminals look at them through {@link #getForeignMachines()}
+ * whenever they are asked to update, like they used to look at everything.
+ */
+public class InterfaceTerminalCache implements IGridCache {
+
+    /**
+     * Receives the machines that have to be compared against what the terminal has shown so far.
+     */
+    public interface IInterfaceTerminalListener {
+
+        void onInterfaceViewableChanged(IInterfaceViewable machine);
+    }
+
+    private final IGrid myGrid;
+    private final Map<IInterfaceViewable, IGridNode> machines = new HashMap<>();
+    private final Set<IInterfaceTerminalListener> listeners = Collections.newSetFromMap(new WeakHashMap<>());
+    private boolean pollForeignMachines;
+
+    public InterfaceTerminalCache(final IGrid g) {
+        this.myGrid = g;
+    }
+
+    /**
+     * Reports a change of a machine shown in the interface terminal to the terminals viewing its grid.
+     */
+    public static void postChange(final IInterfaceViewable machine) {
+        final IGridNode node = machine.getGridNode(ForgeDirection.UNKNOWN);
+        if (node == null || node.getGrid() == null) {
+            return;
+        }
+        final InterfaceTerminalCache cache = node.getGrid().getCache(InterfaceTerminalCache.class);
+        if (cache != null) {
+            cache.onMachineChanged(machine);
+        }
+    }
+
+    /**
+     * Starts reporting changes to the listener, all machines currently on the grid are reported as changed right away.
+     */
+    public void addListener(final IInterfaceTerminalListener listener) {
+        if (this.listeners.add(listener)) {
+            for (final IInterfaceViewable machine : this.machines.keySet()) {
+                listener.onInterfaceViewableChanged(machine);
+            }
+        }
+    }
+
+    /**
+     * Stops reporting changes to the listener, all machines currently on the grid are reported as changed one last
+     * time so the listener can drop them.
+     */
+    public void removeListener(final IInterfaceTerminalListener listener) {
+        if (this.listeners.remove(listener)) {
+            for (final IInterfaceViewable machine : this.machines.keySet()) {
+                listener.onInterfaceViewableChanged(machine);
+            }
+        }
+    }
+
+    /**
+     * @return The node the machine is on this grid with, or null if it isn't part of this grid.
+     */
+    public IGridNode getNode(final IInterfaceViewable machine) {
+        return this.machines.get(machine);
+    }
+
+    /**
+     * @return The machines on this grid that don't report their own changes.
+     */
+    public List<IInterfaceViewable> getForeignMachines() {
+        final List<IInterfaceViewable> foreign = new ArrayList<>();
+        for (final IInterfaceViewable machine : this.machines.keySet()) {
+            if (!(machine instanceof IInterfaceHost)) {
+                foreign.add(machine);
+            }
+        }
+        return foreign;
+    }
+
+    private void onMachineChanged(final IInterfaceViewable machine) {
+        if (this.listeners.isEmpty() || !this.machines.containsKey(machine)) {
+            return;
+        }
+        for (final IInterfaceTerminalListener listener : this.listeners) {
+            listener.onInterfaceViewableChanged(machine);
+        }
+    }
+
+    private void notifyListeners(final IInterfaceViewable machine) {
+        for (final IInterfaceTerminalListener listener : this.listeners) {
+            listener.onInterfaceViewableChanged(machine);
+        }
+    }
+
+    @MENetworkEventSubscribe
+    public void bootComplete(final MENetworkBootingStatusChange bootStatus) {
+        if (!bootStatus.isBooting) {
+            this.pollForeignMachines = true;
+        }
+    }
+
+    @MENetworkEventSubscribe
+    public void powerChange(final MENetworkPowerStatusChange powerStatus) {
+        this.pollForeignMachines = true;
+    }
+
+    @Override
+    public void onUpdateTick() {
+        if (!this.pollForeignMachines) {
+            return;
+        }
+        this.pollForeignMachines = false;
+        if (this.listeners.isEmpty()) {
+            return;
+        }
+
+        for (final IInterfaceViewable machine : this.getForeignMachines()) {
+            this.notifyListeners(machine);
+        }
+    }
+
+    @Override
+    public void removeNode(final IGridNode node, final IGridHost machine) {
+        if (machine instanceof IInterfaceViewable viewable && this.machines.remove(viewable) != null) {
+            this.notifyListeners(viewable);
+        }
+    }
+
+    @Override
+    public void addNode(final IGridNode node, final IGridHost machine) {
+        if (machine instanceof IInterfaceViewable viewable && AEApi.instance().registries().interfaceTerminal()
+                .getSupportedClasses().contains(machine.getClass())) {
+            this.machines.put(viewable, node);
+            this.notifyListeners(viewable);
+        }
+    }
+
+    @Override
+    public void onSplit(final IGridStorage storageB) {}
+
+    @Override
+    public void onJoin(final IGridStorage storageB) {}
+
+    @Override
+    public void populateGridStorage(final IGridStorage storage) {}
+}
@@ -0,0 +1,197 @@
+/*
+ * This file is part of Applied Energistics 2. Copyright (c) 2013 - 2014, AlgorithmX2, All rights reserved. Applied
+ * Energistics 2 is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. Applied Energistics 2 is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details. You should have received a copy of the GNU Lesser General Public License along with
+ * Applied Energistics 2. If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.minecraft.item.ItemStack;
+
+import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridBlock;
+import appeng.api.networking.IGridCache;
+import appeng.api.networking.IGridHost;
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.IGridStorage;
+import appeng.api.networking.events.MENetworkEventSubscribe;
+import appeng.api.networking.events.MENetworkPowerIdleChange;
+import appeng.api.storage.data.IAEItemStack;
+import appeng.api.util.NamedDimensionalCoord;
+import appeng.helpers.ICustomNameObject;
+import appeng.util.item.AEItemStack;
+
+/**
+ * Counts the machines of a grid by their item representation, for the network status screen.
+ * <p>
+ * The counts are kept up to date as nodes join and leave the grid, so the screen doesn't have to walk every machine of
+ * the grid to show them. Locations are only looked up when the player asks for the machines of one row.
+ */
+public class MachineCensusCache implements IGridCache {
+
+    /**
+     * One row of the census, all machines that share an item representation.
+     */
+    public static final class Row {
+
+        private final IAEItemStack representation;
+        private final Set<IGridNode> nodes = new LinkedHashSet<>();
+        private double idlePowerUsage;
+
+        private Row(final IAEItemStack representation) {
+            this.representation = representation;
+        }
+
+        /**
+         * @return The shared representation, its stack size is always 1.
+         */
+        public IAEItemStack getRepresentation() {
+            return this.representation;
+        }
+
+        public int getCount() {
+            return this.nodes.size();
+        }
+
+        /**
+         * @return The summed idle power usage of the machines in AE/t.
+         */
+        public double getIdlePowerUsage() {
+            return this.idlePowerUsage;
+        }
+    }
+
+    private static final class Entry {
+
+        private final Row row;
+        private double idlePowerUsage;
+
+        private Entry(final Row row, final double idlePowerUsage) {
+            this.row = row;
+            this.idlePowerUsage = idlePowerUsage;
+        }
+    }
+
+    private final IGrid myGrid;
+    private final Map<IGridNode, Entry> entries = new HashMap<>();
+    private final Map<IAEItemStack, Row> rows = new HashMap<>();
+    private long version;
+
+    public MachineCensusCache(final IGrid g) {
+        this.myGrid = g;
+    }
+
+    /**
+     * @return A number that changes whenever a count or idle power usage of a row changed.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    public Collection<Row> getRows() {
+        return Collections.unmodifiableCollection(this.rows.values());
+    }
+
+    /**
+     * @return The row of machines with the representation, or null if the grid has none.
+     */
+    public Row getRow(final IAEItemStack representation) {
+        return this.rows.get(representation);
+    }
+
+    /**
+     * @return The locations of all machines with the representation, named after the machine if it has a custom name.
+     */
+    public List<NamedDimensionalCoord> getLocations(final IAEItemStack representation) {
+        final Row row = this.rows.get(representation);
+        if (row == null) {
+            return Collections.emptyList();
+        }
+
+        final List<NamedDimensionalCoord> locations = new ArrayList<>(row.nodes.size());
+        for (final IGridNode node : row.nodes) {
+            final IGridBlock blk = node.getGridBlock();
+            String customName = "";
+            if (blk.getMachine() instanceof ICustomNameObject ico && ico.hasCustomName()) {
+                customName = ico.getCustomName();
+            }
+            locations.add(new NamedDimensionalCoord(blk.getLocation(), customName));
+        }
+        return locations;
+    }
+
+    @MENetworkEventSubscribe
+    public void updateIdlePower(final MENetworkPowerIdleChange ev) {
+        final Entry entry = this.entries.get(ev.node);
+        if (entry == null) {
+            return;
+        }
+
+        final double idle = ev.node.getGridBlock().getIdlePowerUsage();
+        if (idle != entry.idlePowerUsage) {
+            entry.row.idlePowerUsage += idle - entry.idlePowerUsage;
+            entry.idlePowerUsage = idle;
+            this.version++;
+        }
+    }
+
+    @Override
+    public void onUpdateTick() {}
+
+    @Override
+    public void removeNode(final IGridNode node, final IGridHost machine) {
+        final Entry entry = this.entries.remove(node);
+        if (entry == null) {
+            return;
+        }
+
+        final Row row = entry.row;
+        row.nodes.remove(node);
+        if (row.nodes.isEmpty()) {
+            this.rows.remove(row.representation);
+        } else {
+            row.idlePowerUsage -= entry.idlePowerUsage;
+        }
+        this.version++;
+    }
+
+    @Override
+    public void addNode(final IGridNode node, final IGridHost machine) {
+        final IGridBlock blk = node.getGridBlock();
+        final ItemStack is = blk.getMachineRepresentation();
+        if (is == null || is.getItem() == null || this.entries.containsKey(node)) {
+            return;
+        }
+
+        final IAEItemStack representation = AEItemStack.create(is);
+        representation.setStackSize(1);
+        final Row row = this.rows.computeIfAbsent(representation, Row::new);
+        final double idle = blk.getIdlePowerUsage();
+        row.nodes.add(node);
+        row.idlePowerUsage += idle;
+        this.entries.put(node, new Entry(row, idle));
+        this.version++;
+    }
+
+    @Override
+    public void onSplit(final IGridStorage storageB) {}
+
+    @Override
+    public void onJoin(final IGridStorage storageB) {}
+
+    @Override
+    public void populateGridStorage(final IGridStorage storage) {}
+}
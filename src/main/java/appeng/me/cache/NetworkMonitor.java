@@ -10,11 +10,14 @@
 
 package appeng.me.cache;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -44,6 +47,7 @@ import appeng.api.storage.StorageChannel;
 import appeng.api.storage.data.IAEStack;
 import appeng.api.storage.data.IAEStackType;
 import appeng.api.storage.data.IItemList;
+import appeng.me.helpers.GenericInterestManager;
 import appeng.me.storage.ItemWatcher;
 import appeng.util.IterationCounter;
 import appeng.util.item.LazyItemList;
@@ -76,6 +80,17 @@ public class NetworkMonitor<T extends IAEStack<T>> implements IMEMonitor<T> {
 
     private final Set<IStorageInterceptor> storageInterceptors = Collections.newSetFromMap(new WeakHashMap<>());
 
+    /**
+     * Network wide amounts of watched stacks, kept up to date from the changes passing through. A stack is only counted
+     * again once the storage itself changed.
+     */
+    private final Map<T, Long> watchedTotals = new HashMap<>();
+
+    /**
+     * Net changes of watched stacks since the last tick, the watchers hear about them once per tick.
+     */
+    private final Map<T, WatchedChange<T>> pendingWatched = new LinkedHashMap<>();
+
     public NetworkMonitor(final GridStorageCache cache, final IAEStackType<T> type) {
         this.myGridCache = cache;
         this.stackType = type;
@@ -121,6 +136,9 @@ public class NetworkMonitor<T extends IAEStack<T>> implements IMEMonitor<T> {
 
         if (localDepthSemaphore == 0) {
             this.monitorDifference(request.copy(), leftover, true, src);
+        } else {
+            // changed while notifying, nobody hears about this one
+            this.invalidateWatchedTotals();
         }
 
         return leftover;
@@ -207,6 +225,8 @@ public class NetworkMonitor<T extends IAEStack<T>> implements IMEMonitor<T> {
 
         if (localDepthSemaphore == 0) {
             this.monitorDifference(input.copy(), leftover, false, src);
+        } else {
+            this.invalidateWatchedTotals();
         }
 
         return leftover;
@@ -312,27 +332,69 @@ public class NetworkMonitor<T extends IAEStack<T>> implements IMEMonitor<T> {
             }
 
             if (this.myGridCache.getInterestManager().containsKey(changedItem)) {
-                final Collection<ItemWatcher> list = this.myGridCache.getInterestManager().get(changedItem);
+                if (!this.myGridCache.getInterestManager().get(changedItem).isEmpty()) {
+                    this.queueWatchedChange(difference, src);
+                }
+            }
+        }
 
-                if (!list.isEmpty()) {
-                    IAEStack<T> fullStack = this.getHandler()
-                            .getAvailableItem((T) changedItem, IterationCounter.fetchNewId());
+        final NetworkMonitor<?> last = GLOBAL_DEPTH.pop();
+        localDepthSemaphore--;
 
-                    if (fullStack == null) {
-                        fullStack = changedItem.copy();
-                        fullStack.setStackSize(0);
-                    }
+        if (last != this) {
+            throw new IllegalStateException("Invalid Access to Networked Storage API detected.");
+        }
+    }
 
-                    this.myGridCache.getInterestManager().enableTransactions();
+    private void queueWatchedChange(final T difference, final BaseActionSource src) {
+        final WatchedChange<T> pending = this.pendingWatched.get(difference);
+        if (pending == null) {
+            final T copy = difference.copy();
+            this.pendingWatched.put(copy, new WatchedChange<>(copy, src));
+        } else {
+            pending.difference.incStackSize(difference.getStackSize());
+            pending.src = src;
+        }
+    }
 
-                    IItemList<T> itemList = new LazyItemList<>(this::getStorageList);
-                    for (final ItemWatcher iw : list) {
-                        iw.getHost().onStackChange(itemList, fullStack, difference, src, this.getChannel());
-                    }
+    /**
+     * Tells the watchers of each stack that changed since the last tick about the net change, once.
+     */
+    private void notifyWatchers() {
+        if (localDepthSemaphore > 0 || GLOBAL_DEPTH.contains(this)) {
+            return;
+        }
 
-                    this.myGridCache.getInterestManager().disableTransactions();
-                }
+        GLOBAL_DEPTH.push(this);
+        localDepthSemaphore++;
+
+        final List<WatchedChange<T>> changes = new ArrayList<>(this.pendingWatched.values());
+        this.pendingWatched.clear();
+
+        final GenericInterestManager<ItemWatcher> interests = this.myGridCache.getInterestManager();
+        final IItemList<T> itemList = new LazyItemList<>(this::getStorageList);
+        for (final WatchedChange<T> change : changes) {
+            final T difference = change.difference;
+            if (!interests.containsKey(difference)) {
+                this.watchedTotals.remove(difference);
+                continue;
             }
+
+            final Collection<ItemWatcher> list = interests.get(difference);
+            if (list.isEmpty() || difference.getStackSize() == 0) {
+                continue;
+            }
+
+            final T fullStack = difference.copy();
+            fullStack.setStackSize(this.getWatchedTotal(difference));
+
+            interests.enableTransactions();
+
+            for (final ItemWatcher iw : list) {
+                iw.getHost().onStackChange(itemList, fullStack, difference, change.src, this.getChannel());
+            }
+
+            interests.disableTransactions();
         }
 
         final NetworkMonitor<?> last = GLOBAL_DEPTH.pop();
@@ -343,8 +405,38 @@ public class NetworkMonitor<T extends IAEStack<T>> implements IMEMonitor<T> {
         }
     }
 
+    /**
+     * @return the amount of a watched stack after its net change, only walking the network storage if it is not known
+     *         yet
+     */
+    private long getWatchedTotal(final T difference) {
+        final Long known = this.watchedTotals.get(difference);
+        if (known != null && known + difference.getStackSize() >= 0) {
+            final long total = known + difference.getStackSize();
+            this.watchedTotals.put(difference, total);
+            return total;
+        }
+
+        final T available = this.getHandler().getAvailableItem(difference, IterationCounter.fetchNewId());
+        final long total = available == null ? 0 : available.getStackSize();
+        this.watchedTotals.put(difference.copy(), total);
+        return total;
+    }
+
+    void forgetWatchedTotal(final IAEStack<?> stack) {
+        this.watchedTotals.remove(stack);
+    }
+
+    /**
+     * Forgets the running totals of watched stacks, they are counted again the next time they change.
+     */
+    void invalidateWatchedTotals() {
+        this.watchedTotals.clear();
+    }
+
     void forceUpdate() {
         this.hasChanged = true;
+        this.invalidateWatchedTotals();
 
         final Iterator<Entry<IMEMonitorHandlerReceiver, Object>> i = this.getListeners();
         while (i.hasNext()) {
@@ -360,6 +452,10 @@ public class NetworkMonitor<T extends IAEStack<T>> implements IMEMonitor<T> {
     }
 
     void onTick() {
+        if (!this.pendingWatched.isEmpty()) {
+            this.notifyWatchers();
+        }
+
         if (this.sendEvent) {
             this.sendEvent = false;
             this.myGridCache.getGrid().postEvent(new MENetworkStorageEvent(this, this.stackType));
@@ -373,4 +469,15 @@ public class NetworkMonitor<T extends IAEStack<T>> implements IMEMonitor<T> {
     public void removeStorageInterceptor(IStorageInterceptor storageInterceptor) {
         this.storageInterceptors.remove(storageInterceptor);
     }
+
+    private static class WatchedChange<T extends IAEStack<T>> {
+
+        private final T difference;
+        private BaseActionSource src;
+
+        private WatchedChange(final T difference, final BaseActionSource src) {
+            this.difference = difference;
+            this.src = src;
+        }
+    }
 }
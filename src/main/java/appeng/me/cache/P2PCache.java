@@ -10,6 +10,7 @@
 
 package appeng.me.cache;
 
+import java.util.Collection;
 import java.util.HashMap;
 
 import com.google.common.collect.LinkedHashMultimap;
@@ -22,10 +23,12 @@ import appeng.api.networking.IGridHost;
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.IGridStorage;
 import appeng.api.networking.events.MENetworkBootingStatusChange;
+import appeng.api.networking.events.MENetworkChannelsChanged;
 import appeng.api.networking.events.MENetworkEventSubscribe;
 import appeng.api.networking.events.MENetworkPowerStatusChange;
 import appeng.api.networking.ticking.ITickManager;
 import appeng.me.cache.helpers.TunnelCollection;
+import appeng.me.cache.helpers.TunnelRoutes;
 import appeng.parts.p2p.PartP2PInterface;
 import appeng.parts.p2p.PartP2PTunnel;
 import appeng.parts.p2p.PartP2PTunnelME;
@@ -35,6 +38,7 @@ public class P2PCache implements IGridCache {
     private final IGrid myGrid;
     private final HashMap<Long, PartP2PTunnel> inputs = new HashMap<>();
     private final Multimap<Long, PartP2PTunnel> outputs = LinkedHashMultimap.create();
+    private final HashMap<Long, TunnelRoutes<?>> routes = new HashMap<>();
     private final TunnelCollection NullColl = new TunnelCollection<>(null, null);
 
     public P2PCache(final IGrid g) {
@@ -43,6 +47,7 @@ public class P2PCache implements IGridCache {
 
     @MENetworkEventSubscribe
     public void bootComplete(final MENetworkBootingStatusChange bootStatus) {
+        this.invalidateAllTargets();
         final ITickManager tm = this.myGrid.getCache(ITickManager.class);
         for (final PartP2PTunnel me : this.inputs.values()) {
             if (me instanceof PartP2PTunnelME) {
@@ -53,6 +58,7 @@ public class P2PCache implements IGridCache {
 
     @MENetworkEventSubscribe
     public void bootComplete(final MENetworkPowerStatusChange power) {
+        this.invalidateAllTargets();
         final ITickManager tm = this.myGrid.getCache(ITickManager.class);
         for (final PartP2PTunnel me : this.inputs.values()) {
             if (me instanceof PartP2PTunnelME) {
@@ -61,6 +67,18 @@ public class P2PCache implements IGridCache {
         }
     }
 
+    @MENetworkEventSubscribe
+    public void channelsChanged(final MENetworkChannelsChanged channels) {
+        // outputs that lost or got their channel resolve to a different target
+        this.invalidateAllTargets();
+    }
+
+    private void invalidateAllTargets() {
+        for (final TunnelRoutes<?> table : this.routes.values()) {
+            table.invalidateTargets();
+        }
+    }
+
     @Override
     public void onUpdateTick() {}
 
@@ -78,10 +96,11 @@ public class P2PCache implements IGridCache {
 
             if (t.isOutput()) {
                 this.outputs.remove(t.getFrequency(), t);
+                this.invalidateOutputs(t.getFrequency());
                 t.onTunnelNetworkChange();
             } else {
-                this.inputs.remove(t.getFrequency());
-                this.updateTunnel(t.getFrequency(), false);
+                final PartP2PTunnel previous = this.inputs.remove(t.getFrequency());
+                this.updateTunnel(t.getFrequency(), false, previous);
             }
         }
     }
@@ -100,10 +119,11 @@ public class P2PCache implements IGridCache {
 
             if (t.isOutput()) {
                 this.outputs.put(t.getFrequency(), t);
+                this.invalidateOutputs(t.getFrequency());
                 t.onTunnelNetworkChange();
             } else {
-                this.inputs.put(t.getFrequency(), t);
-                this.updateTunnel(t.getFrequency(), false);
+                final PartP2PTunnel previous = this.inputs.put(t.getFrequency(), t);
+                this.updateTunnel(t.getFrequency(), false, previous);
             }
         }
     }
@@ -117,7 +137,10 @@ public class P2PCache implements IGridCache {
     @Override
     public void populateGridStorage(final IGridStorage storage) {}
 
-    private void updateTunnel(final long freq, final boolean configChange) {
+    /**
+     * Tells the input and every output whose route changed, outputs only connect to an input of their own type.
+     */
+    private void updateTunnel(final long freq, final boolean configChange, final PartP2PTunnel previous) {
         boolean pausedRebuild = false;
         if (inputs.get(freq) instanceof PartP2PInterface) {
             CraftingGridCache.pauseRebuilds();
@@ -133,33 +156,42 @@ public class P2PCache implements IGridCache {
         }
 
         for (final PartP2PTunnel p : this.outputs.get(freq)) {
-            if (configChange) {
+            final PartP2PTunnel route = routeOf(p, in);
+            if (configChange && route != null) {
                 p.onTunnelConfigChange();
+                p.onTunnelNetworkChange();
+            } else if (route != routeOf(p, previous)) {
+                p.onTunnelNetworkChange();
             }
-            p.onTunnelNetworkChange();
         }
 
         if (pausedRebuild) CraftingGridCache.unpauseRebuilds();
     }
 
     public void updateFreq(final PartP2PTunnel t, final long newFrequency) {
+        final PartP2PTunnel previous = this.inputs.get(newFrequency);
         unbind(t);
 
         t.setFrequency(newFrequency);
 
         if (t.isOutput()) {
             this.outputs.put(t.getFrequency(), t);
+            this.invalidateOutputs(t.getFrequency());
             t.onTunnelConfigChange();
             t.onTunnelNetworkChange();
         } else {
             this.inputs.put(t.getFrequency(), t);
-            this.updateTunnel(t.getFrequency(), true);
+            this.updateTunnel(t.getFrequency(), true, previous);
         }
     }
 
+    private static PartP2PTunnel routeOf(final PartP2PTunnel output, final PartP2PTunnel input) {
+        return output.getClass().isInstance(input) ? input : null;
+    }
+
     public void unbind(final PartP2PTunnel t) {
-        if (this.outputs.containsValue(t)) {
-            this.outputs.remove(t.getFrequency(), t);
+        if (this.outputs.remove(t.getFrequency(), t)) {
+            this.invalidateOutputs(t.getFrequency());
         }
         if (this.inputs.containsValue(t)) {
             this.inputs.remove(t.getFrequency());
@@ -184,4 +216,49 @@ public class P2PCache implements IGridCache {
     public PartP2PTunnel getInput(final long freq) {
         return this.inputs.get(freq);
     }
+
+    /**
+     * @return the routing table of the outputs of type {@code c} on the frequency
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public <T extends PartP2PTunnel> TunnelRoutes<T> getRoutes(final long freq, final Class<T> c) {
+        TunnelRoutes<?> table = this.routes.get(freq);
+        if (table == null || !table.matches(c)) {
+            table = new TunnelRoutes<>((Collection) this.outputs.get(freq), c);
+            this.routes.put(freq, table);
+        }
+
+        return (TunnelRoutes<T>) table;
+    }
+
+    /**
+     * Drops the resolved target of an output, for when something next to it changed.
+     */
+    public void invalidateTarget(final PartP2PTunnel output) {
+        final TunnelRoutes<?> table = this.routes.get(output.getFrequency());
+        if (table != null) {
+            table.invalidateTarget(output);
+        }
+    }
+
+    /**
+     * Drops the resolved targets of all outputs of a frequency, for when their network state changed.
+     */
+    public void invalidateTargets(final long freq) {
+        final TunnelRoutes<?> table = this.routes.get(freq);
+        if (table != null) {
+            table.invalidateTargets();
+        }
+    }
+
+    private void invalidateOutputs(final long freq) {
+        final TunnelRoutes<?> table = this.routes.get(freq);
+        if (table != null) {
+            if (this.outputs.containsKey(freq)) {
+                table.invalidateOutputs();
+            } else {
+                this.routes.remove(freq);
+            }
+        }
+    }
 }
@@ -35,6 +35,7 @@ import appeng.core.AEConfig;
 import appeng.core.AELog;
 import appeng.core.features.AEFeature;
 import appeng.core.stats.Achievements;
+import appeng.me.GridTickScheduler;
 import appeng.me.pathfinding.AdHocChannelUpdater;
 import appeng.me.pathfinding.ChannelFinalizer;
 import appeng.me.pathfinding.ControllerValidator;
@@ -252,9 +253,11 @@ public class PathGridCache implements IPathingGrid {
                     players.add(n.getPlayerID());
                 }
 
-                for (final int id : players) {
-                    Platform.addStat(id, currentBracket.getAchievement());
-                }
+                GridTickScheduler.runOnMainThread(() -> {
+                    for (final int id : players) {
+                        Platform.addStat(id, currentBracket.getAchievement());
+                    }
+                });
             }
         }
         this.lastChannels = this.channelsInUse;
@@ -15,7 +15,10 @@ import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.WeakHashMap;
 
 import net.minecraft.entity.player.EntityPlayer;
 
@@ -27,12 +30,16 @@ import appeng.api.networking.IGrid;
 import appeng.api.networking.IGridHost;
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.IGridStorage;
+import appeng.api.networking.events.MENetworkChannelsChanged;
 import appeng.api.networking.events.MENetworkEventSubscribe;
+import appeng.api.networking.events.MENetworkPowerStatusChange;
 import appeng.api.networking.events.MENetworkSecurityChange;
 import appeng.api.networking.security.ISecurityGrid;
 import appeng.api.networking.security.ISecurityProvider;
 import appeng.core.worlddata.WorldData;
 import appeng.me.GridNode;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 
 public class SecurityCache implements ISecurityGrid {
 
@@ -44,6 +51,19 @@ public class SecurityCache implements ISecurityGrid {
     private int startupTicks = 0;
     private static final Set<GameProfile> opPlayers = new HashSet<>();
 
+    // bumped whenever the security of any grid changes, so the owners other grids cached of this one get dropped
+    private static int securityEpoch = 0;
+    private static final int NO_OWNER = Integer.MIN_VALUE;
+
+    /**
+     * The permissions of each player as a bit per {@link SecurityPermissions#ordinal()}, players without a row get the
+     * default row. Rebuilt only when the security terminal reports a change.
+     */
+    private final Int2IntOpenHashMap permissionMatrix = new Int2IntOpenHashMap();
+    private final Object2IntOpenHashMap<UUID> playerIDs = new Object2IntOpenHashMap<>();
+    private final WeakHashMap<IGrid, Integer> gridOwners = new WeakHashMap<>();
+    private int gridOwnersEpoch = 0;
+
     public SecurityCache(final IGrid g) {
         this.myGrid = g;
     }
@@ -51,11 +71,49 @@ public class SecurityCache implements ISecurityGrid {
     @MENetworkEventSubscribe
     public void updatePermissions(final MENetworkSecurityChange ev) {
         this.playerPerms.clear();
-        if (this.securityProvider.isEmpty()) {
-            return;
+        if (!this.securityProvider.isEmpty()) {
+            this.securityProvider.get(0).readPermissions(this.playerPerms);
+        }
+
+        this.updatePermissionMatrix();
+    }
+
+    private void updatePermissionMatrix() {
+        this.permissionMatrix.clear();
+        for (final Map.Entry<Integer, EnumSet<SecurityPermissions>> row : this.playerPerms.entrySet()) {
+            this.permissionMatrix.put((int) row.getKey(), toMask(row.getValue()));
         }
 
-        this.securityProvider.get(0).readPermissions(this.playerPerms);
+        // no default row denies everything
+        final EnumSet<SecurityPermissions> defaultRow = this.playerPerms.get(-1);
+        this.permissionMatrix.defaultReturnValue(defaultRow == null ? 0 : toMask(defaultRow));
+        securityEpoch++;
+    }
+
+    private static int toMask(final EnumSet<SecurityPermissions> perms) {
+        int mask = 0;
+        for (final SecurityPermissions perm : perms) {
+            mask |= 1 << perm.ordinal();
+        }
+
+        if (!perms.contains(SecurityPermissions.EXTRACT)) {
+            mask &= ~(1 << SecurityPermissions.CRAFT.ordinal());
+        }
+
+        return mask;
+    }
+
+    /**
+     * Whether a security terminal is enabled follows the power and channels of its grid.
+     */
+    @MENetworkEventSubscribe
+    public void powerUpdate(final MENetworkPowerStatusChange ev) {
+        securityEpoch++;
+    }
+
+    @MENetworkEventSubscribe
+    public void channelsUpdate(final MENetworkChannelsChanged ev) {
+        securityEpoch++;
     }
 
     public long getSecurityKey() {
@@ -69,6 +127,7 @@ public class SecurityCache implements ISecurityGrid {
 
     @Override
     public void removeNode(final IGridNode gridNode, final IGridHost machine) {
+        this.gridOwners.clear();
         if (machine instanceof ISecurityProvider) {
             this.securityProvider.remove(machine);
             this.updateSecurityKey();
@@ -77,6 +136,7 @@ public class SecurityCache implements ISecurityGrid {
 
     private void updateSecurityKey() {
         final long lastCode = this.securityKey;
+        securityEpoch++;
 
         if (this.securityProvider.size() == 1) {
             this.securityKey = this.securityProvider.get(0).getSecurityKey();
@@ -94,6 +154,7 @@ public class SecurityCache implements ISecurityGrid {
 
     @Override
     public void addNode(final IGridNode gridNode, final IGridHost machine) {
+        this.gridOwners.clear();
         if (machine instanceof ISecurityProvider) {
             this.securityProvider.add((ISecurityProvider) machine);
             this.updateSecurityKey();
@@ -122,33 +183,64 @@ public class SecurityCache implements ISecurityGrid {
         Preconditions.checkNotNull(player);
         Preconditions.checkNotNull(perm);
 
+        if (!this.isAvailable()) {
+            return true;
+        }
+
         final GameProfile profile = player.getGameProfile();
         if (isPlayerOP(profile)) return true;
-        return this.hasPermission(WorldData.instance().playerData().getPlayerID(profile), perm);
+        return this.hasPermission(this.getPlayerID(profile), perm);
+    }
+
+    private int getPlayerID(final GameProfile profile) {
+        final UUID id = profile.getId();
+        if (id == null) {
+            return WorldData.instance().playerData().getPlayerID(profile);
+        }
+
+        if (this.playerIDs.containsKey(id)) {
+            return this.playerIDs.getInt(id);
+        }
+
+        final int playerID = WorldData.instance().playerData().getPlayerID(profile);
+        this.playerIDs.put(id, playerID);
+        return playerID;
     }
 
     @Override
     public boolean hasPermission(final int playerID, final SecurityPermissions perm) {
         if (this.isAvailable()) {
-            final EnumSet<SecurityPermissions> perms = this.playerPerms.get(playerID);
-
-            if (perms == null) {
-                if (playerID == -1) // no default?
-                {
-                    return false;
-                } else {
-                    return this.hasPermission(-1, perm);
-                }
-            }
-            if (perm == SecurityPermissions.CRAFT && !perms.contains(SecurityPermissions.EXTRACT)) {
-                return false;
-            }
-
-            return perms.contains(perm);
+            return (this.permissionMatrix.get(playerID) & 1 << perm.ordinal()) != 0;
         }
         return true;
     }
 
+    /**
+     * @return the player a machine on another grid acts as: the owner of that grid's security terminal, or the player
+     *         that placed the machine if that grid has no security
+     */
+    public int getMachinePlayerID(final IGridNode node) {
+        final IGrid grid = node.getGrid();
+        if (this.gridOwnersEpoch != securityEpoch) {
+            this.gridOwners.clear();
+            this.gridOwnersEpoch = securityEpoch;
+        }
+
+        final Integer cached = this.gridOwners.get(grid);
+        if (cached != null) {
+            return cached == NO_OWNER ? node.getPlayerID() : cached;
+        }
+
+        final ISecurityGrid sg = grid.getCache(ISecurityGrid.class);
+        final int owner = sg.isAvailable() ? sg.getOwner() : NO_OWNER;
+        // a grid still starting up will become available on its own, so only remember settled answers
+        if (!(sg instanceof SecurityCache other) || other.startupTicks >= STARTUP_DELAY) {
+            this.gridOwners.put(grid, owner);
+        }
+
+        return owner == NO_OWNER ? node.getPlayerID() : owner;
+    }
+
     @Override
     public int getOwner() {
         if (this.isAvailable()) {
@@ -0,0 +1,247 @@
+/*
+ * This file is part of Applied Energistics 2. Copyright (c) 2013 - 2014, AlgorithmX2, All rights reserved. Applied
+ * Energistics 2 is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. Applied Energistics 2 is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details. You should have received a copy of the GNU Lesser General Public License along with
+ * Applied Energistics 2. If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import appeng.api.implementations.tiles.IWirelessAccessPoint;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridCache;
+import appeng.api.networking.IGridHost;
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.IGridStorage;
+import appeng.api.util.DimensionalCoord;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+/**
+ * Indexes the wireless access points of a grid by dimension and chunk, so wireless terminals can find the one they are
+ * in range of without measuring the distance to every access point of the grid.
+ * <p>
+ * Every chunk remembers the largest range of its access points, the search only looks at chunks close enough for that
+ * range to reach the player. Access points report range changes through {@link #updateRange}.
+ */
+public class WirelessAccessPointCache implements IGridCache {
+
+    private static final class AccessPoint {
+
+        private final IWirelessAccessPoint wap;
+        private final DimensionalCoord location;
+        private final Cell cell;
+        private double range;
+
+        private AccessPoint(final IWirelessAccessPoint wap, final DimensionalCoord location, final Cell cell) {
+            this.wap = wap;
+            this.location = location;
+            this.cell = cell;
+            this.range = wap.getRange();
+        }
+    }
+
+    private static final class Cell {
+
+        private final int chunkX;
+        private final int chunkZ;
+        private final List<AccessPoint> accessPoints = new ArrayList<>(1);
+        private double maxRange;
+
+        private Cell(final int chunkX, final int chunkZ) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+
+        private void updateMaxRange() {
+            this.maxRange = 0;
+            for (final AccessPoint ap : this.accessPoints) {
+                this.maxRange = Math.max(this.maxRange, ap.range);
+            }
+        }
+
+        /**
+         * @return the squared horizontal distance from the point to the closest block of the chunk
+         */
+        private double horizontalDistanceSq(final double x, final double z) {
+            final double minX = this.chunkX << 4;
+            final double minZ = this.chunkZ << 4;
+            final double dx = x < minX ? minX - x : Math.max(0, x - (minX + 16));
+            final double dz = z < minZ ? minZ - z : Math.max(0, z - (minZ + 16));
+            return dx * dx + dz * dz;
+        }
+    }
+
+    private static final class Dimension {
+
+        private final Long2ObjectOpenHashMap<Cell> cells = new Long2ObjectOpenHashMap<>();
+        private double maxRange;
+        private boolean maxRangeDirty;
+
+        private double getMaxRange() {
+            if (this.maxRangeDirty) {
+                this.maxRange = 0;
+                for (final Cell cell : this.cells.values()) {
+                    this.maxRange = Math.max(this.maxRange, cell.maxRange);
+                }
+                this.maxRangeDirty = false;
+            }
+            return this.maxRange;
+        }
+    }
+
+    private static final class Nearest {
+
+        private IWirelessAccessPoint wap;
+        private double distanceSq = Double.MAX_VALUE;
+
+        private void test(final Cell cell, final double x, final double y, final double z) {
+            if (cell.horizontalDistanceSq(x, z) >= cell.maxRange * cell.maxRange) {
+                return;
+            }
+
+            for (final AccessPoint ap : cell.accessPoints) {
+                final double offX = ap.location.x - x;
+                final double offY = ap.location.y - y;
+                final double offZ = ap.location.z - z;
+                final double r = offX * offX + offY * offY + offZ * offZ;
+                if (r < ap.range * ap.range && r < this.distanceSq && ap.wap.isActive()) {
+                    this.wap = ap.wap;
+                    this.distanceSq = r;
+                }
+            }
+        }
+    }
+
+    private final Map<IGridNode, AccessPoint> accessPoints = new HashMap<>();
+    private final Int2ObjectOpenHashMap<Dimension> dimensions = new Int2ObjectOpenHashMap<>();
+
+    public WirelessAccessPointCache(final IGrid g) {}
+
+    private static long cellKey(final int chunkX, final int chunkZ) {
+        return (long) chunkX << 32 | chunkZ & 0xFFFFFFFFL;
+    }
+
+    /**
+     * @return the closest active access point whose range reaches the position, or null if there is none.
+     */
+    public IWirelessAccessPoint findAccessPoint(final int dimension, final double x, final double y, final double z) {
+        final Dimension dim = this.dimensions.get(dimension);
+        if (dim == null) {
+            return null;
+        }
+
+        final double maxRange = dim.getMaxRange();
+        final int minChunkX = (int) Math.floor((x - maxRange) / 16);
+        final int maxChunkX = (int) Math.floor((x + maxRange) / 16);
+        final int minChunkZ = (int) Math.floor((z - maxRange) / 16);
+        final int maxChunkZ = (int) Math.floor((z + maxRange) / 16);
+        final long area = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+
+        final Nearest nearest = new Nearest();
+        if (area > dim.cells.size()) {
+            // access points with a large range are spread thin, checking every chunk that has one is cheaper
+            for (final Cell cell : dim.cells.values()) {
+                nearest.test(cell, x, y, z);
+            }
+        } else {
+            for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+                for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+                    final Cell cell = dim.cells.get(cellKey(cx, cz));
+                    if (cell != null) {
+                        nearest.test(cell, x, y, z);
+                    }
+                }
+            }
+        }
+        return nearest.wap;
+    }
+
+    /**
+     * Picks up a changed range of an access point, like after boosters were added or taken out.
+     */
+    public void updateRange(final IGridNode node) {
+        final AccessPoint ap = this.accessPoints.get(node);
+        if (ap == null) {
+            return;
+        }
+
+        ap.range = ap.wap.getRange();
+        ap.cell.updateMaxRange();
+        this.dimensions.get(ap.location.getDimension()).maxRangeDirty = true;
+    }
+
+    @Override
+    public void onUpdateTick() {}
+
+    @Override
+    public void removeNode(final IGridNode node, final IGridHost machine) {
+        final AccessPoint ap = this.accessPoints.remove(node);
+        if (ap == null) {
+            return;
+        }
+
+        final Cell cell = ap.cell;
+        cell.accessPoints.remove(ap);
+        final Dimension dim = this.dimensions.get(ap.location.getDimension());
+        if (cell.accessPoints.isEmpty()) {
+            dim.cells.remove(cellKey(cell.chunkX, cell.chunkZ));
+            if (dim.cells.isEmpty()) {
+                this.dimensions.remove(ap.location.getDimension());
+                return;
+            }
+        } else {
+            cell.updateMaxRange();
+        }
+        dim.maxRangeDirty = true;
+    }
+
+    @Override
+    public void addNode(final IGridNode node, final IGridHost machine) {
+        if (!(machine instanceof IWirelessAccessPoint wap) || this.accessPoints.containsKey(node)) {
+            return;
+        }
+
+        final DimensionalCoord location = wap.getLocation();
+        if (location == null) {
+            return;
+        }
+
+        Dimension dim = this.dimensions.get(location.getDimension());
+        if (dim == null) {
+            dim = new Dimension();
+            this.dimensions.put(location.getDimension(), dim);
+        }
+
+        final int chunkX = location.x >> 4;
+        final int chunkZ = location.z >> 4;
+        Cell cell = dim.cells.get(cellKey(chunkX, chunkZ));
+        if (cell == null) {
+            cell = new Cell(chunkX, chunkZ);
+            dim.cells.put(cellKey(chunkX, chunkZ), cell);
+        }
+
+        final AccessPoint ap = new AccessPoint(wap, location, cell);
+        cell.accessPoints.add(ap);
+        cell.maxRange = Math.max(cell.maxRange, ap.range);
+        dim.maxRange = Math.max(dim.maxRange, ap.range);
+        this.accessPoints.put(node, ap);
+    }
+
+    @Override
+    public void onSplit(final IGridStorage storageB) {}
+
+    @Override
+    public void onJoin(final IGridStorage storageB) {}
+
+    @Override
+    public void populateGridStorage(final IGridStorage storage) {}
+}
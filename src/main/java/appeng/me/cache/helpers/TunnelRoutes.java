@@ -0,0 +1,158 @@
+/*
+ * This file is part of Applied Energistics 2. Copyright (c) 2013 - 2014, AlgorithmX2, All rights reserved. Applied
+ * Energistics 2 is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. Applied Energistics 2 is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details. You should have received a copy of the GNU Lesser General Public License along with
+ * Applied Energistics 2. If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.cache.helpers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import appeng.parts.p2p.PartP2PTunnel;
+
+/**
+ * The outputs of one frequency, of one tunnel type, together with the target each of them resolved to.
+ * <p>
+ * Adding or removing an output only marks the table, the output array is rebuilt once on the next lookup. A change
+ * next to a single output drops just the target of that output, every other target stays resolved.
+ */
+public class TunnelRoutes<T extends PartP2PTunnel> {
+
+    private static final Object UNRESOLVED = new Object();
+
+    private final Collection<PartP2PTunnel> source;
+    private final Class<T> clz;
+    private final Map<PartP2PTunnel, Integer> index = new IdentityHashMap<>();
+
+    private PartP2PTunnel[] outputs;
+    private Object[] targets;
+    private int cursor = 0;
+    private int version = 0;
+    private int rebuilds = 0;
+
+    public TunnelRoutes(final Collection<PartP2PTunnel> source, final Class<T> clz) {
+        this.source = source;
+        this.clz = clz;
+    }
+
+    public boolean matches(final Class<? extends PartP2PTunnel> c) {
+        return this.clz == c;
+    }
+
+    /**
+     * Forgets the outputs, called when one joins or leaves the frequency.
+     */
+    public void invalidateOutputs() {
+        this.outputs = null;
+        this.version++;
+    }
+
+    /**
+     * Forgets the resolved targets of all outputs, but keeps the outputs themselves.
+     */
+    public void invalidateTargets() {
+        if (this.targets != null) {
+            Arrays.fill(this.targets, UNRESOLVED);
+        }
+        this.version++;
+    }
+
+    /**
+     * Forgets the resolved target of a single output.
+     */
+    public void invalidateTarget(final PartP2PTunnel output) {
+        final Integer i = this.index.get(output);
+        if (i != null && this.outputs != null) {
+            this.targets[i] = UNRESOLVED;
+            this.version++;
+        }
+    }
+
+    private void update() {
+        if (this.outputs != null) {
+            return;
+        }
+
+        final List<PartP2PTunnel> found = new ArrayList<>(this.source.size());
+        for (final PartP2PTunnel t : this.source) {
+            if (this.clz.isInstance(t)) {
+                found.add(t);
+            }
+        }
+
+        this.outputs = found.toArray(new PartP2PTunnel[0]);
+        this.targets = new Object[this.outputs.length];
+        Arrays.fill(this.targets, UNRESOLVED);
+        this.index.clear();
+        for (int i = 0; i < this.outputs.length; i++) {
+            this.index.put(this.outputs[i], i);
+        }
+
+        if (this.cursor >= this.outputs.length) {
+            this.cursor = 0;
+        }
+        this.rebuilds++;
+    }
+
+    public int size() {
+        this.update();
+        return this.outputs.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(final int i) {
+        this.update();
+        return (T) this.outputs[i];
+    }
+
+    /**
+     * @return the target of output {@code i}, asking the resolver only if it has not been resolved since it was last
+     *         invalidated
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R getTarget(final int i, final Function<? super T, R> resolver) {
+        this.update();
+        if (this.targets[i] == UNRESOLVED) {
+            this.targets[i] = resolver.apply((T) this.outputs[i]);
+        }
+        return (R) this.targets[i];
+    }
+
+    /**
+     * @return the output to start the next round at, each call moves on by one output
+     */
+    public int nextStart() {
+        this.update();
+        if (this.outputs.length == 0) {
+            return 0;
+        }
+
+        final int start = this.cursor;
+        this.cursor = (this.cursor + 1) % this.outputs.length;
+        return start;
+    }
+
+    /**
+     * @return a number that changes whenever an output or a resolved target was dropped
+     */
+    public int getVersion() {
+        return this.version;
+    }
+
+    /**
+     * @return how often the output array was built
+     */
+    public int getRebuilds() {
+        return this.rebuilds;
+    }
+}
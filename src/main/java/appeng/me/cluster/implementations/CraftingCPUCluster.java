@@ -134,6 +134,7 @@ import appeng.util.TunnelPatternExpander;
 import appeng.util.inv.MEInventoryCrafting;
 import appeng.util.item.AEItemStack;
 import cpw.mods.fml.common.FMLCommonHandler;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 
 public class CraftingCPUCluster implements IAECluster, ICraftingCPU {
 
@@ -146,6 +147,10 @@ public class CraftingCPUCluster implements IAECluster, ICraftingCPU {
             .comparing(ICraftingPatternDetails::getPriority).thenComparing(ICraftingPatternDetails::hashCode);
     protected final Map<ICraftingPatternDetails, TaskProgress> tasks = new TreeMap<>(priorityComparator);
     protected final Map<ICraftingPatternDetails, TaskProgress> workableTasks = new TreeMap<>(priorityComparator);
+    /**
+     * Outputs of all {@link #tasks} times their remaining crafts, kept up to date by the methods that change them.
+     */
+    protected final Object2LongOpenHashMap<IAEStack<?>> pendingOutputs = new Object2LongOpenHashMap<>();
     protected final HashSet<ICraftingMedium> knownBusyMediums = new HashSet<>();
     // INSTANCE sate
     protected final LinkedList<TileCraftingTile> tiles = new LinkedList<>();
@@ -171,6 +176,14 @@ public class CraftingCPUCluster implements IAECluster, ICraftingCPU {
     protected int accelerator = 0;
     protected boolean isComplete = true;
     protected int remainingOperations;
+    /**
+     * Pattern table of the last save, shared with the saved chunk data and therefore never modified.
+     */
+    protected NBTTagList savedPatternTable;
+    /**
+     * Entries of the saved pattern table whose task is gone, left blank so the other tasks keep their index.
+     */
+    protected int savedPatternHoles;
     protected boolean somethingChanged;
 
     protected long lastTime;
@@ -718,7 +731,7 @@ public class CraftingCPUCluster implements IAECluster, ICraftingCPU {
         this.usedStorage = 0;
         this.isComplete = true;
         this.myLastLink = null;
-        this.tasks.clear();
+        this.clearTasks();
         this.providers.clear();
         final ImmutableSet<IAEStack<?>> items = ImmutableSet.copyOf(this.waitingFor);
 
@@ -805,7 +818,7 @@ public class CraftingCPUCluster implements IAECluster, ICraftingCPU {
 
             if (craftingEntry.getValue().value <= 0) {
                 final ICraftingPatternDetails ceKey = craftingEntry.getKey();
-                this.tasks.remove(ceKey);
+                this.removeTask(ceKey);
                 parallelismProvider.remove(ceKey);
                 reasonProvider.remove(ceKey);
                 craftingTaskIterator.remove();
@@ -859,6 +872,35 @@ public class CraftingCPUCluster implements IAECluster, ICraftingCPU {
                         continue;
                     }
 
+                    if (craftingInventory == null) {
+                        final int batched = this.pushPatternBatch(eg, cc, medium, details, craftingEntry.getValue());
+                        if (batched > 0) {
+                            pushedPattern = true;
+                            didPatternCraft = true;
+                            executedTasks += batched;
+                            if (craftingEntry.getValue().value <= 0) {
+                                // This craftingEntry is done.
+                                break doWhileCraftingLoop;
+                            }
+
+                            if (this.remainingOperations == 0) {
+                                if (mediumListCheck != null) parallelismProvider.put(details, mediumListCheck);
+                                return;
+                            }
+
+                            sr = medium.getScheduledReason();
+                            final List<IAEStack<?>> condensedInputsForRetry = getExpandedCondensedInputs(details, cc);
+                            if (condensedInputsForRetry == null) {
+                                throw new IllegalStateException("Input-only pattern expansion failed");
+                            }
+                            if (!this.canCraft(details, condensedInputsForRetry)) {
+                                sr = ScheduledReason.NOT_ENOUGH_INGREDIENTS;
+                                break;
+                            }
+                            continue;
+                        }
+                    }
+
                     // Find a valid craftingInventory for this craft.
                     double sum = 0;
                     if (craftingInventory == null) {
@@ -935,10 +977,10 @@ public class CraftingCPUCluster implements IAECluster, ICraftingCPU {
                         }
 
                         if (this.finalOutput.isFakeCrafting() && this.finalOutput.isFinalPattern(details)) {
-                            craftingEntry.getValue().value--;
+                            this.addTaskProgress(details, craftingEntry.getValue(), -1);
 
                             if (craftingEntry.getValue().value <= 0) {
-                                this.tasks.remove(details);
+                                this.removeTask(details);
                                 parallelismProvider.remove(details);
                                 reasonProvider.remove(details);
                                 craftingTaskIterator.remove();
@@ -991,7 +1033,7 @@ public class CraftingCPUCluster implements IAECluster, ICraftingCPU {
                         this.markDirty();
 
                         executedTasks += 1;
-                        craftingEntry.getValue().value--;
+                        this.addTaskProgress(details, craftingEntry.getValue(), -1);
                         if (craftingEntry.getValue().value <= 0) {
                             // This craftingEntry is done.
                             break doWhileCraftingLoop;
@@ -1050,6 +1092,164 @@ public class CraftingCPUCluster implements IAECluster, ICraftingCPU {
         }
     }
 
+    /**
+     * Pushes several copies of a pattern into a medium at once, with one power extraction, one extraction per distinct
+     * input and one set of change notifications. Only exact (non-substitute) patterns are batched, everything else and
+     * every medium that does not support batches goes through the single copy path.
+     *
+     * @return the number of pushed copies, 0 if the single copy path should be used instead.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    protected int pushPatternBatch(final IEnergyGrid eg, final CraftingGridCache cc, final ICraftingMedium medium,
+            final ICraftingPatternDetails details, final TaskProgress progress) {
+        if (details.canSubstitute() || this.remainingOperations < 2
+                || progress.value < 2
+                || medium.getBlockingMode() == BlockingMode.BLOCKING) {
+            return 0;
+        }
+        if (this.finalOutput.isFinalPattern(details) && (this.finalOutput.isFakeCrafting()
+                || medium instanceof DualityInterface di && di.isFakeCraftingMode())) {
+            return 0;
+        }
+
+        int copies = (int) Math
+                .min(Math.min(progress.value, this.remainingOperations), medium.getMaxBatchSize(details));
+        if (copies < 2) {
+            return 0;
+        }
+
+        final boolean craftable = details.isCraftable();
+        final List<IAEStack<?>> expandedInputs = craftable ? Arrays.asList(details.getAEInputs())
+                : getExpandedInputs(details, cc);
+        final List<IAEStack<?>> condensedInputs = getExpandedCondensedInputs(details, cc);
+        if (expandedInputs == null || condensedInputs == null) {
+            throw new IllegalStateException("Input-only pattern expansion failed");
+        }
+
+        double perCopy = 0;
+        for (final IAEStack<?> anInput : expandedInputs) {
+            if (anInput != null) {
+                perCopy += (double) anInput.getStackSize() / anInput.getAmountPerUnit();
+            }
+        }
+        // upgraded interface uses more power
+        if (medium instanceof DualityInterface) perCopy *= Math
+                .pow(4.0, ((DualityInterface) medium).getInstalledUpgrades(Upgrades.PATTERN_CAPACITY));
+
+        if (perCopy > 0) {
+            final double available = eg.extractAEPower(perCopy * copies, Actionable.SIMULATE, PowerMultiplier.CONFIG);
+            copies = (int) Math.min(copies, (long) ((available + 0.01) / perCopy));
+        }
+
+        for (final IAEStack<?> input : condensedInputs) {
+            if (copies < 2) {
+                return 0;
+            }
+            final IAEStack request = input.copy();
+            request.setStackSize(input.getStackSize() * copies);
+            final IAEStack<?> available = this.inventory.extractItems(request, Actionable.SIMULATE);
+            copies = (int) Math.min(copies, available == null ? 0 : available.getStackSize() / input.getStackSize());
+        }
+        if (copies < 2) {
+            return 0;
+        }
+
+        final List<IAEStack<?>> extracted = new ArrayList<>(condensedInputs.size());
+        for (final IAEStack<?> input : condensedInputs) {
+            final IAEStack request = input.copy();
+            request.setStackSize(input.getStackSize() * copies);
+            final IAEStack<?> aes = this.inventory.extractItems(request, Actionable.MODULATE);
+            if (aes != null) {
+                extracted.add(aes);
+            }
+            if (aes == null || aes.getStackSize() != request.getStackSize()) {
+                for (final IAEStack<?> back : extracted) {
+                    this.inventory.injectItems(back, Actionable.MODULATE);
+                }
+                return 0;
+            }
+        }
+
+        final MEInventoryCrafting table = craftable ? new MEInventoryCrafting(new ContainerNull(), 3, 3)
+                : new MEInventoryCrafting(new ContainerNull(), expandedInputs.size(), 1);
+        for (int x = 0; x < expandedInputs.size(); x++) {
+            final IAEStack<?> slotInput = expandedInputs.get(x);
+            if (slotInput != null) {
+                table.setInventorySlotContents(x, slotInput.copy());
+            }
+        }
+
+        final int pushed = Math.max(0, Math.min(copies, medium.pushPatterns(details, table, copies)));
+        if (pushed < copies) {
+            for (final IAEStack<?> input : condensedInputs) {
+                final IAEStack back = input.copy();
+                back.setStackSize(input.getStackSize() * (copies - pushed));
+                this.inventory.injectItems(back, Actionable.MODULATE);
+            }
+        }
+        if (pushed == 0) {
+            return 0;
+        }
+
+        for (final IAEStack<?> input : condensedInputs) {
+            this.postChange(input, this.machineSrc);
+        }
+
+        eg.extractAEPower(perCopy * pushed, Actionable.MODULATE, PowerMultiplier.CONFIG);
+        this.somethingChanged = true;
+        this.remainingOperations -= pushed;
+
+        if (!this.finalOutput.isFakeCrafting() && this.finalOutput.isFinalPattern(details)) {
+            if (medium instanceof DualityInterface di && di.isFakeCraftingMode()) {
+                this.finalOutput.setFakeCrafting();
+            }
+        }
+
+        final boolean diagnosticsEnabled = this.isCraftingDiagnosticsEnabled();
+        for (int copy = 0; copy < pushed; copy++) {
+            final CraftingDiagnosticSessionId diagnosticSessionId = progress.consumeCraftSession();
+            if (diagnosticSessionId == null || !diagnosticsEnabled) {
+                continue;
+            }
+            final long outputObservedAtTick = getServerTick();
+            for (final IAEStack<?> outputItemStack : details.getCondensedAEOutputs()) {
+                this.diagnostics.recordExpectedOutput(outputItemStack, outputObservedAtTick, diagnosticSessionId);
+            }
+        }
+
+        for (final IAEStack<?> outputItemStack : details.getCondensedAEOutputs()) {
+            final IAEStack<?> total = outputItemStack.copy();
+            total.setStackSize(outputItemStack.getStackSize() * pushed);
+            this.postChange(outputItemStack, this.machineSrc);
+            this.waitingFor.add(total);
+            this.postCraftingStatusChange(total.copy());
+        }
+
+        if (craftable) {
+            final ItemStack output = details.getOutput(table, this.getWorld());
+            if (output != null) {
+                final ItemStack crafted = output.copy();
+                crafted.stackSize = (int) Math.min(Integer.MAX_VALUE, (long) crafted.stackSize * pushed);
+                FMLCommonHandler.instance()
+                        .firePlayerCraftingEvent(Platform.getPlayer((WorldServer) this.getWorld()), crafted, table);
+            }
+            for (int x = 0; x < table.getSizeInventory(); x++) {
+                final ItemStack container = Platform.getContainerItem(table.getStackInSlot(x));
+                if (container != null) {
+                    final IAEItemStack cItem = AEItemStack.create(container);
+                    cItem.setStackSize(cItem.getStackSize() * pushed);
+                    this.postChange(cItem, this.machineSrc);
+                    this.waitingFor.add(cItem);
+                    this.postCraftingStatusChange(cItem);
+                }
+            }
+        }
+
+        this.markDirty();
+        this.addTaskProgress(details, progress, -pushed);
+        return pushed;
+    }
+
     @SuppressWarnings({ "unchecked", "rawtypes" })
     protected void storeItems() {
         final IGrid g = this.getGrid();
@@ -1183,7 +1383,7 @@ public class CraftingCPUCluster implements IAECluster, ICraftingCPU {
                 this.finalizeActiveDiagnosticSessions();
                 this.finalOutput.reset();
                 this.waitingForMissing.resetStatus();
-                this.tasks.clear();
+                this.clearTasks();
                 this.providers.clear();
                 this.inventory.resetStatus();
                 this.diagnostics.clear();
@@ -1194,7 +1394,7 @@ public class CraftingCPUCluster implements IAECluster, ICraftingCPU {
             this.finalizeActiveDiagnosticSessions();
             this.finalOutput.reset();
             this.waitingForMissing.resetStatus();
-            this.tasks.clear();
+            this.clearTasks();
             this.providers.clear();
             this.inventory.resetStatus();
             this.diagnostics.clear();
@@ -1273,14 +1473,12 @@ public class CraftingCPUCluster implements IAECluster, ICraftingCPU {
             } else {
                 inventory = backupInventory;
                 waitingForMissing = backupWaitingForMissing;
-                tasks.clear();
-                tasks.putAll(tasksBackup);
+                this.restoreTasks(tasksBackup);
             }
         } catch (final CraftBranchFailure e) {
             inventory = backupInventory;
             waitingForMissing = backupWaitingForMissing;
-            tasks.clear();
-            tasks.putAll(tasksBackup);
+            this.restoreTasks(tasksBackup);
             handleCraftBranchFailure(e, src);
         } finally {
             this.currentPlanningDiagnosticSessionId = null;
@@ -1290,12 +1488,24 @@ public class CraftingCPUCluster implements IAECluster, ICraftingCPU {
     }
 
     protected boolean hasRemainingTasks() {
-        this.tasks.entrySet().removeIf(
-                iCraftingPatternDetailsTaskProgressEntry -> iCraftingPatternDetailsTaskProgressEntry.getValue().value
-                        <= 0);
+        final Iterator<Entry<ICraftingPatternDetails, TaskProgress>> it = this.tasks.entrySet().iterator();
+        while (it.hasNext()) {
+            final Entry<ICraftingPatternDetails, TaskProgress> e = it.next();
+            if (e.getValue().value <= 0) {
+                this.addPendingOutputs(e.getKey(), -e.getValue().value);
+                it.remove();
+            }
+        }
         return !this.tasks.isEmpty();
     }
 
+    private void restoreTasks(final Map<ICraftingPatternDetails, TaskProgress> backup) {
+        this.clearTasks();
+        for (final Entry<ICraftingPatternDetails, TaskProgress> e : backup.entrySet()) {
+            this.putTask(e.getKey(), e.getValue());
+        }
+    }
+
     @Override
     public boolean isBusy() {
         return this.hasRemainingTasks() || !this.waitingFor.isEmpty();
@@ -1462,13 +1672,64 @@ public class CraftingCPUCluster implements IAECluster, ICraftingCPU {
         TaskProgress i = this.tasks.get(details);
 
         if (i == null) {
-            this.tasks.put(details, i = new TaskProgress());
+            this.putTask(details, i = new TaskProgress());
         }
 
-        i.value += crafts;
+        this.addTaskProgress(details, i, crafts);
         i.addCraftsToSession(this.currentPlanningDiagnosticSessionId, crafts);
     }
 
+    /**
+     * Adds the task of a pattern, replacing the one it had before.
+     */
+    protected void putTask(final ICraftingPatternDetails details, final TaskProgress progress) {
+        final TaskProgress old = this.tasks.put(details, progress);
+        if (old != progress) {
+            if (old != null) {
+                this.addPendingOutputs(details, -old.value);
+            }
+            this.addPendingOutputs(details, progress.value);
+        }
+    }
+
+    protected void removeTask(final ICraftingPatternDetails details) {
+        final TaskProgress old = this.tasks.remove(details);
+        if (old != null) {
+            this.addPendingOutputs(details, -old.value);
+        }
+    }
+
+    protected void clearTasks() {
+        this.tasks.clear();
+        this.pendingOutputs.clear();
+    }
+
+    /**
+     * Changes the remaining crafts of a task, negative to count finished ones.
+     */
+    protected void addTaskProgress(final ICraftingPatternDetails details, final TaskProgress progress,
+            final long crafts) {
+        progress.value += crafts;
+        if (this.tasks.get(details) == progress) {
+            this.addPendingOutputs(details, crafts);
+        }
+    }
+
+    private void addPendingOutputs(final ICraftingPatternDetails details, final long crafts) {
+        if (crafts == 0) {
+            return;
+        }
+
+        for (final IAEStack<?> out : details.getCondensedAEOutputs()) {
+            final long pending = this.pendingOutputs.getLong(out) + out.getStackSize() * crafts;
+            if (pending == 0) {
+                this.pendingOutputs.removeLong(out);
+            } else {
+                this.pendingOutputs.put(out, pending);
+            }
+        }
+    }
+
     public long getStackAmount(final IAEStack what, final CraftingItemList storage2) {
         switch (storage2) {
             case STORAGE: {
@@ -1480,15 +1741,7 @@ public class CraftingCPUCluster implements IAECluster, ICraftingCPU {
                 return stack == null ? 0 : stack.getStackSize();
             }
             case PENDING: {
-                long amount = 0;
-                for (final Entry<ICraftingPatternDetails, TaskProgress> t : this.tasks.entrySet()) {
-                    for (final IAEStack<?> ais : t.getKey().getCondensedAEOutputs()) {
-                        if (Objects.equals(ais, what)) {
-                            amount += ais.getStackSize() * t.getValue().value;
-                        }
-                    }
-                }
-                return amount;
+                return what == null ? 0 : this.pendingOutputs.getLong(what);
             }
             default:
                 throw new IllegalStateException("Invalid Operation");
@@ -1558,17 +1811,7 @@ public class CraftingCPUCluster implements IAECluster, ICraftingCPU {
             data.setTag("link", link);
         }
 
-        NBTTagList list = new NBTTagList();
-        for (final Entry<ICraftingPatternDetails, TaskProgress> e : this.tasks.entrySet()) {
-            final NBTTagCompound item = new NBTTagCompound();
-            AEItemStack.create(e.getKey().getPattern()).writeToNBT(item);
-            item.setLong("craftingProgress", e.getValue().value);
-            if (!e.getValue().diagnosticSessionCrafts.isEmpty()) {
-                item.setTag("diagnosticSessions", e.getValue().writeDiagnosticSessionsToNBT());
-            }
-            list.appendTag(item);
-        }
-        data.setTag("tasks", list);
+        this.writeTasksToNBT(data);
 
         data.setTag("waitingFor", writeAEStackListNBT(this.waitingFor));
         data.setTag("waitingForMissing", writeAEStackListNBT(this.waitingForMissing));
@@ -1576,6 +1819,162 @@ public class CraftingCPUCluster implements IAECluster, ICraftingCPU {
         data.setLong("elapsedTime", this.getElapsedTime());
         data.setLong("startItemCount", this.getStartItemCount());
         data.setLong("remainingItemCount", this.getRemainingItemCount());
+
+        CraftingCPUSaveMetrics.recordSave(data);
+    }
+
+    /**
+     * Tasks only reference their pattern by its index in the "patterns" table, saved as a plain item. A task keeps its
+     * index until it is gone, its table entry is then left blank. Only once blank entries outnumber the running tasks
+     * the table is numbered again, which rewrites every task entry. Tasks keep their pattern tag, so this never writes
+     * a pattern again. Task entries are reused as long as their progress did not change. Saved tags are handed to the
+     * chunk writer, so they are never modified after they were written once.
+     */
+    protected void writeTasksToNBT(final NBTTagCompound data) {
+        int listed = 0;
+        for (final TaskProgress tp : this.tasks.values()) {
+            if (tp.patternId >= 0) {
+                listed++;
+            }
+        }
+
+        NBTTagList patternTable = this.savedPatternTable;
+        boolean tableChanged = false;
+        if (patternTable == null) {
+            patternTable = new NBTTagList();
+            tableChanged = true;
+            this.savedPatternHoles = 0;
+        }
+
+        final int gone = patternTable.tagCount() - this.savedPatternHoles - listed;
+        if (gone > 0) {
+            final int holes = this.savedPatternHoles + gone;
+            if (holes > listed) {
+                // mostly blank, number the running tasks again
+                patternTable = new NBTTagList();
+                this.savedPatternHoles = 0;
+                for (final TaskProgress tp : this.tasks.values()) {
+                    tp.patternId = -1;
+                }
+            } else {
+                final boolean[] running = new boolean[patternTable.tagCount()];
+                for (final TaskProgress tp : this.tasks.values()) {
+                    if (tp.patternId >= 0) {
+                        running[tp.patternId] = true;
+                    }
+                }
+                final NBTTagList previous = patternTable;
+                patternTable = new NBTTagList();
+                for (int x = 0; x < previous.tagCount(); x++) {
+                    patternTable.appendTag(running[x] ? previous.getCompoundTagAt(x) : new NBTTagCompound());
+                }
+                this.savedPatternHoles = holes;
+            }
+            tableChanged = true;
+        }
+
+        int rewritten = 0;
+        final NBTTagList list = new NBTTagList();
+        for (final Entry<ICraftingPatternDetails, TaskProgress> e : this.tasks.entrySet()) {
+            final TaskProgress tp = e.getValue();
+
+            if (tp.patternId < 0) {
+                if (!tableChanged) {
+                    final NBTTagList previous = patternTable;
+                    patternTable = new NBTTagList();
+                    for (int x = 0; x < previous.tagCount(); x++) {
+                        patternTable.appendTag(previous.getCompoundTagAt(x));
+                    }
+                    tableChanged = true;
+                }
+                if (tp.patternTag == null) {
+                    tp.patternTag = e.getKey().getPattern().writeToNBT(new NBTTagCompound());
+                }
+                tp.patternId = patternTable.tagCount();
+                patternTable.appendTag(tp.patternTag);
+                tp.savedTag = null;
+            }
+
+            if (tp.savedTag == null || tp.savedValue != tp.value || !tp.diagnosticSessionCrafts.isEmpty()) {
+                final NBTTagCompound item = new NBTTagCompound();
+                item.setInteger("pattern", tp.patternId);
+                item.setLong("craftingProgress", tp.value);
+                if (!tp.diagnosticSessionCrafts.isEmpty()) {
+                    item.setTag("diagnosticSessions", tp.writeDiagnosticSessionsToNBT());
+                }
+                tp.savedTag = item;
+                tp.savedValue = tp.value;
+                rewritten++;
+            }
+
+            list.appendTag(tp.savedTag);
+        }
+
+        this.savedPatternTable = patternTable;
+        data.setTag("patterns", patternTable);
+        data.setTag("tasks", list);
+
+        CraftingCPUSaveMetrics.recordTasks(rewritten, this.tasks.size() - rewritten, tableChanged);
+    }
+
+    protected void readTasksFromNBT(final NBTTagCompound data) {
+        final NBTTagList list = data.getTagList("tasks", NBT.TAG_COMPOUND);
+
+        if (!data.hasKey("patterns", NBT.TAG_LIST)) {
+            // tasks saved with their full pattern
+            for (int x = 0; x < list.tagCount(); x++) {
+                final NBTTagCompound item = list.getCompoundTagAt(x);
+                final ICraftingPatternDetails details = this.loadPattern(item);
+                if (details != null) {
+                    this.putTask(details, this.loadTaskProgress(item));
+                }
+            }
+            return;
+        }
+
+        final NBTTagList patternTable = data.getTagList("patterns", NBT.TAG_COMPOUND);
+        final ICraftingPatternDetails[] patterns = new ICraftingPatternDetails[patternTable.tagCount()];
+        for (int x = 0; x < patterns.length; x++) {
+            final ItemStack pattern = ItemStack.loadItemStackFromNBT(patternTable.getCompoundTagAt(x));
+            if (pattern != null && pattern.getItem() instanceof ICraftingPatternItem cpi) {
+                patterns[x] = cpi.getPatternForItem(pattern, this.getWorld());
+            }
+        }
+
+        for (int x = 0; x < list.tagCount(); x++) {
+            final NBTTagCompound item = list.getCompoundTagAt(x);
+            final int id = item.getInteger("pattern");
+            if (id >= 0 && id < patterns.length && patterns[id] != null) {
+                final TaskProgress tp = this.loadTaskProgress(item);
+                tp.patternId = id;
+                tp.patternTag = patternTable.getCompoundTagAt(id);
+                this.putTask(patterns[id], tp);
+            }
+        }
+
+        int holes = 0;
+        for (int x = 0; x < patternTable.tagCount(); x++) {
+            if (patternTable.getCompoundTagAt(x).hasNoTags()) {
+                holes++;
+            }
+        }
+        this.savedPatternTable = patternTable;
+        this.savedPatternHoles = holes;
+    }
+
+    private ICraftingPatternDetails loadPattern(final NBTTagCompound item) {
+        final IAEItemStack pattern = AEItemStack.loadItemStackFromNBT(item);
+        if (pattern != null && pattern.getItem() instanceof ICraftingPatternItem cpi) {
+            return cpi.getPatternForItem(pattern.getItemStack(), this.getWorld());
+        }
+        return null;
+    }
+
+    private TaskProgress loadTaskProgress(final NBTTagCompound item) {
+        final TaskProgress tp = new TaskProgress();
+        tp.value = item.getLong("craftingProgress");
+        tp.readDiagnosticSessionsFromNBT(item.getTagList("diagnosticSessions", NBT.TAG_COMPOUND));
+        return tp;
     }
 
     protected void done() {
@@ -1622,20 +2021,7 @@ public class CraftingCPUCluster implements IAECluster, ICraftingCPU {
             this.submitLink(this.myLastLink);
         }
 
-        NBTTagList list = data.getTagList("tasks", NBT.TAG_COMPOUND);
-        for (int x = 0; x < list.tagCount(); x++) {
-            final NBTTagCompound item = list.getCompoundTagAt(x);
-            final IAEItemStack pattern = AEItemStack.loadItemStackFromNBT(item);
-            if (pattern != null && pattern.getItem() instanceof ICraftingPatternItem cpi) {
-                final ICraftingPatternDetails details = cpi.getPatternForItem(pattern.getItemStack(), this.getWorld());
-                if (details != null) {
-                    final TaskProgress tp = new TaskProgress();
-                    tp.value = item.getLong("craftingProgress");
-                    tp.readDiagnosticSessionsFromNBT(item.getTagList("diagnosticSessions", NBT.TAG_COMPOUND));
-                    this.tasks.put(details, tp);
-                }
-            }
-        }
+        this.readTasksFromNBT(data);
 
         this.finalOutput.readFromNBT((NBTTagCompound) data.getTag("finalOutput"));
         this.waitingFor = readAEStackListNBT((NBTTagList) data.getTag("waitingFor"), true);
@@ -2092,6 +2478,13 @@ public class CraftingCPUCluster implements IAECluster, ICraftingCPU {
     public static class TaskProgress {
 
         protected long value;
+        /**
+         * Index into the saved pattern table, -1 until the task was saved once.
+         */
+        protected int patternId = -1;
+        protected NBTTagCompound patternTag;
+        protected long savedValue;
+        protected NBTTagCompound savedTag;
         protected final LinkedList<SessionCraftCount> diagnosticSessionCrafts = new LinkedList<>();
 
         protected void addCraftsToSession(final CraftingDiagnosticSessionId diagnosticSessionId, final long crafts) {
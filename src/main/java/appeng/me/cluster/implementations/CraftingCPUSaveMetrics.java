@@ -0,0 +1,101 @@
+/*
+ * This file is part of Applied Energistics 2. Copyright (c) 2013 - 2015, AlgorithmX2, All rights reserved. Applied
+ * Energistics 2 is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. Applied Energistics 2 is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details. You should have received a copy of the GNU Lesser General Public License along with
+ * Applied Energistics 2. If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.cluster.implementations;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+
+import com.google.common.io.ByteStreams;
+
+import appeng.core.AELog;
+
+/**
+ * Counters for saving crafting CPU state, only touched from the server thread.
+ */
+public final class CraftingCPUSaveMetrics {
+
+    private static long saves;
+    private static long measuredSaves;
+    private static long bytes;
+    private static long maxBytes;
+    private static long lastBytes;
+    private static long tasksRewritten;
+    private static long tasksReused;
+    private static long patternTablesWritten;
+
+    private CraftingCPUSaveMetrics() {}
+
+    static void recordTasks(final int rewritten, final int reused, final boolean newPatternTable) {
+        tasksRewritten += rewritten;
+        tasksReused += reused;
+        if (newPatternTable) {
+            patternTablesWritten++;
+        }
+    }
+
+    /**
+     * Counts a save of a CPU. Measuring its size serializes the whole tag once more, so this only happens while the
+     * debug log is enabled.
+     */
+    static void recordSave(final NBTTagCompound data) {
+        saves++;
+        if (!AELog.isDebugLogEnabled()) {
+            return;
+        }
+
+        final int size = measure(data);
+        if (size >= 0) {
+            measuredSaves++;
+            lastBytes = size;
+            bytes += size;
+            maxBytes = Math.max(maxBytes, size);
+        }
+    }
+
+    /**
+     * @return the uncompressed size the tag takes in the chunk data
+     */
+    public static int measure(final NBTTagCompound data) {
+        final DataOutputStream out = new DataOutputStream(ByteStreams.nullOutputStream());
+        try {
+            CompressedStreamTools.write(data, out);
+        } catch (final IOException e) {
+            return -1;
+        }
+        return out.size();
+    }
+
+    public static List<String> describe() {
+        final List<String> out = new ArrayList<>();
+        out.add("CPU saves: " + saves);
+        if (measuredSaves == 0) {
+            out.add("Bytes per save: not measured, enable the debug log to measure them");
+        } else {
+            out.add(
+                    "Bytes per save: " + bytes / measuredSaves
+                            + " average, "
+                            + maxBytes
+                            + " largest, "
+                            + lastBytes
+                            + " last, over "
+                            + measuredSaves
+                            + " saves");
+        }
+        out.add("Task entries rewritten: " + tasksRewritten + ", reused: " + tasksReused);
+        out.add("Pattern tables written: " + patternTablesWritten);
+        return out;
+    }
+}
@@ -16,6 +16,7 @@ import java.util.Iterator;
 
 import appeng.api.networking.energy.IEnergyWatcher;
 import appeng.api.networking.energy.IEnergyWatcherHost;
+import appeng.me.GridTickScheduler;
 import appeng.me.cache.EnergyGridCache;
 
 /**
@@ -33,7 +34,7 @@ public class EnergyWatcher implements IEnergyWatcher {
     }
 
     public void post(final EnergyGridCache energyGridCache) {
-        this.myObject.onThresholdPass(energyGridCache);
+        GridTickScheduler.runOnMainThread(() -> this.myObject.onThresholdPass(energyGridCache));
     }
 
     public IEnergyWatcherHost getHost() {
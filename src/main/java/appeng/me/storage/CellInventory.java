@@ -13,6 +13,8 @@ package appeng.me.storage;
 import static appeng.util.item.AEFluidStackType.FLUID_STACK_TYPE;
 import static appeng.util.item.AEItemStackType.ITEM_STACK_TYPE;
 
+import java.util.function.Supplier;
+
 import javax.annotation.Nonnull;
 
 import net.minecraft.inventory.IInventory;
@@ -58,6 +60,9 @@ public abstract class CellInventory<StackType extends IAEStack<StackType>> imple
     private long restrictionLong = 0;
     private int typeWeight = 1;
     private final int distTypesCount;
+    private int batchDepth = 0;
+    private boolean batchChanged = false;
+    private short typesBeforeBatch = 0;
 
     protected CellInventory(final ItemStack o, final ISaveProvider container) throws AppEngException {
         if (o == null) {
@@ -324,7 +329,36 @@ public abstract class CellInventory<StackType extends IAEStack<StackType>> imple
         this.tagCompound.setLong(getStackCountTag(), this.storedCount);
     }
 
+    /**
+     * Runs a transfer that may change many stacks of this cell, and writes the cell to its NBT once afterwards instead
+     * of after every change.
+     */
+    public <T> T batch(final Supplier<T> transfer) {
+        if (this.batchDepth++ == 0) {
+            this.typesBeforeBatch = this.storedTypes;
+        }
+
+        try {
+            return transfer.get();
+        } finally {
+            this.batchDepth--;
+            if (this.batchDepth == 0 && this.batchChanged) {
+                this.batchChanged = false;
+                // so the save below clears the slots of every type that was stored before the batch
+                this.storedTypes = this.typesBeforeBatch;
+                this.saveChanges();
+            }
+        }
+    }
+
     protected void saveChanges() {
+        if (this.batchDepth > 0) {
+            // keep the type limit honest while the NBT write is deferred, emptied stacks still count until then
+            this.storedTypes = (short) this.cellStacks.size();
+            this.batchChanged = true;
+            return;
+        }
+
         // cellItems.clean();
         long itemCount = 0;
 
@@ -73,12 +73,18 @@ public class ItemWatcher implements IStackWatcher {
             return false;
         }
 
+        this.gsc.onInterestChanged(e);
         return this.myInterests.add(e.copy()) && this.gsc.getInterestManager().put(e, this);
     }
 
     @Override
     public boolean remove(final Object o) {
-        return this.myInterests.remove(o) && this.gsc.getInterestManager().remove((IAEStack) o, this);
+        if (!this.myInterests.remove(o)) {
+            return false;
+        }
+
+        this.gsc.onInterestChanged((IAEStack) o);
+        return this.gsc.getInterestManager().remove((IAEStack) o, this);
     }
 
     @Override
@@ -125,7 +131,9 @@ public class ItemWatcher implements IStackWatcher {
     public void clear() {
         final Iterator<IAEStack> i = this.myInterests.iterator();
         while (i.hasNext()) {
-            this.gsc.getInterestManager().remove(i.next(), this);
+            final IAEStack stack = i.next();
+            this.gsc.getInterestManager().remove(stack, this);
+            this.gsc.onInterestChanged(stack);
             i.remove();
         }
     }
@@ -154,6 +162,7 @@ public class ItemWatcher implements IStackWatcher {
         @Override
         public void remove() {
             ItemWatcher.this.gsc.getInterestManager().remove(this.myLast, this.watcher);
+            ItemWatcher.this.gsc.onInterestChanged(this.myLast);
             this.interestIterator.remove();
         }
     }
@@ -29,10 +29,8 @@ import appeng.api.config.AccessRestriction;
 import appeng.api.config.Actionable;
 import appeng.api.config.FuzzyMode;
 import appeng.api.config.SecurityPermissions;
-import appeng.api.networking.IGrid;
 import appeng.api.networking.IGridNode;
 import appeng.api.networking.security.BaseActionSource;
-import appeng.api.networking.security.ISecurityGrid;
 import appeng.api.networking.security.MachineSource;
 import appeng.api.networking.security.PlayerSource;
 import appeng.api.storage.IMEInventoryHandler;
@@ -274,13 +272,8 @@ public class NetworkInventoryHandler<T extends IAEStack<T>> implements IMENetwor
                     return true;
                 }
 
-                final IGrid gn = n.getGrid();
-                if (gn != this.security.getGrid()) {
-
-                    final ISecurityGrid sg = gn.getCache(ISecurityGrid.class);
-                    final int playerID = sg.isAvailable() ? sg.getOwner() : n.getPlayerID();
-
-                    if (!this.security.hasPermission(playerID, permission)) {
+                if (n.getGrid() != this.security.getGrid()) {
+                    if (!this.security.hasPermission(this.security.getMachinePlayerID(n), permission)) {
                         return true;
                     }
                 }
@@ -17,7 +17,6 @@ import net.minecraft.item.ItemStack;
 import appeng.api.AEApi;
 import appeng.api.config.Actionable;
 import appeng.api.config.FuzzyMode;
-import appeng.api.config.PowerMultiplier;
 import appeng.api.config.Upgrades;
 import appeng.api.networking.energy.IEnergyGrid;
 import appeng.api.networking.energy.IEnergySource;
@@ -131,9 +130,8 @@ public class PartImportBus extends PartBaseImportBus<IAEItemStack> implements II
         }
 
         if (newItems != null) {
-            newItems.stackSize = (int) (Math.min(
-                    newItems.stackSize,
-                    energy.extractAEPower(newItems.stackSize, Actionable.SIMULATE, PowerMultiplier.CONFIG)) + 0.01);
+            // the amount to send is already bounded by the power available this tick, poweredInsert pays for all of
+            // it with one simulate and one extraction
             this.itemToSend -= newItems.stackSize;
 
             if (this.lastItemChecked == null || !this.lastItemChecked.isSameType(newItems)) {
@@ -160,7 +158,8 @@ public class PartImportBus extends PartBaseImportBus<IAEItemStack> implements II
 
     private int calculateMaximumAmountToImport(final InventoryAdaptor myAdaptor, final IAEItemStack whatToImport,
             final IMEMonitor<IAEItemStack> inv, final FuzzyMode fzMode) {
-        final int toSend = Math.min(this.itemToSend, 64);
+        // all of it in one go, the adaptors gather it from as many slots as needed
+        final int toSend = this.itemToSend;
         final ItemStack itemStackToImport;
 
         if (whatToImport == null) {
@@ -11,7 +11,10 @@
 package appeng.parts.networking;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
 
 import net.minecraft.client.renderer.RenderBlocks;
@@ -183,6 +186,24 @@ public class PartQuartzFiber extends AEBasePart implements IEnergyGridProvider {
         return acquiredPower;
     }
 
+    @Override
+    public Collection<IEnergyGrid> getConnectedEnergyGrids() {
+        final List<IEnergyGrid> grids = new ArrayList<>(2);
+        try {
+            grids.add(this.getProxy().getEnergy());
+        } catch (final GridAccessException e) {
+            // :P
+        }
+
+        try {
+            grids.add(this.outerProxy.getEnergy());
+        } catch (final GridAccessException e) {
+            // :P
+        }
+
+        return grids;
+    }
+
     @Override
     public double injectAEPower(final double amt, final Actionable mode, final Set<IEnergyGrid> seen) {
 
@@ -55,6 +55,7 @@ import appeng.helpers.IPriorityHost;
 import appeng.helpers.Reflected;
 import appeng.me.GridAccessException;
 import appeng.me.cache.CraftingGridCache;
+import appeng.me.cache.helpers.TunnelRoutes;
 import appeng.tile.inventory.AppEngInternalAEInventory;
 import appeng.tile.inventory.AppEngInternalInventory;
 import appeng.tile.inventory.IAEAppEngInventory;
@@ -97,8 +98,9 @@ public class PartP2PInterface extends PartP2PTunnelStatic<PartP2PInterface>
                 super.updateCraftingList();
 
                 try {
-                    for (PartP2PInterface p2p : getOutputs()) {
-                        p2p.duality.updateCraftingList();
+                    final TunnelRoutes<PartP2PInterface> routes = getRoutes();
+                    for (int x = 0; x < routes.size(); x++) {
+                        routes.get(x).duality.updateCraftingList();
                     }
                 } catch (GridAccessException e) {
                     // ?
@@ -314,6 +316,13 @@ public class PartP2PInterface extends PartP2PTunnelStatic<PartP2PInterface>
         this.duality.updateRedstoneState();
     }
 
+    @Override
+    void setCustomNameInternal(String name) {
+        super.setCustomNameInternal(name);
+        // renaming the input renames all outputs
+        this.duality.notifyInterfaceTerminals();
+    }
+
     @Override
     public boolean onPartActivate(final EntityPlayer p, final Vec3 pos) {
 
@@ -10,6 +10,7 @@
 
 package appeng.parts.p2p;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -36,7 +37,7 @@ import appeng.integration.IntegrationRegistry;
 import appeng.integration.IntegrationType;
 import appeng.integration.abstraction.IBuildCraftTransport;
 import appeng.me.GridAccessException;
-import appeng.me.cache.helpers.TunnelCollection;
+import appeng.me.cache.helpers.TunnelRoutes;
 import appeng.tile.inventory.AppEngNullInventory;
 import appeng.transformer.annotations.Integration.Interface;
 import appeng.transformer.annotations.Integration.Method;
@@ -57,6 +58,9 @@ public class PartP2PItems extends PartP2PTunnelNormal<PartP2PItems>
     private int oldSize = 0;
     private boolean requested;
     private IInventory cachedInv;
+    private TunnelRoutes<PartP2PItems> cachedRoutes;
+    private int cachedVersion;
+    private TileEntity targetTile;
 
     public PartP2PItems(final ItemStack is) {
         super(is);
@@ -64,9 +68,25 @@ public class PartP2PItems extends PartP2PTunnelNormal<PartP2PItems>
 
     @Override
     public void onNeighborChanged() {
-        this.cachedInv = null;
+        if (!this.isOutput()) {
+            this.cachedInv = null;
+            return;
+        }
+
+        // a block update next to the output that left the same tile entity there changes nothing for the input
+        final TileEntity te = this.getTargetTile();
+        if (te == this.targetTile && !(te instanceof TileEntityChest)) {
+            return;
+        }
+
+        try {
+            this.getProxy().getP2P().invalidateTarget(this);
+        } catch (final GridAccessException e) {
+            // :P
+        }
+
         final PartP2PItems input = this.getInput();
-        if (input != null && this.isOutput()) {
+        if (input != null) {
             input.onTunnelNetworkChange();
         }
     }
@@ -74,41 +94,53 @@ public class PartP2PItems extends PartP2PTunnelNormal<PartP2PItems>
     private IInventory getDestination() {
         this.requested = true;
 
-        if (this.cachedInv != null) {
-            return this.cachedInv;
-        }
-
-        final List<IInventory> outs = new LinkedList<>();
-        final TunnelCollection<PartP2PItems> itemTunnels;
+        final TunnelRoutes<PartP2PItems> routes;
 
         try {
-            itemTunnels = this.getOutputs();
+            routes = this.getRoutes();
         } catch (final GridAccessException e) {
             return new AppEngNullInventory();
         }
 
-        for (final PartP2PItems t : itemTunnels) {
-            final IInventory inv = t.getOutputInv();
+        if (this.cachedInv != null && this.cachedRoutes == routes && this.cachedVersion == routes.getVersion()) {
+            return this.cachedInv;
+        }
+
+        final List<IInventory> outs = new ArrayList<>(routes.size());
+        for (int x = 0; x < routes.size(); x++) {
+            final IInventory inv = routes.getTarget(x, PartP2PItems::getOutputInv);
             if (inv != null) {
-                if (Platform.getRandomInt() % 2 == 0) {
-                    outs.add(inv);
-                } else {
-                    outs.add(0, inv);
-                }
+                outs.add(inv);
             }
         }
 
+        this.cachedRoutes = routes;
+        this.cachedVersion = routes.getVersion();
         return this.cachedInv = new WrapperChainedInventory(outs);
     }
 
+    private void invalidateDestination() {
+        this.cachedInv = null;
+        try {
+            this.getProxy().getP2P().invalidateTargets(this.getFrequency());
+        } catch (final GridAccessException e) {
+            // :P
+        }
+    }
+
+    private TileEntity getTargetTile() {
+        return this.getTile().getWorldObj().getTileEntity(
+                this.getTile().xCoord + this.getSide().offsetX,
+                this.getTile().yCoord + this.getSide().offsetY,
+                this.getTile().zCoord + this.getSide().offsetZ);
+    }
+
     private IInventory getOutputInv() {
         IInventory output = null;
 
         if (this.getProxy().isActive()) {
-            final TileEntity te = this.getTile().getWorldObj().getTileEntity(
-                    this.getTile().xCoord + this.getSide().offsetX,
-                    this.getTile().yCoord + this.getSide().offsetY,
-                    this.getTile().zCoord + this.getSide().offsetZ);
+            final TileEntity te = this.getTargetTile();
+            this.targetTile = te;
 
             if (this.which.contains(this)) {
                 return null;
@@ -168,7 +200,7 @@ public class PartP2PItems extends PartP2PTunnelNormal<PartP2PItems>
     @MENetworkEventSubscribe
     public void changeStateA(final MENetworkBootingStatusChange bs) {
         if (!this.isOutput()) {
-            this.cachedInv = null;
+            this.invalidateDestination();
             final int olderSize = this.oldSize;
             this.oldSize = this.getDestination().getSizeInventory();
             if (olderSize != this.oldSize) {
@@ -180,7 +212,7 @@ public class PartP2PItems extends PartP2PTunnelNormal<PartP2PItems>
     @MENetworkEventSubscribe
     public void changeStateB(final MENetworkChannelsChanged bs) {
         if (!this.isOutput()) {
-            this.cachedInv = null;
+            this.invalidateDestination();
             final int olderSize = this.oldSize;
             this.oldSize = this.getDestination().getSizeInventory();
             if (olderSize != this.oldSize) {
@@ -192,7 +224,7 @@ public class PartP2PItems extends PartP2PTunnelNormal<PartP2PItems>
     @MENetworkEventSubscribe
     public void changeStateC(final MENetworkPowerStatusChange bs) {
         if (!this.isOutput()) {
-            this.cachedInv = null;
+            this.invalidateDestination();
             final int olderSize = this.oldSize;
             this.oldSize = this.getDestination().getSizeInventory();
             if (olderSize != this.oldSize) {
@@ -210,7 +242,6 @@ public class PartP2PItems extends PartP2PTunnelNormal<PartP2PItems>
     @Override
     public void onTunnelNetworkChange() {
         if (!this.isOutput()) {
-            this.cachedInv = null;
             final int olderSize = this.oldSize;
             this.oldSize = this.getDestination().getSizeInventory();
             if (olderSize != this.oldSize) {
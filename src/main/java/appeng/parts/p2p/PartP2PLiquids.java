@@ -26,6 +26,7 @@ import net.minecraftforge.fluids.FluidTankInfo;
 import net.minecraftforge.fluids.IFluidHandler;
 
 import appeng.me.GridAccessException;
+import appeng.me.cache.helpers.TunnelRoutes;
 import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
 
@@ -56,6 +57,12 @@ public class PartP2PLiquids extends PartP2PTunnelNormal<PartP2PLiquids> implemen
     public void onNeighborChanged() {
         this.cachedTank = null;
         if (this.isOutput()) {
+            try {
+                this.getProxy().getP2P().invalidateTarget(this);
+            } catch (final GridAccessException e) {
+                // :P
+            }
+
             final PartP2PLiquids in = this.getInput();
             if (in != null) {
                 in.onTunnelNetworkChange();
@@ -162,13 +169,22 @@ public class PartP2PLiquids extends PartP2PTunnelNormal<PartP2PLiquids> implemen
         return s;
     }
 
+    /**
+     * @return the outputs that accept the fluid, starting one output further each call so that rounding in
+     *         {@link #fill} does not always favour the same outputs
+     */
     private List<PartP2PLiquids> getOutputs(final Fluid input) {
         final List<PartP2PLiquids> outs = new LinkedList<>();
         if (input == null) return outs;
         try {
-            for (final PartP2PLiquids l : this.getOutputs()) {
+            final TunnelRoutes<PartP2PLiquids> routes = this.getRoutes();
+            final int size = routes.size();
+            final int start = routes.nextStart();
+            for (int x = 0; x < size; x++) {
+                final int i = (start + x) % size;
+                final PartP2PLiquids l = routes.get(i);
                 if (l == this) continue;
-                final IFluidHandler handler = l.getTarget();
+                final IFluidHandler handler = routes.getTarget(i, PartP2PLiquids::getTarget);
                 if (handler != null) {
                     if (handler.canFill(l.getSide().getOpposite(), input)) {
                         outs.add(l);
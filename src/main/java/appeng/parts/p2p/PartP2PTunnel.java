@@ -45,6 +45,7 @@ import appeng.core.AEConfig;
 import appeng.core.localization.PlayerMessages;
 import appeng.me.GridAccessException;
 import appeng.me.cache.helpers.TunnelCollection;
+import appeng.me.cache.helpers.TunnelRoutes;
 import appeng.parts.PartBasicState;
 import appeng.util.Platform;
 import cpw.mods.fml.relauncher.Side;
@@ -93,6 +94,17 @@ public abstract class PartP2PTunnel<T extends PartP2PTunnel> extends PartBasicSt
         return new TunnelCollection<>(new ArrayList<>(), this.getClass());
     }
 
+    /**
+     * @return the routing table of the outputs on this tunnel's frequency, empty while the tunnel is not active
+     */
+    public TunnelRoutes<T> getRoutes() throws GridAccessException {
+        final Class<T> c = (Class<T>) this.getClass();
+        if (this.getProxy().isActive()) {
+            return this.getProxy().getP2P().getRoutes(this.getFrequency(), c);
+        }
+        return new TunnelRoutes<>(new ArrayList<>(), c);
+    }
+
     @Override
     public void getBoxes(final IPartCollisionHelper bch) {
         bch.addBox(5, 5, 12, 11, 11, 13);
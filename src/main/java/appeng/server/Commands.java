@@ -12,6 +12,7 @@ package appeng.server;
 
 import appeng.server.subcommands.ChunkLogger;
 import appeng.server.subcommands.Profile;
+import appeng.server.subcommands.Stats;
 import appeng.server.subcommands.Supporters;
 import appeng.server.subcommands.ToggleDebugPathfinding;
 import appeng.server.subcommands.ToggleDebugTiming;
@@ -24,7 +25,8 @@ public enum Commands {
     profile(2, new Profile()),
     toggleFullAccess(2, new ToggleFullAccess()),
     toggleDebugPaths(2, new ToggleDebugPathfinding()),
-    toggleDebugTiming(2, new ToggleDebugTiming());
+    toggleDebugTiming(2, new ToggleDebugTiming()),
+    stats(2, new Stats());
 
     public final int level;
     public final ISubCommand command;
@@ -0,0 +1,46 @@
+package appeng.server.subcommands;
+
+import java.util.List;
+
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.ChatComponentText;
+import net.minecraft.util.ChatComponentTranslation;
+
+import appeng.hooks.TickHandler;
+import appeng.me.cluster.implementations.CraftingCPUSaveMetrics;
+import appeng.server.ISubCommand;
+import appeng.services.compass.CompassMetrics;
+import appeng.spatial.SpatialMetrics;
+
+public class Stats implements ISubCommand {
+
+    @Override
+    public String getHelp(final MinecraftServer srv) {
+        return "commands.ae2.Stats";
+    }
+
+    @Override
+    public void call(final MinecraftServer srv, final String[] args, final ICommandSender sender) {
+        if (args.length < 2) {
+            sender.addChatMessage(new ChatComponentTranslation("commands.ae2.Stats"));
+            return;
+        }
+
+        final List<String> lines;
+        switch (args[1]) {
+            case "spatial" -> lines = SpatialMetrics.describe();
+            case "compass" -> lines = CompassMetrics.describe();
+            case "crafting" -> lines = TickHandler.INSTANCE.getCraftingScheduler().describe();
+            case "cpu" -> lines = CraftingCPUSaveMetrics.describe();
+            default -> {
+                sender.addChatMessage(new ChatComponentTranslation("commands.ae2.Stats"));
+                return;
+            }
+        }
+
+        for (final String line : lines) {
+            sender.addChatMessage(new ChatComponentText(line));
+        }
+    }
+}
@@ -11,8 +11,11 @@
 package appeng.services;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
@@ -23,25 +26,42 @@ import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 
 import net.minecraft.block.Block;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.NibbleArray;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import net.minecraftforge.event.world.WorldEvent;
 
 import com.google.common.base.Preconditions;
 
 import appeng.api.AEApi;
 import appeng.api.util.DimensionalCoord;
+import appeng.services.compass.CompassMetrics;
 import appeng.services.compass.CompassReader;
 import appeng.services.compass.ICompassCallback;
 import appeng.util.Platform;
 import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
 
 public final class CompassService {
 
     private static final int CHUNK_SIZE = 16;
+    private static final int BLOCK_MASK = CompassReader.BLOCK_SIZE - 1;
     private static final int CLEANUP_TIMEOUT_IN_SECONDS = 60;
+    private static final int SLABS_PER_CHUNK = 8;
+    private static final String NBT_SKYSTONE_KEY = "ae2:skystone";
 
     private final Map<World, AutoClosingCompassReader> worldSet = new HashMap<>(10);
+    /**
+     * Direction requests that are queued or running, identical requests share one search.
+     */
+    private final Map<DirectionRequestKey, CMDirectionRequest> inFlight = new HashMap<>();
+    /**
+     * Skystone bit mask per chunk of the last scan, kept while the chunk is loaded and stored with its data.
+     */
+    private final Map<World, Long2ByteOpenHashMap> scanned = new WeakHashMap<>();
     private final ScheduledExecutorService executor;
     /**
      * AE2 Folder for each world
@@ -56,7 +76,20 @@ public final class CompassService {
     }
 
     public Future<?> getCompassDirection(final DimensionalCoord coord, final int maxRange, final ICompassCallback cc) {
-        return this.executor.submit(new CMDirectionRequest(coord, maxRange, cc));
+        final DirectionRequestKey key = new DirectionRequestKey(coord, maxRange);
+
+        synchronized (this.inFlight) {
+            final CMDirectionRequest pending = this.inFlight.get(key);
+            if (pending != null) {
+                pending.callbacks.add(cc);
+                return pending.future;
+            }
+
+            final CMDirectionRequest request = new CMDirectionRequest(key, coord, maxRange, cc);
+            this.inFlight.put(key, request);
+            request.future = this.executor.submit(request);
+            return request.future;
+        }
     }
 
     /**
@@ -79,19 +112,32 @@ public final class CompassService {
         }
     }
 
+    /**
+     * Records the skystone state of a whole chunk. A chunk that was scanned before and not changed since is answered
+     * from the remembered result instead of being scanned again.
+     */
     public void updateArea(final World w, final int chunkX, final int chunkZ) {
-        final int x = chunkX << 4;
-        final int z = chunkZ << 4;
-
-        this.updateArea(w, x, CHUNK_SIZE, z);
-        this.updateArea(w, x, CHUNK_SIZE + 32, z);
-        this.updateArea(w, x, CHUNK_SIZE + 64, z);
-        this.updateArea(w, x, CHUNK_SIZE + 96, z);
-
-        this.updateArea(w, x, CHUNK_SIZE + 128, z);
-        this.updateArea(w, x, CHUNK_SIZE + 160, z);
-        this.updateArea(w, x, CHUNK_SIZE + 192, z);
-        this.updateArea(w, x, CHUNK_SIZE + 224, z);
+        final long key = ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ);
+        int mask = this.getRemembered(w, key);
+
+        if (mask < 0) {
+            mask = this.scanChunk(w.getChunkFromChunkCoords(chunkX, chunkZ));
+            this.remember(w, key, mask);
+        } else {
+            CompassMetrics.recordRememberedChunk();
+        }
+
+        for (int cdy = 0; cdy < SLABS_PER_CHUNK; cdy++) {
+            this.executor.submit(new CMUpdatePost(w, chunkX, chunkZ, cdy, (mask & (1 << cdy)) != 0));
+        }
+    }
+
+    /**
+     * Forgets the remembered state of a chunk whose blocks were replaced without block updates and scans it again.
+     */
+    public void rescanArea(final World w, final int chunkX, final int chunkZ) {
+        this.forget(w, ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ));
+        this.updateArea(w, chunkX, chunkZ);
     }
 
     public Future<?> updateArea(final World w, final int x, final int y, final int z) {
@@ -99,26 +145,157 @@ public final class CompassService {
         final int cdy = y >> 5;
         final int cz = z >> 4;
 
-        final int low_y = cdy << 5;
-        final int hi_y = low_y + 32;
-
-        // lower level...
+        final long start = System.nanoTime();
         final Chunk c = w.getChunkFromBlockCoords(x, z);
+        final boolean found = this.hasSkyStone(c.getBlockStorageArray(), cdy);
+        CompassMetrics.recordSlabScan(System.nanoTime() - start);
+
+        final long key = ChunkCoordIntPair.chunkXZ2Int(cx, cz);
+        synchronized (this.scanned) {
+            final Long2ByteOpenHashMap remembered = this.scanned.get(w);
+            if (remembered != null && remembered.containsKey(key)) {
+                final int mask = remembered.get(key);
+                remembered.put(key, (byte) (found ? mask | (1 << cdy) : mask & ~(1 << cdy)));
+            }
+        }
+
+        return this.executor.submit(new CMUpdatePost(w, cx, cz, cdy, found));
+    }
+
+    /**
+     * Restores the remembered scan result of a chunk that is loaded from disk.
+     */
+    public void readChunkData(final Chunk c, final NBTTagCompound data) {
+        if (data.hasKey(NBT_SKYSTONE_KEY)) {
+            this.remember(
+                    c.worldObj,
+                    ChunkCoordIntPair.chunkXZ2Int(c.xPosition, c.zPosition),
+                    data.getByte(NBT_SKYSTONE_KEY) & 0xFF);
+        }
+    }
+
+    /**
+     * Stores the remembered scan result of a chunk with its data, chunks that are being unloaded are forgotten.
+     */
+    public void writeChunkData(final Chunk c, final NBTTagCompound data) {
+        final long key = ChunkCoordIntPair.chunkXZ2Int(c.xPosition, c.zPosition);
+        synchronized (this.scanned) {
+            final Long2ByteOpenHashMap remembered = this.scanned.get(c.worldObj);
+            if (remembered != null && remembered.containsKey(key)) {
+                data.setByte(NBT_SKYSTONE_KEY, remembered.get(key));
+                if (!c.isChunkLoaded) {
+                    remembered.remove(key);
+                }
+            }
+        }
+    }
+
+    private int getRemembered(final World w, final long key) {
+        synchronized (this.scanned) {
+            final Long2ByteOpenHashMap remembered = this.scanned.get(w);
+            if (remembered == null || !remembered.containsKey(key)) {
+                return -1;
+            }
+            return remembered.get(key) & 0xFF;
+        }
+    }
+
+    private void remember(final World w, final long key, final int mask) {
+        synchronized (this.scanned) {
+            this.scanned.computeIfAbsent(w, k -> new Long2ByteOpenHashMap()).put(key, (byte) mask);
+        }
+    }
+
+    private void forget(final World w, final long key) {
+        synchronized (this.scanned) {
+            final Long2ByteOpenHashMap remembered = this.scanned.get(w);
+            if (remembered != null) {
+                remembered.remove(key);
+            }
+        }
+    }
+
+    /**
+     * @return a bit mask with one bit for every 32 block high slab of the chunk containing skystone.
+     */
+    private int scanChunk(final Chunk c) {
+        final long start = System.nanoTime();
+        final ExtendedBlockStorage[] storage = c.getBlockStorageArray();
+
+        int mask = 0;
+        for (int cdy = 0; cdy < SLABS_PER_CHUNK; cdy++) {
+            if (this.hasSkyStone(storage, cdy)) {
+                mask |= 1 << cdy;
+            }
+        }
 
-        for (final Block skyStoneBlock : AEApi.instance().definitions().blocks().skyStone().maybeBlock().asSet()) {
-            for (int i = 0; i < CHUNK_SIZE; i++) {
-                for (int j = 0; j < CHUNK_SIZE; j++) {
-                    for (int k = low_y; k < hi_y; k++) {
-                        final Block blk = c.getBlock(i, k, j);
-                        if (blk == skyStoneBlock && c.getBlockMetadata(i, k, j) == 0) {
-                            return this.executor.submit(new CMUpdatePost(w, cx, cz, cdy, true));
+        CompassMetrics.recordChunkScan(System.nanoTime() - start);
+        return mask;
+    }
+
+    private boolean hasSkyStone(final ExtendedBlockStorage[] storage, final int cdy) {
+        final Block skyStone = AEApi.instance().definitions().blocks().skyStone().maybeBlock().orNull();
+        if (skyStone == null) {
+            return false;
+        }
+
+        // a slab is 32 blocks high, so it covers two sections.
+        for (int section = cdy << 1; section < (cdy << 1) + 2 && section < storage.length; section++) {
+            final ExtendedBlockStorage s = storage[section];
+            if (s == null || s.isEmpty()) {
+                CompassMetrics.recordSkippedSection();
+                continue;
+            }
+
+            if (this.containsSkyStone(s, skyStone)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean containsSkyStone(final ExtendedBlockStorage s, final Block skyStone) {
+        if (Platform.isEndlessIdsLoaded) {
+            for (int y = 0; y < CHUNK_SIZE; y++) {
+                for (int z = 0; z < CHUNK_SIZE; z++) {
+                    for (int x = 0; x < CHUNK_SIZE; x++) {
+                        if (s.getBlockByExtId(x, y, z) == skyStone && s.getExtBlockMetadata(x, y, z) == 0) {
+                            return true;
                         }
                     }
                 }
             }
+            return false;
         }
 
-        return this.executor.submit(new CMUpdatePost(w, cx, cz, cdy, false));
+        final int id = Block.getIdFromBlock(skyStone);
+        final byte lsb = (byte) (id & 0xFF);
+        final int msb = (id >> 8) & 0xF;
+
+        final byte[] ids = s.getBlockLSBArray();
+        final NibbleArray msbs = s.getBlockMSBArray();
+        final NibbleArray meta = s.getMetadataArray();
+
+        if (msbs == null && msb != 0) {
+            return false;
+        }
+
+        // index layout is y << 8 | z << 4 | x
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] != lsb) {
+                continue;
+            }
+
+            final int x = i & 0xF;
+            final int y = i >> 8;
+            final int z = (i >> 4) & 0xF;
+            if ((msbs == null || msbs.get(x, y, z) == msb) && meta.get(x, y, z) == 0) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     public void kill() {
@@ -182,16 +359,57 @@ public final class CompassService {
         }
     }
 
+    private static final class DirectionRequestKey {
+
+        private final int dimension;
+        private final int cx;
+        private final int cz;
+        private final int maxRange;
+
+        private DirectionRequestKey(final DimensionalCoord coord, final int maxRange) {
+            this.dimension = coord.getDimension();
+            this.cx = coord.x >> 4;
+            this.cz = coord.z >> 4;
+            this.maxRange = maxRange;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DirectionRequestKey other)) {
+                return false;
+            }
+            return this.dimension == other.dimension && this.cx == other.cx
+                    && this.cz == other.cz
+                    && this.maxRange == other.maxRange;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = this.dimension;
+            result = 31 * result + this.cx;
+            result = 31 * result + this.cz;
+            result = 31 * result + this.maxRange;
+            return result;
+        }
+    }
+
     private class CMDirectionRequest implements Runnable {
 
         public final int maxRange;
         public final DimensionalCoord coord;
-        public final ICompassCallback callback;
+        private final DirectionRequestKey key;
+        private final List<ICompassCallback> callbacks = new ArrayList<>(1);
+        private Future<?> future;
 
-        public CMDirectionRequest(final DimensionalCoord coord, final int getMaxRange, final ICompassCallback cc) {
+        public CMDirectionRequest(final DirectionRequestKey key, final DimensionalCoord coord, final int getMaxRange,
+                final ICompassCallback cc) {
+            this.key = key;
             this.coord = coord;
             this.maxRange = getMaxRange;
-            this.callback = cc;
+            this.callbacks.add(cc);
         }
 
         @Override
@@ -199,77 +417,107 @@ public final class CompassService {
             final int cx = this.coord.x >> 4;
             final int cz = this.coord.z >> 4;
 
-            final CompassReader cr = CompassService.this.getReader(this.coord.getWorld());
+            try {
+                final CompassReader cr = CompassService.this.getReader(this.coord.getWorld());
 
-            // Am I standing on it?
-            if (cr.hasBeacon(cx, cz)) {
-                this.callback.calculatedDirection(true, true, -999, 0);
-                return;
-            }
+                // Am I standing on it?
+                if (cr.hasBeacon(cx, cz)) {
+                    this.respond(true, true, -999, 0);
+                    return;
+                }
 
-            // spiral outward...
-            for (int offset = 1; offset < this.maxRange; offset++) {
-                final int minX = cx - offset;
-                final int minZ = cz - offset;
-                final int maxX = cx + offset;
-                final int maxZ = cz + offset;
-
-                int closest = Integer.MAX_VALUE;
-                int chosen_x = cx;
-                int chosen_z = cz;
-
-                for (int z = minZ; z <= maxZ; z++) {
-                    if (cr.hasBeacon(minX, z)) {
-                        final int closeness = CompassService.this.dist(cx, cz, minX, z);
-                        if (closeness < closest) {
-                            closest = closeness;
-                            chosen_x = minX;
-                            chosen_z = z;
+                // spiral outward...
+                for (int offset = 1; offset < this.maxRange; offset++) {
+                    final int minX = cx - offset;
+                    final int minZ = cz - offset;
+                    final int maxX = cx + offset;
+                    final int maxZ = cz + offset;
+
+                    int closest = Integer.MAX_VALUE;
+                    int chosen_x = cx;
+                    int chosen_z = cz;
+
+                    for (int z = minZ; z <= maxZ; z++) {
+                        if (!cr.hasBeaconInBlock(minX, z) && !cr.hasBeaconInBlock(maxX, z)) {
+                            // skip to the last chunk of this block, nothing to find before it.
+                            z |= BLOCK_MASK;
+                            continue;
                         }
-                    }
 
-                    if (cr.hasBeacon(maxX, z)) {
-                        final int closeness = CompassService.this.dist(cx, cz, maxX, z);
-                        if (closeness < closest) {
-                            closest = closeness;
-                            chosen_x = maxX;
-                            chosen_z = z;
+                        if (cr.hasBeacon(minX, z)) {
+                            final int closeness = CompassService.this.dist(cx, cz, minX, z);
+                            if (closeness < closest) {
+                                closest = closeness;
+                                chosen_x = minX;
+                                chosen_z = z;
+                            }
                         }
-                    }
-                }
 
-                for (int x = minX + 1; x < maxX; x++) {
-                    if (cr.hasBeacon(x, minZ)) {
-                        final int closeness = CompassService.this.dist(cx, cz, x, minZ);
-                        if (closeness < closest) {
-                            closest = closeness;
-                            chosen_x = x;
-                            chosen_z = minZ;
+                        if (cr.hasBeacon(maxX, z)) {
+                            final int closeness = CompassService.this.dist(cx, cz, maxX, z);
+                            if (closeness < closest) {
+                                closest = closeness;
+                                chosen_x = maxX;
+                                chosen_z = z;
+                            }
                         }
                     }
 
-                    if (cr.hasBeacon(x, maxZ)) {
-                        final int closeness = CompassService.this.dist(cx, cz, x, maxZ);
-                        if (closeness < closest) {
-                            closest = closeness;
-                            chosen_x = x;
-                            chosen_z = maxZ;
+                    for (int x = minX + 1; x < maxX; x++) {
+                        if (!cr.hasBeaconInBlock(x, minZ) && !cr.hasBeaconInBlock(x, maxZ)) {
+                            x |= BLOCK_MASK;
+                            continue;
+                        }
+
+                        if (cr.hasBeacon(x, minZ)) {
+                            final int closeness = CompassService.this.dist(cx, cz, x, minZ);
+                            if (closeness < closest) {
+                                closest = closeness;
+                                chosen_x = x;
+                                chosen_z = minZ;
+                            }
                         }
+
+                        if (cr.hasBeacon(x, maxZ)) {
+                            final int closeness = CompassService.this.dist(cx, cz, x, maxZ);
+                            if (closeness < closest) {
+                                closest = closeness;
+                                chosen_x = x;
+                                chosen_z = maxZ;
+                            }
+                        }
+                    }
+
+                    if (closest < Integer.MAX_VALUE) {
+                        this.respond(
+                                true,
+                                false,
+                                CompassService.this.rad(cx, cz, chosen_x, chosen_z),
+                                CompassService.this.dist(cx, cz, chosen_x, chosen_z));
+                        return;
                     }
                 }
 
-                if (closest < Integer.MAX_VALUE) {
-                    this.callback.calculatedDirection(
-                            true,
-                            false,
-                            CompassService.this.rad(cx, cz, chosen_x, chosen_z),
-                            CompassService.this.dist(cx, cz, chosen_x, chosen_z));
-                    return;
+                // didn't find shit...
+                this.respond(false, true, -999, 999);
+            } finally {
+                // make sure a failed search does not swallow later requests for the same spot
+                synchronized (CompassService.this.inFlight) {
+                    CompassService.this.inFlight.remove(this.key, this);
                 }
             }
+        }
+
+        private void respond(final boolean hasResult, final boolean spin, final double radians, final double dist) {
+            final List<ICompassCallback> waiting;
+            synchronized (CompassService.this.inFlight) {
+                CompassService.this.inFlight.remove(this.key, this);
+                waiting = new ArrayList<>(this.callbacks);
+            }
 
-            // didn't find shit...
-            this.callback.calculatedDirection(false, true, -999, 999);
+            for (final ICompassCallback cc : waiting) {
+                cc.calculatedDirection(hasResult, spin, radians, dist);
+            }
         }
     }
 
@@ -0,0 +1,66 @@
+/*
+ * This file is part of Applied Energistics 2. Copyright (c) 2013 - 2015, AlgorithmX2, All rights reserved. Applied
+ * Energistics 2 is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. Applied Energistics 2 is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details. You should have received a copy of the GNU Lesser General Public License along with
+ * Applied Energistics 2. If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.services.compass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counters for skystone scanning done by the compass service, only touched from the server thread.
+ */
+public final class CompassMetrics {
+
+    private static long chunksScanned;
+    private static long slabsScanned;
+    private static long sectionsSkipped;
+    private static long rememberedChunks;
+    private static long scanNanos;
+    private static long maxScanNanos;
+
+    private CompassMetrics() {}
+
+    public static void recordChunkScan(final long nanos) {
+        chunksScanned++;
+        addScanTime(nanos);
+    }
+
+    public static void recordSlabScan(final long nanos) {
+        slabsScanned++;
+        addScanTime(nanos);
+    }
+
+    public static void recordSkippedSection() {
+        sectionsSkipped++;
+    }
+
+    public static void recordRememberedChunk() {
+        rememberedChunks++;
+    }
+
+    private static void addScanTime(final long nanos) {
+        scanNanos += nanos;
+        maxScanNanos = Math.max(maxScanNanos, nanos);
+    }
+
+    public static List<String> describe() {
+        final List<String> out = new ArrayList<>();
+        out.add("Chunks scanned: " + chunksScanned + ", slabs rescanned: " + slabsScanned);
+        out.add("Chunks skipped with a remembered result: " + rememberedChunks);
+        out.add("Empty sections skipped: " + sectionsSkipped);
+        out.add(
+                "Scan time: " + TimeUnit.NANOSECONDS.toMillis(scanNanos)
+                        + " ms total, "
+                        + TimeUnit.NANOSECONDS.toMicros(maxScanNanos)
+                        + " us worst");
+        return out;
+    }
+}
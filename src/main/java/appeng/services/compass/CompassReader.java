@@ -20,6 +20,11 @@ import com.google.common.base.Preconditions;
 
 public final class CompassReader {
 
+    /**
+     * Side length in chunks of the blocks {@link #hasBeaconInBlock} answers for.
+     */
+    public static final int BLOCK_SIZE = 1 << CompassRegion.BLOCK_SHIFT;
+
     private final Map<Long, CompassRegion> regions = new HashMap<>(100);
     private final int dimensionId;
     private final File worldCompassFolder;
@@ -52,6 +57,15 @@ public final class CompassReader {
         return r.hasBeacon(cx, cz);
     }
 
+    /**
+     * @return false if none of the chunks in the {@link #BLOCK_SIZE} aligned block containing the chunk has a beacon.
+     */
+    public boolean hasBeaconInBlock(final int cx, final int cz) {
+        final CompassRegion r = this.getRegion(cx, cz);
+
+        return r.hasBeaconInBlock(cx, cz);
+    }
+
     private CompassRegion getRegion(final int cx, final int cz) {
         long pos = cx >> 10;
         pos <<= 32;
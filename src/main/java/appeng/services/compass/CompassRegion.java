@@ -10,10 +10,17 @@
 
 package appeng.services.compass;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.util.Arrays;
 
 import javax.annotation.Nonnull;
 
@@ -23,15 +30,25 @@ import appeng.core.worlddata.MeteorDataNameEncoder;
 
 public final class CompassRegion {
 
+    /**
+     * The region is summarized in blocks of 32x32 chunks, each one counting its chunks with a beacon.
+     */
+    static final int BLOCK_SHIFT = 5;
+    private static final int BLOCKS_PER_SIDE = 0x400 >> BLOCK_SHIFT;
+    private static final int OCCUPANCY_VERSION = 1;
+
     private final int lowX;
     private final int lowZ;
     private final int world;
     private final File worldCompassFolder;
     private final MeteorDataNameEncoder encoder;
+    private final MeteorDataNameEncoder occupancyEncoder;
+    private final short[] occupancy = new short[BLOCKS_PER_SIDE * BLOCKS_PER_SIDE];
 
     private boolean hasFile = false;
     private RandomAccessFile raf = null;
     private ByteBuffer buffer;
+    private int occupiedChunks = 0;
 
     public CompassRegion(final int cx, final int cz, final int worldID, @Nonnull final File worldCompassFolder) {
         Preconditions.checkNotNull(worldCompassFolder);
@@ -40,6 +57,7 @@ public final class CompassRegion {
         this.world = worldID;
         this.worldCompassFolder = worldCompassFolder;
         this.encoder = new MeteorDataNameEncoder(0);
+        this.occupancyEncoder = new MeteorDataNameEncoder(0, "idx");
 
         final int region_x = cx >> 10;
         final int region_z = cz >> 10;
@@ -53,6 +71,7 @@ public final class CompassRegion {
     void close() {
         try {
             if (this.hasFile) {
+                this.writeOccupancy();
                 this.buffer = null;
                 this.raf.close();
                 this.raf = null;
@@ -77,6 +96,17 @@ public final class CompassRegion {
         return false;
     }
 
+    /**
+     * @return false if no chunk in the 32x32 chunk block around the given chunk has a beacon.
+     */
+    boolean hasBeaconInBlock(final int cx, final int cz) {
+        if (this.hasFile && this.occupiedChunks > 0) {
+            return this.occupancy[this.blockIndex(cx & 0x3FF, cz & 0x3FF)] > 0;
+        }
+
+        return false;
+    }
+
     void setHasBeacon(int cx, int cz, final int cdy, final boolean hasBeacon) {
         cx &= 0x3FF;
         cz &= 0x3FF;
@@ -95,6 +125,14 @@ public final class CompassRegion {
 
             if (originalVal != val) {
                 this.write(cx, cz, val);
+
+                if (originalVal == 0) {
+                    this.occupancy[this.blockIndex(cx, cz)]++;
+                    this.occupiedChunks++;
+                } else if (val == 0) {
+                    this.occupancy[this.blockIndex(cx, cz)]--;
+                    this.occupiedChunks--;
+                }
             }
         }
     }
@@ -122,12 +160,82 @@ public final class CompassRegion {
                 final FileChannel fc = this.raf.getChannel();
                 this.buffer = fc.map(FileChannel.MapMode.READ_WRITE, 0, 0x400 * 0x400); // fc.size() );
                 this.hasFile = true;
+                this.readOccupancy();
             } catch (final Throwable t) {
                 throw new CompassException(t);
             }
         }
     }
 
+    private int blockIndex(final int cx, final int cz) {
+        return (cz >> BLOCK_SHIFT) * BLOCKS_PER_SIDE + (cx >> BLOCK_SHIFT);
+    }
+
+    /**
+     * Loads the summary written by the last clean {@link #close()}. The summary file is removed while the region is
+     * open, so a crash leaves no stale summary behind and the next open rebuilds it from the region itself.
+     */
+    private void readOccupancy() {
+        final File file = this.getOccupancyFile();
+        boolean loaded = false;
+
+        if (this.isFileExistent(file)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                if (in.readInt() == OCCUPANCY_VERSION) {
+                    int occupied = 0;
+                    for (int i = 0; i < this.occupancy.length; i++) {
+                        this.occupancy[i] = in.readShort();
+                        occupied += this.occupancy[i];
+                    }
+                    this.occupiedChunks = occupied;
+                    loaded = true;
+                }
+            } catch (final Throwable t) {
+                loaded = false;
+            }
+
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+
+        if (!loaded) {
+            this.rebuildOccupancy();
+        }
+    }
+
+    private void rebuildOccupancy() {
+        Arrays.fill(this.occupancy, (short) 0);
+        int occupied = 0;
+        for (int cz = 0; cz < 0x400; cz++) {
+            for (int cx = 0; cx < 0x400; cx++) {
+                if (this.read(cx, cz) != 0) {
+                    this.occupancy[this.blockIndex(cx, cz)]++;
+                    occupied++;
+                }
+            }
+        }
+        this.occupiedChunks = occupied;
+    }
+
+    private void writeOccupancy() {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(this.getOccupancyFile())))) {
+            out.writeInt(OCCUPANCY_VERSION);
+            for (final short count : this.occupancy) {
+                out.writeShort(count);
+            }
+        } catch (final Throwable t) {
+            // the summary is rebuilt from the region on the next open.
+        }
+    }
+
+    private File getOccupancyFile() {
+        final String fileName = this.occupancyEncoder.encode(this.world, this.lowX, this.lowZ);
+
+        return new File(this.worldCompassFolder, fileName);
+    }
+
     private File getFile() {
         final String fileName = this.encoder.encode(this.world, this.lowX, this.lowZ);
 
@@ -10,8 +10,11 @@
 
 package appeng.spatial;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 
 import net.minecraft.block.Block;
@@ -20,17 +23,20 @@ import net.minecraft.world.ChunkPosition;
 import net.minecraft.world.NextTickListEntry;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.NibbleArray;
 import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import net.minecraftforge.common.util.ForgeDirection;
 
 import appeng.api.AEApi;
-import appeng.api.definitions.IBlockDefinition;
 import appeng.api.movable.IMovableHandler;
 import appeng.api.movable.IMovableRegistry;
 import appeng.api.util.WorldCoord;
 import appeng.core.AELog;
 import appeng.core.worlddata.WorldData;
+import appeng.hooks.TickHandler;
+import appeng.util.IWorldCallable;
 import appeng.util.Platform;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 
 public class CachedPlane {
 
@@ -49,7 +55,10 @@ public class CachedPlane {
     private final World world;
     private final IMovableRegistry reg = AEApi.instance().registries().movable();
     private final LinkedList<WorldCoord> updates = new LinkedList<>();
-    private final IBlockDefinition matrixFrame = AEApi.instance().definitions().blocks().matrixFrame();
+    private final Block matrixFrameBlock = AEApi.instance().definitions().blocks().matrixFrame().maybeBlock()
+            .orNull();
+    private final Map<Block, Boolean> blacklistCache = new IdentityHashMap<>();
+    private final LongOpenHashSet skippedSections = new LongOpenHashSet();
     private int verticalBits;
 
     public CachedPlane(final World w, final int minX, final int minY, final int minZ, final int maxX, final int maxY,
@@ -183,25 +192,33 @@ public class CachedPlane {
         final IMovableRegistry mr = AEApi.instance().registries().movable();
 
         if (dst.x_size == this.x_size && dst.y_size == this.y_size && dst.z_size == this.z_size) {
-            AELog.info("Block Copy Scale: " + this.x_size + ", " + this.y_size + ", " + this.z_size);
+            final long startTime = System.nanoTime();
 
-            long startTime = System.nanoTime();
+            final boolean[][][] swappedSections = this.swapSections(dst);
+            final int minCX = this.x_offset >> 4;
+            final int minCY = this.y_offset >> 4;
+            final int minCZ = this.z_offset >> 4;
+            int sections = 0;
+            long blocks = 0;
 
             for (int x = 0; x < this.x_size; x++) {
                 for (int z = 0; z < this.z_size; z++) {
                     final Column a = this.myColumns[x][z];
                     final Column b = dst.myColumns[x][z];
+                    final boolean[][] columnSections = swappedSections[((x + this.x_offset) >> 4) - minCX];
+                    final int cz = ((z + this.z_offset) >> 4) - minCZ;
 
                     for (int y = 0; y < this.y_size; y++) {
                         final int src_y = y + this.y_offset;
                         final int dst_y = y + dst.y_offset;
 
-                        if (a.doNotSkip(src_y) && b.doNotSkip(dst_y)) {
-                            final Object[] aD = a.getDetails(src_y);
-                            final Object[] bD = b.getDetails(dst_y);
+                        if (columnSections[(src_y >> 4) - minCY][cz]) {
+                            continue;
+                        }
 
-                            a.setBlockIDWithMetadata(src_y, bD);
-                            b.setBlockIDWithMetadata(dst_y, aD);
+                        if (a.doNotSkip(src_y) && b.doNotSkip(dst_y)) {
+                            a.swapBlock(src_y, b, dst_y);
+                            blocks++;
                         } else {
                             this.markForUpdate(x + this.x_offset, src_y, z + this.z_offset);
                             dst.markForUpdate(x + dst.x_offset, dst_y, z + dst.z_offset);
@@ -210,9 +227,26 @@ public class CachedPlane {
                 }
             }
 
-            long endTime = System.nanoTime();
-            long duration = endTime - startTime;
-            AELog.info("Block Copy Time: " + duration);
+            for (final boolean[][] plane : swappedSections) {
+                for (final boolean[] row : plane) {
+                    for (final boolean swapped : row) {
+                        if (swapped) {
+                            sections++;
+                        }
+                    }
+                }
+            }
+
+            final long duration = System.nanoTime() - startTime;
+            SpatialMetrics.recordSwap(sections, blocks, duration);
+            AELog.debug(
+                    "Spatial swap %dx%dx%d: %d sections, %d single blocks in %d us",
+                    this.x_size,
+                    this.y_size,
+                    this.z_size,
+                    sections,
+                    blocks,
+                    duration / 1000);
 
             for (final TileEntity te : this.tiles) {
                 dst.addTile(
@@ -244,14 +278,154 @@ public class CachedPlane {
                         entry);
             }
 
-            startTime = System.nanoTime();
             this.updateChunks();
             dst.updateChunks();
-            endTime = System.nanoTime();
+        }
+    }
+
+    /**
+     * Swaps the storage of every chunk section that lies completely inside both planes. This is only possible when
+     * both planes share the same alignment inside their chunks, and not at all when EndlessIDs replaced the section
+     * storage.
+     *
+     * @return which sections of this plane (relative chunk x, y, z) were swapped and need no per block copy.
+     */
+    private boolean[][][] swapSections(final CachedPlane dst) {
+        final int minCX = this.x_offset >> 4;
+        final int minCY = this.y_offset >> 4;
+        final int minCZ = this.z_offset >> 4;
+        final int maxCX = (this.x_offset + this.x_size - 1) >> 4;
+        final int maxCY = (this.y_offset + this.y_size - 1) >> 4;
+        final int maxCZ = (this.z_offset + this.z_size - 1) >> 4;
+        final boolean[][][] swapped = new boolean[maxCX - minCX + 1][maxCY - minCY + 1][maxCZ - minCZ + 1];
+
+        final int dx = dst.x_offset - this.x_offset;
+        final int dy = dst.y_offset - this.y_offset;
+        final int dz = dst.z_offset - this.z_offset;
+        if (Platform.isEndlessIdsLoaded || (dx & 15) != 0 || (dy & 15) != 0 || (dz & 15) != 0) {
+            return swapped;
+        }
+
+        for (int cx = minCX; cx <= maxCX; cx++) {
+            for (int cz = minCZ; cz <= maxCZ; cz++) {
+                if (!this.isSectionInside(cx << 4, this.x_offset, this.x_size)
+                        || !this.isSectionInside(cz << 4, this.z_offset, this.z_size)) {
+                    continue;
+                }
+
+                final Chunk srcChunk = this.myChunks[cx - minCX][cz - minCZ];
+                final Chunk dstChunk = dst.getChunk(cx + (dx >> 4), cz + (dz >> 4));
+
+                for (int cy = minCY; cy <= maxCY; cy++) {
+                    if (!this.isSectionInside(cy << 4, this.y_offset, this.y_size)) {
+                        continue;
+                    }
+
+                    final int dcy = cy + (dy >> 4);
+                    if (this.skippedSections.contains(sectionKey(cx, cy, cz))
+                            || dst.skippedSections.contains(sectionKey(cx + (dx >> 4), dcy, cz + (dz >> 4)))) {
+                        continue;
+                    }
+
+                    final ExtendedBlockStorage a = srcChunk.getBlockStorageArray()[cy];
+                    final ExtendedBlockStorage b = dstChunk.getBlockStorageArray()[dcy];
+                    if (this.hasBlacklistedBlocks(a) || dst.hasBlacklistedBlocks(b)) {
+                        continue;
+                    }
+
+                    swapSectionStorage(a, b);
+                    this.removeMatrixFrames(a);
+                    this.removeMatrixFrames(b);
+                    swapped[cx - minCX][cy - minCY][cz - minCZ] = true;
+                }
+            }
+        }
+
+        return swapped;
+    }
+
+    private boolean isSectionInside(final int sectionStart, final int offset, final int size) {
+        return sectionStart >= offset && sectionStart + 15 <= offset + size - 1;
+    }
 
-            duration = endTime - startTime;
-            AELog.info("Update Time: " + duration);
+    private Chunk getChunk(final int cx, final int cz) {
+        return this.myChunks[cx - (this.x_offset >> 4)][cz - (this.z_offset >> 4)];
+    }
+
+    private boolean hasBlacklistedBlocks(final ExtendedBlockStorage storage) {
+        if (storage.isEmpty()) {
+            return false;
         }
+
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    if (this.isBlacklisted(storage.getBlockByExtId(x, y, z))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isBlacklisted(final Block blk) {
+        Boolean blacklisted = this.blacklistCache.get(blk);
+        if (blacklisted == null) {
+            blacklisted = this.reg.isBlacklisted(blk);
+            this.blacklistCache.put(blk, blacklisted);
+        }
+        return blacklisted;
+    }
+
+    /**
+     * Storage cells are filled with matrix frames, which must never leave the cell. The per block copy turns them into
+     * air on the way, this does the same for a section after its arrays were swapped.
+     */
+    private void removeMatrixFrames(final ExtendedBlockStorage storage) {
+        if (this.matrixFrameBlock == null || storage.isEmpty()) {
+            return;
+        }
+
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    if (storage.getBlockByExtId(x, y, z) == this.matrixFrameBlock) {
+                        storage.func_150818_a(x, y, z, Platform.AIR_BLOCK);
+                        storage.setExtBlockMetadata(x, y, z, 0);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void swapSectionStorage(final ExtendedBlockStorage a, final ExtendedBlockStorage b) {
+        final byte[] lsb = a.getBlockLSBArray();
+        final NibbleArray msb = a.getBlockMSBArray();
+        final NibbleArray meta = a.getMetadataArray();
+        final NibbleArray light = a.getBlocklightArray();
+
+        a.setBlockLSBArray(b.getBlockLSBArray());
+        a.setBlockMSBArray(b.getBlockMSBArray());
+        a.setBlockMetadataArray(b.getMetadataArray());
+        a.setBlocklightArray(b.getBlocklightArray());
+
+        b.setBlockLSBArray(lsb);
+        b.setBlockMSBArray(msb);
+        b.setBlockMetadataArray(meta);
+        b.setBlocklightArray(light);
+
+        // recount the non air and ticking blocks
+        a.removeInvalidBlocks();
+        b.removeInvalidBlocks();
+    }
+
+    private static long sectionKey(final int cx, final int cy, final int cz) {
+        return ((long) cx & 0x3FFFFFFL) << 38 | ((long) cz & 0x3FFFFFFL) << 12 | (cy & 0xFFF);
+    }
+
+    private void markSkipped(final int x, final int y, final int z) {
+        this.skippedSections.add(sectionKey(x >> 4, y >> 4, z >> 4));
     }
 
     private void markForUpdate(final int x, final int y, final int z) {
@@ -308,31 +482,18 @@ public class CachedPlane {
     }
 
     private void updateChunks() {
-
-        // update shit..
+        final List<Chunk> chunks = new ArrayList<>(this.cx_size * this.cz_size);
         for (int x = 0; x < this.cx_size; x++) {
             for (int z = 0; z < this.cz_size; z++) {
                 final Chunk c = this.myChunks[x][z];
-                c.resetRelightChecks();
-                c.generateSkylightMap();
                 c.isModified = true;
+                chunks.add(c);
             }
         }
 
-        // send shit...
-        for (int x = 0; x < this.cx_size; x++) {
-            for (int z = 0; z < this.cz_size; z++) {
-
-                final Chunk c = this.myChunks[x][z];
-
-                for (int y = 1; y < 255; y += 32) {
-                    WorldData.instance().compassData().service()
-                            .updateArea(this.getWorld(), c.xPosition << 4, y, c.zPosition << 4);
-                }
-
-                Platform.sendChunk(c, this.verticalBits);
-            }
-        }
+        // relighting and resending is spread over the next ticks.
+        SpatialMetrics.addPendingChunks(chunks.size());
+        TickHandler.INSTANCE.addDeferredCallable(this.getWorld(), new ChunkUpdater(chunks, this.verticalBits));
     }
 
     LinkedList<WorldCoord> getUpdates() {
@@ -343,6 +504,54 @@ public class CachedPlane {
         return this.world;
     }
 
+    private Block withoutMatrixFrame(final Block blk) {
+        return blk == this.matrixFrameBlock ? Platform.AIR_BLOCK : blk;
+    }
+
+    /**
+     * Relights and resends the chunks touched by a transition, a few chunks per tick.
+     */
+    private static class ChunkUpdater implements IWorldCallable<Void> {
+
+        private static final int CHUNKS_PER_TICK = 8;
+
+        private final List<Chunk> chunks;
+        private final int verticalBits;
+        private int next = 0;
+
+        private ChunkUpdater(final List<Chunk> chunks, final int verticalBits) {
+            this.chunks = chunks;
+            this.verticalBits = verticalBits;
+        }
+
+        @Override
+        public Void call(final World world) throws Exception {
+            final long startTime = System.nanoTime();
+            final int start = this.next;
+            final int end = Math.min(this.chunks.size(), start + CHUNKS_PER_TICK);
+
+            for (; this.next < end; this.next++) {
+                final Chunk c = this.chunks.get(this.next);
+                c.resetRelightChecks();
+                c.generateSkylightMap();
+                c.isModified = true;
+
+                WorldData.instance().compassData().service().rescanArea(world, c.xPosition, c.zPosition);
+
+                if (c.isChunkLoaded) {
+                    Platform.sendChunk(c, this.verticalBits);
+                }
+            }
+
+            SpatialMetrics.recordRelight(end - start, System.nanoTime() - startTime);
+
+            if (this.next < this.chunks.size()) {
+                TickHandler.INSTANCE.addDeferredCallable(world, this);
+            }
+            return null;
+        }
+    }
+
     private class Column {
 
         private final int x;
@@ -370,19 +579,27 @@ public class CachedPlane {
             }
         }
 
-        private void setBlockIDWithMetadata(final int y, final Object[] blk) {
-            for (final Block matrixFrameBlock : CachedPlane.this.matrixFrame.maybeBlock().asSet()) {
-                if (blk[0] == matrixFrameBlock) {
-                    blk[0] = Platform.AIR_BLOCK;
-                    break;
-                }
-            }
+        private void swapBlock(final int y, final Column other, final int otherY) {
+            final ExtendedBlockStorage a = this.storage[y >> 4];
+            final ExtendedBlockStorage b = other.storage[otherY >> 4];
+            final int ay = y & 15;
+            final int by = otherY & 15;
+
+            final Block aBlock = a.getBlockByExtId(this.x, ay, this.z);
+            final int aMeta = a.getExtBlockMetadata(this.x, ay, this.z);
+            final int aLight = a.getExtBlocklightValue(this.x, ay, this.z);
+
+            final Block bBlock = b.getBlockByExtId(other.x, by, other.z);
+            final int bMeta = b.getExtBlockMetadata(other.x, by, other.z);
+            final int bLight = b.getExtBlocklightValue(other.x, by, other.z);
+
+            a.func_150818_a(this.x, ay, this.z, CachedPlane.this.withoutMatrixFrame(bBlock));
+            a.setExtBlockMetadata(this.x, ay, this.z, bMeta);
+            a.setExtBlocklightValue(this.x, ay, this.z, bLight);
 
-            final ExtendedBlockStorage extendedBlockStorage = this.storage[y >> 4];
-            extendedBlockStorage.func_150818_a(this.x, y & 15, this.z, (Block) blk[0]);
-            // extendedBlockStorage.setExtBlockID( x, y & 15, z, blk[0] );
-            extendedBlockStorage.setExtBlockMetadata(this.x, y & 15, this.z, (Integer) blk[1]);
-            extendedBlockStorage.setExtBlocklightValue(this.x, y & 15, this.z, (Integer) blk[2]);
+            b.func_150818_a(other.x, by, other.z, CachedPlane.this.withoutMatrixFrame(aBlock));
+            b.setExtBlockMetadata(other.x, by, other.z, aMeta);
+            b.setExtBlocklightValue(other.x, by, other.z, aLight);
         }
 
         private Object[] getDetails(final int y) {
@@ -395,7 +612,7 @@ public class CachedPlane {
 
         private boolean doNotSkip(final int y) {
             final ExtendedBlockStorage extendedblockstorage = this.storage[y >> 4];
-            if (CachedPlane.this.reg.isBlacklisted(extendedblockstorage.getBlockByExtId(this.x, y & 15, this.z))) {
+            if (CachedPlane.this.isBlacklisted(extendedblockstorage.getBlockByExtId(this.x, y & 15, this.z))) {
                 return false;
             }
 
@@ -407,6 +624,7 @@ public class CachedPlane {
                 this.skipThese = new LinkedList<>();
             }
             this.skipThese.add(yCoord);
+            CachedPlane.this.markSkipped((this.c.xPosition << 4) + this.x, yCoord, (this.c.zPosition << 4) + this.z);
         }
     }
 }
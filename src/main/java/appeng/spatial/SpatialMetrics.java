@@ -0,0 +1,68 @@
+/*
+ * This file is part of Applied Energistics 2. Copyright (c) 2013 - 2015, AlgorithmX2, All rights reserved. Applied
+ * Energistics 2 is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. Applied Energistics 2 is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details. You should have received a copy of the GNU Lesser General Public License along with
+ * Applied Energistics 2. If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.spatial;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counters for spatial IO transitions, only touched from the server thread.
+ */
+public final class SpatialMetrics {
+
+    private static long swaps;
+    private static long sectionsSwapped;
+    private static long blocksCopied;
+    private static long copyNanos;
+    private static long maxCopyNanos;
+    private static long chunksRelit;
+    private static long relightNanos;
+    private static int pendingChunks;
+
+    private SpatialMetrics() {}
+
+    static void recordSwap(final int sections, final long blocks, final long nanos) {
+        swaps++;
+        sectionsSwapped += sections;
+        blocksCopied += blocks;
+        copyNanos += nanos;
+        maxCopyNanos = Math.max(maxCopyNanos, nanos);
+    }
+
+    static void recordRelight(final int chunks, final long nanos) {
+        chunksRelit += chunks;
+        relightNanos += nanos;
+        pendingChunks -= chunks;
+    }
+
+    static void addPendingChunks(final int chunks) {
+        pendingChunks += chunks;
+    }
+
+    public static List<String> describe() {
+        final List<String> out = new ArrayList<>();
+        out.add("Transitions: " + swaps);
+        out.add("Sections swapped: " + sectionsSwapped + ", blocks copied one by one: " + blocksCopied);
+        out.add(
+                "Block copy time: " + TimeUnit.NANOSECONDS.toMillis(copyNanos)
+                        + " ms total, "
+                        + TimeUnit.NANOSECONDS.toMillis(maxCopyNanos)
+                        + " ms worst");
+        out.add(
+                "Chunks relit: " + chunksRelit
+                        + " in "
+                        + TimeUnit.NANOSECONDS.toMillis(relightNanos)
+                        + " ms, pending: "
+                        + pendingChunks);
+        return out;
+    }
+}
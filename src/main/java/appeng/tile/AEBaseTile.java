@@ -45,6 +45,7 @@ import appeng.core.AELog;
 import appeng.core.features.IStackSrc;
 import appeng.helpers.ICustomNameObject;
 import appeng.helpers.IPriorityHost;
+import appeng.me.GridTickScheduler;
 import appeng.tile.events.AETileEventHandler;
 import appeng.tile.events.TileEventType;
 import appeng.tile.inventory.AppEngInternalAEInventory;
@@ -235,6 +236,11 @@ public class AEBaseTile extends TileEntity implements IOrientable, ICommonTile,
     }
 
     public void markForUpdate() {
+        if (GridTickScheduler.isTickingComponent()) {
+            GridTickScheduler.runOnMainThread(this::markForUpdate);
+            return;
+        }
+
         if (this.renderFragment > 0) {
             this.renderFragment |= 1;
         } else {
@@ -466,6 +472,11 @@ public class AEBaseTile extends TileEntity implements IOrientable, ICommonTile,
     }
 
     public void saveChanges() {
+        if (GridTickScheduler.isTickingComponent()) {
+            GridTickScheduler.runOnMainThread(this::saveChanges);
+            return;
+        }
+
         super.markDirty();
     }
 
@@ -69,6 +69,7 @@ public class TileMolecularAssembler extends AENetworkInvTile
         implements IUpgradeableHost, IConfigManagerHost, IGridTickable, ICraftingMachine, IPowerChannelState {
 
     private static final int[] SIDES = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+    private static final int CRAFT_TICKS = 10;
 
     private final InventoryCrafting craftingInv;
     private final AppEngInternalInventory inv = new AppEngInternalInventory(this, 9 + 2);
@@ -80,6 +81,7 @@ public class TileMolecularAssembler extends AENetworkInvTile
     private ItemStack myPattern = null;
     private ICraftingPatternDetails myPlan = null;
     private double progress = 0;
+    private int loadedCopies = 0;
     private boolean isAwake = false;
     private boolean forcePlan = false;
     private boolean reboot = true;
@@ -102,13 +104,24 @@ public class TileMolecularAssembler extends AENetworkInvTile
     @Override
     public boolean pushPattern(final ICraftingPatternDetails patternDetails, final InventoryCrafting table,
             final ForgeDirection where) {
-        if (this.myPattern == null) {
-            boolean isEmpty = true;
-            for (int x = 0; x < this.inv.getSizeInventory(); x++) {
-                isEmpty = this.inv.getStackInSlot(x) == null && isEmpty;
-            }
+        return this.pushCopies(patternDetails, table, 1, where);
+    }
+
+    @Override
+    public int pushPatterns(final ICraftingPatternDetails patternDetails, final InventoryCrafting table,
+            final int copies, final ForgeDirection where) {
+        if (copies <= 0) {
+            return 0;
+        }
 
-            if (isEmpty && patternDetails.isCraftable()) {
+        final int batch = Math.min(copies, this.getBatchLimit(patternDetails, table));
+        return this.pushCopies(patternDetails, table, batch, where) ? batch : 0;
+    }
+
+    private boolean pushCopies(final ICraftingPatternDetails patternDetails, final InventoryCrafting table,
+            final int copies, final ForgeDirection where) {
+        if (this.myPattern == null) {
+            if (this.isInventoryEmpty() && patternDetails.isCraftable()) {
                 this.forcePlan = true;
                 this.myPlan = patternDetails;
                 this.pushDirection = where;
@@ -116,6 +129,7 @@ public class TileMolecularAssembler extends AENetworkInvTile
                 for (int x = 0; x < table.getSizeInventory(); x++) {
                     this.inv.setInventorySlotContents(x, table.getStackInSlot(x));
                 }
+                this.loadedCopies = copies;
 
                 this.updateSleepiness();
                 this.markDirty();
@@ -125,6 +139,56 @@ public class TileMolecularAssembler extends AENetworkInvTile
         return false;
     }
 
+    @Override
+    public int getMaxBatchSize(final ICraftingPatternDetails patternDetails) {
+        return this.myPattern == null && patternDetails.isCraftable() && this.isInventoryEmpty()
+                ? this.getBatchCapacity()
+                : 0;
+    }
+
+    /**
+     * The assembler always works every {@link #CRAFT_TICKS} ticks. Speed cards do not make it faster, they let it take
+     * that many pushed copies of a pattern and craft them together.
+     */
+    private int getBatchCapacity() {
+        return switch (this.upgrades.getInstalledUpgrades(Upgrades.SPEED)) {
+            case 2, 3 -> 2;
+            case 4 -> 3;
+            case 5 -> 5;
+            default -> 1;
+        };
+    }
+
+    /**
+     * Only plain inputs are batched, container items are put back into the grid after every single craft. The output
+     * of a batch may not exceed a stack.
+     */
+    private int getBatchLimit(final ICraftingPatternDetails patternDetails, final InventoryCrafting table) {
+        int limit = this.getBatchCapacity();
+        for (int x = 0; x < table.getSizeInventory() && limit > 1; x++) {
+            final ItemStack is = table.getStackInSlot(x);
+            if (is != null && (is.getItem() == null || is.getItem().hasContainerItem(is))) {
+                return 1;
+            }
+        }
+
+        final IAEItemStack[] outputs = patternDetails.getCondensedOutputs();
+        if (outputs.length > 0 && outputs[0] != null) {
+            final ItemStack out = outputs[0].getItemStack();
+            limit = Math.min(limit, out.getMaxStackSize() / Math.max(1, out.stackSize));
+        }
+        return Math.max(1, limit);
+    }
+
+    private boolean isInventoryEmpty() {
+        for (int x = 0; x < this.inv.getSizeInventory(); x++) {
+            if (this.inv.getStackInSlot(x) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void updateSleepiness() {
         final boolean wasEnabled = this.isAwake;
         this.isAwake = this.myPlan != null && this.hasMats() || this.canPush();
@@ -188,6 +252,7 @@ public class TileMolecularAssembler extends AENetworkInvTile
                 pattern.writeToNBT(compound);
                 data.setTag("myPlan", compound);
                 data.setInteger("pushDirection", this.pushDirection.ordinal());
+                data.setInteger("loadedCopies", this.loadedCopies);
             }
         }
 
@@ -208,6 +273,7 @@ public class TileMolecularAssembler extends AENetworkInvTile
                     this.forcePlan = true;
                     this.myPlan = ph;
                     this.pushDirection = ForgeDirection.getOrientation(data.getInteger("pushDirection"));
+                    this.loadedCopies = data.getInteger("loadedCopies");
                 }
             }
         }
@@ -334,6 +400,14 @@ public class TileMolecularAssembler extends AENetworkInvTile
     public void getDrops(final World w, final int x, final int y, final int z, final List<ItemStack> drops) {
         super.getDrops(w, x, y, z, drops);
 
+        // the input slots only hold one of the loaded copies
+        for (int h = 0; h < 9; h++) {
+            final ItemStack is = this.inv.getStackInSlot(h);
+            for (int c = 1; is != null && c < this.loadedCopies; c++) {
+                drops.add(is.copy());
+            }
+        }
+
         for (int h = 0; h < this.upgrades.getSizeInventory(); h++) {
             final ItemStack is = this.upgrades.getStackInSlot(h);
             if (is != null) {
@@ -346,7 +420,7 @@ public class TileMolecularAssembler extends AENetworkInvTile
     public TickingRequest getTickingRequest(final IGridNode node) {
         this.recalculatePlan();
         this.updateSleepiness();
-        return new TickingRequest(1, 1, !this.isAwake, false);
+        return new TickingRequest(CRAFT_TICKS, CRAFT_TICKS, !this.isAwake, false);
     }
 
     @Override
@@ -361,7 +435,9 @@ public class TileMolecularAssembler extends AENetworkInvTile
 
             this.ejectHeldItems();
             this.updateSleepiness();
-            this.progress = 0;
+            if (this.loadedCopies == 0) {
+                this.progress = 0;
+            }
             return this.isAwake ? TickRateModulation.IDLE : TickRateModulation.SLEEP;
         }
 
@@ -379,14 +455,12 @@ public class TileMolecularAssembler extends AENetworkInvTile
         }
 
         this.reboot = false;
-        int speed = 10;
-        switch (this.upgrades.getInstalledUpgrades(Upgrades.SPEED)) {
-            case 0 -> this.progress += this.userPower(ticksSinceLastCall, speed = 10, 1.0);
-            case 1 -> this.progress += this.userPower(ticksSinceLastCall, speed = 13, 1.3);
-            case 2 -> this.progress += this.userPower(ticksSinceLastCall, speed = 17, 1.7);
-            case 3 -> this.progress += this.userPower(ticksSinceLastCall, speed = 20, 2.0);
-            case 4 -> this.progress += this.userPower(ticksSinceLastCall, speed = 25, 2.5);
-            case 5 -> this.progress += this.userPower(ticksSinceLastCall, speed = 50, 5.0);
+
+        // a cycle pays for its whole batch at once, the speed the cards give costs extra power per item as before
+        final int copies = Math.max(1, this.loadedCopies);
+        if (this.progress < 100) {
+            final double tax = this.loadedCopies > 0 ? this.getBatchCapacity() : 1.0;
+            this.progress += this.userPower(ticksSinceLastCall, 100 / CRAFT_TICKS, tax * copies);
         }
 
         if (this.progress >= 100) {
@@ -394,24 +468,37 @@ public class TileMolecularAssembler extends AENetworkInvTile
                 this.craftingInv.setInventorySlotContents(x, this.inv.getStackInSlot(x));
             }
 
-            this.progress = 0;
             final ItemStack output = this.myPlan.getOutput(this.craftingInv, this.getWorldObj());
             if (output != null) {
+                final int crafted = this.getCopiesThatFit(output, copies);
+                final ItemStack batchOutput = output.copy();
+                batchOutput.stackSize *= crafted;
+
                 FMLCommonHandler.instance().firePlayerCraftingEvent(
                         Platform.getPlayer((WorldServer) this.getWorldObj()),
-                        output,
+                        batchOutput,
                         this.craftingInv);
 
-                this.pushOut(output.copy());
+                this.loadedCopies = Math.max(0, this.loadedCopies - crafted);
+                if (this.loadedCopies > 0) {
+                    // the copies left are paid for already and go out in the next cycle
+                    this.progress = 100;
+                    this.pushOut(batchOutput);
+                } else {
+                    this.progress = 0;
+                    this.pushOut(batchOutput);
 
-                for (int x = 0; x < this.craftingInv.getSizeInventory(); x++) {
-                    this.inv.setInventorySlotContents(x, Platform.getContainerItem(this.craftingInv.getStackInSlot(x)));
-                }
+                    for (int x = 0; x < this.craftingInv.getSizeInventory(); x++) {
+                        this.inv.setInventorySlotContents(
+                                x,
+                                Platform.getContainerItem(this.craftingInv.getStackInSlot(x)));
+                    }
 
-                if (this.inv.getStackInSlot(10) == null) {
-                    this.forcePlan = false;
-                    this.myPlan = null;
-                    this.pushDirection = ForgeDirection.UNKNOWN;
+                    if (this.inv.getStackInSlot(10) == null) {
+                        this.forcePlan = false;
+                        this.myPlan = null;
+                        this.pushDirection = ForgeDirection.UNKNOWN;
+                    }
                 }
 
                 this.ejectHeldItems();
@@ -425,7 +512,12 @@ public class TileMolecularAssembler extends AENetworkInvTile
                             32);
                     final IAEItemStack item = AEItemStack.create(output);
                     NetworkHandler.instance.sendToAllAround(
-                            new PacketAssemblerAnimation(this.xCoord, this.yCoord, this.zCoord, (byte) speed, item),
+                            new PacketAssemblerAnimation(
+                                    this.xCoord,
+                                    this.yCoord,
+                                    this.zCoord,
+                                    (byte) CRAFT_TICKS,
+                                    item),
                             where);
                 } catch (final IOException e) {
                     // ;P
@@ -435,9 +527,26 @@ public class TileMolecularAssembler extends AENetworkInvTile
                 this.updateSleepiness();
                 return this.isAwake ? TickRateModulation.IDLE : TickRateModulation.SLEEP;
             }
+
+            this.progress = 0;
         }
 
-        return TickRateModulation.FASTER;
+        return TickRateModulation.SAME;
+    }
+
+    /**
+     * Crafts only as many copies as the target takes, so the output slot never holds more than one copy.
+     */
+    private int getCopiesThatFit(final ItemStack output, final int copies) {
+        if (copies <= 1) {
+            return 1;
+        }
+
+        final ItemStack batch = output.copy();
+        batch.stackSize *= copies;
+        final ItemStack left = this.simulatePushOut(batch);
+        final int leftCopies = left == null ? 0 : (left.stackSize + output.stackSize - 1) / output.stackSize;
+        return Math.max(1, copies - leftCopies);
     }
 
     private void ejectHeldItems() {
@@ -467,16 +576,27 @@ public class TileMolecularAssembler extends AENetworkInvTile
         }
     }
 
+    private ItemStack simulatePushOut(ItemStack output) {
+        if (this.pushDirection == ForgeDirection.UNKNOWN) {
+            for (final ForgeDirection d : ForgeDirection.VALID_DIRECTIONS) {
+                output = this.pushTo(output, d, true);
+            }
+        } else {
+            output = this.pushTo(output, this.pushDirection, true);
+        }
+        return output;
+    }
+
     private void pushOut(ItemStack output) {
         if (this.pushDirection == ForgeDirection.UNKNOWN) {
             for (final ForgeDirection d : ForgeDirection.VALID_DIRECTIONS) {
-                output = this.pushTo(output, d);
+                output = this.pushTo(output, d, false);
             }
         } else {
-            output = this.pushTo(output, this.pushDirection);
+            output = this.pushTo(output, this.pushDirection, false);
         }
 
-        if (output == null && this.forcePlan) {
+        if (output == null && this.forcePlan && this.loadedCopies == 0) {
             this.forcePlan = false;
             this.recalculatePlan();
         }
@@ -484,7 +604,7 @@ public class TileMolecularAssembler extends AENetworkInvTile
         this.inv.setInventorySlotContents(9, output);
     }
 
-    private ItemStack pushTo(ItemStack output, final ForgeDirection d) {
+    private ItemStack pushTo(ItemStack output, final ForgeDirection d, final boolean simulate) {
         if (output == null) {
             return output;
         }
@@ -502,6 +622,10 @@ public class TileMolecularAssembler extends AENetworkInvTile
             return output;
         }
 
+        if (simulate) {
+            return adaptor.simulateAdd(output);
+        }
+
         final int size = output.stackSize;
         output = adaptor.addItems(output);
         final int newSize = output == null ? 0 : output.stackSize;
@@ -1,6 +1,8 @@
 package appeng.tile.misc;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
@@ -22,12 +24,15 @@ import appeng.api.networking.events.MENetworkEventSubscribe;
 import appeng.api.networking.events.MENetworkPowerStatusChange;
 import appeng.api.networking.security.BaseActionSource;
 import appeng.api.networking.security.MachineSource;
+import appeng.api.networking.storage.IStackWatcher;
+import appeng.api.networking.storage.IStackWatcherHost;
 import appeng.api.networking.storage.IStorageGrid;
 import appeng.api.networking.ticking.IGridTickable;
 import appeng.api.networking.ticking.TickRateModulation;
 import appeng.api.networking.ticking.TickingRequest;
 import appeng.api.storage.IMEInventory;
 import appeng.api.storage.IMEMonitor;
+import appeng.api.storage.StorageChannel;
 import appeng.api.storage.StorageName;
 import appeng.api.storage.data.AEStackTypeRegistry;
 import appeng.api.storage.data.IAEStack;
@@ -47,8 +52,15 @@ import io.netty.buffer.ByteBuf;
 import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 
-public class TileSuperMEReplenisher extends AENetworkTile
-        implements IMEInventory<IAEStack<?>>, IIAEStackInventory, IPowerChannelState, IGridTickable {
+/**
+ * Keeps a buffer of the configured stacks topped up from the network.
+ * <p>
+ * It only ticks while there is something to do: the buffer was drawn from, items were put in that have to go back,
+ * or the settings changed. Stacks the network could not supply are watched instead of polled, and wake it up again
+ * once the network has some of them.
+ */
+public class TileSuperMEReplenisher extends AENetworkTile implements IMEInventory<IAEStack<?>>, IIAEStackInventory,
+        IPowerChannelState, IGridTickable, IStackWatcherHost {
 
     private final IAEStackList storage = new IAEStackList(true);
     private final IAEStackList out = new IAEStackList(true);
@@ -59,6 +71,7 @@ public class TileSuperMEReplenisher extends AENetworkTile
             if (haveSame(n, aes)) return;
             if (Platform.isServer() && TileSuperMEReplenisher.this.onConfigChange(n, aes)) return;
             super.putAEStackInSlot(n, aes);
+            TileSuperMEReplenisher.this.wake();
         }
     };
 
@@ -77,6 +90,12 @@ public class TileSuperMEReplenisher extends AENetworkTile
 
     private final BaseActionSource src = new MachineSource(this);
 
+    private IStackWatcher watcher;
+    private Set<IAEStack<?>> starved = new HashSet<>();
+    private boolean transferred = false;
+    private long wakeUps = 0;
+    private long usefulWakeUps = 0;
+
     private final AppEngInternalInventory cells = new AppEngInternalInventory(null, 6) {
 
         @Override
@@ -90,6 +109,7 @@ public class TileSuperMEReplenisher extends AENetworkTile
             TileSuperMEReplenisher.this.removeCell(this.getStackInSlot(slot));
             TileSuperMEReplenisher.this.addCell(newItemStack);
             super.setInventorySlotContents(slot, newItemStack);
+            TileSuperMEReplenisher.this.wake();
         }
 
         @Override
@@ -111,11 +131,37 @@ public class TileSuperMEReplenisher extends AENetworkTile
     @Override
     public TickRateModulation tickingRequest(IGridNode node, int TicksSinceLastCall) {
         try {
-            if (this.getProxy().isActive()) return this.doWork(this.getProxy().getStorage());
+            if (this.getProxy().isActive()) {
+                this.wakeUps++;
+                this.transferred = false;
+                final TickRateModulation next = this.doWork(this.getProxy().getStorage());
+                if (this.transferred) this.usefulWakeUps++;
+                return next;
+            }
         } catch (final GridAccessException ignored) {}
         return TickRateModulation.SAME;
     }
 
+    private void wake() {
+        try {
+            this.getProxy().getTick().wakeDevice(this.getProxy().getNode());
+        } catch (final GridAccessException ignored) {}
+    }
+
+    @Override
+    public void updateWatcher(final IStackWatcher newWatcher) {
+        this.watcher = newWatcher;
+        this.watcher.addAll(this.starved);
+    }
+
+    @Override
+    public void onStackChange(final IItemList o, final IAEStack fullStack, final IAEStack diffStack,
+            final BaseActionSource src, final StorageChannel chan) {
+        if (fullStack != null && fullStack.getStackSize() > 0 && this.starved.contains(fullStack)) {
+            this.wake();
+        }
+    }
+
     private void updateTickRate() {
         try {
             this.getProxy().getTick().updateTickRate(this.getGridNode(ForgeDirection.UNKNOWN));
@@ -175,14 +221,19 @@ public class TileSuperMEReplenisher extends AENetworkTile
     @MENetworkEventSubscribe
     public void stateChange(final MENetworkPowerStatusChange p) {
         this.updatePowerState();
+        this.wake();
     }
 
     @MENetworkEventSubscribe
     public final void bootingRender(final MENetworkBootingStatusChange c) {
         this.updatePowerState();
+        this.wake();
     }
 
     private TickRateModulation doWork(final IStorageGrid storage) {
+        final Set<IAEStack<?>> starved = new HashSet<>();
+        boolean overfilled = false;
+
         for (int i = 0; i < this.config.getSizeInventory(); i++) {
             final IAEStack<?> config = this.config.getAEStackInSlot(i);
             if (config == null) continue;
@@ -195,17 +246,28 @@ public class TileSuperMEReplenisher extends AENetworkTile
             if (((double) storedSize / configSize) < this.threshold) {
                 final IAEStack<?> toRequest = config.copy();
                 toRequest.setStackSize(configSize - storedSize);
-                toRequest(toRequest, storage);
+                if (!toRequest(toRequest, storage)) starved.add(config.copy());
             } else if (storedSize > configSize) {
                 final IAEStack<?> toReturn = config.copy();
                 toReturn.setStackSize(storedSize - configSize);
                 toReturn(toReturn, storage, this.storage);
+                final IAEStack<?> left = this.storage.findPrecise(config);
+                overfilled |= left != null && left.getStackSize() > configSize;
             }
         }
 
         this.refund(this.out);
 
-        return TickRateModulation.SAME;
+        if (!starved.equals(this.starved)) {
+            this.starved = starved;
+            if (this.watcher != null) {
+                this.watcher.retainAll(starved);
+                this.watcher.addAll(starved);
+            }
+        }
+
+        // whatever the network did not take back is retried on the next tick, everything else waits to be woken
+        return overfilled || !this.out.isEmpty() ? TickRateModulation.SAME : TickRateModulation.SLEEP;
     }
 
     private boolean haveSame(final int n, final IAEStack<?> aes) {
@@ -257,9 +319,12 @@ public class TileSuperMEReplenisher extends AENetworkTile
         return this.storage.findPrecise(aes);
     }
 
-    private void toRequest(final IAEStack<?> aes, final IStorageGrid storage) {
+    /**
+     * @return false if the network could not supply everything that fits into the buffer
+     */
+    private boolean toRequest(final IAEStack<?> aes, final IStorageGrid storage) {
         final IMEMonitor monitor = storage.getMEMonitor(aes.getStackType());
-        if (monitor == null) return;
+        if (monitor == null) return true;
         final IAEStack<?> notAllowed = this.injectItems(aes, Actionable.SIMULATE, this.storage);
 
         if (notAllowed != null) {
@@ -268,8 +333,11 @@ public class TileSuperMEReplenisher extends AENetworkTile
             aes.setStackSize(requestSize - notAllowedSize);
         }
 
+        if (aes.getStackSize() <= 0) return true;
+
         final IAEStack<?> extracted = monitor.extractItems(aes, Actionable.MODULATE, this.src);
         this.injectItems(extracted, Actionable.MODULATE, this.storage);
+        return extracted != null && extracted.getStackSize() >= aes.getStackSize();
     }
 
     private void toReturn(final IAEStack<?> aes, final IStorageGrid storage, final IAEStackList target) {
@@ -358,7 +426,9 @@ public class TileSuperMEReplenisher extends AENetworkTile
 
     @Override
     public IAEStack<?> injectItems(IAEStack<?> input, Actionable type, BaseActionSource src) {
-        return this.injectItems(input, type, this.out);
+        final IAEStack<?> notInjected = this.injectItems(input, type, this.out);
+        if (type == Actionable.MODULATE && input != null && notInjected != input) this.wake();
+        return notInjected;
     }
 
     private IAEStack<?> injectItems(final IAEStack<?> input, final Actionable type, final IAEStackList target) {
@@ -395,6 +465,7 @@ public class TileSuperMEReplenisher extends AENetworkTile
             }
         } else {
             this.status = 1;
+            this.transferred = true;
             this.markForUpdate();
 
             if (freeBytes >= needBytes) {
@@ -426,7 +497,9 @@ public class TileSuperMEReplenisher extends AENetworkTile
 
     @Override
     public IAEStack<?> extractItems(IAEStack<?> request, Actionable mode, BaseActionSource src) {
-        return this.extractItems(request, mode, this.storage);
+        final IAEStack<?> extracted = this.extractItems(request, mode, this.storage);
+        if (mode == Actionable.MODULATE && extracted != null) this.wake();
+        return extracted;
     }
 
     private IAEStack<?> extractItems(final IAEStack<?> request, final Actionable mode, final IAEStackList target) {
@@ -449,6 +522,7 @@ public class TileSuperMEReplenisher extends AENetworkTile
 
         if (mode == Actionable.MODULATE) {
             this.status = -1;
+            this.transferred = true;
             this.markForUpdate();
 
             stack.decStackSize(requestSize);
@@ -577,8 +651,20 @@ public class TileSuperMEReplenisher extends AENetworkTile
         return this.tickRate;
     }
 
+    public long getWakeUps() {
+        return this.wakeUps;
+    }
+
+    /**
+     * @return how many of the {@link #getWakeUps() wake-ups} moved anything in or out of the buffer
+     */
+    public long getUsefulWakeUps() {
+        return this.usefulWakeUps;
+    }
+
     public void setThreshold(final double threshold) {
         this.threshold = threshold;
+        this.wake();
     }
 
     public double getThreshold() {
@@ -21,6 +21,7 @@ import appeng.api.networking.events.MENetworkPowerStorage;
 import appeng.api.networking.events.MENetworkPowerStorage.PowerEventType;
 import appeng.api.util.AECableType;
 import appeng.me.GridAccessException;
+import appeng.me.GridTickScheduler;
 import appeng.tile.TileEvent;
 import appeng.tile.events.TileEventType;
 import appeng.tile.grid.AENetworkTile;
@@ -65,7 +66,9 @@ public class TileEnergyCell extends AENetworkTile implements IAEPowerStorage {
 
         if (this.currentMeta != boundMetadata) {
             this.currentMeta = boundMetadata;
-            this.worldObj.setBlockMetadataWithNotify(this.xCoord, this.yCoord, this.zCoord, this.currentMeta, 2);
+            final int meta = this.currentMeta;
+            GridTickScheduler.runOnMainThread(
+                    () -> this.worldObj.setBlockMetadataWithNotify(this.xCoord, this.yCoord, this.zCoord, meta, 2));
         }
     }
 
@@ -34,6 +34,7 @@ import appeng.api.util.AECableType;
 import appeng.api.util.DimensionalCoord;
 import appeng.core.AEConfig;
 import appeng.me.GridAccessException;
+import appeng.me.cache.WirelessAccessPointCache;
 import appeng.tile.TileEvent;
 import appeng.tile.events.TileEventType;
 import appeng.tile.grid.AENetworkInvTile;
@@ -136,7 +137,12 @@ public class TileWireless extends AENetworkInvTile implements IWirelessAccessPoi
     @Override
     public void onChangeInventory(final IInventory inv, final int slot, final InvOperation mc, final ItemStack removed,
             final ItemStack added) {
-        // :P
+        try {
+            this.getProxy().getGrid().<WirelessAccessPointCache>getCache(WirelessAccessPointCache.class)
+                    .updateRange(this.getProxy().getNode());
+        } catch (final GridAccessException e) {
+            // :P
+        }
     }
 
     @Override
@@ -10,6 +10,7 @@
 
 package appeng.tile.storage;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
@@ -18,13 +19,16 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.IInventory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
 import net.minecraft.world.World;
+import net.minecraftforge.common.util.Constants.NBT;
 import net.minecraftforge.common.util.ForgeDirection;
 
 import appeng.api.AEApi;
 import appeng.api.config.Actionable;
 import appeng.api.config.FullnessMode;
 import appeng.api.config.OperationMode;
+import appeng.api.config.PowerMultiplier;
 import appeng.api.config.RedstoneMode;
 import appeng.api.config.Settings;
 import appeng.api.config.Upgrades;
@@ -39,9 +43,11 @@ import appeng.api.networking.security.MachineSource;
 import appeng.api.networking.ticking.IGridTickable;
 import appeng.api.networking.ticking.TickRateModulation;
 import appeng.api.networking.ticking.TickingRequest;
+import appeng.api.storage.ICellInventoryHandler;
 import appeng.api.storage.IMEInventory;
 import appeng.api.storage.IMEMonitor;
 import appeng.api.storage.data.AEStackTypeRegistry;
+import appeng.api.storage.data.IAEItemStack;
 import appeng.api.storage.data.IAEStack;
 import appeng.api.storage.data.IAEStackType;
 import appeng.api.storage.data.IItemList;
@@ -52,6 +58,7 @@ import appeng.api.util.IConfigManager;
 import appeng.core.settings.TickRates;
 import appeng.helpers.Reflected;
 import appeng.me.GridAccessException;
+import appeng.me.storage.CellInventory;
 import appeng.parts.automation.BlockUpgradeInventory;
 import appeng.parts.automation.UpgradeInventory;
 import appeng.tile.TileEvent;
@@ -108,6 +115,12 @@ public class TileIOPort extends AENetworkInvTile
     private IMEInventory<?> cachedInventory;
     private int[] moveQueue = { 0, 0, 0, 0, 0, 0 };
     private AEColor paintedColor = AEColor.Transparent;
+    private long itemsPerTick = 0;
+    /**
+     * Stacks that neither the cell nor the network took back after a failed insert, handed to the network before
+     * anything else is moved.
+     */
+    private final List<IAEStack<?>> returnBuffer = new ArrayList<>();
 
     private static final class TransferResult {
 
@@ -146,6 +159,13 @@ public class TileIOPort extends AENetworkInvTile
         data.setInteger("lastRedstoneState", this.lastRedstoneState.ordinal());
         data.setIntArray("moveQueue", moveQueue);
         data.setByte("paintedColor", (byte) this.paintedColor.ordinal());
+        if (!this.returnBuffer.isEmpty()) {
+            final NBTTagList buffer = new NBTTagList();
+            for (final IAEStack<?> stack : this.returnBuffer) {
+                buffer.appendTag(Platform.writeStackNBT(stack, new NBTTagCompound()));
+            }
+            data.setTag("returnBuffer", buffer);
+        }
     }
 
     @TileEvent(TileEventType.WORLD_NBT_READ)
@@ -163,6 +183,14 @@ public class TileIOPort extends AENetworkInvTile
             this.paintedColor = AEColor.fromOrdinal(data.getByte("paintedColor"));
             this.getProxy().setColor(this.paintedColor);
         }
+        this.returnBuffer.clear();
+        final NBTTagList buffer = data.getTagList("returnBuffer", NBT.TAG_COMPOUND);
+        for (int x = 0; x < buffer.tagCount(); x++) {
+            final IAEStack<?> stack = Platform.readStackNBT(buffer.getCompoundTagAt(x));
+            if (stack != null) {
+                this.returnBuffer.add(stack);
+            }
+        }
     }
 
     @TileEvent(TileEventType.NETWORK_WRITE)
@@ -271,6 +299,10 @@ public class TileIOPort extends AENetworkInvTile
     }
 
     private boolean hasWork() {
+        if (!this.returnBuffer.isEmpty()) {
+            return true;
+        }
+
         if (this.isEnabled()) {
             for (int x = 0; x < 6; x++) {
                 if (this.cells.getStackInSlot(x) != null) {
@@ -341,9 +373,13 @@ public class TileIOPort extends AENetworkInvTile
 
     @Override
     public TickRateModulation tickingRequest(final IGridNode node, final int ticksSinceLastCall) {
+        this.itemsPerTick = 0;
         if (!this.getProxy().isActive()) {
             return TickRateModulation.IDLE;
         }
+        if (!this.flushReturnBuffer()) {
+            return TickRateModulation.IDLE;
+        }
         final RedstoneMode rs = (RedstoneMode) this.manager.getSetting(Settings.REDSTONE_CONTROLLED);
         if (rs == RedstoneMode.SIGNAL_PULSE && !this.pendingRedstonePulse) {
             return TickRateModulation.IDLE;
@@ -409,7 +445,9 @@ public class TileIOPort extends AENetworkInvTile
                                 transferResult = this.transferContents(energy, monitor, inv, transferBudget);
                             }
 
+                            final long budgetUnits = amountToMove;
                             amountToMove = Platform.ceilDiv(transferResult.itemsLeftToMove, amountPerUnit);
+                            this.itemsPerTick = (budgetUnits - amountToMove) / Math.max(1, ticksSinceLastCall);
                             sourceEmptyAfterTransfer = transferResult.sourceEmpty;
                             destinationFull = transferResult.destinationFull;
                             didWork = transferResult.itemsLeftToMove != transferBudget;
@@ -460,6 +498,13 @@ public class TileIOPort extends AENetworkInvTile
         return TickRateModulation.SLEEP;
     }
 
+    /**
+     * @return the items, or units of other stack types, moved per tick by the last transfer
+     */
+    public long getItemsPerTick() {
+        return this.itemsPerTick;
+    }
+
     @Override
     public int getInstalledUpgrades(final Upgrades u) {
         return this.upgrades.getInstalledUpgrades(u);
@@ -482,7 +527,66 @@ public class TileIOPort extends AENetworkInvTile
     }
 
     private TransferResult transferContents(final IEnergySource energy, final IMEInventory src,
-            final IMEInventory destination, long itemsToMove) {
+            final IMEInventory destination, final long itemsToMove) {
+        // the cell writes all of its stacks to NBT on every change, so let it do that once for the whole transfer
+        final CellInventory<?> cell = this.getCellInventory(src instanceof IMEMonitor ? destination : src);
+        if (cell != null) {
+            return cell.batch(() -> this.transferStacks(energy, src, destination, itemsToMove));
+        }
+
+        return this.transferStacks(energy, src, destination, itemsToMove);
+    }
+
+    private CellInventory<?> getCellInventory(final IMEInventory<?> inventory) {
+        if (inventory instanceof ICellInventoryHandler<?>handler
+                && handler.getCellInv() instanceof CellInventory<?>cell) {
+            return cell;
+        }
+
+        return null;
+    }
+
+    /**
+     * Hands the stacks nobody took back to the network.
+     *
+     * @return true if nothing is left over
+     */
+    private boolean flushReturnBuffer() {
+        if (this.returnBuffer.isEmpty()) {
+            return true;
+        }
+
+        try {
+            final Iterator<IAEStack<?>> it = this.returnBuffer.iterator();
+            while (it.hasNext()) {
+                final IAEStack<?> stack = it.next();
+                final IMEMonitor monitor = this.getProxy().getStorage().getMEMonitor(stack.getStackType());
+                if (monitor == null) {
+                    continue;
+                }
+
+                final IAEStack<?> left = monitor.injectItems(stack, Actionable.MODULATE, this.mySrc);
+                if (left == null || left.getStackSize() <= 0) {
+                    it.remove();
+                } else {
+                    stack.setStackSize(left.getStackSize());
+                }
+            }
+        } catch (final GridAccessException e) {
+            return false;
+        } finally {
+            this.markDirty();
+        }
+
+        return this.returnBuffer.isEmpty();
+    }
+
+    /**
+     * Moves the stacks of the source in a single pass and charges the power for everything moved at once. The
+     * destination is asked first, so nothing is taken out of the source that would have to be put back.
+     */
+    private TransferResult transferStacks(final IEnergySource energy, final IMEInventory src,
+            final IMEInventory destination, final long budget) {
         final Iterator<? extends IAEStack<?>> it;
         if (src instanceof IMEMonitor monitor) {
             it = monitor.getAvailableItemsWithPriority(IterationCounter.fetchNewId()).getItems(true).distinct()
@@ -491,62 +595,69 @@ public class TileIOPort extends AENetworkInvTile
             it = src.getAvailableItems(src.getStackType().createList(), IterationCounter.fetchNewId()).iterator();
         }
 
-        boolean didStuff;
-        boolean sourceHasRemainingItems = false;
-        boolean destinationFull = false;
+        final long amountPerUnit = src.getStackType().getAmountPerUnit();
+        final double availablePower = energy
+                .extractAEPower(Platform.ceilDiv(budget, amountPerUnit), Actionable.SIMULATE, PowerMultiplier.CONFIG);
+        final long powered = Math.min((long) (availablePower * amountPerUnit + 0.9), budget);
 
-        do {
-            didStuff = false;
+        long itemsToMove = powered;
+        boolean sourceHasRemainingItems = false;
 
-            while (it.hasNext()) {
-                final IAEStack<?> s = it.next();
-                final long availableBeforeExtract = s.getStackSize();
-                if (availableBeforeExtract > 0) {
-                    final IAEStack<?> extractStack = s.copy();
-                    extractStack.setStackSize(itemsToMove);
-                    final IAEStack<?> remainder = Platform
-                            .poweredInsert(energy, destination, extractStack, this.mySrc, Actionable.SIMULATE);
-
-                    long possible = extractStack.getStackSize();
-                    if (remainder != null) {
-                        possible -= remainder.getStackSize();
-                    }
+        while (itemsToMove > 0 && it.hasNext()) {
+            final IAEStack<?> s = it.next();
+            final long availableBeforeExtract = s.getStackSize();
+            if (availableBeforeExtract <= 0) {
+                continue;
+            }
 
-                    if (possible > 0) {
-                        extractStack.setStackSize(possible);
+            final IAEStack<?> request = s.copy();
+            request.setStackSize(Math.min(availableBeforeExtract, itemsToMove));
 
-                        final IAEStack<?> extracted = src.extractItems(extractStack, Actionable.MODULATE, this.mySrc);
-                        if (extracted != null) {
-                            possible = extracted.getStackSize();
-                            final IAEStack<?> failed = Platform
-                                    .poweredInsert(energy, destination, extracted.setCraftable(false), this.mySrc);
+            final IAEStack<?> rejected = destination.injectItems(request.copy(), Actionable.SIMULATE, this.mySrc);
+            if (rejected != null) {
+                request.setStackSize(request.getStackSize() - rejected.getStackSize());
+            }
+            if (request.getStackSize() <= 0) {
+                sourceHasRemainingItems = true;
+                continue;
+            }
 
-                            if (failed != null) {
-                                possible -= failed.getStackSize();
-                                src.injectItems(failed, Actionable.MODULATE, this.mySrc);
-                                sourceHasRemainingItems = true;
-                            }
+            final IAEStack<?> extracted = src.extractItems(request, Actionable.MODULATE, this.mySrc);
+            if (extracted == null) {
+                continue;
+            }
 
-                            if (possible > 0) {
-                                itemsToMove -= possible;
-                                didStuff = true;
-                                if (availableBeforeExtract > possible) {
-                                    sourceHasRemainingItems = true;
-                                }
-                            }
+            long moved = extracted.getStackSize();
+            final IAEStack<?> failed = destination
+                    .injectItems(extracted.setCraftable(false), Actionable.MODULATE, this.mySrc);
+            if (failed != null) {
+                moved -= failed.getStackSize();
+                final IAEStack<?> notReturned = src.injectItems(failed, Actionable.MODULATE, this.mySrc);
+                if (notReturned != null && notReturned.getStackSize() > 0) {
+                    this.returnBuffer.add(notReturned.copy());
+                    this.markDirty();
+                }
+                sourceHasRemainingItems = true;
+            }
 
-                            break;
-                        }
-                    } else {
-                        sourceHasRemainingItems = true;
-                    }
+            if (moved > 0) {
+                itemsToMove -= moved;
+                if (availableBeforeExtract > moved) {
+                    sourceHasRemainingItems = true;
                 }
             }
-        } while (itemsToMove > 0 && didStuff);
-        if (itemsToMove > 0 && !didStuff) {
-            destinationFull = true;
         }
-        return new TransferResult(itemsToMove, !sourceHasRemainingItems && !it.hasNext(), destinationFull);
+
+        final long moved = powered - itemsToMove;
+        if (moved > 0) {
+            energy.extractAEPower(Platform.ceilDiv(moved, amountPerUnit), Actionable.MODULATE, PowerMultiplier.CONFIG);
+        }
+
+        final long itemsLeftToMove = budget - moved;
+        return new TransferResult(
+                itemsLeftToMove,
+                !sourceHasRemainingItems && !it.hasNext(),
+                itemsLeftToMove > 0);
     }
 
     private boolean shouldMove(final IMEInventory<?> inventory, final boolean sourceEmptyAfterTransfer,
@@ -614,7 +725,7 @@ public class TileIOPort extends AENetworkInvTile
     }
 
     /**
-     * Adds the items in the upgrade slots to the drop list.
+     * Adds the items in the upgrade slots and the stacks nobody took back to the drop list.
      *
      * @param w     world
      * @param x     x pos of tile entity
@@ -633,6 +744,22 @@ public class TileIOPort extends AENetworkInvTile
                 drops.add(stackInSlot);
             }
         }
+
+        for (final IAEStack<?> stack : this.returnBuffer) {
+            final IAEItemStack item = Platform.stackConvert(stack);
+            if (item == null) {
+                continue;
+            }
+
+            final ItemStack template = item.getItemStack();
+            final int maxStackSize = Math.max(1, template.getMaxStackSize());
+            for (long left = item.getStackSize(); left > 0;) {
+                final ItemStack drop = template.copy();
+                drop.stackSize = (int) Math.min(maxStackSize, left);
+                drops.add(drop);
+                left -= drop.stackSize;
+            }
+        }
     }
 
     @Override
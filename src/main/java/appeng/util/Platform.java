@@ -44,7 +44,6 @@ import net.minecraft.inventory.InventoryLargeChest;
 import net.minecraft.inventory.Slot;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
-import net.minecraft.item.crafting.CraftingManager;
 import net.minecraft.item.crafting.IRecipe;
 import net.minecraft.nbt.NBTBase;
 import net.minecraft.nbt.NBTTagCompound;
@@ -615,17 +614,12 @@ public class Platform {
     public static IRecipe findMatchingRecipe(final InventoryCrafting inventoryCrafting, final World par2World) {
         if (lastUsedRecipe != null && lastUsedRecipe.matches(inventoryCrafting, par2World)) return lastUsedRecipe;
 
-        final CraftingManager cm = CraftingManager.getInstance();
-        final List<IRecipe> rl = cm.getRecipeList();
-
-        for (final IRecipe r : rl) {
-            if (r.matches(inventoryCrafting, par2World)) {
-                lastUsedRecipe = r;
-                return r;
-            }
+        final IRecipe r = RecipeIndex.findMatchingRecipe(inventoryCrafting, par2World);
+        if (r != null) {
+            lastUsedRecipe = r;
         }
 
-        return null;
+        return r;
     }
 
     public static ItemStack[] getBlockDrops(final World w, final int x, final int y, final int z) {
@@ -788,7 +782,7 @@ public class Platform {
     }
 
     public static ItemStack findMatchingRecipeOutput(final InventoryCrafting ic, final World worldObj) {
-        return CraftingManager.getInstance().findMatchingRecipe(ic, worldObj);
+        return RecipeIndex.findMatchingRecipeOutput(ic, worldObj);
     }
 
     @SideOnly(Side.CLIENT)
@@ -0,0 +1,299 @@
+/*
+ * This file is part of Applied Energistics 2. Copyright (c) 2013 - 2015, AlgorithmX2, All rights reserved. Applied
+ * Energistics 2 is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser General
+ * Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. Applied Energistics 2 is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General
+ * Public License for more details. You should have received a copy of the GNU Lesser General Public License along with
+ * Applied Energistics 2. If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.util;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.minecraft.inventory.InventoryCrafting;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.CraftingManager;
+import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.item.crafting.ShapedRecipes;
+import net.minecraft.item.crafting.ShapelessRecipes;
+import net.minecraft.world.World;
+import net.minecraftforge.oredict.ShapedOreRecipe;
+import net.minecraftforge.oredict.ShapelessOreRecipe;
+
+import appeng.core.AELog;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * Index over the vanilla crafting recipe list to find the recipe for a crafting grid without calling
+ * {@link IRecipe#matches} on every registered recipe.
+ * <p>
+ * Every recipe of a known shape is filed under each item that can appear in its grid, ore dictionary entries and
+ * wildcard damage values included. A grid can only match recipes filed under every item it contains, so the lookup
+ * only has to test the smallest of those buckets. Recipes whose inputs can't be read, or that override
+ * {@link IRecipe#matches} with their own logic, are always tested. Candidates are tested in registration order, so the
+ * result is the same recipe {@link CraftingManager#findMatchingRecipe} would use.
+ * <p>
+ * The index is built on first use and rebuilt when the recipe list was changed since. Mods replace entries in place,
+ * so every lookup compares the list with the indexed recipes entry by entry; comparing references is cheap next to
+ * testing even one recipe.
+ */
+public final class RecipeIndex {
+
+    private static final int[] NO_RECIPES = new int[0];
+    private static final Map<Class<?>, Boolean> INDEXABLE_TYPES = new ConcurrentHashMap<>();
+    /**
+     * {@link IRecipe#matches}, taken from the interface so overrides are found under the obfuscated name as well.
+     */
+    private static final Method MATCHES = findMatchesMethod();
+
+    private static volatile RecipeIndex instance;
+
+    private final List<IRecipe> recipes;
+    private final IRecipe[] byId;
+    private final Map<Item, int[]> byItem;
+    private final int[] unindexed;
+
+    private RecipeIndex(final List<IRecipe> recipes) {
+        this.recipes = recipes;
+        this.byId = recipes.toArray(new IRecipe[0]);
+
+        final Map<Item, IntArrayList> buckets = new IdentityHashMap<>();
+        final IntArrayList always = new IntArrayList();
+        final Set<Item> inputs = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (int id = 0; id < this.byId.length; id++) {
+            inputs.clear();
+            if (!collectInputs(this.byId[id], inputs) || inputs.isEmpty()) {
+                always.add(id);
+                continue;
+            }
+
+            for (final Item item : inputs) {
+                buckets.computeIfAbsent(item, i -> new IntArrayList()).add(id);
+            }
+        }
+
+        this.byItem = new IdentityHashMap<>(buckets.size());
+        for (final Map.Entry<Item, IntArrayList> entry : buckets.entrySet()) {
+            this.byItem.put(entry.getKey(), entry.getValue().toIntArray());
+        }
+        this.unindexed = always.toIntArray();
+
+        AELog.debug(
+                "Indexed %d crafting recipes under %d items, %d recipes are always tested",
+                this.byId.length - this.unindexed.length,
+                this.byItem.size(),
+                this.unindexed.length);
+    }
+
+    /**
+     * Same as {@link CraftingManager#getRecipeList()} scanning, but only over the recipes that can match the grid.
+     */
+    public static IRecipe findMatchingRecipe(final InventoryCrafting ic, final World w) {
+        return get().find(ic, w);
+    }
+
+    /**
+     * Drop-in for {@link CraftingManager#findMatchingRecipe}, including the tool repair special case.
+     */
+    public static ItemStack findMatchingRecipeOutput(final InventoryCrafting ic, final World w) {
+        if (isToolRepair(ic)) {
+            return CraftingManager.getInstance().findMatchingRecipe(ic, w);
+        }
+
+        final IRecipe recipe = findMatchingRecipe(ic, w);
+        return recipe == null ? null : recipe.getCraftingResult(ic);
+    }
+
+    /**
+     * Forgets the index, the next lookup builds it again.
+     */
+    public static void invalidate() {
+        instance = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RecipeIndex get() {
+        final List<IRecipe> recipes = CraftingManager.getInstance().getRecipeList();
+        RecipeIndex index = instance;
+        if (index == null || !index.isCurrent(recipes)) {
+            index = new RecipeIndex(recipes);
+            instance = index;
+        }
+        return index;
+    }
+
+    private boolean isCurrent(final List<IRecipe> recipes) {
+        if (this.recipes != recipes || this.byId.length != recipes.size()) {
+            return false;
+        }
+
+        int id = 0;
+        for (final IRecipe recipe : recipes) {
+            if (this.byId[id++] != recipe) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private IRecipe find(final InventoryCrafting ic, final World w) {
+        int[] candidates = null;
+        final int slots = ic.getSizeInventory();
+        for (int slot = 0; slot < slots; slot++) {
+            final ItemStack stack = ic.getStackInSlot(slot);
+            if (stack == null || stack.getItem() == null) {
+                continue;
+            }
+
+            final int[] bucket = this.byItem.get(stack.getItem());
+            if (bucket == null) {
+                candidates = NO_RECIPES;
+                break;
+            }
+            if (candidates == null || bucket.length < candidates.length) {
+                candidates = bucket;
+            }
+        }
+
+        if (candidates == null) {
+            // empty grid, only special recipes could care
+            candidates = NO_RECIPES;
+        }
+
+        // merge both sorted id lists to keep the registration order
+        int i = 0;
+        int j = 0;
+        while (i < candidates.length || j < this.unindexed.length) {
+            final int id;
+            if (j >= this.unindexed.length || i < candidates.length && candidates[i] < this.unindexed[j]) {
+                id = candidates[i++];
+            } else {
+                id = this.unindexed[j++];
+            }
+
+            final IRecipe recipe = this.byId[id];
+            if (recipe.matches(ic, w)) {
+                return recipe;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return false if the recipe has to be tested against every grid.
+     */
+    private static boolean collectInputs(final IRecipe recipe, final Set<Item> out) {
+        if (recipe == null || !isIndexable(recipe.getClass())) {
+            return false;
+        }
+
+        if (recipe instanceof ShapedRecipes shaped) {
+            return addAll(Arrays.asList(shaped.recipeItems), out);
+        } else if (recipe instanceof ShapelessRecipes shapeless) {
+            return addAll(shapeless.recipeItems, out);
+        } else if (recipe instanceof ShapedOreRecipe shapedOre) {
+            return addAll(Arrays.asList(shapedOre.getInput()), out);
+        } else if (recipe instanceof ShapelessOreRecipe shapelessOre) {
+            return addAll(shapelessOre.getInput(), out);
+        }
+
+        return false;
+    }
+
+    private static boolean addAll(final Collection<?> inputs, final Set<Item> out) {
+        if (inputs == null) {
+            return false;
+        }
+
+        for (final Object input : inputs) {
+            if (input == null) {
+                continue;
+            }
+
+            if (input instanceof ItemStack is) {
+                if (is.getItem() == null) {
+                    return false;
+                }
+                out.add(is.getItem());
+            } else if (input instanceof Collection) {
+                // ore dictionary entry, any of its items fits
+                for (final Object ore : (Collection<?>) input) {
+                    if (!(ore instanceof ItemStack is) || is.getItem() == null) {
+                        return false;
+                    }
+                    out.add(is.getItem());
+                }
+            } else {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Subclasses are only indexed if they keep the matching logic of the recipe type they extend, otherwise they
+     * might accept items that are not part of their inputs.
+     */
+    public static boolean isIndexable(final Class<?> type) {
+        return INDEXABLE_TYPES.computeIfAbsent(type, t -> {
+            try {
+                final Class<?> owner = t.getMethod(MATCHES.getName(), MATCHES.getParameterTypes())
+                        .getDeclaringClass();
+                return owner == ShapedRecipes.class || owner == ShapelessRecipes.class
+                        || owner == ShapedOreRecipe.class
+                        || owner == ShapelessOreRecipe.class;
+            } catch (final NoSuchMethodException | SecurityException e) {
+                return false;
+            }
+        });
+    }
+
+    private static Method findMatchesMethod() {
+        for (final Method m : IRecipe.class.getDeclaredMethods()) {
+            if (Arrays.equals(m.getParameterTypes(), new Class<?>[] { InventoryCrafting.class, World.class })) {
+                return m;
+            }
+        }
+        throw new IllegalStateException("IRecipe has no matches(InventoryCrafting, World) method.");
+    }
+
+    /**
+     * Vanilla combines two damaged items of the same kind before looking at the recipe list.
+     */
+    private static boolean isToolRepair(final InventoryCrafting ic) {
+        ItemStack a = null;
+        ItemStack b = null;
+        for (int slot = 0; slot < ic.getSizeInventory(); slot++) {
+            final ItemStack stack = ic.getStackInSlot(slot);
+            if (stack == null) {
+                continue;
+            }
+            if (a == null) {
+                a = stack;
+            } else if (b == null) {
+                b = stack;
+            } else {
+                return false;
+            }
+        }
+
+        return b != null && a.getItem() == b.getItem()
+                && a.stackSize == 1
+                && b.stackSize == 1
+                && a.getItem().isRepairable();
+    }
+}
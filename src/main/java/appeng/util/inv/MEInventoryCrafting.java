@@ -8,16 +8,35 @@ import net.minecraft.item.ItemStack;
 
 import appeng.api.storage.data.IAEItemStack;
 import appeng.api.storage.data.IAEStack;
+import appeng.container.ContainerNull;
 
 public class MEInventoryCrafting extends InventoryCrafting {
 
     IAEStack<?>[] aeStackList;
+    private final int width;
+    private final int height;
 
     public MEInventoryCrafting(Container cont, int width, int height) {
         super(cont, width, height);
+        this.width = width;
+        this.height = height;
         aeStackList = new IAEStack<?>[width * height];
     }
 
+    /**
+     * @return a detached copy of this table, every slot holds a copy of the original stack.
+     */
+    public MEInventoryCrafting copy() {
+        final MEInventoryCrafting copy = new MEInventoryCrafting(new ContainerNull(), this.width, this.height);
+        for (int x = 0; x < aeStackList.length; x++) {
+            final IAEStack<?> stack = aeStackList[x];
+            if (stack != null) {
+                copy.setInventorySlotContents(x, stack.copy());
+            }
+        }
+        return copy;
+    }
+
     public IAEStack<?> getAEStackInSlot(int slotIn) {
         return slotIn >= this.getSizeInventory() ? null : aeStackList[slotIn];
     }
@@ -10,84 +10,91 @@
 
 package appeng.util.inv;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.IInventory;
 import net.minecraft.item.ItemStack;
 
-import com.google.common.collect.ImmutableList;
-
 public class WrapperChainedInventory implements IInventory {
 
     private int fullSize = 0;
-    private List<IInventory> l;
-    private Map<Integer, InvOffset> offsets;
+    private IInventory[] l;
+    private int[] offsets;
+    // the inventory that currently comes first, cycling only moves this instead of rebuilding the chain
+    private int first = 0;
 
     public WrapperChainedInventory(final IInventory... inventories) {
-        this.setInventory(inventories);
+        this.setInventory(inventories.clone());
     }
 
-    private void setInventory(final IInventory... a) {
-        this.l = ImmutableList.copyOf(a);
-        this.calculateSizes();
+    public WrapperChainedInventory(final List<IInventory> inventories) {
+        this.setInventory(inventories.toArray(new IInventory[0]));
     }
 
-    private void calculateSizes() {
-        this.offsets = new HashMap<>();
+    private void setInventory(final IInventory[] a) {
+        this.l = a;
+        this.offsets = new int[a.length];
 
         int offset = 0;
-        for (final IInventory in : this.l) {
-            final InvOffset io = new InvOffset();
-            io.offset = offset;
-            io.size = in.getSizeInventory();
-            io.i = in;
-
-            for (int y = 0; y < io.size; y++) {
-                this.offsets.put(y + io.offset, io);
-            }
-
-            offset += io.size;
+        for (int x = 0; x < a.length; x++) {
+            this.offsets[x] = offset;
+            offset += a[x].getSizeInventory();
         }
 
         this.fullSize = offset;
     }
 
-    public WrapperChainedInventory(final List<IInventory> inventories) {
-        this.setInventory(inventories);
+    /**
+     * Moves the last inventory to the front.
+     */
+    public void cycleOrder() {
+        if (this.l.length > 1) {
+            this.first = (this.first + this.l.length - 1) % this.l.length;
+        }
     }
 
-    private void setInventory(final List<IInventory> a) {
-        this.l = a;
-        this.calculateSizes();
-    }
+    /**
+     * @return the index of the inventory holding chain slot {@code idx}, or -1 if there is no such slot
+     */
+    private int find(final int idx) {
+        if (idx < 0 || idx >= this.fullSize) {
+            return -1;
+        }
 
-    public void cycleOrder() {
-        if (this.l.size() > 1) {
-            final List<IInventory> newOrder = new ArrayList<>(this.l.size());
-            newOrder.add(this.l.get(this.l.size() - 1));
-            for (int x = 0; x < this.l.size() - 1; x++) {
-                newOrder.add(this.l.get(x));
+        final int slot = (idx + this.offsets[this.first]) % this.fullSize;
+
+        // the last inventory starting at or before the slot, empty inventories share the offset of their successor
+        int low = 0;
+        int high = this.offsets.length - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (this.offsets[mid] <= slot) {
+                low = mid;
+            } else {
+                high = mid - 1;
             }
-            this.setInventory(newOrder);
         }
+
+        return low;
+    }
+
+    private int toLocal(final int idx, final int inv) {
+        return (idx + this.offsets[this.first]) % this.fullSize - this.offsets[inv];
     }
 
     public IInventory getInv(final int idx) {
-        final InvOffset io = this.offsets.get(idx);
-        if (io != null) {
-            return io.i;
+        final int inv = this.find(idx);
+        if (inv >= 0) {
+            return this.l[inv];
         }
         return null;
     }
 
     public int getInvSlot(final int idx) {
-        final InvOffset io = this.offsets.get(idx);
-        if (io != null) {
-            return idx - io.offset;
+        final int inv = this.find(idx);
+        if (inv >= 0) {
+            return this.toLocal(idx, inv);
         }
         return 0;
     }
@@ -99,36 +106,36 @@ public class WrapperChainedInventory implements IInventory {
 
     @Override
     public ItemStack getStackInSlot(final int idx) {
-        final InvOffset io = this.offsets.get(idx);
-        if (io != null) {
-            return io.i.getStackInSlot(idx - io.offset);
+        final int inv = this.find(idx);
+        if (inv >= 0) {
+            return this.l[inv].getStackInSlot(this.toLocal(idx, inv));
         }
         return null;
     }
 
     @Override
     public ItemStack decrStackSize(final int idx, final int var2) {
-        final InvOffset io = this.offsets.get(idx);
-        if (io != null) {
-            return io.i.decrStackSize(idx - io.offset, var2);
+        final int inv = this.find(idx);
+        if (inv >= 0) {
+            return this.l[inv].decrStackSize(this.toLocal(idx, inv), var2);
         }
         return null;
     }
 
     @Override
     public ItemStack getStackInSlotOnClosing(final int idx) {
-        final InvOffset io = this.offsets.get(idx);
-        if (io != null) {
-            return io.i.getStackInSlotOnClosing(idx - io.offset);
+        final int inv = this.find(idx);
+        if (inv >= 0) {
+            return this.l[inv].getStackInSlotOnClosing(this.toLocal(idx, inv));
         }
         return null;
     }
 
     @Override
     public void setInventorySlotContents(final int idx, final ItemStack var2) {
-        final InvOffset io = this.offsets.get(idx);
-        if (io != null) {
-            io.i.setInventorySlotContents(idx - io.offset, var2);
+        final int inv = this.find(idx);
+        if (inv >= 0) {
+            this.l[inv].setInventorySlotContents(this.toLocal(idx, inv), var2);
         }
     }
 
@@ -173,17 +180,10 @@ public class WrapperChainedInventory implements IInventory {
 
     @Override
     public boolean isItemValidForSlot(final int idx, final ItemStack itemstack) {
-        final InvOffset io = this.offsets.get(idx);
-        if (io != null) {
-            return io.i.isItemValidForSlot(idx - io.offset, itemstack);
+        final int inv = this.find(idx);
+        if (inv >= 0) {
+            return this.l[inv].isItemValidForSlot(this.toLocal(idx, inv), itemstack);
         }
         return false;
     }
-
-    private static class InvOffset {
-
-        private int offset;
-        private int size;
-        private IInventory i;
-    }
 }
@@ -10,8 +10,10 @@
 
 package appeng.util.item;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
@@ -28,12 +30,20 @@ import appeng.util.Platform;
 public class AESharedNBT extends NBTTagCompound implements IAETagCompound {
 
     /*
-     * Shared Tag Compound Cache.
+     * Shared Tag Compound Cache, the keys hold their own copy of the tag and the entries are dropped once nothing uses
+     * the shared tag anymore. Lookups don't lock, so stacks can be created from any thread.
      */
-    private static final WeakHashMap<SharedSearchObject, WeakReference<SharedSearchObject>> SHARED_TAG_COMPOUND = new WeakHashMap<>();
+    private static final ConcurrentHashMap<SharedSearchObject, SharedReference> SHARED_TAG_COMPOUND = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<AESharedNBT> RELEASED = new ReferenceQueue<>();
+    /*
+     * The last shared tag found for a source tag, by identity. Inventories hand in the same tag objects over and over,
+     * a hit only checks that the tag is still equal instead of hashing it and building a search object. Entries never
+     * change, racing threads at worst overwrite each other's entry.
+     */
+    private static final int RECENT_LOOKUPS = 1024;
+    private static final RecentLookup[] RECENT = new RecentLookup[RECENT_LOOKUPS];
     private final Item item;
     private final int meta;
-    private SharedSearchObject sso;
     private int hash;
     private IItemComparison comp;
 
@@ -58,43 +68,78 @@ public class AESharedNBT extends NBTTagCompound implements IAETagCompound {
     /*
      * Returns an NBT Compound that is used for accelerating comparisons.
      */
-    static synchronized NBTTagCompound getSharedTagCompound(final NBTTagCompound tagCompound, final ItemStack s) {
+    static NBTTagCompound getSharedTagCompound(final NBTTagCompound tagCompound, final ItemStack s) {
         if (tagCompound.hasNoTags()) {
             return null;
         }
 
+        if (isShared(tagCompound)) {
+            return tagCompound;
+        }
+
+        expungeReleased();
+
         final Item item = s.getItem();
         int meta = -1;
         if (s.getItem() != null && s.isItemStackDamageable() && s.getHasSubtypes()) {
             meta = s.getItemDamage();
         }
 
-        if (isShared(tagCompound)) {
-            return tagCompound;
+        final int slot = System.identityHashCode(tagCompound) & (RECENT_LOOKUPS - 1);
+        final RecentLookup recent = RECENT[slot];
+        if (recent != null && recent.source == tagCompound
+                && recent.shared.item == item
+                && recent.shared.meta == meta
+                && Platform.NBTEqualityTest(recent.shared, tagCompound)) {
+            return recent.shared;
         }
 
         final SharedSearchObject sso = new SharedSearchObject(item, meta, tagCompound);
 
-        final WeakReference<SharedSearchObject> c = SHARED_TAG_COMPOUND.get(sso);
+        final SharedReference c = SHARED_TAG_COMPOUND.get(sso);
         if (c != null) {
-            final SharedSearchObject cg = c.get();
+            final AESharedNBT cg = c.get();
             if (cg != null) {
-                return cg.getShared(); // I don't think I really need to check this
+                return remember(slot, tagCompound, cg);
             }
-            // as its already certain to exist..
         }
 
-        final AESharedNBT clone = AESharedNBT.createFromCompound(item, meta, tagCompound);
+        final AESharedNBT clone = AESharedNBT.createFromCompound(item, meta, tagCompound, sso.getHash());
         sso.setCompound((NBTTagCompound) sso.getCompound().copy()); // prevent
         // modification
         // of data based
         // on original
         // item.
-        sso.setShared(clone);
-        clone.sso = sso;
 
-        SHARED_TAG_COMPOUND.put(sso, new WeakReference<>(sso));
-        return clone;
+        final SharedReference ref = new SharedReference(clone, sso);
+        while (true) {
+            final SharedReference other = SHARED_TAG_COMPOUND.putIfAbsent(sso, ref);
+            if (other == null) {
+                return remember(slot, tagCompound, clone);
+            }
+
+            // another thread got there first, unless its tag has been collected in the meantime
+            final AESharedNBT shared = other.get();
+            if (shared != null) {
+                return remember(slot, tagCompound, shared);
+            }
+            if (SHARED_TAG_COMPOUND.replace(sso, other, ref)) {
+                return remember(slot, tagCompound, clone);
+            }
+        }
+    }
+
+    private static AESharedNBT remember(final int slot, final NBTTagCompound source, final AESharedNBT shared) {
+        RECENT[slot] = new RecentLookup(source, shared);
+        return shared;
+    }
+
+    private static void expungeReleased() {
+        Reference<? extends AESharedNBT> released;
+        while ((released = RELEASED.poll()) != null) {
+            final SharedReference ref = (SharedReference) released;
+            SHARED_TAG_COMPOUND.remove(ref.key, ref);
+        }
     }
 
     /*
@@ -104,7 +149,8 @@ public class AESharedNBT extends NBTTagCompound implements IAETagCompound {
         return ta instanceof AESharedNBT;
     }
 
-    private static AESharedNBT createFromCompound(final Item itemID, final int damageValue, final NBTTagCompound c) {
+    private static AESharedNBT createFromCompound(final Item itemID, final int damageValue, final NBTTagCompound c,
+            final int orderlessHash) {
         final AESharedNBT x = new AESharedNBT(itemID, damageValue);
 
         // c.getTags()
@@ -113,7 +159,7 @@ public class AESharedNBT extends NBTTagCompound implements IAETagCompound {
             x.setTag(name, c.getTag(name).copy());
         }
 
-        x.hash = Platform.NBTOrderlessHash(c);
+        x.hash = orderlessHash;
 
         final ItemStack isc = new ItemStack(itemID, 1, damageValue);
         isc.setTagCompound(c);
@@ -178,4 +224,25 @@ public class AESharedNBT extends NBTTagCompound implements IAETagCompound {
 
         return false;
     }
+
+    private static final class RecentLookup {
+
+        private final NBTTagCompound source;
+        private final AESharedNBT shared;
+
+        private RecentLookup(final NBTTagCompound source, final AESharedNBT shared) {
+            this.source = source;
+            this.shared = shared;
+        }
+    }
+
+    private static final class SharedReference extends WeakReference<AESharedNBT> {
+
+        private final SharedSearchObject key;
+
+        private SharedReference(final AESharedNBT shared, final SharedSearchObject key) {
+            super(shared, RELEASED);
+            this.key = key;
+        }
+    }
 }
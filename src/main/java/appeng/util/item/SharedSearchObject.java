@@ -19,7 +19,6 @@ public class SharedSearchObject {
 
     private final int def;
     private final int hash;
-    private AESharedNBT shared;
     private NBTTagCompound compound;
 
     public SharedSearchObject(final Item itemID, final int damageValue, final NBTTagCompound tagCompound) {
@@ -48,12 +47,8 @@ public class SharedSearchObject {
         return false;
     }
 
-    AESharedNBT getShared() {
-        return this.shared;
-    }
-
-    void setShared(final AESharedNBT shared) {
-        this.shared = shared;
+    int getHash() {
+        return this.hash;
     }
 
     NBTTagCompound getCompound() {